@@ -0,0 +1,46 @@
+package com.github.houbb.sensitive.annotation;
+
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.api.impl.ConditionAlwaysTrue;
+
+import java.lang.annotation.*;
+
+/**
+ * Map 字段按照 key 脱敏
+ *
+ * 1. key 支持三种写法：完全匹配 phone，前缀匹配 id*，通配符匹配 *_phone、user?
+ * 2. 优先级：完全匹配 &gt; 最长的前缀匹配 &gt; 按照声明顺序的第一个通配符匹配
+ * 3. 值为 Map 时，使用相同的规则递归处理；值为对象时，处理对象内部的脱敏字段
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Inherited
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(SensitiveMapKeys.class)
+public @interface SensitiveMapKey {
+
+    /**
+     * key 的匹配规则
+     * @return 规则
+     * @since 0.0.14
+     */
+    String key();
+
+    /**
+     * 注解生效的条件
+     * @return 条件对应的实现类
+     * @since 0.0.14
+     */
+    Class<? extends ICondition> condition() default ConditionAlwaysTrue.class;
+
+    /**
+     * 执行的策略
+     * @return 策略对应的类型
+     * @since 0.0.14
+     */
+    Class<? extends IStrategy> strategy();
+
+}
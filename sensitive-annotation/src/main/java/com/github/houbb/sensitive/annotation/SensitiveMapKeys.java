@@ -0,0 +1,23 @@
+package com.github.houbb.sensitive.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * {@link SensitiveMapKey} 的容器注解，同一个字段声明多个规则时由编译器生成
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Inherited
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SensitiveMapKeys {
+
+    /**
+     * 规则列表
+     * @return 规则
+     * @since 0.0.14
+     */
+    SensitiveMapKey[] value();
+
+}
@@ -0,0 +1,52 @@
+package com.github.houbb.sensitive.annotation;
+
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.api.impl.ConditionAlwaysTrue;
+
+import java.lang.annotation.*;
+
+/**
+ * 指定视角下的脱敏方式
+ *
+ * 1. 只在指定的视角下生效，优先于 {@link SensitiveIgnore}、{@link Sensitive} 和其他脱敏注解
+ * 2. 不指定策略时，该视角下不脱敏，等同于 {@link SensitiveIgnore}
+ * 3. 同一个字段可以声明多个，按照声明顺序第一个匹配的生效
+ * <pre>
+ * &#64;SensitiveCardId
+ * &#64;SensitiveProfile(value = "cs", strategy = StrategyMaskAll.class)
+ * &#64;SensitiveProfile("audit")
+ * private String idCard;
+ * </pre>
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Inherited
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(SensitiveProfiles.class)
+public @interface SensitiveProfile {
+
+    /**
+     * 生效的视角
+     * @return 视角
+     * @since 0.0.14
+     */
+    String[] value();
+
+    /**
+     * 注解生效的条件
+     * @return 条件对应的实现类
+     * @since 0.0.14
+     */
+    Class<? extends ICondition> condition() default ConditionAlwaysTrue.class;
+
+    /**
+     * 执行的策略，默认值表示不脱敏
+     * @return 策略对应的类型
+     * @since 0.0.14
+     */
+    Class<? extends IStrategy> strategy() default IStrategy.class;
+
+}
@@ -0,0 +1,23 @@
+package com.github.houbb.sensitive.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * {@link SensitiveProfile} 的容器注解，同一个字段声明多个视角时由编译器生成
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Inherited
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SensitiveProfiles {
+
+    /**
+     * 视角列表
+     * @return 视角
+     * @since 0.0.14
+     */
+    SensitiveProfile[] value();
+
+}
@@ -0,0 +1,18 @@
+package com.github.houbb.sensitive.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 多例标识
+ *
+ * 策略 {@link com.github.houbb.sensitive.api.IStrategy} 和条件 {@link com.github.houbb.sensitive.api.ICondition}
+ * 默认全局单例，只创建一次。
+ * 如果实现中有状态，使用此注解标识，每次使用时都会新建实例。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SensitivePrototype {
+}
@@ -0,0 +1,21 @@
+package com.github.houbb.sensitive.annotation.strategy;
+
+import com.github.houbb.sensitive.annotation.metadata.SensitiveStrategy;
+import com.github.houbb.sensitive.api.impl.SensitiveStrategyBuiltIn;
+
+import java.lang.annotation.*;
+
+/**
+ * 自由文本脱敏注解
+ *
+ * 识别文本中的手机号、身份证号、银行卡号、邮箱并脱敏，适用于备注、日志等字段。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@Inherited
+@Documented
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@SensitiveStrategy(SensitiveStrategyBuiltIn.class)
+public @interface SensitiveStrategyText {
+}
@@ -0,0 +1,48 @@
+package com.github.houbb.sensitive.api;
+
+import java.io.IOException;
+
+/**
+ * 字符脱敏策略
+ *
+ * 1. 直接读取字符序列，把脱敏结果写入调用方提供的输出，不创建中间字符串
+ * 2. 序列化时可以直接写入输出缓冲区
+ * 3. {@link #des(Object, IContext)} 需要和字符方法的结果保持一致
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public interface ICharStrategy extends IStrategy {
+
+    /**
+     * 脱敏后的长度
+     * @param original 原始内容，不为 null
+     * @param context 执行上下文
+     * @return 长度，脱敏结果为 null 时返回 -1
+     * @since 0.0.14
+     */
+    int length(final CharSequence original, final IContext context);
+
+    /**
+     * 脱敏，写入到字符数组
+     * 调用方需要保证从 offset 开始有 {@link #length(CharSequence, IContext)} 的空间
+     * @param original 原始内容，不为 null
+     * @param context 执行上下文
+     * @param chars 输出目标
+     * @param offset 开始位置
+     * @return 写入的长度，脱敏结果为 null 时返回 -1
+     * @since 0.0.14
+     */
+    int des(final CharSequence original, final IContext context, final char[] chars, final int offset);
+
+    /**
+     * 脱敏，写入到 appendable
+     * @param original 原始内容，不为 null
+     * @param context 执行上下文
+     * @param appendable 输出目标
+     * @return 是否写入，脱敏结果为 null 时返回 false
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    boolean des(final CharSequence original, final IContext context, final Appendable appendable) throws IOException;
+
+}
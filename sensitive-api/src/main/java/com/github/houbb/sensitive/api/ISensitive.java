@@ -1,5 +1,10 @@
 package com.github.houbb.sensitive.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 脱敏接口
  * @author binbin.hou
@@ -30,4 +35,38 @@ public interface ISensitive<T> {
      */
     String desJson(final T object, final ISensitiveConfig config);
 
+    /**
+     * 脱敏后的 json 写入到 appendable
+     * 1. 避免构建完整的字符串
+     * 2. 默认实现直接写入 {@link #desJson(Object, ISensitiveConfig)} 的结果，实现类可以覆盖
+     * @param object 对象
+     * @param config 配置信息
+     * @param appendable 输出目标，不会被关闭
+     * @since 0.0.14
+     */
+    default void desJson(final T object, final ISensitiveConfig config, final Appendable appendable) {
+        try {
+            appendable.append(desJson(object, config));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 脱敏后的 json 以 UTF-8 编码写入到输出流
+     * 1. 避免构建完整的字符串
+     * 2. 默认实现直接写入 {@link #desJson(Object, ISensitiveConfig)} 的结果，实现类可以覆盖
+     * @param object 对象
+     * @param config 配置信息
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     */
+    default void desJson(final T object, final ISensitiveConfig config, final OutputStream outputStream) {
+        try {
+            outputStream.write(desJson(object, config).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -8,6 +8,12 @@ package com.github.houbb.sensitive.api;
  */
 public interface ISensitiveConfig {
 
+    /**
+     * 默认视角
+     * @since 0.0.14
+     */
+    String DEFAULT_PROFILE = "default";
+
     /**
      * 深度拷贝
      * @return 深度拷贝
@@ -15,5 +21,15 @@ public interface ISensitiveConfig {
      */
     IDeepCopy deepCopy();
 
-}
+    /**
+     * 脱敏视角，比如 log、cs、audit
+     *
+     * 不同的视角使用各自的类计划，同一个字段可以有不同的脱敏方式。
+     * @return 视角
+     * @since 0.0.14
+     */
+    default String profile() {
+        return DEFAULT_PROFILE;
+    }
 
+}
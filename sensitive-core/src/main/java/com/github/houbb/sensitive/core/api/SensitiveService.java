@@ -1,28 +1,37 @@
 package com.github.houbb.sensitive.core.api;
 
 import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.serializer.ContextValueFilter;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.github.houbb.heaven.annotation.ThreadSafe;
-import com.github.houbb.heaven.support.cache.impl.ClassFieldListCache;
+import com.github.houbb.heaven.support.handler.IHandler;
 import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.heaven.util.lang.reflect.ClassUtil;
-import com.github.houbb.sensitive.annotation.Sensitive;
-import com.github.houbb.sensitive.annotation.SensitiveIgnore;
-import com.github.houbb.sensitive.annotation.metadata.SensitiveCondition;
-import com.github.houbb.sensitive.annotation.metadata.SensitiveStrategy;
 import com.github.houbb.sensitive.api.*;
-import com.github.houbb.sensitive.api.impl.SensitiveStrategyBuiltIn;
 import com.github.houbb.sensitive.core.api.context.SensitiveContext;
 import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
-import com.github.houbb.sensitive.core.support.filter.DefaultContextValueFilter;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.filter.SensitiveSerializeConfig;
+import com.github.houbb.sensitive.core.support.io.AppendableWriter;
+import com.github.houbb.sensitive.core.support.masker.MapValueMasker;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
 import com.github.houbb.sensitive.core.util.ClassTypeUtil;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyBuiltInUtil;
 
-import java.lang.annotation.Annotation;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.Array;
-import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.List;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 脱敏服务实现类
@@ -38,73 +47,221 @@ public class SensitiveService<T> implements ISensitive<T> {
 
     @Override
     public T desCopy(T object, final ISensitiveConfig config) {
+        final ClassPlans classPlans = classPlans(config, object);
+        return desCopy(object, config, classPlans, classPlans.get(object.getClass()));
+    }
+
+    /**
+     * 使用已经解析的类计划脱敏
+     *
+     * 调用方保证对象的类型、视角和类计划一致，不再查询缓存。
+     * @param object 原始对象
+     * @param config 配置信息
+     * @param classPlan 对象类型对应的类计划
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     */
+    public T desCopy(T object, final ISensitiveConfig config, final ClassPlan classPlan) {
+        return desCopy(object, config, classPlans(config), classPlan);
+    }
+
+    /**
+     * 脱敏对象
+     * @param object 原始对象
+     * @param config 配置信息
+     * @param classPlans 视角对应的类计划，嵌套对象从这里获取
+     * @param classPlan 对象类型对应的类计划
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     */
+    private T desCopy(T object, final ISensitiveConfig config, final ClassPlans classPlans, final ClassPlan classPlan) {
         //1. 初始化对象
-        final Class<?> clazz = object.getClass();
         final SensitiveContext context = new SensitiveContext();
+        context.setClassPlans(classPlans);
 
         //2. 深度复制对象
         final IDeepCopy deepCopy = config.deepCopy();
         final T copyObject = deepCopy.deepCopy(object);
 
         //3. 处理
-        handleObject(context, copyObject, clazz);
+        final Set<Object> handledSet = newHandledSet();
+        handleObject(context, handledSet, copyObject, classPlan);
         return copyObject;
     }
 
+    /**
+     * 获取指定类型默认视角的 json 序列化器
+     * @param type 类型
+     * @return 序列化器
+     * @since 0.0.14
+     * @see #getJsonSerializer(Class, String)
+     */
+    public ObjectSerializer getJsonSerializer(final Class<?> type) {
+        return getJsonSerializer(type, ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 获取指定类型和视角的 json 序列化器，用于绑定类型后直接序列化
+     *
+     * 返回 null 时不支持绑定，调用方使用 {@link #desJson(Object, ISensitiveConfig)}。
+     * 子类修改了 json 的生成方式时，需要同时重写本方法。
+     * @param type 类型
+     * @param profile 视角
+     * @return 序列化器
+     * @since 0.0.14
+     */
+    public ObjectSerializer getJsonSerializer(final Class<?> type, final String profile) {
+        return SensitiveSerializeConfig.getInstance(profile).getObjectWriter(type);
+    }
+
+    /**
+     * 配置对应的视角
+     * @param config 配置，可以为 null
+     * @return 视角
+     * @since 0.0.14
+     */
+    protected String profile(final ISensitiveConfig config) {
+        return null == config ? ISensitiveConfig.DEFAULT_PROFILE : config.profile();
+    }
+
+    /**
+     * 配置对应视角的类计划
+     * @param config 配置，可以为 null
+     * @return 类计划
+     * @since 0.0.14
+     */
+    protected ClassPlans classPlans(final ISensitiveConfig config) {
+        return ClassPlanCache.getInstance().plans(profile(config));
+    }
+
+    /**
+     * 对象实际生效的视角，视角没有声明时为默认视角
+     * @param config 配置，可以为 null
+     * @param object 对象，可以为 null
+     * @return 视角
+     * @since 0.0.14
+     * @see ClassPlanCache#resolveProfile(String, Class)
+     */
+    protected String profile(final ISensitiveConfig config, final Object object) {
+        final Class<?> clazz = null == object ? null : object.getClass();
+        return ClassPlanCache.getInstance().resolveProfile(profile(config), clazz);
+    }
+
+    /**
+     * 对象实际生效的视角对应的类计划
+     * @param config 配置，可以为 null
+     * @param object 对象，可以为 null
+     * @return 类计划
+     * @since 0.0.14
+     */
+    protected ClassPlans classPlans(final ISensitiveConfig config, final Object object) {
+        return ClassPlanCache.getInstance().plans(profile(config, object));
+    }
+
+    /**
+     * 创建记录已处理对象的集合，按照引用判断
+     * @return 集合
+     * @since 0.0.14
+     */
+    protected Set<Object> newHandledSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    }
+
     @Override
     public String desJson(final T object, final ISensitiveConfig config) {
         if (ObjectUtil.isNull(object)) {
             return JSON.toJSONString(object);
         }
 
-        final SensitiveContext context = new SensitiveContext();
-        ContextValueFilter filter = new DefaultContextValueFilter(context);
-        return JSON.toJSONString(object, filter);
+        // 只有存在脱敏字段的类才会经过过滤器
+        return JSON.toJSONString(object, SensitiveSerializeConfig.getInstance(profile(config, object)));
+    }
+
+    /**
+     * 直接写入 appendable
+     *
+     * FastJSON 使用线程内复用的缓冲区，缓冲区写满时输出到 appendable，不会构建完整的字符串。
+     * @param object 对象
+     * @param config 配置信息
+     * @param appendable 输出目标，不会被关闭
+     * @since 0.0.14
+     */
+    @Override
+    public void desJson(final T object, final ISensitiveConfig config, final Appendable appendable) {
+        SerializeWriter out = new SerializeWriter(AppendableWriter.of(appendable),
+                JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.EMPTY);
+        try {
+            new JSONSerializer(out, SensitiveSerializeConfig.getInstance(profile(config, object))).write(object);
+        } finally {
+            // 输出剩余的内容，不会关闭原始的 appendable
+            out.close();
+        }
+    }
+
+    @Override
+    public void desJson(final T object, final ISensitiveConfig config, final OutputStream outputStream) {
+        Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+        desJson(object, config, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
     }
 
     /**
      * 处理脱敏相关信息
      *
+     * 深度拷贝保留了对象之间的引用关系时，同一个对象只处理一次，同时避免循环引用。
      * @param context    执行上下文
+     * @param handledSet 已经处理的对象
      * @param copyObject 拷贝的新对象
-     * @param clazz      class 类型
+     * @param classPlan  类执行计划
      */
     @SuppressWarnings({"unchecked"})
-    private void handleObject(final SensitiveContext context,
-                              final Object copyObject,
-                              final Class<?> clazz) {
-        // 每一个实体对应的字段，只对当前 clazz 生效。
-        List<Field> fieldList = ClassFieldListCache.getInstance().get(clazz);
-        context.setAllFieldList(fieldList);
-        context.setCurrentObject(copyObject);
+    protected void handleObject(final SensitiveContext context,
+                                final Set<Object> handledSet,
+                                final Object copyObject,
+                                final ClassPlan classPlan) {
+        if (null == copyObject
+                || !handledSet.add(copyObject)) {
+            return;
+        }
+
+        //1. 基础类型字段
+        classPlan.getBeanMasker().mask(copyObject, context);
 
+        //2. 数组、集合、对象
         try {
-            for (Field field : fieldList) {
-                SensitiveIgnore sensitiveIgnore = field.getAnnotation(SensitiveIgnore.class);
-                if (null != sensitiveIgnore) {
-                    continue;
-                }
+            for (FieldPlan fieldPlan : classPlan.getNestedPlans()) {
+                // 每一个实体对应的字段，只对当前 clazz 生效。
+                prepareSensitiveContext(context, copyObject, classPlan, fieldPlan);
 
-                prepareSensitiveContext(context, field);
-
-                // 设置当前处理的字段
-                final Class<?> fieldTypeClass = field.getType();
-                if (ClassTypeUtil.isBase(fieldTypeClass)) {
-                    // 处理单个字段脱敏信息
-                    DesensitizeField(context, copyObject, field);
-                } else if (fieldTypeClass.isArray()) {
-                    // 为数组类型
-                    Object array = field.get(copyObject);
-                    handleArrayObject(context, array);
-                } else if (ClassTypeUtil.isCollection(fieldTypeClass)) {
-                    // Collection 接口的子类
-                    Collection<Object> collection = (Collection<Object>) field.get(copyObject);
-                    collection = handleArrayCollection(context, collection);
-                    field.set(copyObject, collection);
-                } else {
-                    // 当作 javabean 对象处理内部字段
-                    final Object fieldNewObject = field.get(copyObject);
-                    handleObject(context, fieldNewObject, fieldTypeClass);
+                final IFieldAccessor accessor = fieldPlan.getAccessor();
+                switch (fieldPlan.getKind()) {
+                    case ARRAY:
+                        // 为数组类型
+                        Object array = accessor.get(copyObject);
+                        handleArrayObject(context, handledSet, copyObject, classPlan, fieldPlan, array);
+                        break;
+                    case COLLECTION:
+                        // Collection 接口的子类
+                        Collection<Object> collection = (Collection<Object>) accessor.get(copyObject);
+                        if (null != collection) {
+                            collection = handleArrayCollection(context, handledSet, copyObject, classPlan, fieldPlan, collection);
+                            accessor.set(copyObject, collection);
+                        }
+                        break;
+                    case MAP:
+                        // 指定了 key 规则时，按照规则处理值，对象类型的值递归处理
+                        Map<Object, Object> map = (Map<Object, Object>) accessor.get(copyObject);
+                        handleMapObject(context, handledSet, copyObject, classPlan, fieldPlan, map);
+                        break;
+                    default:
+                        // 当作 javabean 对象处理内部字段
+                        final Object fieldNewObject = accessor.get(copyObject);
+                        handleBean(context, handledSet, fieldNewObject);
+                        break;
                 }
             }
         } catch (IllegalAccessException | InstantiationException e) {
@@ -112,30 +269,151 @@ public class SensitiveService<T> implements ISensitive<T> {
         }
     }
 
+    /**
+     * 处理对象，根据对象的实际类型获取上下文中视角对应的执行计划
+     * @param context 上下文
+     * @param handledSet 已经处理的对象
+     * @param object 对象
+     * @since 0.0.14
+     */
+    private void handleBean(final SensitiveContext context, final Set<Object> handledSet, final Object object) {
+        if (null == object) {
+            return;
+        }
+        handleObject(context, handledSet, object, context.getClassPlans().get(object.getClass()));
+    }
+
+    /**
+     * 处理 Map，直接修改 Map 中的值
+     *
+     * 没有指定 key 规则的 Map 不做处理，和之前的版本保持一致。
+     * @param context 上下文
+     * @param handledSet 已经处理的对象
+     * @param copyObject 当前对象
+     * @param classPlan 类计划
+     * @param fieldPlan 字段计划
+     * @param map Map
+     * @since 0.0.14
+     */
+    protected void handleMapObject(final SensitiveContext context,
+                                   final Set<Object> handledSet,
+                                   final Object copyObject,
+                                   final ClassPlan classPlan,
+                                   final FieldPlan fieldPlan,
+                                   final Map<Object, Object> map) {
+        if (null == map
+                || null == fieldPlan.getMapKeyRules()) {
+            return;
+        }
+
+        MapValueMasker.mask(context, fieldPlan.getMapKeyRules(), map, new IHandler<Object, Object>() {
+            @Override
+            public Object handle(Object object) {
+                handleBean(context, handledSet, object);
+                // 对象递归处理后，重新设置当前字段信息
+                prepareSensitiveContext(context, copyObject, classPlan, fieldPlan);
+                return object;
+            }
+        });
+    }
+
+    /**
+     * 处理集合，返回处理后的新集合
+     * @param context 上下文
+     * @param handledSet 已经处理的对象
+     * @param copyObject 当前对象
+     * @param classPlan 类计划
+     * @param fieldPlan 字段计划
+     * @param collection 集合
+     * @return 结果
+     * @throws IllegalAccessException 异常
+     * @throws InstantiationException 异常
+     * @since 0.0.14
+     */
     @SuppressWarnings({"unchecked"})
-    private Collection<Object> handleArrayCollection(SensitiveContext context, Collection<Object> collection) throws IllegalAccessException, InstantiationException {
+    protected Collection<Object> handleArrayCollection(final SensitiveContext context,
+                                                       final Set<Object> handledSet,
+                                                       final Object copyObject,
+                                                       final ClassPlan classPlan,
+                                                       final FieldPlan fieldPlan,
+                                                       final Collection<Object> collection) throws IllegalAccessException, InstantiationException {
         Collection<Object> resultCollection = collection.getClass().newInstance();
         for (Object value : collection) {
-            value = getDesensitizedObjectWrapper(context, value);
+            value = getDesensitizedObjectWrapper(context, handledSet, copyObject, classPlan, fieldPlan, value);
             resultCollection.add(value);
         }
         return resultCollection;
     }
 
-    private void handleArrayObject(SensitiveContext context, Object array) {
-        for (int i = 0; i < Array.getLength(array); i++) {
+    /**
+     * 处理数组，直接修改数组中的元素
+     * @param context 上下文
+     * @param handledSet 已经处理的对象
+     * @param copyObject 当前对象
+     * @param classPlan 类计划
+     * @param fieldPlan 字段计划
+     * @param array 数组
+     * @since 0.0.14
+     */
+    protected void handleArrayObject(final SensitiveContext context,
+                                     final Set<Object> handledSet,
+                                     final Object copyObject,
+                                     final ClassPlan classPlan,
+                                     final FieldPlan fieldPlan,
+                                     final Object array) {
+        if (null == array) {
+            return;
+        }
+
+        // 对象数组直接下标访问
+        if (array instanceof Object[]) {
+            final Object[] objects = (Object[]) array;
+            for (int i = 0; i < objects.length; i++) {
+                objects[i] = getDesensitizedObjectWrapper(context, handledSet, copyObject, classPlan, fieldPlan, objects[i]);
+            }
+            return;
+        }
+
+        // 基本类型数组，没有策略时无需处理
+        if (!fieldPlan.hasStrategy()) {
+            return;
+        }
+        final int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
             Object value = Array.get(array, i);
-            value = getDesensitizedObjectWrapper(context, value);
+            value = getDesensitizedObjectWrapper(context, handledSet, copyObject, classPlan, fieldPlan, value);
             Array.set(array, i, value);
         }
     }
 
-    private Object getDesensitizedObjectWrapper(SensitiveContext context, Object object) {
+    /**
+     * 处理数组、集合中的单个元素
+     * @param context 上下文
+     * @param handledSet 已经处理的对象
+     * @param copyObject 当前对象
+     * @param classPlan 类计划
+     * @param fieldPlan 字段计划
+     * @param object 元素
+     * @return 处理后的元素
+     * @since 0.0.14
+     */
+    protected Object getDesensitizedObjectWrapper(final SensitiveContext context,
+                                                  final Set<Object> handledSet,
+                                                  final Object copyObject,
+                                                  final ClassPlan classPlan,
+                                                  final FieldPlan fieldPlan,
+                                                  final Object object) {
+        if (null == object) {
+            return null;
+        }
+
         if (ClassTypeUtil.isBase(object.getClass())) {
-            object = getDesensitizedObject(context, object);
-        } else {
-            handleObject(context, object, object.getClass());
+            // 前一个元素可能递归处理了对象，这里重新设置当前字段信息
+            prepareSensitiveContext(context, copyObject, classPlan, fieldPlan);
+            return getDesensitizedObject(context, object);
         }
+
+        handleBean(context, handledSet, object);
         return object;
     }
 
@@ -153,8 +431,8 @@ public class SensitiveService<T> implements ISensitive<T> {
      * @return 处理后的信息
      * @since 0.0.2
      */
-    private Object getDesensitizedObject(final SensitiveContext context,
-                                         final Object object) {
+    protected Object getDesensitizedObject(final SensitiveContext context,
+                                           final Object object) {
         if (null == context.getStrategy()) {
             return object;
         }
@@ -165,49 +443,25 @@ public class SensitiveService<T> implements ISensitive<T> {
     }
 
     /**
-     * 处理脱敏信息
+     * 根据字段计划设置上下文
      *
-     * @param context    上下文
-     * @param copyObject 复制的对象
-     * @param field      当前字段
-     * @since 0.0.2
+     * 策略和条件在计划构建时已经解析完成，这里只做赋值。
+     * @param context 上下文
+     * @param copyObject 当前对象
+     * @param classPlan 类计划
+     * @param fieldPlan 字段计划
+     * @since 0.0.14
      */
-    private void DesensitizeField(final SensitiveContext context,
-                                  final Object copyObject,
-                                  final Field field) throws IllegalAccessException {
-        final Object originalFieldVal = field.get(copyObject);
-        field.set(copyObject, getDesensitizedObject(context, originalFieldVal));
-    }
-
-    private void prepareSensitiveContext(SensitiveContext context, Field field) throws IllegalAccessException, InstantiationException {
-        Sensitive sensitive = field.getAnnotation(Sensitive.class);
-        if (sensitive != null) {
-            context.setCondition(sensitive.condition().newInstance());
-            context.setStrategy(sensitive.strategy().newInstance());
-        } else {
-            // 系统内置自定义注解的处理,获取所有的注解
-            parseStrategyFromField(context, field);
-        }
-        context.setCurrentField(field);
-    }
-
-    private void parseStrategyFromField(SensitiveContext context, Field field) {
-        Annotation[] annotations = field.getAnnotations();
-        for (Annotation annotation : annotations) {
-            SensitiveCondition sensitiveCondition = annotation.annotationType().getAnnotation(SensitiveCondition.class);
-            SensitiveStrategy sensitiveStrategy = annotation.annotationType().getAnnotation(SensitiveStrategy.class);
-            if (ObjectUtil.isNotNull(sensitiveStrategy)) {
-                Class<? extends IStrategy> clazz = sensitiveStrategy.value();
-                if (SensitiveStrategyBuiltIn.class.equals(clazz)) {
-                    context.setStrategy(SensitiveStrategyBuiltInUtil.require(annotation.annotationType()));
-                } else {
-                    context.setStrategy(ClassUtil.newInstance(clazz));
-                }
-            }
-            if (ObjectUtil.isNotNull(sensitiveCondition)) {
-                Class<? extends ICondition> customClass = sensitiveCondition.value();
-                context.setCondition(ClassUtil.newInstance(customClass));
-            }
-        }
+    protected void prepareSensitiveContext(final SensitiveContext context,
+                                           final Object copyObject,
+                                           final ClassPlan classPlan,
+                                           final FieldPlan fieldPlan) {
+        context.setCurrentObject(copyObject);
+        context.setAllFieldList(classPlan.getAllFieldList());
+        context.setBeanClass(classPlan.getBeanClass());
+        context.setCurrentField(fieldPlan.getField(), fieldPlan.getAccessor());
+        context.setStrategy(fieldPlan.getStrategy());
+        context.setCondition(fieldPlan.getCondition());
     }
+
 }
@@ -1,8 +1,7 @@
 package com.github.houbb.sensitive.core.api;
 
-import com.github.houbb.heaven.util.guava.Guavas;
-import com.github.houbb.heaven.util.util.CollectionUtil;
 import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
 
 import java.util.Collection;
 import java.util.List;
@@ -17,11 +16,16 @@ public final class SensitiveUtil {
 
     private SensitiveUtil(){}
 
+    /**
+     * 默认的脱敏引擎，多线程共享
+     * @since 0.0.14
+     */
+    private static final SensitiveEngine DEFAULT_ENGINE = SensitiveBs.newInstance().build();
+
     /**
      * 脱敏对象
      *
-     * 每次都创建一个新的对象，避免线程问题
-     * 可以使用 {@link ThreadLocal} 简单优化。
+     * 0.0.14 使用共享的默认引擎，不再每次创建引导类和配置。
      * @param object 原始对象
      * @param <T> 泛型
      * @return 脱敏后的对象
@@ -29,7 +33,7 @@ public final class SensitiveUtil {
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static <T> T desCopy(T object) {
-        return SensitiveBs.newInstance().desCopy(object);
+        return DEFAULT_ENGINE.desCopy(object);
     }
 
     /**
@@ -41,7 +45,7 @@ public final class SensitiveUtil {
      */
     @SuppressWarnings({"unchecked", "rawtypes"})
     public static String desJson(Object object) {
-        return SensitiveBs.newInstance().desJson(object);
+        return DEFAULT_ENGINE.desJson(object);
     }
 
     /**
@@ -53,18 +57,10 @@ public final class SensitiveUtil {
      * @author zhangweihao https://github.com/giantzhang
      * @author binbin.hou
      * @see #desCopy(Object) 单个对象脱敏
+     * @see SensitiveEngine#desCopyCollection(Collection) 0.0.14 共享配置，在调用线程中顺序处理
      */
     public static <T> List<T> desCopyCollection(Collection<T> collection) {
-        if(CollectionUtil.isEmpty(collection)) {
-            return Guavas.newArrayList();
-        }
-
-        List<T> resultList = Guavas.newArrayList(collection.size());
-        for(T item : collection) {
-            T sensitive = desCopy(item);
-            resultList.add(sensitive);
-        }
-        return resultList;
+        return DEFAULT_ENGINE.desCopyCollection(collection);
     }
 
     /**
@@ -75,18 +71,10 @@ public final class SensitiveUtil {
      * @author zhangweihao https://github.com/giantzhang
      * @author binbin.hou
      * @see #desJson(Object) 单个对象的脱敏 json
+     * @see SensitiveEngine#desJsonCollection(Collection) 0.0.14 共享配置，在调用线程中顺序处理
      */
     public static List<String> desJsonCollection(Collection<?> collection) {
-        if(CollectionUtil.isEmpty(collection)) {
-            return Guavas.newArrayList();
-        }
-
-        List<String> resultList = Guavas.newArrayList(collection.size());
-        for(Object item : collection) {
-            String sensitiveJson = desJson(item);
-            resultList.add(sensitiveJson);
-        }
-        return resultList;
+        return DEFAULT_ENGINE.desJsonCollection(collection);
     }
 
 }
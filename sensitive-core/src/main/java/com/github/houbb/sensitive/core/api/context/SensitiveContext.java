@@ -3,8 +3,12 @@ package com.github.houbb.sensitive.core.api.context;
 import com.github.houbb.heaven.annotation.NotThreadSafe;
 import com.github.houbb.sensitive.api.ICondition;
 import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
 import com.github.houbb.sensitive.api.IStrategy;
 import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -30,6 +34,13 @@ public class SensitiveContext implements IContext {
      */
     private Field currentField;
 
+    /**
+     * 当前字段访问器
+     *
+     * @since 0.0.14
+     */
+    private IFieldAccessor currentFieldAccessor;
+
     /**
      * 所有字段
      */
@@ -53,6 +64,30 @@ public class SensitiveContext implements IContext {
 
     private IStrategy strategy;
 
+    /**
+     * 当前视角对应的类计划
+     *
+     * @since 0.0.14
+     */
+    private ClassPlans classPlans;
+
+    /**
+     * 当前视角对应的类计划
+     *
+     * @return 类计划，没有设置时使用默认视角
+     * @since 0.0.14
+     */
+    public ClassPlans getClassPlans() {
+        if (null == classPlans) {
+            classPlans = ClassPlanCache.getInstance().plans(ISensitiveConfig.DEFAULT_PROFILE);
+        }
+        return classPlans;
+    }
+
+    public void setClassPlans(ClassPlans classPlans) {
+        this.classPlans = classPlans;
+    }
+
     public ICondition getCondition() {
         return condition;
     }
@@ -108,6 +143,10 @@ public class SensitiveContext implements IContext {
      */
     @Override
     public Object getCurrentFieldValue() {
+        if (null != this.currentFieldAccessor) {
+            return this.currentFieldAccessor.get(this.currentObject);
+        }
+
         try {
             return this.currentField.get(this.currentObject);
         } catch (IllegalAccessException e) {
@@ -117,6 +156,19 @@ public class SensitiveContext implements IContext {
 
     public void setCurrentField(Field currentField) {
         this.currentField = currentField;
+        this.currentFieldAccessor = null;
+    }
+
+    /**
+     * 设置当前字段及其访问器
+     *
+     * @param currentField 当前字段
+     * @param currentFieldAccessor 字段访问器
+     * @since 0.0.14
+     */
+    public void setCurrentField(Field currentField, IFieldAccessor currentFieldAccessor) {
+        this.currentField = currentField;
+        this.currentFieldAccessor = currentFieldAccessor;
     }
 
     @Override
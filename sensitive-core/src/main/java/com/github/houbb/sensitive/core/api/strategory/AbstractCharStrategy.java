@@ -0,0 +1,136 @@
+package com.github.houbb.sensitive.core.api.strategory;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.api.IContext;
+
+import java.io.IOException;
+
+/**
+ * 抽象字符脱敏策略
+ *
+ * 脱敏结果统一为：保留前缀 + 星号 + 保留后缀
+ * （1）子类只需要计算前缀和星号的长度，剩余的部分作为后缀
+ * （2）结果的长度可以提前计算，写入时不创建中间对象
+ * （3）子类只重写 {@link #des(Object, IContext)} 时，序列化不再使用字符方法，统一使用重写后的 des 方法
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public abstract class AbstractCharStrategy implements ICharStrategy {
+
+    /**
+     * 星号
+     * @since 0.0.14
+     */
+    private static final char STAR = '*';
+
+    /**
+     * 脱敏结果是否为 null
+     * @param original 原始内容
+     * @return 是否
+     * @since 0.0.14
+     */
+    protected boolean isNull(final CharSequence original) {
+        return false;
+    }
+
+    /**
+     * 保留的前缀长度，不能超过原始内容的长度
+     * @param original 原始内容
+     * @return 长度
+     * @since 0.0.14
+     */
+    protected abstract int prefixLength(final CharSequence original);
+
+    /**
+     * 星号的长度
+     * @param original 原始内容
+     * @return 长度
+     * @since 0.0.14
+     */
+    protected abstract int starLength(final CharSequence original);
+
+    @Override
+    public Object des(Object original, IContext context) {
+        if (ObjectUtil.isNull(original)) {
+            return null;
+        }
+
+        final String string = ObjectUtil.objectToString(original);
+        final int length = length(string, context);
+        if (length < 0) {
+            return null;
+        }
+        char[] chars = new char[length];
+        des(string, context, chars, 0);
+        return new String(chars);
+    }
+
+    @Override
+    public int length(CharSequence original, IContext context) {
+        if (isNull(original)) {
+            return -1;
+        }
+        final int prefixLength = prefixLength(original);
+        final int starLength = starLength(original);
+        return prefixLength + starLength + suffixLength(original, prefixLength, starLength);
+    }
+
+    @Override
+    public int des(CharSequence original, IContext context, char[] chars, int offset) {
+        if (isNull(original)) {
+            return -1;
+        }
+
+        final int prefixLength = prefixLength(original);
+        final int starLength = starLength(original);
+        final int suffixLength = suffixLength(original, prefixLength, starLength);
+
+        int index = offset;
+        for (int i = 0; i < prefixLength; i++) {
+            chars[index++] = original.charAt(i);
+        }
+        for (int i = 0; i < starLength; i++) {
+            chars[index++] = STAR;
+        }
+        final int originalLength = original.length();
+        for (int i = originalLength - suffixLength; i < originalLength; i++) {
+            chars[index++] = original.charAt(i);
+        }
+        return index - offset;
+    }
+
+    @Override
+    public boolean des(CharSequence original, IContext context, Appendable appendable) throws IOException {
+        if (isNull(original)) {
+            return false;
+        }
+
+        final int prefixLength = prefixLength(original);
+        final int starLength = starLength(original);
+        final int suffixLength = suffixLength(original, prefixLength, starLength);
+
+        appendable.append(original, 0, prefixLength);
+        for (int i = 0; i < starLength; i++) {
+            appendable.append(STAR);
+        }
+        final int originalLength = original.length();
+        appendable.append(original, originalLength - suffixLength, originalLength);
+        return true;
+    }
+
+    /**
+     * 保留的后缀长度
+     * @param original 原始内容
+     * @param prefixLength 前缀长度
+     * @param starLength 星号长度
+     * @return 长度
+     * @since 0.0.14
+     */
+    private int suffixLength(final CharSequence original, final int prefixLength, final int starLength) {
+        return Math.max(0, original.length() - prefixLength - starLength);
+    }
+
+}
@@ -1,10 +1,5 @@
 package com.github.houbb.sensitive.core.api.strategory;
 
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.sensitive.api.IContext;
-import com.github.houbb.sensitive.api.IStrategy;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
-
 /**
  * 二代身份证号脱敏加密：
  * XXXXXX XXXXXXXX XXXX
@@ -14,11 +9,26 @@ import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
  * @author binbin.hou
  * date 2019/1/2
  */
-public class StrategyCardId implements IStrategy {
+public class StrategyCardId extends AbstractCharStrategy {
+
+    /**
+     * 保留的前缀长度
+     */
+    private static final int PREFIX_LENGTH = 6;
+
+    /**
+     * 星号的长度
+     */
+    private static final int STAR_LENGTH = 10;
+
+    @Override
+    protected int prefixLength(CharSequence original) {
+        return Math.min(original.length(), PREFIX_LENGTH);
+    }
 
     @Override
-    public Object des(Object original, IContext context) {
-        return SensitiveStrategyUtil.cardId(ObjectUtil.objectToString(original));
+    protected int starLength(CharSequence original) {
+        return STAR_LENGTH;
     }
 
 }
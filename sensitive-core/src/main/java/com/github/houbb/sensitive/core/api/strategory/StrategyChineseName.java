@@ -1,10 +1,5 @@
 package com.github.houbb.sensitive.core.api.strategory;
 
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.sensitive.api.IContext;
-import com.github.houbb.sensitive.api.IStrategy;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
-
 /**
  * 中文名称脱敏策略：
  * 0. 少于等于1个字 直接返回
@@ -14,11 +9,27 @@ import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
  * @author binbin.hou
  * date 2019/1/2
  */
-public class StrategyChineseName implements IStrategy {
+public class StrategyChineseName extends AbstractCharStrategy {
+
+    @Override
+    protected int prefixLength(CharSequence original) {
+        final int length = original.length();
+        if (2 == length) {
+            return 0;
+        }
+        return Math.min(length, 1);
+    }
 
     @Override
-    public Object des(Object original, IContext context) {
-        return SensitiveStrategyUtil.chineseName(ObjectUtil.objectToString(original));
+    protected int starLength(CharSequence original) {
+        final int length = original.length();
+        if (length <= 1) {
+            return 0;
+        }
+        if (2 == length) {
+            return 1;
+        }
+        return length - 2;
     }
 
 }
@@ -0,0 +1,29 @@
+package com.github.houbb.sensitive.core.api.strategory;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.dictionary.AhoCorasickDictionary;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+
+/**
+ * 词典脱敏策略
+ *
+ * 文本中出现的词典词条全部用*代替，其他内容保持不变。
+ * 在 {@code @Sensitive(strategy = StrategyDictionary.class)} 中使用时，需要在使用前通过
+ * {@link SensitiveInstances#register(Class, Object)} 注册带有词典的实例，或者继承后在无参构造器中指定词典。
+ * 没有指定词典时直接报错，避免词条没有脱敏。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class StrategyDictionary extends StrategyText {
+
+    public StrategyDictionary() {
+        throw new SensitiveRuntimeException("StrategyDictionary 没有指定词典，请通过 SensitiveInstances.register 注册带有词典的实例");
+    }
+
+    public StrategyDictionary(final AhoCorasickDictionary dictionary) {
+        super(dictionary);
+    }
+
+}
@@ -1,10 +1,5 @@
 package com.github.houbb.sensitive.core.api.strategory;
 
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.sensitive.api.IContext;
-import com.github.houbb.sensitive.api.IStrategy;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
-
 /**
  * 邮箱脱敏策略
  * 脱敏规则：
@@ -12,11 +7,50 @@ import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
  * @author binbin.hou
  * date 2019/1/2
  */
-public class StrategyEmail implements IStrategy {
+public class StrategyEmail extends AbstractCharStrategy {
+
+    /**
+     * 保留的前缀长度
+     */
+    private static final int PREFIX_LENGTH = 3;
+
+    /**
+     * 没有 @ 时星号的长度
+     */
+    private static final int STAR_LENGTH = 4;
+
+    @Override
+    protected boolean isNull(CharSequence original) {
+        return original.length() == 0;
+    }
 
     @Override
-    public Object des(Object original, IContext context) {
-        return SensitiveStrategyUtil.email(ObjectUtil.objectToString(original));
+    protected int prefixLength(CharSequence original) {
+        return Math.min(original.length(), PREFIX_LENGTH);
+    }
+
+    @Override
+    protected int starLength(CharSequence original) {
+        final int atIndex = indexOfAt(original);
+        if (atIndex > 0) {
+            // @ 之前除了前缀，全部隐藏
+            return Math.max(0, atIndex - PREFIX_LENGTH);
+        }
+        return STAR_LENGTH;
+    }
+
+    /**
+     * 第一个 @ 的位置
+     * @param original 原始内容
+     * @return 位置，不存在时返回 -1
+     */
+    private int indexOfAt(final CharSequence original) {
+        for (int i = 0; i < original.length(); i++) {
+            if ('@' == original.charAt(i)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
 }
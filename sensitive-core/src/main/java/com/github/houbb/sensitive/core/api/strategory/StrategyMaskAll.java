@@ -0,0 +1,23 @@
+package com.github.houbb.sensitive.core.api.strategory;
+
+/**
+ * 全部隐藏的脱敏策略
+ * 脱敏规则：张三丰 → ***
+ *
+ * 所有字符都用*代替，长度保持不变。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class StrategyMaskAll extends AbstractCharStrategy {
+
+    @Override
+    protected int prefixLength(CharSequence original) {
+        return 0;
+    }
+
+    @Override
+    protected int starLength(CharSequence original) {
+        return original.length();
+    }
+
+}
@@ -1,21 +1,26 @@
 package com.github.houbb.sensitive.core.api.strategory;
 
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.sensitive.api.IContext;
-import com.github.houbb.sensitive.api.IStrategy;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
-
 /**
  * 密码的脱敏策略：
  * 1. 直接返回 null
  * @author binbin.hou
  * date 2018/12/29
  */
-public class StrategyPassword implements IStrategy {
+public class StrategyPassword extends AbstractCharStrategy {
+
+    @Override
+    protected boolean isNull(CharSequence original) {
+        return true;
+    }
+
+    @Override
+    protected int prefixLength(CharSequence original) {
+        return 0;
+    }
 
     @Override
-    public Object des(Object original, IContext context) {
-        return SensitiveStrategyUtil.password(ObjectUtil.objectToString(original));
+    protected int starLength(CharSequence original) {
+        return 0;
     }
 
 }
@@ -1,10 +1,5 @@
 package com.github.houbb.sensitive.core.api.strategory;
 
-import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.sensitive.api.IContext;
-import com.github.houbb.sensitive.api.IStrategy;
-import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
-
 /**
  * 手机号脱敏
  * 脱敏规则：139****6631
@@ -12,11 +7,26 @@ import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
  * @author binbin.hou
  * date 2019/1/2
  */
-public class StrategyPhone implements IStrategy {
+public class StrategyPhone extends AbstractCharStrategy {
+
+    /**
+     * 保留的前缀长度
+     */
+    private static final int PREFIX_LENGTH = 3;
+
+    /**
+     * 星号的长度
+     */
+    private static final int STAR_LENGTH = 4;
+
+    @Override
+    protected int prefixLength(CharSequence original) {
+        return Math.min(original.length(), PREFIX_LENGTH);
+    }
 
     @Override
-    public Object des(Object original, IContext context) {
-        return SensitiveStrategyUtil.phone(ObjectUtil.objectToString(original));
+    protected int starLength(CharSequence original) {
+        return STAR_LENGTH;
     }
 
 }
@@ -0,0 +1,110 @@
+package com.github.houbb.sensitive.core.api.strategory;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.instance.impl.Instances;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.detect.DefaultPiiDetector;
+import com.github.houbb.sensitive.core.support.detect.IPiiDetector;
+import com.github.houbb.sensitive.core.support.detect.PiiMatch;
+import com.github.houbb.sensitive.core.support.detect.PiiType;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 自由文本脱敏策略
+ *
+ * 识别文本中的手机号、身份证号、银行卡号、邮箱，分别使用对应的内置策略脱敏，其他内容保持不变。
+ * 识别结果为词典词条时，全部隐藏。
+ * 脱敏规则：联系电话 138****5678，邮箱 abc****@qq.com
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class StrategyText implements IStrategy {
+
+    /**
+     * 敏感信息识别
+     * @since 0.0.14
+     */
+    private final IPiiDetector detector;
+
+    public StrategyText() {
+        this(Instances.singleton(DefaultPiiDetector.class));
+    }
+
+    public StrategyText(final IPiiDetector detector) {
+        ArgUtil.notNull(detector, "detector");
+
+        this.detector = detector;
+    }
+
+    @Override
+    public Object des(Object original, IContext context) {
+        if (ObjectUtil.isNull(original)) {
+            return null;
+        }
+        return des(ObjectUtil.objectToString(original), context);
+    }
+
+    /**
+     * 脱敏文本
+     * @param text 文本
+     * @param context 上下文
+     * @return 结果，不包含敏感信息时返回原始内容
+     * @since 0.0.14
+     */
+    public String des(final CharSequence text, final IContext context) {
+        if (null == text) {
+            return null;
+        }
+
+        final List<PiiMatch> matches = detector.detect(text);
+        if (matches.isEmpty()) {
+            return text.toString();
+        }
+
+        final StringBuilder stringBuilder = new StringBuilder(text.length());
+        try {
+            int index = 0;
+            for (PiiMatch match : matches) {
+                stringBuilder.append(text, index, match.getStart());
+                final CharSequence original = text.subSequence(match.getStart(), match.getEnd());
+                if (!strategy(match.getType()).des(original, context, stringBuilder)) {
+                    stringBuilder.append(original);
+                }
+                index = match.getEnd();
+            }
+            stringBuilder.append(text, index, text.length());
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+        return stringBuilder.toString();
+    }
+
+    /**
+     * 类型对应的内置策略，和 {@link com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil} 保持一致
+     * @param type 类型
+     * @return 策略
+     * @since 0.0.14
+     */
+    private static ICharStrategy strategy(final PiiType type) {
+        switch (type) {
+            case PHONE:
+                return Instances.singleton(StrategyPhone.class);
+            case EMAIL:
+                return Instances.singleton(StrategyEmail.class);
+            case DICTIONARY:
+                return Instances.singleton(StrategyMaskAll.class);
+            default:
+                // 身份证号、银行卡号
+                return Instances.singleton(StrategyCardId.class);
+        }
+    }
+
+}
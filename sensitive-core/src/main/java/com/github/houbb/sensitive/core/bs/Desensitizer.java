@@ -0,0 +1,243 @@
+package com.github.houbb.sensitive.core.bs;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.api.SensitiveService;
+import com.github.houbb.sensitive.core.support.filter.SensitiveSerializeConfig;
+import com.github.houbb.sensitive.core.support.io.AppendableWriter;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 绑定类型的脱敏器
+ *
+ * （1）通过 {@link SensitiveEngine#forType(Class)} 创建，可以多线程共享
+ * （2）创建时解析配置视角对应的类计划和 json 序列化器，调用时不再查询缓存
+ * （3）对象的实际类型和绑定类型不一致时（子类、null），回退到引擎的通用处理
+ * （4）规则重新加载后，第一次调用时重新绑定类计划和 json 序列化器
+ *
+ * 固定类型的热点调用，建议保存到静态常量中复用。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public final class Desensitizer<T> {
+
+    /**
+     * 绑定的类型
+     * @since 0.0.14
+     */
+    private final Class<T> type;
+
+    /**
+     * 脱敏实现
+     * @since 0.0.14
+     */
+    private final ISensitive<T> sensitive;
+
+    /**
+     * 配置
+     * @since 0.0.14
+     */
+    private final ISensitiveConfig config;
+
+    /**
+     * 配置对应的视角
+     * @since 0.0.14
+     */
+    private final String profile;
+
+    /**
+     * 默认实现，其他实现时为 null
+     * @since 0.0.14
+     */
+    private final SensitiveService<T> sensitiveService;
+
+    /**
+     * 当前计划版本的绑定信息
+     * @since 0.0.14
+     */
+    private volatile Binding binding;
+
+    /**
+     * 引擎中的脱敏实现为原始类型，在这里统一转换为绑定的类型
+     * @param type 类型
+     * @param sensitive 脱敏实现
+     * @param config 配置
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Desensitizer(final Class<T> type, final ISensitive sensitive, final ISensitiveConfig config) {
+        ArgUtil.notNull(type, "type");
+
+        this.type = type;
+        this.sensitive = sensitive;
+        this.config = config;
+        this.profile = null == config ? ISensitiveConfig.DEFAULT_PROFILE : config.profile();
+        this.sensitiveService = sensitive instanceof SensitiveService ? (SensitiveService<T>) sensitive : null;
+        this.binding = bind();
+    }
+
+    /**
+     * 绑定的类型
+     * @return 类型
+     * @since 0.0.14
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * 脱敏对象
+     * @param object 原始对象
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     */
+    public T desCopy(T object) {
+        if (null != sensitiveService && isBound(object)) {
+            return sensitiveService.desCopy(object, config, binding().classPlan);
+        }
+        return sensitive.desCopy(object, config);
+    }
+
+    /**
+     * 返回脱敏后的对象 json
+     * null 对象，返回字符串 "null"
+     * @param object 对象
+     * @return 结果 json
+     * @since 0.0.14
+     */
+    public String desJson(T object) {
+        final Binding current = binding();
+        if (null == current.jsonSerializer || !isBound(object)) {
+            return sensitive.desJson(object, config);
+        }
+
+        SerializeWriter out = new SerializeWriter(null, JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.EMPTY);
+        try {
+            write(out, current, object);
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * 脱敏后的 json 写入到 appendable，不构建完整的字符串
+     * null 对象，写入字符串 "null"
+     * @param object 对象
+     * @param appendable 输出目标，不会被关闭
+     * @since 0.0.14
+     */
+    public void writeJson(T object, Appendable appendable) {
+        ArgUtil.notNull(appendable, "appendable");
+
+        final Binding current = binding();
+        if (null == current.jsonSerializer || !isBound(object)) {
+            sensitive.desJson(object, config, appendable);
+            return;
+        }
+
+        final Writer writer = AppendableWriter.of(appendable);
+        SerializeWriter out = new SerializeWriter(writer, JSON.DEFAULT_GENERATE_FEATURE, SerializerFeature.EMPTY);
+        try {
+            write(out, current, object);
+        } finally {
+            // 输出剩余的内容，不会关闭原始的 appendable
+            out.close();
+        }
+    }
+
+    /**
+     * 使用绑定的序列化器写入
+     * @param out 输出
+     * @param binding 绑定信息
+     * @param object 对象
+     * @since 0.0.14
+     */
+    private void write(final SerializeWriter out, final Binding binding, final T object) {
+        final JSONSerializer serializer = new JSONSerializer(out, binding.serializeConfig);
+        try {
+            binding.jsonSerializer.write(serializer, object, null, null, 0);
+        } catch (IOException e) {
+            throw new JSONException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 对象的实际类型是否为绑定的类型
+     * @param object 对象
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isBound(final T object) {
+        return null != object && object.getClass() == type;
+    }
+
+    /**
+     * 获取绑定信息，计划版本变化时重新绑定
+     * @return 绑定信息
+     * @since 0.0.14
+     */
+    private Binding binding() {
+        Binding current = binding;
+        if (current.version < ClassPlanCache.getInstance().version()) {
+            current = bind();
+            binding = current;
+        }
+        return current;
+    }
+
+    private Binding bind() {
+        final long version = ClassPlanCache.getInstance().version();
+        final String resolved = ClassPlanCache.getInstance().resolveProfile(profile, type);
+        final ClassPlan classPlan = ClassPlanCache.getInstance().get(type, resolved);
+        final ObjectSerializer jsonSerializer = null == sensitiveService ? null : sensitiveService.getJsonSerializer(type, resolved);
+        final SensitiveSerializeConfig serializeConfig = null == jsonSerializer ? null : SensitiveSerializeConfig.getInstance(resolved);
+        return new Binding(version, classPlan, jsonSerializer, serializeConfig);
+    }
+
+    /**
+     * 绑定信息
+     * @since 0.0.14
+     */
+    private static final class Binding {
+
+        private final long version;
+
+        private final ClassPlan classPlan;
+
+        /**
+         * json 序列化器，不支持绑定时为 null
+         * @since 0.0.14
+         */
+        private final ObjectSerializer jsonSerializer;
+
+        /**
+         * 嵌套对象使用的序列化配置，不支持绑定时为 null
+         * @since 0.0.14
+         */
+        private final SensitiveSerializeConfig serializeConfig;
+
+        private Binding(long version, ClassPlan classPlan, ObjectSerializer jsonSerializer,
+                        SensitiveSerializeConfig serializeConfig) {
+            this.version = version;
+            this.classPlan = classPlan;
+            this.jsonSerializer = jsonSerializer;
+            this.serializeConfig = serializeConfig;
+        }
+    }
+
+}
@@ -1,13 +1,31 @@
 package com.github.houbb.sensitive.core.bs;
 
+import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.houbb.heaven.support.instance.impl.Instances;
 import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
 import com.github.houbb.sensitive.api.IDeepCopy;
 import com.github.houbb.sensitive.api.ISensitive;
 import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.api.IStrategy;
 import com.github.houbb.sensitive.core.api.SensitiveService;
+import com.github.houbb.sensitive.core.api.strategory.StrategyText;
 import com.github.houbb.sensitive.core.support.config.DefaultSensitiveConfig;
 import com.github.houbb.sensitive.core.support.deepcopy.JacksonDeepCopy;
+import com.github.houbb.sensitive.core.support.detect.IPiiDetector;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import com.github.houbb.sensitive.core.support.json.JsonRules;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleRegistry;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRules;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 脱敏引导类
@@ -30,6 +48,59 @@ public final class SensitiveBs {
      */
     private ISensitive sensitive = Instances.singleton(SensitiveService.class);
 
+    /**
+     * 默认的并行阈值，只指定线程池时使用
+     * @since 0.0.14
+     */
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * 批量处理使用的线程池
+     * 为 null 时，如果指定了并行阈值，使用 {@link ForkJoinPool#commonPool()}
+     * @since 0.0.14
+     */
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * 批量处理的并行阈值
+     * 集合大小超过阈值时并行处理，同时也是每个子任务处理的最大数量。
+     * 为 0 时，如果指定了线程池，使用 {@link #DEFAULT_PARALLEL_THRESHOLD}
+     * @since 0.0.14
+     */
+    private int parallelThreshold;
+
+    /**
+     * 默认的脱敏视角
+     * @since 0.0.14
+     */
+    private String profile = ISensitiveConfig.DEFAULT_PROFILE;
+
+    /**
+     * JSON 字段名规则
+     * @since 0.0.14
+     */
+    private final Map<String, IStrategy> jsonFields = Guavas.newLinkedHashMap();
+
+    /**
+     * JSON 路径规则
+     * @since 0.0.14
+     */
+    private final Map<String, IStrategy> jsonPaths = Guavas.newLinkedHashMap();
+
+    /**
+     * 自由文本的敏感信息识别
+     * 为 null 时使用 {@link SensitiveInstances} 中注册的 {@link StrategyText}
+     * @since 0.0.14
+     */
+    private IPiiDetector piiDetector;
+
+    /**
+     * 当前配置对应的引擎
+     * 第一次使用时创建，修改配置后置空，下次使用时重新创建
+     * @since 0.0.14
+     */
+    private volatile SensitiveEngine engine;
+
     /**
      * 新建实例
      * @since 0.0.9
@@ -49,9 +120,214 @@ public final class SensitiveBs {
         ArgUtil.notNull(deepCopy, "deepCopy");
 
         this.deepCopy = deepCopy;
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置脱敏实现
+     * @param sensitive 脱敏实现
+     * @return this
+     * @see com.github.houbb.sensitive.core.support.sensitive.Sensitives
+     * @since 0.0.14
+     */
+    public SensitiveBs sensitive(ISensitive sensitive) {
+        ArgUtil.notNull(sensitive, "sensitive");
+
+        this.sensitive = sensitive;
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置默认的脱敏视角
+     *
+     * 视角对应的脱敏方式通过 {@link com.github.houbb.sensitive.annotation.SensitiveProfile}
+     * 或者 {@link SensitiveRules#profile(String)} 指定。
+     * @param profile 视角，如 log、cs、audit
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveBs profile(String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+
+        this.profile = profile;
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置批量处理使用的线程池
+     *
+     * 批量处理默认在调用线程中顺序执行，指定线程池或者并行阈值后才会并行处理。
+     * 并行处理时，条件等实现无法读取调用线程的 ThreadLocal（如 MDC）。
+     * @param forkJoinPool 线程池
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveBs forkJoinPool(ForkJoinPool forkJoinPool) {
+        ArgUtil.notNull(forkJoinPool, "forkJoinPool");
+
+        this.forkJoinPool = forkJoinPool;
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置批量处理的并行阈值
+     *
+     * 没有指定线程池时，使用 {@link ForkJoinPool#commonPool()}
+     * @param parallelThreshold 阈值，集合大小超过阈值时并行处理
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveBs parallelThreshold(int parallelThreshold) {
+        ArgUtil.positive(parallelThreshold, "parallelThreshold");
+
+        this.parallelThreshold = parallelThreshold;
+        this.engine = null;
         return this;
     }
 
+    /**
+     * 设置 JSON 字段名规则，任意层级的同名字段都生效
+     * @param name 字段名
+     * @param strategy 策略
+     * @return this
+     * @see SensitiveEngine#desRawJson(byte[])
+     * @since 0.0.14
+     */
+    public SensitiveBs jsonField(String name, IStrategy strategy) {
+        ArgUtil.notEmpty(name, "name");
+        ArgUtil.notNull(strategy, "strategy");
+
+        this.jsonFields.put(name, strategy);
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置 JSON 路径规则，如 user.phone，数组对路径透明
+     *
+     * 路径规则优先于字段名规则。
+     * @param path 路径
+     * @param strategy 策略
+     * @return this
+     * @see SensitiveEngine#desRawJson(byte[])
+     * @since 0.0.14
+     */
+    public SensitiveBs jsonPath(String path, IStrategy strategy) {
+        ArgUtil.notEmpty(path, "path");
+        ArgUtil.notNull(strategy, "strategy");
+
+        this.jsonPaths.put(path, strategy);
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置自由文本的敏感信息识别，如组合了词典的 {@link com.github.houbb.sensitive.core.support.detect.CompositePiiDetector}
+     *
+     * 没有指定时，{@link #desText(CharSequence)} 使用 {@link SensitiveInstances} 中注册的 {@link StrategyText}。
+     * @param piiDetector 敏感信息识别
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveBs piiDetector(IPiiDetector piiDetector) {
+        ArgUtil.notNull(piiDetector, "piiDetector");
+
+        this.piiDetector = piiDetector;
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 设置外部规则
+     *
+     * （1）JSON 路径规则加入到当前引导类，和 {@link #jsonPath(String, IStrategy)} 相同
+     * （2）类字段规则注册到 {@link SensitiveRuleRegistry}，全局生效，已经创建的引擎也会使用新的规则
+     * @param rules 规则
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveBs rules(SensitiveRules rules) {
+        ArgUtil.notNull(rules, "rules");
+
+        SensitiveRuleRegistry.register(rules);
+        this.jsonPaths.putAll(rules.getJsonPaths());
+        this.engine = null;
+        return this;
+    }
+
+    /**
+     * 构建脱敏引擎
+     *
+     * 引擎创建后不可变，可以多线程共享。后续修改当前引导类，不影响已经创建的引擎。
+     * 配置没有变化时，多次调用返回同一个引擎。
+     * @return 引擎
+     * @since 0.0.14
+     */
+    public SensitiveEngine build() {
+        SensitiveEngine current = engine;
+        if (null == current) {
+            current = new SensitiveEngine(sensitive, buildConfig(), buildForkJoinPool(), buildParallelThreshold(),
+                    JsonRules.of(jsonFields, jsonPaths), buildTextStrategy());
+            engine = current;
+        }
+        return current;
+    }
+
+    /**
+     * 构建自由文本脱敏策略
+     * @return 策略
+     * @since 0.0.14
+     */
+    private InstanceHolder<StrategyText> buildTextStrategy() {
+        if (null != piiDetector) {
+            return InstanceHolder.singleton(new StrategyText(piiDetector));
+        }
+        return SensitiveInstances.holder(StrategyText.class);
+    }
+
+    /**
+     * 构建批量处理使用的线程池
+     * @return 线程池，没有开启并行处理时返回 null
+     * @since 0.0.14
+     */
+    private ForkJoinPool buildForkJoinPool() {
+        if (null != forkJoinPool) {
+            return forkJoinPool;
+        }
+        if (parallelThreshold > 0) {
+            return ForkJoinPool.commonPool();
+        }
+        return null;
+    }
+
+    /**
+     * 构建批量处理的并行阈值
+     * @return 阈值
+     * @since 0.0.14
+     */
+    private int buildParallelThreshold() {
+        if (parallelThreshold > 0) {
+            return parallelThreshold;
+        }
+        return DEFAULT_PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * 创建绑定指定类型的脱敏器
+     * @param type 类型
+     * @param <T> 泛型
+     * @return 脱敏器
+     * @since 0.0.14
+     * @see SensitiveEngine#forType(Class)
+     */
+    public <T> Desensitizer<T> forType(Class<T> type) {
+        return build().forType(type);
+    }
+
     /**
      * 脱敏对象
      *
@@ -61,11 +337,23 @@ public final class SensitiveBs {
      * @param <T> 泛型
      * @return 脱敏后的对象
      * @since 0.0.4 以前用的是单例。建议使用 spring 等容器管理 ISensitive 实现。
+     * @see #build() 0.0.14 多次调用时，建议复用引擎
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public <T> T desCopy(T object) {
-        ISensitiveConfig config = buildConfig();
-        return (T) sensitive.desCopy(object, config);
+        return build().desCopy(object);
+    }
+
+    /**
+     * 按照指定视角脱敏对象
+     * @param object 原始对象
+     * @param profile 视角
+     * @param <T> 泛型
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     * @see SensitiveEngine#desCopy(Object, String)
+     */
+    public <T> T desCopy(T object, String profile) {
+        return build().desCopy(object, profile);
     }
 
     /**
@@ -75,10 +363,142 @@ public final class SensitiveBs {
      * @return 结果 json
      * @since 0.0.9
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public String desJson(Object object) {
-        ISensitiveConfig config = buildConfig();
-        return sensitive.desJson(object, config);
+        return build().desJson(object);
+    }
+
+    /**
+     * 按照指定视角返回脱敏后的对象 json
+     * @param object 对象
+     * @param profile 视角，如 log、cs、audit
+     * @return 结果 json
+     * @since 0.0.14
+     * @see SensitiveEngine#desJson(Object, String)
+     */
+    public String desJson(Object object, String profile) {
+        return build().desJson(object, profile);
+    }
+
+    /**
+     * 脱敏后的 json 写入到 appendable，不构建完整的字符串
+     * null 对象，写入字符串 "null"
+     * @param object 对象
+     * @param appendable 输出目标，不会被关闭
+     * @since 0.0.14
+     */
+    public void desJson(Object object, Appendable appendable) {
+        build().desJson(object, appendable);
+    }
+
+    /**
+     * 脱敏后的 json 以 UTF-8 编码写入到输出流，不构建完整的字符串
+     * @param object 对象
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     */
+    public void desJson(Object object, OutputStream outputStream) {
+        build().desJson(object, outputStream);
+    }
+
+    /**
+     * 脱敏后的 json 以 UTF-8 编码写入到 byteBuffer
+     *
+     * 从当前 position 开始写入，写入后 position 后移。
+     * 剩余空间不足时，抛出 {@link java.nio.BufferOverflowException}，已经写入的内容不会回滚。
+     * @param object 对象
+     * @param byteBuffer 输出目标
+     * @since 0.0.14
+     */
+    public void desJson(Object object, ByteBuffer byteBuffer) {
+        build().desJson(object, byteBuffer);
+    }
+
+    /**
+     * 脱敏自由文本
+     * @param text 文本
+     * @return 脱敏结果，不包含敏感信息时返回原始内容
+     * @since 0.0.14
+     * @see SensitiveEngine#desText(CharSequence)
+     */
+    public String desText(CharSequence text) {
+        return build().desText(text);
+    }
+
+    /**
+     * 按照 JSON 规则脱敏 UTF-8 编码的 JSON
+     * @param json JSON 字节
+     * @return 脱敏后的 JSON 字节
+     * @since 0.0.14
+     * @see SensitiveEngine#desRawJson(byte[])
+     */
+    public byte[] desRawJson(byte[] json) {
+        return build().desRawJson(json);
+    }
+
+    /**
+     * 按照 JSON 规则脱敏 UTF-8 编码的 JSON，结果写入到输出流
+     * @param json JSON 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     * @see SensitiveEngine#desRawJson(byte[], int, int, OutputStream)
+     */
+    public void desRawJson(byte[] json, int offset, int length, OutputStream outputStream) {
+        build().desRawJson(json, offset, length, outputStream);
+    }
+
+    /**
+     * 按照 JSON 规则原地脱敏 fastjson 的 JSONObject、JSONArray
+     * @param json JSONObject 或者 JSONArray
+     * @param <T> 泛型
+     * @return 传入的对象
+     * @since 0.0.14
+     * @see SensitiveEngine#desJsonTree(JSON)
+     */
+    public <T extends JSON> T desJsonTree(T json) {
+        return build().desJsonTree(json);
+    }
+
+    /**
+     * 按照 JSON 规则原地脱敏 Jackson 的 JsonNode
+     * @param node 节点
+     * @param <T> 泛型
+     * @return 传入的节点
+     * @since 0.0.14
+     * @see SensitiveEngine#desJsonTree(JsonNode)
+     */
+    public <T extends JsonNode> T desJsonTree(T node) {
+        return build().desJsonTree(node);
+    }
+
+    /**
+     * 脱敏对象集合
+     *
+     * （1）所有元素共享同一份配置
+     * （2）集合大小超过阈值时，拆分到线程池中并行处理
+     * （3）结果的顺序和输入保持一致
+     * @param collection 原始集合
+     * @param <T> 泛型
+     * @return 脱敏后的对象集合，原始集合为空时返回空列表
+     * @since 0.0.14
+     */
+    public <T> List<T> desCopyCollection(Collection<T> collection) {
+        return build().desCopyCollection(collection);
+    }
+
+    /**
+     * 脱敏对象 JSON 集合
+     *
+     * （1）所有元素共享同一份配置
+     * （2）集合大小超过阈值时，拆分到线程池中并行处理
+     * （3）结果的顺序和输入保持一致
+     * @param collection 原始集合
+     * @return 脱敏后的 json 集合，原始集合为空时返回空列表
+     * @since 0.0.14
+     */
+    public List<String> desJsonCollection(Collection<?> collection) {
+        return build().desJsonCollection(collection);
     }
 
     /**
@@ -88,7 +508,8 @@ public final class SensitiveBs {
      */
     private ISensitiveConfig buildConfig() {
         return DefaultSensitiveConfig.newInstance()
-                .deepCopy(deepCopy);
+                .deepCopy(deepCopy)
+                .profile(profile);
     }
 
 }
@@ -0,0 +1,451 @@
+package com.github.houbb.sensitive.core.bs;
+
+import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.handler.IHandler;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
+import com.github.houbb.heaven.util.util.CollectionUtil;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.api.strategory.StrategyText;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.config.DefaultSensitiveConfig;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import com.github.houbb.sensitive.core.support.io.ByteBufferOutputStream;
+import com.github.houbb.sensitive.core.support.jackson.JsonNodeMasker;
+import com.github.houbb.sensitive.core.support.json.JsonRules;
+import com.github.houbb.sensitive.core.support.json.JsonTreeMasker;
+import com.github.houbb.sensitive.core.support.json.RawJsonMasker;
+import com.github.houbb.sensitive.core.support.parallel.ParallelMapTask;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 脱敏引擎
+ *
+ * （1）通过 {@link SensitiveBs#build()} 创建，创建后不可变，可以多线程共享
+ * （2）配置只构建一次，类执行计划全局缓存
+ * （3）上下文按调用创建，不使用 ThreadLocal，虚拟线程下不会堆积
+ * （4）指定视角时，使用该视角预先构建的类计划，不需要逐个字段判断
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class SensitiveEngine {
+
+    /**
+     * 脱敏实现
+     * @since 0.0.14
+     */
+    private final ISensitive sensitive;
+
+    /**
+     * 配置
+     * @since 0.0.14
+     */
+    private final ISensitiveConfig config;
+
+    /**
+     * 批量处理使用的线程池
+     * 为 null 时在调用线程中顺序处理
+     * @since 0.0.14
+     */
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * 批量处理的并行阈值
+     * @since 0.0.14
+     */
+    private final int parallelThreshold;
+
+    /**
+     * 编译后的 JSON 规则
+     * @since 0.0.14
+     */
+    private final JsonRules jsonRules;
+
+    /**
+     * fastjson 树脱敏，没有 JSON 规则时为 null
+     * @since 0.0.14
+     */
+    private final JsonTreeMasker jsonTreeMasker;
+
+    /**
+     * Jackson 树脱敏，没有 JSON 规则时为 null
+     * @since 0.0.14
+     */
+    private final JsonNodeMasker jsonNodeMasker;
+
+    /**
+     * 自由文本脱敏策略
+     * @since 0.0.14
+     */
+    private final InstanceHolder<StrategyText> textStrategy;
+
+    /**
+     * 视角 =》配置
+     * @since 0.0.14
+     */
+    private final ConcurrentHashMap<String, ISensitiveConfig> profileConfigMap = new ConcurrentHashMap<>();
+
+    SensitiveEngine(ISensitive sensitive, ISensitiveConfig config, ForkJoinPool forkJoinPool, int parallelThreshold,
+                    JsonRules jsonRules, InstanceHolder<StrategyText> textStrategy) {
+        this.sensitive = sensitive;
+        this.config = config;
+        this.forkJoinPool = forkJoinPool;
+        this.parallelThreshold = parallelThreshold;
+        this.jsonRules = jsonRules;
+        this.textStrategy = textStrategy;
+        if (jsonRules.isEmpty()) {
+            this.jsonTreeMasker = null;
+            this.jsonNodeMasker = null;
+        } else {
+            this.jsonTreeMasker = new JsonTreeMasker(jsonRules);
+            this.jsonNodeMasker = new JsonNodeMasker(jsonRules);
+        }
+    }
+
+    /**
+     * 创建绑定指定类型的脱敏器
+     *
+     * 脱敏器使用当前引擎的配置，创建时解析类计划，适合固定类型的热点调用。
+     * @param type 类型
+     * @param <T> 泛型
+     * @return 脱敏器
+     * @since 0.0.14
+     */
+    public <T> Desensitizer<T> forType(Class<T> type) {
+        return new Desensitizer<T>(type, sensitive, config);
+    }
+
+    /**
+     * 创建绑定指定类型和视角的脱敏器
+     * @param type 类型
+     * @param profile 视角
+     * @param <T> 泛型
+     * @return 脱敏器
+     * @since 0.0.14
+     */
+    public <T> Desensitizer<T> forType(Class<T> type, String profile) {
+        return new Desensitizer<T>(type, sensitive, profileConfig(profile));
+    }
+
+    /**
+     * 脱敏对象
+     *
+     * @param object 原始对象
+     * @param <T> 泛型
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> T desCopy(T object) {
+        return (T) sensitive.desCopy(object, config);
+    }
+
+    /**
+     * 按照指定视角脱敏对象
+     *
+     * @param object 原始对象
+     * @param profile 视角
+     * @param <T> 泛型
+     * @return 脱敏后的对象
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> T desCopy(T object, String profile) {
+        return (T) sensitive.desCopy(object, profileConfig(profile, object));
+    }
+
+    /**
+     * 返回脱敏后的对象 json
+     * null 对象，返回字符串 "null"
+     * @param object 对象
+     * @return 结果 json
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public String desJson(Object object) {
+        return sensitive.desJson(object, config);
+    }
+
+    /**
+     * 按照指定视角返回脱敏后的对象 json
+     * null 对象，返回字符串 "null"
+     * @param object 对象
+     * @param profile 视角，如 log、cs、audit
+     * @return 结果 json
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public String desJson(Object object, String profile) {
+        return sensitive.desJson(object, profileConfig(profile, object));
+    }
+
+    /**
+     * 脱敏后的 json 写入到 appendable，不构建完整的字符串
+     * null 对象，写入字符串 "null"
+     * @param object 对象
+     * @param appendable 输出目标，不会被关闭
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void desJson(Object object, Appendable appendable) {
+        ArgUtil.notNull(appendable, "appendable");
+
+        sensitive.desJson(object, config, appendable);
+    }
+
+    /**
+     * 脱敏后的 json 以 UTF-8 编码写入到输出流，不构建完整的字符串
+     * @param object 对象
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void desJson(Object object, OutputStream outputStream) {
+        ArgUtil.notNull(outputStream, "outputStream");
+
+        sensitive.desJson(object, config, outputStream);
+    }
+
+    /**
+     * 脱敏后的 json 以 UTF-8 编码写入到 byteBuffer
+     *
+     * 从当前 position 开始写入，写入后 position 后移。
+     * 剩余空间不足时，抛出 {@link java.nio.BufferOverflowException}，已经写入的内容不会回滚。
+     * @param object 对象
+     * @param byteBuffer 输出目标
+     * @since 0.0.14
+     */
+    public void desJson(Object object, ByteBuffer byteBuffer) {
+        ArgUtil.notNull(byteBuffer, "byteBuffer");
+
+        desJson(object, new ByteBufferOutputStream(byteBuffer));
+    }
+
+    /**
+     * 脱敏自由文本
+     *
+     * 单次扫描识别文本中的手机号、身份证号、银行卡号、邮箱，分别使用对应的内置策略脱敏。
+     * 识别方式通过 {@link SensitiveBs#piiDetector(com.github.houbb.sensitive.core.support.detect.IPiiDetector)} 指定，
+     * 或者通过 {@link SensitiveInstances#register(Class, Object)} 注册 {@link StrategyText} 的实例，比如 {@link com.github.houbb.sensitive.core.api.strategory.StrategyDictionary}。
+     * @param text 文本
+     * @return 脱敏结果，不包含敏感信息时返回原始内容
+     * @since 0.0.14
+     */
+    public String desText(CharSequence text) {
+        return textStrategy.get().des(text, null);
+    }
+
+    /**
+     * 按照 JSON 规则脱敏 UTF-8 编码的 JSON
+     *
+     * （1）流式扫描字节，不绑定对象，不创建 DOM
+     * （2）规则通过 {@link SensitiveBs#jsonField(String, com.github.houbb.sensitive.api.IStrategy)}
+     * 和 {@link SensitiveBs#jsonPath(String, com.github.houbb.sensitive.api.IStrategy)} 设置
+     * （3）没有命中规则的内容原样复制
+     * @param json JSON 字节
+     * @return 脱敏后的 JSON 字节
+     * @since 0.0.14
+     */
+    public byte[] desRawJson(byte[] json) {
+        ArgUtil.notNull(json, "json");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length + 32);
+        desRawJson(json, 0, json.length, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * 按照 JSON 规则脱敏 UTF-8 编码的 JSON，结果写入到输出流
+     *
+     * JSON 不合法时抛出异常，已经写入的内容不会回滚。
+     * @param json JSON 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     */
+    public void desRawJson(byte[] json, int offset, int length, OutputStream outputStream) {
+        ArgUtil.notNull(json, "json");
+        ArgUtil.notNull(outputStream, "outputStream");
+        if (offset < 0 || length < 0 || offset + length > json.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length);
+        }
+
+        try {
+            new RawJsonMasker(jsonRules, json, offset, length, outputStream).mask();
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 按照 JSON 规则脱敏 UTF-8 编码的 JSON，结果写入到 byteBuffer
+     *
+     * 从当前 position 开始写入，写入后 position 后移。
+     * 剩余空间不足时，抛出 {@link java.nio.BufferOverflowException}，已经写入的内容不会回滚。
+     * @param json JSON 字节
+     * @param byteBuffer 输出目标
+     * @since 0.0.14
+     */
+    public void desRawJson(byte[] json, ByteBuffer byteBuffer) {
+        ArgUtil.notNull(json, "json");
+        ArgUtil.notNull(byteBuffer, "byteBuffer");
+
+        desRawJson(json, 0, json.length, new ByteBufferOutputStream(byteBuffer));
+    }
+
+    /**
+     * 按照 JSON 规则原地脱敏 fastjson 的 JSONObject、JSONArray
+     *
+     * （1）遍历一次，直接修改命中规则的值，不重新序列化
+     * （2）嵌套的 Map、List 同样处理，不可修改的集合会抛出异常
+     * @param json JSONObject 或者 JSONArray
+     * @param <T> 泛型
+     * @return 传入的对象
+     * @since 0.0.14
+     */
+    public <T extends JSON> T desJsonTree(T json) {
+        if (null != json && null != jsonTreeMasker) {
+            jsonTreeMasker.mask(json);
+        }
+        return json;
+    }
+
+    /**
+     * 按照 JSON 规则原地脱敏 Jackson 的 JsonNode
+     *
+     * 遍历一次，直接替换命中规则的节点，不重新序列化。
+     * @param node 节点
+     * @param <T> 泛型
+     * @return 传入的节点
+     * @since 0.0.14
+     */
+    public <T extends JsonNode> T desJsonTree(T node) {
+        if (null != node && null != jsonNodeMasker) {
+            jsonNodeMasker.mask(node);
+        }
+        return node;
+    }
+
+    /**
+     * 脱敏对象集合
+     *
+     * （1）所有元素共享同一份配置
+     * （2）指定了线程池，并且集合大小超过阈值时，拆分到线程池中并行处理；默认在调用线程中顺序处理
+     * （3）结果的顺序和输入保持一致
+     * @param collection 原始集合
+     * @param <T> 泛型
+     * @return 脱敏后的对象集合，原始集合为空时返回空列表
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> List<T> desCopyCollection(Collection<T> collection) {
+        return (List<T>) batch(collection, new IHandler<Object, Object>() {
+            @Override
+            public Object handle(Object object) {
+                return sensitive.desCopy(object, config);
+            }
+        });
+    }
+
+    /**
+     * 脱敏对象 JSON 集合
+     *
+     * （1）所有元素共享同一份配置
+     * （2）指定了线程池，并且集合大小超过阈值时，拆分到线程池中并行处理；默认在调用线程中顺序处理
+     * （3）结果的顺序和输入保持一致
+     * @param collection 原始集合
+     * @return 脱敏后的 json 集合，原始集合为空时返回空列表
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<String> desJsonCollection(Collection<?> collection) {
+        return (List<String>) batch(collection, new IHandler<Object, Object>() {
+            @Override
+            public Object handle(Object object) {
+                return sensitive.desJson(object, config);
+            }
+        });
+    }
+
+    /**
+     * 对象实际生效的视角对应的配置，视角没有声明时使用默认视角，不创建新的配置
+     * @param profile 视角
+     * @param object 对象，可以为 null
+     * @return 配置
+     * @since 0.0.14
+     */
+    private ISensitiveConfig profileConfig(final String profile, final Object object) {
+        final Class<?> clazz = null == object ? null : object.getClass();
+        return profileConfig(ClassPlanCache.getInstance().resolveProfile(profile, clazz));
+    }
+
+    /**
+     * 视角对应的配置，和引擎的配置只有视角不同
+     * @param profile 视角
+     * @return 配置
+     * @since 0.0.14
+     */
+    private ISensitiveConfig profileConfig(final String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+        if (profile.equals(config.profile())) {
+            return config;
+        }
+
+        ISensitiveConfig profileConfig = profileConfigMap.get(profile);
+        if (null != profileConfig) {
+            return profileConfig;
+        }
+        profileConfig = DefaultSensitiveConfig.newInstance()
+                .deepCopy(config.deepCopy())
+                .profile(profile);
+        if (!ClassPlanCache.getInstance().isDeclared(profile)) {
+            // 没有声明的视角不缓存
+            return profileConfig;
+        }
+        ISensitiveConfig exists = profileConfigMap.putIfAbsent(profile, profileConfig);
+        return null == exists ? profileConfig : exists;
+    }
+
+    /**
+     * 批量处理
+     * @param collection 集合
+     * @param handler 单个元素的处理
+     * @return 结果
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List batch(final Collection<?> collection, final IHandler<Object, Object> handler) {
+        if (CollectionUtil.isEmpty(collection)) {
+            return Guavas.newArrayList();
+        }
+
+        if (null == forkJoinPool) {
+            List<Object> results = new ArrayList<>(collection.size());
+            for (Object object : collection) {
+                results.add(handler.handle(object));
+            }
+            return results;
+        }
+
+        final Object[] results = ParallelMapTask.map(forkJoinPool, collection.toArray(), handler, parallelThreshold);
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+}
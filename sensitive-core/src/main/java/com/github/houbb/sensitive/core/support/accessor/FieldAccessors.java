@@ -0,0 +1,49 @@
+package com.github.houbb.sensitive.core.support.accessor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * 字段访问器工具类
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class FieldAccessors {
+
+    private FieldAccessors(){}
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * 基于反射
+     * @param field 字段
+     * @return 访问器
+     * @since 0.0.14
+     */
+    public static IFieldAccessor reflect(final Field field) {
+        return new ReflectFieldAccessor(field);
+    }
+
+    /**
+     * 基于 MethodHandle
+     * 无法创建时（比如 final 字段没有写权限），降级为反射实现。
+     * @param field 字段，需要已经 setAccessible
+     * @return 访问器
+     * @since 0.0.14
+     */
+    public static IFieldAccessor methodHandle(final Field field) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            MethodHandle setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            return new MethodHandleFieldAccessor(getter, setter);
+        } catch (IllegalAccessException e) {
+            return reflect(field);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.github.houbb.sensitive.core.support.accessor;
+
+/**
+ * 字段访问器
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public interface IFieldAccessor {
+
+    /**
+     * 获取字段值
+     * @param target 目标对象
+     * @return 字段值
+     * @since 0.0.14
+     */
+    Object get(final Object target);
+
+    /**
+     * 设置字段值
+     * @param target 目标对象
+     * @param value 字段值
+     * @since 0.0.14
+     */
+    void set(final Object target, final Object value);
+
+}
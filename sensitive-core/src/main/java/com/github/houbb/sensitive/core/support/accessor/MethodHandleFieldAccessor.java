@@ -0,0 +1,53 @@
+package com.github.houbb.sensitive.core.support.accessor;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * 基于 {@link MethodHandle} 的字段访问器
+ *
+ * getter/setter 在构建时统一转换为 Object 签名，执行时使用 invokeExact，避免反射的访问检查。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class MethodHandleFieldAccessor implements IFieldAccessor {
+
+    /**
+     * (Object)Object
+     * @since 0.0.14
+     */
+    private final MethodHandle getter;
+
+    /**
+     * (Object,Object)void
+     * @since 0.0.14
+     */
+    private final MethodHandle setter;
+
+    public MethodHandleFieldAccessor(MethodHandle getter, MethodHandle setter) {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable throwable) {
+            throw new SensitiveRuntimeException(throwable);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable throwable) {
+            throw new SensitiveRuntimeException(throwable);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.github.houbb.sensitive.core.support.accessor;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.lang.reflect.Field;
+
+/**
+ * 基于反射的字段访问器
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class ReflectFieldAccessor implements IFieldAccessor {
+
+    private final Field field;
+
+    public ReflectFieldAccessor(Field field) {
+        this.field = field;
+    }
+
+    @Override
+    public Object get(Object target) {
+        try {
+            return field.get(target);
+        } catch (IllegalAccessException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,6 @@
+/**
+ * 字段访问器
+ * 替代 {@link java.lang.reflect.Field#get(Object)} 和 {@link java.lang.reflect.Field#set(Object, Object)}
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.accessor;
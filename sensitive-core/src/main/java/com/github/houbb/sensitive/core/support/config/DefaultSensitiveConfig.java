@@ -1,5 +1,6 @@
 package com.github.houbb.sensitive.core.support.config;
 
+import com.github.houbb.heaven.util.common.ArgUtil;
 import com.github.houbb.sensitive.api.IDeepCopy;
 import com.github.houbb.sensitive.api.ISensitiveConfig;
 
@@ -16,6 +17,12 @@ public class DefaultSensitiveConfig implements ISensitiveConfig {
      */
     private IDeepCopy deepCopy;
 
+    /**
+     * 脱敏视角
+     * @since 0.0.14
+     */
+    private String profile = DEFAULT_PROFILE;
+
     /**
      * 新建对象实例
      * @since 0.0.9
@@ -35,4 +42,22 @@ public class DefaultSensitiveConfig implements ISensitiveConfig {
         return deepCopy;
     }
 
+    /**
+     * 设置脱敏视角
+     * @param profile 视角
+     * @return this
+     * @since 0.0.14
+     */
+    public DefaultSensitiveConfig profile(String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+
+        this.profile = profile;
+        return this;
+    }
+
+    @Override
+    public String profile() {
+        return profile;
+    }
+
 }
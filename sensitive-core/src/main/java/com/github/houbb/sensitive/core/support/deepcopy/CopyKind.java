@@ -0,0 +1,65 @@
+package com.github.houbb.sensitive.core.support.deepcopy;
+
+/**
+ * 拷贝类型
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public enum CopyKind {
+
+    /**
+     * 不可变对象，直接共享引用
+     * @since 0.0.14
+     */
+    IMMUTABLE,
+
+    /**
+     * 基础类型数组
+     * @since 0.0.14
+     */
+    PRIMITIVE_ARRAY,
+
+    /**
+     * 对象数组
+     * @since 0.0.14
+     */
+    ARRAY,
+
+    /**
+     * 集合
+     * @since 0.0.14
+     */
+    COLLECTION,
+
+    /**
+     * Map
+     * @since 0.0.14
+     */
+    MAP,
+
+    /**
+     * 可变的日期，使用 clone
+     * @since 0.0.14
+     */
+    DATE,
+
+    /**
+     * 已知的可变 JDK 类，比如原子类、StringBuilder、BitSet，按照类型单独创建拷贝
+     * @since 0.0.14
+     */
+    MUTABLE_JDK,
+
+    /**
+     * 普通对象，逐个字段拷贝
+     * @since 0.0.14
+     */
+    BEAN,
+
+    /**
+     * 其他 JDK 类，无法反射字段，直接共享引用
+     * @since 0.0.14
+     */
+    SHARED,
+    ;
+
+}
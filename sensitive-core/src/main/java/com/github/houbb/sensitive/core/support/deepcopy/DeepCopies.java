@@ -19,4 +19,13 @@ public final class DeepCopies {
         return Instances.singleton(JacksonDeepCopy.class);
     }
 
+    /**
+     * 基于字段的深度拷贝
+     * @return 深度拷贝实现
+     * @since 0.0.14
+     */
+    public static IDeepCopy field() {
+        return Instances.singleton(FieldDeepCopy.class);
+    }
+
 }
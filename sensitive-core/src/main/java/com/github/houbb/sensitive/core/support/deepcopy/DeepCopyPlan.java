@@ -0,0 +1,128 @@
+package com.github.houbb.sensitive.core.support.deepcopy;
+
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * 类的拷贝计划
+ *
+ * 每个类只解析一次，拷贝时直接使用。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class DeepCopyPlan {
+
+    /**
+     * 类信息
+     * @since 0.0.14
+     */
+    private final Class<?> type;
+
+    /**
+     * 拷贝类型
+     * @since 0.0.14
+     */
+    private final CopyKind kind;
+
+    /**
+     * 无参构造器，可能为 null
+     * @since 0.0.14
+     */
+    private final Constructor<?> constructor;
+
+    /**
+     * 字段列表
+     *
+     * （1）BEAN 类型：所有字段
+     * （2）自定义的集合、Map 子类：子类中声明的字段，元素另外拷贝
+     * （3）其他类型为 null
+     * @since 0.0.14
+     */
+    private final FieldCopy[] fieldCopies;
+
+    public DeepCopyPlan(Class<?> type, CopyKind kind, Constructor<?> constructor, FieldCopy[] fieldCopies) {
+        this.type = type;
+        this.kind = kind;
+        this.constructor = constructor;
+        this.fieldCopies = fieldCopies;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public CopyKind getKind() {
+        return kind;
+    }
+
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+
+    public FieldCopy[] getFieldCopies() {
+        return fieldCopies;
+    }
+
+    /**
+     * 创建新的实例
+     * @return 实例
+     * @since 0.0.14
+     */
+    public Object newInstance() {
+        if (null == constructor) {
+            throw new SensitiveRuntimeException("No constructor available for deep copy: " + type.getName());
+        }
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 字段拷贝信息
+     * @since 0.0.14
+     */
+    public static class FieldCopy {
+
+        /**
+         * 字段
+         * @since 0.0.14
+         */
+        private final Field field;
+
+        /**
+         * 访问器
+         * @since 0.0.14
+         */
+        private final IFieldAccessor accessor;
+
+        /**
+         * 字段类型是否为不可变类型，是则直接赋值
+         * @since 0.0.14
+         */
+        private final boolean immutable;
+
+        public FieldCopy(Field field, IFieldAccessor accessor, boolean immutable) {
+            this.field = field;
+            this.accessor = accessor;
+            this.immutable = immutable;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public IFieldAccessor getAccessor() {
+            return accessor;
+        }
+
+        public boolean isImmutable() {
+            return immutable;
+        }
+    }
+
+}
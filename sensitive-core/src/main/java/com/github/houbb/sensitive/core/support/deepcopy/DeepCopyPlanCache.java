@@ -0,0 +1,236 @@
+package com.github.houbb.sensitive.core.support.deepcopy;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.cache.impl.AbstractCache;
+import com.github.houbb.sensitive.core.support.accessor.FieldAccessors;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * 拷贝计划缓存
+ *
+ * （1）不可变对象直接共享，包括字符串、包装类、枚举、java.time、BigDecimal 等
+ * （2）已知的可变 JDK 类单独拷贝，包括原子类、StringBuilder/StringBuffer、BitSet、Optional
+ * （3）其他 JDK 类无法反射字段，直接共享引用
+ * （4）没有无参构造器的类，使用序列化构造器创建实例，不执行构造方法
+ * （5）自定义的集合、Map 子类，除了元素之外还拷贝子类中声明的字段
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class DeepCopyPlanCache extends AbstractCache<Class, DeepCopyPlan> {
+
+    private static final DeepCopyPlanCache INSTANCE = new DeepCopyPlanCache();
+
+    /**
+     * 不可变类型
+     * @since 0.0.14
+     */
+    private static final Set<Class<?>> IMMUTABLE_CLASS_SET = new HashSet<>();
+
+    static {
+        IMMUTABLE_CLASS_SET.addAll(Arrays.asList(String.class, Boolean.class, Character.class, Byte.class,
+                Short.class, Integer.class, Long.class, Float.class, Double.class, Void.class, Object.class,
+                Class.class, BigDecimal.class, BigInteger.class, UUID.class, Locale.class, Currency.class,
+                URI.class, Pattern.class));
+    }
+
+    /**
+     * 已知的可变 JDK 类型
+     * @since 0.0.14
+     */
+    private static final Set<Class<?>> MUTABLE_JDK_CLASS_SET = new HashSet<>();
+
+    static {
+        MUTABLE_JDK_CLASS_SET.addAll(Arrays.asList(AtomicBoolean.class, AtomicInteger.class, AtomicLong.class,
+                AtomicReference.class, AtomicIntegerArray.class, AtomicLongArray.class, AtomicReferenceArray.class,
+                StringBuilder.class, StringBuffer.class, BitSet.class, Optional.class));
+    }
+
+    private DeepCopyPlanCache() {
+    }
+
+    public static DeepCopyPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 是否为不可变类型
+     * @param clazz 类
+     * @return 是否
+     * @since 0.0.14
+     */
+    public static boolean isImmutable(final Class<?> clazz) {
+        if (clazz.isPrimitive()
+                || clazz.isEnum()
+                || IMMUTABLE_CLASS_SET.contains(clazz)) {
+            return true;
+        }
+        // 枚举常量带有方法体时，是枚举的子类
+        Class<?> superclass = clazz.getSuperclass();
+        if (null != superclass && superclass.isEnum()) {
+            return true;
+        }
+        return clazz.getName().startsWith("java.time.");
+    }
+
+    @Override
+    protected DeepCopyPlan buildValue(Class clazz) {
+        if (isImmutable(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.IMMUTABLE, null, null);
+        }
+        if (clazz.isArray()) {
+            CopyKind kind = clazz.getComponentType().isPrimitive() ? CopyKind.PRIMITIVE_ARRAY : CopyKind.ARRAY;
+            return new DeepCopyPlan(clazz, kind, null, null);
+        }
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.COLLECTION, getNoArgConstructor(clazz), buildFieldCopies(clazz, false));
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.MAP, getNoArgConstructor(clazz), buildFieldCopies(clazz, false));
+        }
+        if (Date.class.isAssignableFrom(clazz)
+                || Calendar.class.isAssignableFrom(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.DATE, null, null);
+        }
+        if (MUTABLE_JDK_CLASS_SET.contains(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.MUTABLE_JDK, null, null);
+        }
+        if (ClassTypeUtil.isJdk(clazz)) {
+            return new DeepCopyPlan(clazz, CopyKind.SHARED, null, null);
+        }
+
+        Constructor<?> constructor = getNoArgConstructor(clazz);
+        if (null == constructor) {
+            constructor = getSerializationConstructor(clazz);
+        }
+        return new DeepCopyPlan(clazz, CopyKind.BEAN, constructor, buildFieldCopies(clazz, true));
+    }
+
+    /**
+     * 构建字段拷贝信息
+     *
+     * JDK 父类中的字段尝试反射拷贝，运行环境不允许访问时（比如 JDK 9+ 的模块限制）跳过，
+     * 拷贝结果中保留构造器初始化的值。
+     * @param clazz 类
+     * @param includeJdk 是否包含 JDK 父类中的字段，集合、Map 的元素另外拷贝，不需要包含
+     * @return 结果
+     * @since 0.0.14
+     */
+    private DeepCopyPlan.FieldCopy[] buildFieldCopies(final Class<?> clazz, final boolean includeJdk) {
+        List<DeepCopyPlan.FieldCopy> fieldCopyList = new ArrayList<>();
+        Class<?> current = clazz;
+        while (null != current
+                && Object.class != current) {
+            final boolean jdk = ClassTypeUtil.isJdk(current);
+            if (jdk && !includeJdk) {
+                break;
+            }
+
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                if (!setAccessible(field)) {
+                    continue;
+                }
+
+                // 内部类对外部类的引用，直接共享
+                boolean immutable = field.isSynthetic()
+                        || (isImmutable(field.getType()) && Modifier.isFinal(field.getType().getModifiers()));
+                fieldCopyList.add(new DeepCopyPlan.FieldCopy(field, FieldAccessors.methodHandle(field), immutable));
+            }
+            current = current.getSuperclass();
+        }
+        return fieldCopyList.toArray(new DeepCopyPlan.FieldCopy[0]);
+    }
+
+    private boolean setAccessible(final Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取无参构造器
+     *
+     * JDK 类只使用 public 的构造器，避免非法反射访问。
+     * @param clazz 类
+     * @return 结果，不存在时返回 null
+     * @since 0.0.14
+     */
+    private Constructor<?> getNoArgConstructor(final Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers())
+                || clazz.isInterface()) {
+            return null;
+        }
+
+        try {
+            if (ClassTypeUtil.isJdk(clazz)) {
+                if (!Modifier.isPublic(clazz.getModifiers())) {
+                    return null;
+                }
+                return clazz.getConstructor();
+            }
+
+            Constructor<?> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取序列化使用的构造器，不会执行类本身的构造方法
+     * 通过反射调用，避免编译期依赖 JDK 内部类。
+     * @param clazz 类
+     * @return 结果，不支持时返回 null
+     * @since 0.0.14
+     */
+    private Constructor<?> getSerializationConstructor(final Class<?> clazz) {
+        try {
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            Object factory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            Method method = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            Constructor<?> constructor = (Constructor<?>) method.invoke(factory, clazz, Object.class.getDeclaredConstructor());
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,371 @@
+package com.github.houbb.sensitive.core.support.deepcopy;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.IDeepCopy;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 基于字段的深度拷贝
+ *
+ * 和 {@link JacksonDeepCopy} 的区别：
+ * （1）不需要构建 json 树，直接逐个字段拷贝
+ * （2）不可变对象直接共享引用
+ * （3）保留所有字段信息，支持循环引用
+ * （4）集合按照原始大小预先分配
+ *
+ * 拷贝范围：
+ * （1）普通对象：包括父类在内的所有非静态字段，JDK 父类的字段在运行环境不允许反射时跳过
+ * （2）数组、集合、Map：逐个元素拷贝，自定义子类中声明的字段同样拷贝
+ * （3）可变的 JDK 类：Date/Calendar、原子类、StringBuilder/StringBuffer、BitSet、Optional 创建新的实例
+ * （4）不可变对象和其他 JDK 类：共享引用
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class FieldDeepCopy implements IDeepCopy {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T deepCopy(T object) {
+        if (null == object) {
+            return null;
+        }
+        return (T) copy(object, new IdentityHashMap<Object, Object>());
+    }
+
+    /**
+     * 拷贝对象
+     * @param object 原始对象
+     * @param copiedMap 已经拷贝的对象，处理循环引用
+     * @return 结果
+     * @since 0.0.14
+     */
+    protected Object copy(final Object object, final Map<Object, Object> copiedMap) {
+        if (null == object
+                || object instanceof String) {
+            return object;
+        }
+
+        final DeepCopyPlan plan = DeepCopyPlanCache.getInstance().get(object.getClass());
+        final CopyKind kind = plan.getKind();
+        if (CopyKind.IMMUTABLE == kind
+                || CopyKind.SHARED == kind) {
+            return object;
+        }
+
+        Object copied = copiedMap.get(object);
+        if (null != copied) {
+            return copied;
+        }
+
+        switch (kind) {
+            case PRIMITIVE_ARRAY:
+                return copyPrimitiveArray(object, copiedMap);
+            case ARRAY:
+                return copyArray((Object[]) object, copiedMap);
+            case COLLECTION:
+                return copyCollection((Collection<Object>) object, plan, copiedMap);
+            case MAP:
+                return copyMap((Map<Object, Object>) object, plan, copiedMap);
+            case DATE:
+                return copyDate(object, copiedMap);
+            case MUTABLE_JDK:
+                return copyMutableJdk(object, copiedMap);
+            default:
+                return copyBean(object, plan, copiedMap);
+        }
+    }
+
+    /**
+     * 拷贝对象
+     * @param object 原始对象
+     * @param plan 拷贝计划
+     * @param copiedMap 已经拷贝的对象
+     * @return 结果
+     * @since 0.0.14
+     */
+    protected Object copyBean(final Object object, final DeepCopyPlan plan, final Map<Object, Object> copiedMap) {
+        final Object target = plan.newInstance();
+        copiedMap.put(object, target);
+
+        copyFields(object, target, plan, copiedMap);
+        return target;
+    }
+
+    /**
+     * 拷贝计划中的字段
+     *
+     * 集合、Map 只有在创建的实例和原始类型一致时才拷贝子类中的字段。
+     * @param object 原始对象
+     * @param target 拷贝对象
+     * @param plan 拷贝计划
+     * @param copiedMap 已经拷贝的对象
+     * @since 0.0.14
+     */
+    protected void copyFields(final Object object, final Object target,
+                              final DeepCopyPlan plan, final Map<Object, Object> copiedMap) {
+        final DeepCopyPlan.FieldCopy[] fieldCopies = plan.getFieldCopies();
+        if (null == fieldCopies
+                || target.getClass() != plan.getType()) {
+            return;
+        }
+
+        for (DeepCopyPlan.FieldCopy fieldCopy : fieldCopies) {
+            Object value = fieldCopy.getAccessor().get(object);
+            if (!fieldCopy.isImmutable()) {
+                value = copy(value, copiedMap);
+            }
+            fieldCopy.getAccessor().set(target, value);
+        }
+    }
+
+    private Object copyPrimitiveArray(final Object array, final Map<Object, Object> copiedMap) {
+        final int length = Array.getLength(array);
+        final Object target = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, target, 0, length);
+        copiedMap.put(array, target);
+        return target;
+    }
+
+    private Object copyArray(final Object[] array, final Map<Object, Object> copiedMap) {
+        final int length = array.length;
+        final Object[] target = (Object[]) Array.newInstance(array.getClass().getComponentType(), length);
+        copiedMap.put(array, target);
+
+        for (int i = 0; i < length; i++) {
+            target[i] = copy(array[i], copiedMap);
+        }
+        return target;
+    }
+
+    private Object copyCollection(final Collection<Object> collection,
+                                  final DeepCopyPlan plan,
+                                  final Map<Object, Object> copiedMap) {
+        final Collection<Object> target = newCollection(collection, plan);
+        copiedMap.put(collection, target);
+
+        if (target instanceof EnumSet) {
+            // 枚举本身不可变，clone 即可
+            return target;
+        }
+        copyFields(collection, target, plan, copiedMap);
+        for (Object entry : collection) {
+            target.add(copy(entry, copiedMap));
+        }
+        return target;
+    }
+
+    /**
+     * 拷贝 Map，不检查是否已经拷贝过
+     * @param map 原始 map
+     * @param plan 拷贝计划
+     * @param copiedMap 已经拷贝的对象
+     * @return 结果
+     * @since 0.0.14
+     */
+    protected Object copyMap(final Map<Object, Object> map,
+                           final DeepCopyPlan plan,
+                           final Map<Object, Object> copiedMap) {
+        final Map<Object, Object> target = newMap(map, plan);
+        copiedMap.put(map, target);
+        copyFields(map, target, plan, copiedMap);
+
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            target.put(copy(entry.getKey(), copiedMap), copy(entry.getValue(), copiedMap));
+        }
+        return target;
+    }
+
+    private Object copyDate(final Object date, final Map<Object, Object> copiedMap) {
+        Object target;
+        if (date instanceof Date) {
+            target = ((Date) date).clone();
+        } else {
+            target = ((Calendar) date).clone();
+        }
+        copiedMap.put(date, target);
+        return target;
+    }
+
+    /**
+     * 拷贝已知的可变 JDK 类
+     * @param object 原始对象
+     * @param copiedMap 已经拷贝的对象
+     * @return 结果
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    private Object copyMutableJdk(final Object object, final Map<Object, Object> copiedMap) {
+        Object target;
+        if (object instanceof AtomicInteger) {
+            target = new AtomicInteger(((AtomicInteger) object).get());
+        } else if (object instanceof AtomicLong) {
+            target = new AtomicLong(((AtomicLong) object).get());
+        } else if (object instanceof AtomicBoolean) {
+            target = new AtomicBoolean(((AtomicBoolean) object).get());
+        } else if (object instanceof StringBuilder) {
+            target = new StringBuilder((StringBuilder) object);
+        } else if (object instanceof StringBuffer) {
+            target = new StringBuffer((StringBuffer) object);
+        } else if (object instanceof BitSet) {
+            target = ((BitSet) object).clone();
+        } else if (object instanceof AtomicIntegerArray) {
+            AtomicIntegerArray array = (AtomicIntegerArray) object;
+            int[] values = new int[array.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = array.get(i);
+            }
+            target = new AtomicIntegerArray(values);
+        } else if (object instanceof AtomicLongArray) {
+            AtomicLongArray array = (AtomicLongArray) object;
+            long[] values = new long[array.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = array.get(i);
+            }
+            target = new AtomicLongArray(values);
+        } else if (object instanceof AtomicReference) {
+            // 先占位，处理循环引用
+            AtomicReference<Object> reference = new AtomicReference<>();
+            copiedMap.put(object, reference);
+            reference.set(copy(((AtomicReference<Object>) object).get(), copiedMap));
+            return reference;
+        } else if (object instanceof AtomicReferenceArray) {
+            AtomicReferenceArray<Object> array = (AtomicReferenceArray<Object>) object;
+            AtomicReferenceArray<Object> targetArray = new AtomicReferenceArray<>(array.length());
+            copiedMap.put(object, targetArray);
+            for (int i = 0; i < array.length(); i++) {
+                targetArray.set(i, copy(array.get(i), copiedMap));
+            }
+            return targetArray;
+        } else {
+            Optional<Object> optional = (Optional<Object>) object;
+            target = optional.isPresent() ? Optional.of(copy(optional.get(), copiedMap)) : optional;
+        }
+        copiedMap.put(object, target);
+        return target;
+    }
+
+    /**
+     * 创建集合
+     * （1）常见类型直接预先分配大小
+     * （2）其他类型使用无参构造器
+     * （3）无法创建时，按照接口降级为通用实现
+     * @param collection 原始集合
+     * @param plan 拷贝计划
+     * @return 结果
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    protected Collection<Object> newCollection(final Collection<Object> collection, final DeepCopyPlan plan) {
+        final Class<?> type = plan.getType();
+        final int size = collection.size();
+        if (ArrayList.class == type) {
+            return new ArrayList<>(size);
+        }
+        if (HashSet.class == type) {
+            return new HashSet<>(getCapacity(size));
+        }
+        if (LinkedHashSet.class == type) {
+            return new LinkedHashSet<>(getCapacity(size));
+        }
+        if (TreeSet.class == type) {
+            return new TreeSet<>(((SortedSet<Object>) collection).comparator());
+        }
+        if (collection instanceof EnumSet) {
+            return (Collection) ((EnumSet) collection).clone();
+        }
+        if (null != plan.getConstructor()) {
+            return (Collection<Object>) plan.newInstance();
+        }
+
+        if (collection instanceof SortedSet) {
+            return new TreeSet<>(((SortedSet<Object>) collection).comparator());
+        }
+        if (collection instanceof Set) {
+            return new LinkedHashSet<>(getCapacity(size));
+        }
+        if (collection instanceof Queue) {
+            return new LinkedList<>();
+        }
+        return new ArrayList<>(size);
+    }
+
+    /**
+     * 创建 Map
+     * @param map 原始 map
+     * @param plan 拷贝计划
+     * @return 结果
+     * @since 0.0.14
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Map<Object, Object> newMap(final Map<Object, Object> map, final DeepCopyPlan plan) {
+        final Class<?> type = plan.getType();
+        final int size = map.size();
+        if (HashMap.class == type) {
+            return new HashMap<>(getCapacity(size));
+        }
+        if (LinkedHashMap.class == type) {
+            return new LinkedHashMap<>(getCapacity(size));
+        }
+        if (TreeMap.class == type) {
+            return new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+        }
+        if (map instanceof EnumMap) {
+            // 保留 key 类型信息，值会被覆盖
+            return new EnumMap((EnumMap) map);
+        }
+        if (null != plan.getConstructor()) {
+            return (Map<Object, Object>) plan.newInstance();
+        }
+
+        if (map instanceof SortedMap) {
+            return new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+        }
+        if (map instanceof ConcurrentMap) {
+            return new ConcurrentHashMap<>(getCapacity(size));
+        }
+        return new LinkedHashMap<>(getCapacity(size));
+    }
+
+    /**
+     * 避免扩容的初始容量
+     * @param size 元素个数
+     * @return 容量
+     * @since 0.0.14
+     */
+    private int getCapacity(final int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.github.houbb.sensitive.core.support.detect;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 组合多个敏感信息识别
+ *
+ * 结果按照开始下标排序，重叠的匹配合并为一个区间，相邻的匹配保持独立。
+ * （1）重叠的匹配类型相同时，合并后的类型不变
+ * （2）重叠的匹配类型不同时（比如邮箱中包含词典词条），合并后的类型为 {@link PiiType#DICTIONARY}，整体隐藏
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class CompositePiiDetector implements IPiiDetector {
+
+    /**
+     * 排序规则
+     * @since 0.0.14
+     */
+    private static final Comparator<PiiMatch> COMPARATOR = new Comparator<PiiMatch>() {
+        @Override
+        public int compare(PiiMatch o1, PiiMatch o2) {
+            if (o1.getStart() != o2.getStart()) {
+                return Integer.compare(o1.getStart(), o2.getStart());
+            }
+            return Integer.compare(o2.getEnd(), o1.getEnd());
+        }
+    };
+
+    /**
+     * 识别列表
+     * @since 0.0.14
+     */
+    private final List<IPiiDetector> detectors;
+
+    public CompositePiiDetector(final IPiiDetector... detectors) {
+        ArgUtil.notEmpty(detectors, "detectors");
+
+        this.detectors = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(detectors)));
+    }
+
+    @Override
+    public List<PiiMatch> detect(final CharSequence text) {
+        List<PiiMatch> allMatches = new ArrayList<>();
+        for (IPiiDetector detector : detectors) {
+            allMatches.addAll(detector.detect(text));
+        }
+        if (allMatches.size() <= 1) {
+            return allMatches;
+        }
+
+        Collections.sort(allMatches, COMPARATOR);
+        List<PiiMatch> results = new ArrayList<>(allMatches.size());
+        PiiMatch current = allMatches.get(0);
+        for (int i = 1; i < allMatches.size(); i++) {
+            final PiiMatch match = allMatches.get(i);
+            if (match.getStart() >= current.getEnd()) {
+                results.add(current);
+                current = match;
+                continue;
+            }
+            current = merge(current, match);
+        }
+        results.add(current);
+        return results;
+    }
+
+    /**
+     * 合并重叠的匹配
+     * @param current 当前的匹配
+     * @param match 和当前匹配重叠的匹配，开始下标不小于当前匹配
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static PiiMatch merge(final PiiMatch current, final PiiMatch match) {
+        final PiiType type = current.getType() == match.getType() ? current.getType() : PiiType.DICTIONARY;
+        final int end = Math.max(current.getEnd(), match.getEnd());
+        if (type == current.getType() && end == current.getEnd()) {
+            return current;
+        }
+        return new PiiMatch(type, current.getStart(), end);
+    }
+
+}
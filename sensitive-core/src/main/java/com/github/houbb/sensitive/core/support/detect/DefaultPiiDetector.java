@@ -0,0 +1,349 @@
+package com.github.houbb.sensitive.core.support.detect;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 默认的敏感信息识别
+ *
+ * （1）基于字符类型表的单次扫描，所有类型在同一次遍历中识别，不使用正则
+ * （2）先按照邮箱本地部分的字符切分单词，单词后紧跟 @ 且域名合法时识别为邮箱
+ * （3）其他单词中前后不与字母、数字相连的数字串，按照长度和校验位识别手机号、身份证号、银行卡号
+ * （4）只处理 ASCII 字符，全角数字等不识别
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class DefaultPiiDetector implements IPiiDetector {
+
+    /**
+     * 数字
+     * @since 0.0.14
+     */
+    private static final byte DIGIT = 1;
+
+    /**
+     * 字母
+     * @since 0.0.14
+     */
+    private static final byte ALPHA = 1 << 1;
+
+    /**
+     * 邮箱本地部分的字符
+     * @since 0.0.14
+     */
+    private static final byte LOCAL = 1 << 2;
+
+    /**
+     * 域名标签的字符
+     * @since 0.0.14
+     */
+    private static final byte DOMAIN = 1 << 3;
+
+    /**
+     * ASCII 字符类型表
+     * @since 0.0.14
+     */
+    private static final byte[] CHAR_TYPES = new byte[128];
+
+    /**
+     * 身份证号前 17 位的权重
+     * @since 0.0.14
+     */
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+
+    /**
+     * 身份证号的校验位
+     * @since 0.0.14
+     */
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    /**
+     * 手机号长度
+     * @since 0.0.14
+     */
+    private static final int PHONE_LENGTH = 11;
+
+    /**
+     * 身份证号长度
+     * @since 0.0.14
+     */
+    private static final int ID_CARD_LENGTH = 18;
+
+    /**
+     * 银行卡号最小长度
+     * @since 0.0.14
+     */
+    private static final int BANK_CARD_MIN_LENGTH = 13;
+
+    /**
+     * 银行卡号最大长度
+     * @since 0.0.14
+     */
+    private static final int BANK_CARD_MAX_LENGTH = 19;
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_TYPES[c] = DIGIT | LOCAL | DOMAIN;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHAR_TYPES[c] = ALPHA | LOCAL | DOMAIN;
+            CHAR_TYPES[Character.toUpperCase(c)] = ALPHA | LOCAL | DOMAIN;
+        }
+        CHAR_TYPES['-'] = LOCAL | DOMAIN;
+        CHAR_TYPES['.'] = LOCAL;
+        CHAR_TYPES['_'] = LOCAL;
+        CHAR_TYPES['%'] = LOCAL;
+        CHAR_TYPES['+'] = LOCAL;
+    }
+
+    @Override
+    public List<PiiMatch> detect(final CharSequence text) {
+        if (null == text) {
+            return Collections.emptyList();
+        }
+
+        List<PiiMatch> matches = null;
+        final int length = text.length();
+        int index = 0;
+        while (index < length) {
+            if (!is(text.charAt(index), LOCAL)) {
+                index++;
+                continue;
+            }
+
+            final int wordStart = index;
+            int wordEnd = index + 1;
+            while (wordEnd < length && is(text.charAt(wordEnd), LOCAL)) {
+                wordEnd++;
+            }
+
+            // 邮箱
+            if (wordEnd < length && '@' == text.charAt(wordEnd)) {
+                final int emailEnd = domainEnd(text, wordEnd + 1, length);
+                int emailStart = wordStart;
+                while (emailStart < wordEnd && !is(text.charAt(emailStart), DIGIT | ALPHA)) {
+                    emailStart++;
+                }
+                if (emailEnd > 0 && emailStart < wordEnd) {
+                    matches = add(matches, PiiType.EMAIL, emailStart, emailEnd);
+                    index = emailEnd;
+                    continue;
+                }
+            }
+
+            // 数字
+            matches = detectDigits(text, wordStart, wordEnd, length, matches);
+            index = wordEnd;
+        }
+
+        if (null == matches) {
+            return Collections.emptyList();
+        }
+        return matches;
+    }
+
+    /**
+     * 识别单词中的数字串
+     * @param text 文本
+     * @param wordStart 单词开始下标
+     * @param wordEnd 单词结束下标
+     * @param length 文本长度
+     * @param matches 结果
+     * @return 结果
+     * @since 0.0.14
+     */
+    private List<PiiMatch> detectDigits(final CharSequence text,
+                                        final int wordStart,
+                                        final int wordEnd,
+                                        final int length,
+                                        List<PiiMatch> matches) {
+        int index = wordStart;
+        while (index < wordEnd) {
+            if (!is(text.charAt(index), DIGIT)) {
+                index++;
+                continue;
+            }
+
+            final int start = index;
+            while (index < wordEnd && is(text.charAt(index), DIGIT)) {
+                index++;
+            }
+            final int end = index;
+            // 前面和字母、数字相连
+            if (start > 0 && is(text.charAt(start - 1), DIGIT | ALPHA)) {
+                continue;
+            }
+
+            final int digitLength = end - start;
+            if (end < length && is(text.charAt(end), ALPHA)) {
+                // 只有末尾为 X 的身份证号允许紧跟字母
+                if (digitLength == ID_CARD_LENGTH - 1
+                        && 'X' == Character.toUpperCase(text.charAt(end))
+                        && (end + 1 >= length || !is(text.charAt(end + 1), DIGIT | ALPHA))
+                        && isIdCard(text, start)) {
+                    matches = add(matches, PiiType.ID_CARD, start, end + 1);
+                    index = end + 1;
+                }
+                continue;
+            }
+
+            final PiiType type = digitsType(text, start, digitLength);
+            if (null != type) {
+                matches = add(matches, type, start, end);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 纯数字串的类型
+     * @param text 文本
+     * @param start 开始下标
+     * @param digitLength 长度
+     * @return 类型，不是敏感信息时返回 null
+     * @since 0.0.14
+     */
+    private PiiType digitsType(final CharSequence text, final int start, final int digitLength) {
+        if (digitLength == PHONE_LENGTH) {
+            final char second = text.charAt(start + 1);
+            if ('1' == text.charAt(start) && second >= '3' && second <= '9') {
+                return PiiType.PHONE;
+            }
+            return null;
+        }
+        if (digitLength == ID_CARD_LENGTH && isIdCard(text, start)) {
+            return PiiType.ID_CARD;
+        }
+        if (digitLength >= BANK_CARD_MIN_LENGTH
+                && digitLength <= BANK_CARD_MAX_LENGTH
+                && isLuhn(text, start, start + digitLength)) {
+            return PiiType.BANK_CARD;
+        }
+        return null;
+    }
+
+    /**
+     * 是否为合法的身份证号
+     *
+     * 校验地区码首位、出生月日的范围和校验位。
+     * @param text 文本
+     * @param start 开始下标
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isIdCard(final CharSequence text, final int start) {
+        if ('0' == text.charAt(start)) {
+            return false;
+        }
+        final int month = (text.charAt(start + 10) - '0') * 10 + (text.charAt(start + 11) - '0');
+        final int day = (text.charAt(start + 12) - '0') * 10 + (text.charAt(start + 13) - '0');
+        if (month < 1 || month > 12 || day < 1 || day > 31) {
+            return false;
+        }
+
+        int sum = 0;
+        for (int i = 0; i < ID_CARD_WEIGHTS.length; i++) {
+            sum += (text.charAt(start + i) - '0') * ID_CARD_WEIGHTS[i];
+        }
+        final char checkCode = Character.toUpperCase(text.charAt(start + ID_CARD_LENGTH - 1));
+        return ID_CARD_CHECK_CODES[sum % 11] == checkCode;
+    }
+
+    /**
+     * 是否满足 Luhn 校验
+     * @param text 文本
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isLuhn(final CharSequence text, final int start, final int end) {
+        int sum = 0;
+        boolean doubled = false;
+        for (int i = end - 1; i >= start; i--) {
+            int digit = text.charAt(i) - '0';
+            if (doubled) {
+                digit <<= 1;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return sum % 10 == 0;
+    }
+
+    /**
+     * 邮箱域名的结束下标
+     *
+     * 至少两级，顶级域名为 2 位以上的字母。
+     * @param text 文本
+     * @param start 域名开始下标
+     * @param length 文本长度
+     * @return 结束下标，不合法时返回 -1
+     * @since 0.0.14
+     */
+    private int domainEnd(final CharSequence text, final int start, final int length) {
+        int end = -1;
+        int labelCount = 0;
+        int index = start;
+        while (true) {
+            final int labelStart = index;
+            boolean alpha = true;
+            while (index < length && is(text.charAt(index), DOMAIN)) {
+                if (!is(text.charAt(index), ALPHA)) {
+                    alpha = false;
+                }
+                index++;
+            }
+            if (index == labelStart) {
+                break;
+            }
+
+            labelCount++;
+            if (labelCount >= 2 && alpha && index - labelStart >= 2) {
+                end = index;
+            }
+            if (index < length && '.' == text.charAt(index)) {
+                index++;
+            } else {
+                break;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 字符是否属于指定类型
+     * @param c 字符
+     * @param type 类型，多个类型时满足其一即可
+     * @return 是否
+     * @since 0.0.14
+     */
+    private static boolean is(final char c, final int type) {
+        return c < CHAR_TYPES.length && (CHAR_TYPES[c] & type) != 0;
+    }
+
+    /**
+     * 添加结果
+     * @param matches 结果
+     * @param type 类型
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static List<PiiMatch> add(List<PiiMatch> matches, final PiiType type, final int start, final int end) {
+        if (null == matches) {
+            matches = new ArrayList<>();
+        }
+        matches.add(new PiiMatch(type, start, end));
+        return matches;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.github.houbb.sensitive.core.support.detect;
+
+import java.util.List;
+
+/**
+ * 敏感信息识别
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public interface IPiiDetector {
+
+    /**
+     * 识别文本中的敏感信息
+     * @param text 文本
+     * @return 按照开始下标排序、互不重叠的匹配结果，没有时返回空列表
+     * @since 0.0.14
+     */
+    List<PiiMatch> detect(final CharSequence text);
+
+}
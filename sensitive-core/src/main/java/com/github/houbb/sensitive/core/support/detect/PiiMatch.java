@@ -0,0 +1,55 @@
+package com.github.houbb.sensitive.core.support.detect;
+
+/**
+ * 敏感信息的匹配结果
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class PiiMatch {
+
+    /**
+     * 类型
+     * @since 0.0.14
+     */
+    private final PiiType type;
+
+    /**
+     * 开始下标，包含
+     * @since 0.0.14
+     */
+    private final int start;
+
+    /**
+     * 结束下标，不包含
+     * @since 0.0.14
+     */
+    private final int end;
+
+    public PiiMatch(PiiType type, int start, int end) {
+        this.type = type;
+        this.start = start;
+        this.end = end;
+    }
+
+    public PiiType getType() {
+        return type;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "PiiMatch{" +
+                "type=" + type +
+                ", start=" + start +
+                ", end=" + end +
+                '}';
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.github.houbb.sensitive.core.support.detect;
+
+/**
+ * 敏感信息类型
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public enum PiiType {
+
+    /**
+     * 大陆手机号
+     * @since 0.0.14
+     */
+    PHONE,
+
+    /**
+     * 18 位身份证号，校验位合法
+     * @since 0.0.14
+     */
+    ID_CARD,
+
+    /**
+     * 银行卡号，满足 Luhn 校验
+     * @since 0.0.14
+     */
+    BANK_CARD,
+
+    /**
+     * 邮箱
+     * @since 0.0.14
+     */
+    EMAIL,
+
+    /**
+     * 词典中的词条
+     * @since 0.0.14
+     */
+    DICTIONARY,
+    ;
+
+}
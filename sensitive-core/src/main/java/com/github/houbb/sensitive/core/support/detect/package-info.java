@@ -0,0 +1,5 @@
+/**
+ * 自由文本中的敏感信息识别
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.detect;
@@ -0,0 +1,417 @@
+package com.github.houbb.sensitive.core.support.dictionary;
+
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * 双数组 AC 自动机构建
+ *
+ * （1）词条排序去重后，按照层次遍历直接构建双数组，不创建中间的字典树节点
+ * （2）字符按照编码顺序映射为连续的下标，减少双数组的空洞
+ * （3）失败指针和输出在同一次遍历中计算，输出为以当前状态结尾的最长词条长度
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+final class AhoCorasickBuilder {
+
+    /**
+     * 字符的个数
+     * @since 0.0.14
+     */
+    static final int CHAR_SIZE = 1 << 16;
+
+    /**
+     * 字符位图的 long 个数
+     * @since 0.0.14
+     */
+    static final int CHAR_BITS_SIZE = CHAR_SIZE / Long.SIZE;
+
+    /**
+     * 每个词条在布隆过滤器中占用的位数
+     * @since 0.0.14
+     */
+    private static final int BLOOM_BITS_PER_WORD = 10;
+
+    /**
+     * 布隆过滤器最少的 long 个数
+     * @since 0.0.14
+     */
+    private static final int BLOOM_MIN_SIZE = 64;
+
+    /**
+     * 布隆过滤器最多的 long 个数
+     * @since 0.0.14
+     */
+    private static final int BLOOM_MAX_SIZE = 1 << 24;
+
+    /**
+     * 排序去重后的词条
+     * @since 0.0.14
+     */
+    private final String[] words;
+
+    /**
+     * 字符到编码的映射，0 表示不在词典中
+     * @since 0.0.14
+     */
+    private final char[] codeMap = new char[CHAR_SIZE];
+
+    private int[] base;
+
+    private int[] check;
+
+    private int[] fail;
+
+    private int[] output;
+
+    /**
+     * 多个子节点时，连续尝试失败超过该次数，后续的查找从当前位置开始
+     * @since 0.0.14
+     */
+    private static final int MAX_TRIES = 1024;
+
+    /**
+     * 单个子节点时，跳过的距离超过该值，后续的查找从当前位置开始
+     * @since 0.0.14
+     */
+    private static final int MAX_DISTANCE = 1 << 16;
+
+    /**
+     * 空位
+     * @since 0.0.14
+     */
+    private final BitSet free = new BitSet();
+
+    /**
+     * 多个子节点时查找空位的起点
+     * @since 0.0.14
+     */
+    private int nextCheckPos;
+
+    /**
+     * 单个子节点时查找空位的起点，落后于多个子节点的起点，用来填补空洞
+     * @since 0.0.14
+     */
+    private int singleCheckPos;
+
+    /**
+     * 使用到的最大下标
+     * @since 0.0.14
+     */
+    private int maxIndex;
+
+    AhoCorasickBuilder(final Collection<String> wordCollection) {
+        TreeSet<String> wordSet = new TreeSet<>();
+        for (String word : wordCollection) {
+            if (null != word && !word.isEmpty()) {
+                wordSet.add(word);
+            }
+        }
+        this.words = wordSet.toArray(new String[0]);
+    }
+
+    /**
+     * 构建
+     * @return 词典
+     * @since 0.0.14
+     */
+    AhoCorasickDictionary build() {
+        buildCodeMap();
+        buildDoubleArray();
+
+        final int size = maxIndex + 1;
+        return new AhoCorasickDictionary(words.length,
+                CharBuffer.wrap(codeMap),
+                IntBuffer.wrap(Arrays.copyOf(base, size)),
+                IntBuffer.wrap(Arrays.copyOf(check, size)),
+                IntBuffer.wrap(Arrays.copyOf(fail, size)),
+                IntBuffer.wrap(Arrays.copyOf(output, size)),
+                LongBuffer.wrap(firstChars()),
+                LongBuffer.wrap(singleChars()),
+                LongBuffer.wrap(bloom()));
+    }
+
+    /**
+     * 按照字符顺序分配编码，编码顺序和词条排序保持一致
+     * @since 0.0.14
+     */
+    private void buildCodeMap() {
+        BitSet chars = new BitSet(CHAR_SIZE);
+        for (String word : words) {
+            for (int i = 0; i < word.length(); i++) {
+                chars.set(word.charAt(i));
+            }
+        }
+        char code = 0;
+        for (int c = chars.nextSetBit(0); c >= 0; c = chars.nextSetBit(c + 1)) {
+            codeMap[c] = ++code;
+        }
+    }
+
+    /**
+     * 层次遍历构建双数组
+     * @since 0.0.14
+     */
+    private void buildDoubleArray() {
+        final int capacity = Math.max(CHAR_SIZE, words.length * 2);
+        base = new int[0];
+        check = new int[0];
+        fail = new int[0];
+        output = new int[0];
+        ensureCapacity(capacity);
+        // 根节点占用 0 位置
+        free.clear(0);
+        check[0] = -1;
+
+        // 当前层的状态和对应的词条区间
+        IntList level = new IntList();
+        level.add(0, 0, words.length);
+        IntList codes = new IntList();
+        int depth = 0;
+        while (level.size() > 0) {
+            IntList nextLevel = new IntList();
+            for (int i = 0; i < level.size(); i += 3) {
+                final int state = level.get(i);
+                int left = level.get(i + 1);
+                final int right = level.get(i + 2);
+
+                // 在当前状态结束的词条，已经在创建状态时记录
+                if (left < right && words[left].length() == depth) {
+                    left++;
+                }
+
+                // 子节点的编码和区间
+                codes.clear();
+                int from = left;
+                while (from < right) {
+                    final char c = words[from].charAt(depth);
+                    int to = from + 1;
+                    while (to < right && words[to].charAt(depth) == c) {
+                        to++;
+                    }
+                    codes.add(codeMap[c], from, to);
+                    from = to;
+                }
+                if (codes.size() == 0) {
+                    continue;
+                }
+
+                final int begin = findBase(codes);
+                base[state] = begin;
+                for (int j = 0; j < codes.size(); j += 3) {
+                    free.clear(begin + codes.get(j));
+                    check[begin + codes.get(j)] = state + 1;
+                }
+                for (int j = 0; j < codes.size(); j += 3) {
+                    final int code = codes.get(j);
+                    final int child = begin + code;
+                    final int childLeft = codes.get(j + 1);
+                    final int wordLength = words[childLeft].length() == depth + 1 ? depth + 1 : 0;
+
+                    int failState = 0;
+                    if (state != 0) {
+                        int current = fail[state];
+                        int next = transition(current, code);
+                        while (next < 0 && current != 0) {
+                            current = fail[current];
+                            next = transition(current, code);
+                        }
+                        failState = next < 0 ? 0 : next;
+                    }
+                    fail[child] = failState;
+                    output[child] = Math.max(wordLength, output[failState]);
+                    nextLevel.add(child, childLeft, codes.get(j + 2));
+                }
+            }
+            level = nextLevel;
+            depth++;
+        }
+    }
+
+    /**
+     * 状态转移
+     * @param state 状态
+     * @param code 编码
+     * @return 下一个状态，不存在时返回 -1
+     * @since 0.0.14
+     */
+    private int transition(final int state, final int code) {
+        final int next = base[state] + code;
+        if (next < check.length && check[next] == state + 1) {
+            return next;
+        }
+        return -1;
+    }
+
+    /**
+     * 查找所有子节点都可以放下的 base
+     *
+     * 第一个子节点只在空位上尝试，通过位图跳过连续占用的位置。
+     * 已经很难放下的区域，后续直接跳过。
+     * 子节点通过 check 区分父节点，不同的状态可以使用相同的 base。
+     * @param codes 子节点的编码和区间，编码递增
+     * @return base
+     * @since 0.0.14
+     */
+    private int findBase(final IntList codes) {
+        final int firstCode = codes.get(0);
+        final int lastCode = codes.get(codes.size() - 3);
+
+        final boolean multiple = codes.size() > 3;
+        final int start = Math.max(firstCode + 1, multiple ? nextCheckPos : singleCheckPos);
+        int pos = free.nextSetBit(start);
+        int tries = 0;
+        while (true) {
+            if (pos < 0) {
+                // 没有空位时扩容，从新增的位置继续
+                pos = Math.max(check.length, firstCode + 1);
+                ensureCapacity(pos + 1);
+            }
+
+            final int begin = pos - firstCode;
+            if (isFree(begin, codes, lastCode)) {
+                if (multiple && tries >= MAX_TRIES) {
+                    nextCheckPos = pos;
+                }
+                if (!multiple && pos - start >= MAX_DISTANCE) {
+                    singleCheckPos = pos;
+                }
+                maxIndex = Math.max(maxIndex, begin + lastCode);
+                return begin;
+            }
+            tries++;
+            pos = free.nextSetBit(pos + 1);
+        }
+    }
+
+    /**
+     * 其他子节点的位置是否都为空
+     * @param begin base
+     * @param codes 子节点的编码和区间
+     * @param lastCode 最大的编码
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isFree(final int begin, final IntList codes, final int lastCode) {
+        ensureCapacity(begin + lastCode + 1);
+        for (int j = 3; j < codes.size(); j += 3) {
+            if (check[begin + codes.get(j)] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 扩容，新增的位置标记为空位
+     * @param capacity 需要的容量
+     * @since 0.0.14
+     */
+    private void ensureCapacity(final int capacity) {
+        final int oldCapacity = check.length;
+        if (capacity <= oldCapacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, oldCapacity + (oldCapacity >> 1));
+        base = Arrays.copyOf(base, newCapacity);
+        check = Arrays.copyOf(check, newCapacity);
+        fail = Arrays.copyOf(fail, newCapacity);
+        output = Arrays.copyOf(output, newCapacity);
+        free.set(oldCapacity, newCapacity);
+    }
+
+    /**
+     * 词条首字符的位图
+     * @return 位图
+     * @since 0.0.14
+     */
+    private long[] firstChars() {
+        long[] bits = new long[CHAR_BITS_SIZE];
+        for (String word : words) {
+            setBit(bits, word.charAt(0));
+        }
+        return bits;
+    }
+
+    /**
+     * 单字符词条的位图
+     * @return 位图
+     * @since 0.0.14
+     */
+    private long[] singleChars() {
+        long[] bits = new long[CHAR_BITS_SIZE];
+        for (String word : words) {
+            if (word.length() == 1) {
+                setBit(bits, word.charAt(0));
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * 词条前两个字符的布隆过滤器
+     * @return 位图
+     * @since 0.0.14
+     */
+    private long[] bloom() {
+        final long bitCount = (long) words.length * BLOOM_BITS_PER_WORD;
+        int size = BLOOM_MIN_SIZE;
+        while (size < BLOOM_MAX_SIZE && (long) size * Long.SIZE < bitCount) {
+            size <<= 1;
+        }
+
+        long[] bits = new long[size];
+        final int mask = size * Long.SIZE - 1;
+        for (String word : words) {
+            if (word.length() > 1) {
+                final int hash = AhoCorasickDictionary.bloomHash(word.charAt(0), word.charAt(1));
+                setBit(bits, hash & mask);
+                setBit(bits, AhoCorasickDictionary.bloomRehash(hash) & mask);
+            }
+        }
+        return bits;
+    }
+
+    private static void setBit(final long[] bits, final int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * 可扩容的 int 列表
+     * @since 0.0.14
+     */
+    private static final class IntList {
+
+        private int[] values = new int[48];
+
+        private int size;
+
+        void add(final int first, final int second, final int third) {
+            if (size + 3 > values.length) {
+                values = Arrays.copyOf(values, values.length << 1);
+            }
+            values[size++] = first;
+            values[size++] = second;
+            values[size++] = third;
+        }
+
+        int get(final int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,427 @@
+package com.github.houbb.sensitive.core.support.dictionary;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.detect.IPiiDetector;
+import com.github.houbb.sensitive.core.support.detect.PiiMatch;
+import com.github.houbb.sensitive.core.support.detect.PiiType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基于双数组 AC 自动机的词典
+ *
+ * （1）一次扫描找出文本中出现的所有词条，重叠的匹配合并为一个区间
+ * （2）扫描前先用首字符位图和前两个字符的布隆过滤器判断，不包含词条的文本只做位运算
+ * （3）可以保存为二进制镜像，通过内存映射直接加载，不需要重新构建
+ * （4）不可变，可以多线程共享
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class AhoCorasickDictionary implements IPiiDetector {
+
+    /**
+     * 镜像文件的魔数
+     * @since 0.0.14
+     */
+    private static final int MAGIC = 0x53444143;
+
+    /**
+     * 镜像文件的版本
+     * @since 0.0.14
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 镜像文件头的字节数
+     * @since 0.0.14
+     */
+    private static final int HEADER_BYTES = 5 * Integer.BYTES;
+
+    /**
+     * 词条个数
+     * @since 0.0.14
+     */
+    private final int wordCount;
+
+    /**
+     * 字符到编码的映射，0 表示不在词典中
+     * @since 0.0.14
+     */
+    private final CharBuffer codeMap;
+
+    /**
+     * 状态的 base
+     * @since 0.0.14
+     */
+    private final IntBuffer base;
+
+    /**
+     * 子状态对应的父状态 + 1
+     * @since 0.0.14
+     */
+    private final IntBuffer check;
+
+    /**
+     * 失败指针
+     * @since 0.0.14
+     */
+    private final IntBuffer fail;
+
+    /**
+     * 以当前状态结尾的最长词条长度，0 表示没有
+     * @since 0.0.14
+     */
+    private final IntBuffer output;
+
+    /**
+     * 词条首字符的位图
+     * @since 0.0.14
+     */
+    private final LongBuffer firstChars;
+
+    /**
+     * 单字符词条的位图
+     * @since 0.0.14
+     */
+    private final LongBuffer singleChars;
+
+    /**
+     * 词条前两个字符的布隆过滤器
+     * @since 0.0.14
+     */
+    private final LongBuffer bloom;
+
+    /**
+     * 布隆过滤器的位下标掩码
+     * @since 0.0.14
+     */
+    private final int bloomMask;
+
+    /**
+     * 状态个数
+     * @since 0.0.14
+     */
+    private final int size;
+
+    AhoCorasickDictionary(int wordCount, CharBuffer codeMap,
+                          IntBuffer base, IntBuffer check, IntBuffer fail, IntBuffer output,
+                          LongBuffer firstChars, LongBuffer singleChars, LongBuffer bloom) {
+        this.wordCount = wordCount;
+        this.codeMap = codeMap;
+        this.base = base;
+        this.check = check;
+        this.fail = fail;
+        this.output = output;
+        this.firstChars = firstChars;
+        this.singleChars = singleChars;
+        this.bloom = bloom;
+        this.bloomMask = bloom.capacity() * Long.SIZE - 1;
+        this.size = check.capacity();
+    }
+
+    /**
+     * 根据词条构建
+     * @param words 词条，忽略 null 和空字符串
+     * @return 词典
+     * @since 0.0.14
+     */
+    public static AhoCorasickDictionary of(final Collection<String> words) {
+        ArgUtil.notNull(words, "words");
+
+        return new AhoCorasickBuilder(words).build();
+    }
+
+    /**
+     * 从 UTF-8 文本文件构建，每行一个词条
+     *
+     * 每行会去掉首尾的空白，忽略空行。
+     * @param path 文件路径
+     * @return 词典
+     * @since 0.0.14
+     */
+    public static AhoCorasickDictionary load(final Path path) {
+        ArgUtil.notNull(path, "path");
+
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    words.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+        return of(words);
+    }
+
+    /**
+     * 通过内存映射加载 {@link #save(Path)} 保存的镜像
+     *
+     * 数据直接从映射的内存中读取，不复制到堆中。
+     * @param path 镜像文件路径
+     * @return 词典
+     * @since 0.0.14
+     */
+    public static AhoCorasickDictionary map(final Path path) {
+        ArgUtil.notNull(path, "path");
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new SensitiveRuntimeException("不是合法的词典镜像文件：" + path);
+            }
+
+            final int wordCount = buffer.getInt(8);
+            final int size = buffer.getInt(12);
+            final int bloomSize = buffer.getInt(16);
+            int offset = HEADER_BYTES;
+            CharBuffer codeMap = slice(buffer, offset, AhoCorasickBuilder.CHAR_SIZE * Character.BYTES).asCharBuffer();
+            offset += AhoCorasickBuilder.CHAR_SIZE * Character.BYTES;
+            IntBuffer[] intBuffers = new IntBuffer[4];
+            for (int i = 0; i < intBuffers.length; i++) {
+                intBuffers[i] = slice(buffer, offset, size * Integer.BYTES).asIntBuffer();
+                offset += size * Integer.BYTES;
+            }
+            LongBuffer firstChars = slice(buffer, offset, AhoCorasickBuilder.CHAR_BITS_SIZE * Long.BYTES).asLongBuffer();
+            offset += AhoCorasickBuilder.CHAR_BITS_SIZE * Long.BYTES;
+            LongBuffer singleChars = slice(buffer, offset, AhoCorasickBuilder.CHAR_BITS_SIZE * Long.BYTES).asLongBuffer();
+            offset += AhoCorasickBuilder.CHAR_BITS_SIZE * Long.BYTES;
+            LongBuffer bloom = slice(buffer, offset, bloomSize * Long.BYTES).asLongBuffer();
+
+            return new AhoCorasickDictionary(wordCount, codeMap,
+                    intBuffers[0], intBuffers[1], intBuffers[2], intBuffers[3],
+                    firstChars, singleChars, bloom);
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 保存为二进制镜像，供 {@link #map(Path)} 加载
+     *
+     * 使用小端字节序，已经存在的文件会被覆盖。
+     * @param path 镜像文件路径
+     * @since 0.0.14
+     */
+    public void save(final Path path) {
+        ArgUtil.notNull(path, "path");
+
+        final long total = HEADER_BYTES
+                + (long) AhoCorasickBuilder.CHAR_SIZE * Character.BYTES
+                + 4L * size * Integer.BYTES
+                + 2L * AhoCorasickBuilder.CHAR_BITS_SIZE * Long.BYTES
+                + (long) bloom.capacity() * Long.BYTES;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(wordCount).putInt(size).putInt(bloom.capacity());
+
+            int offset = buffer.position();
+            slice(buffer, offset, codeMap.capacity() * Character.BYTES).asCharBuffer().put(codeMap.duplicate());
+            offset += codeMap.capacity() * Character.BYTES;
+            for (IntBuffer intBuffer : new IntBuffer[]{base, check, fail, output}) {
+                slice(buffer, offset, size * Integer.BYTES).asIntBuffer().put(intBuffer.duplicate());
+                offset += size * Integer.BYTES;
+            }
+            for (LongBuffer longBuffer : new LongBuffer[]{firstChars, singleChars, bloom}) {
+                slice(buffer, offset, longBuffer.capacity() * Long.BYTES).asLongBuffer().put(longBuffer.duplicate());
+                offset += longBuffer.capacity() * Long.BYTES;
+            }
+            buffer.force();
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 词条个数
+     * @return 个数
+     * @since 0.0.14
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * 文本是否可能包含词条
+     *
+     * 返回 false 时一定不包含，返回 true 时可能包含。
+     * @param text 文本
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean mightContain(final CharSequence text) {
+        if (null == text) {
+            return false;
+        }
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (!getBit(firstChars, c)) {
+                continue;
+            }
+            if (getBit(singleChars, c)) {
+                return true;
+            }
+            if (i + 1 < length) {
+                final int hash = bloomHash(c, text.charAt(i + 1));
+                if (getBit(bloom, hash & bloomMask)
+                        && getBit(bloom, bloomRehash(hash) & bloomMask)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 识别文本中的词条
+     * @param text 文本
+     * @return 词条出现的区间，重叠的区间会合并，类型为 {@link PiiType#DICTIONARY}
+     * @since 0.0.14
+     */
+    @Override
+    public List<PiiMatch> detect(final CharSequence text) {
+        if (!mightContain(text)) {
+            return Collections.emptyList();
+        }
+
+        List<PiiMatch> matches = null;
+        int state = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char code = codeMap.get(text.charAt(i));
+            if (code == 0) {
+                // 词典中不存在的字符，不可能有词条跨过
+                state = 0;
+                continue;
+            }
+
+            state = next(state, code);
+            final int wordLength = output.get(state);
+            if (wordLength > 0) {
+                matches = addMerged(matches, i + 1 - wordLength, i + 1);
+            }
+        }
+
+        if (null == matches) {
+            return Collections.emptyList();
+        }
+        return matches;
+    }
+
+    /**
+     * 状态转移，不存在时沿失败指针回退
+     * @param state 状态
+     * @param code 编码
+     * @return 下一个状态
+     * @since 0.0.14
+     */
+    private int next(int state, final int code) {
+        while (true) {
+            final int next = base.get(state) + code;
+            if (next < size && check.get(next) == state + 1) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail.get(state);
+        }
+    }
+
+    /**
+     * 添加区间，和已有的重叠区间合并
+     * @param matches 结果
+     * @param start 开始下标
+     * @param end 结束下标
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static List<PiiMatch> addMerged(List<PiiMatch> matches, int start, int end) {
+        if (null == matches) {
+            matches = new ArrayList<>();
+        }
+        while (!matches.isEmpty()) {
+            final PiiMatch last = matches.get(matches.size() - 1);
+            if (last.getEnd() <= start) {
+                break;
+            }
+            start = Math.min(start, last.getStart());
+            end = Math.max(end, last.getEnd());
+            matches.remove(matches.size() - 1);
+        }
+        matches.add(new PiiMatch(PiiType.DICTIONARY, start, end));
+        return matches;
+    }
+
+    /**
+     * 前两个字符的哈希
+     * @param first 第一个字符
+     * @param second 第二个字符
+     * @return 哈希
+     * @since 0.0.14
+     */
+    static int bloomHash(final char first, final char second) {
+        int hash = (first << 16 | second) * 0x9E3779B1;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 第二个哈希
+     * @param hash 第一个哈希
+     * @return 哈希
+     * @since 0.0.14
+     */
+    static int bloomRehash(final int hash) {
+        int rehash = hash * 0x85EBCA6B;
+        return rehash ^ (rehash >>> 13);
+    }
+
+    private static boolean getBit(final LongBuffer bits, final int index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * 截取一段，保持小端字节序
+     * @param buffer 原始内容
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static ByteBuffer slice(final ByteBuffer buffer, final int offset, final int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        // 兼容 jdk8 的返回值类型
+        ((Buffer) duplicate).position(offset);
+        ((Buffer) duplicate).limit(offset + length);
+        return duplicate.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+}
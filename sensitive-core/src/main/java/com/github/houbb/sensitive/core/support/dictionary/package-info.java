@@ -0,0 +1,5 @@
+/**
+ * 基于词典的敏感词识别
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.dictionary;
@@ -0,0 +1,342 @@
+package com.github.houbb.sensitive.core.support.filter;
+
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.annotation.JSONType;
+import com.alibaba.fastjson.serializer.FieldSerializer;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.JavaBeanSerializer;
+import com.alibaba.fastjson.serializer.SerialContext;
+import com.alibaba.fastjson.serializer.SerializeBeanInfo;
+import com.alibaba.fastjson.serializer.SerializeFilterable;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.masker.FieldValueMasker;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+
+/**
+ * 脱敏对象序列化器
+ *
+ * （1）每个包含脱敏字段的类创建一次，多线程共享
+ * （2）脱敏字段直接写入脱敏后的值，不经过过滤器
+ * （3）其他字段委托给 FastJSON 自身的字段序列化
+ * （4）格式化输出、null 值输出为默认值等特殊特性，回退到父类的过滤器实现
+ * （5）调用方指定了过滤器（PropertyFilter、NameFilter、ValueFilter、BeforeFilter、AfterFilter 等）时，回退到父类的过滤器实现
+ *
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class SensitiveBeanSerializer extends JavaBeanSerializer {
+
+    /**
+     * 需要回退到父类实现的特性
+     * @since 0.0.14
+     */
+    private static final int FALLBACK_FEATURES = SerializerFeature.PrettyFormat.mask
+            | SerializerFeature.BeanToArray.mask
+            | SerializerFeature.WriteClassName.mask
+            | SerializerFeature.NotWriteDefaultValue.mask
+            | SerializerFeature.IgnoreErrorGetter.mask
+            | SerializerFeature.WriteNullListAsEmpty.mask
+            | SerializerFeature.WriteNullStringAsEmpty.mask
+            | SerializerFeature.WriteNullNumberAsZero.mask
+            | SerializerFeature.WriteNullBooleanAsFalse.mask;
+
+    /**
+     * {@link SerializeFilterable} 的 writeDirect 字段
+     *
+     * 序列化器上添加任意过滤器后为 false，FastJSON 没有提供公开的判断方法。
+     * 无法获取时为 null，此时总是回退到父类实现。
+     * @since 0.0.14
+     */
+    private static final MethodHandle WRITE_DIRECT_GETTER = getWriteDirectGetter();
+
+    /**
+     * 按照长度复用缓冲区的最大长度，超过时直接创建
+     * @since 0.0.14
+     */
+    private static final int MAX_BUFFER_LENGTH = 128;
+
+    /**
+     * 线程内复用的缓冲区，下标为缓冲区的长度
+     * @since 0.0.14
+     */
+    private static final ThreadLocal<char[][]> BUFFERS = new ThreadLocal<char[][]>() {
+        @Override
+        protected char[][] initialValue() {
+            return new char[MAX_BUFFER_LENGTH + 1][];
+        }
+    };
+
+    /**
+     * 类执行计划
+     * @since 0.0.14
+     */
+    private final ClassPlan classPlan;
+
+    /**
+     * 和 {@link #getters} 对应的脱敏字段计划，不需要脱敏时为 null
+     * @since 0.0.14
+     */
+    private final FieldPlan[] getterPlans;
+
+    /**
+     * 和 {@link #sortedGetters} 对应的脱敏字段计划，不需要脱敏时为 null
+     * @since 0.0.14
+     */
+    private final FieldPlan[] sortedGetterPlans;
+
+    /**
+     * 是否可以直接写入
+     * @since 0.0.14
+     */
+    private final boolean direct;
+
+    public SensitiveBeanSerializer(final SerializeBeanInfo beanInfo,
+                                   final DefaultContextValueFilter filter) {
+        this(beanInfo, filter, ClassPlanCache.getInstance().plans(ISensitiveConfig.DEFAULT_PROFILE));
+    }
+
+    /**
+     * 指定视角的序列化器
+     * @param beanInfo 类信息
+     * @param filter 回退时使用的过滤器，视角需要和类计划一致
+     * @param classPlans 视角对应的类计划
+     * @since 0.0.14
+     */
+    public SensitiveBeanSerializer(final SerializeBeanInfo beanInfo,
+                                   final DefaultContextValueFilter filter,
+                                   final ClassPlans classPlans) {
+        super(beanInfo);
+
+        // 回退时使用过滤器脱敏
+        this.addFilter(filter);
+
+        final Class<?> beanClass = getType();
+        this.classPlan = classPlans.get(beanClass);
+        this.getterPlans = buildPlans(getters);
+        this.sortedGetterPlans = buildPlans(sortedGetters);
+        this.direct = isDirect(beanClass, sortedGetters);
+    }
+
+    @Override
+    public void write(JSONSerializer serializer, Object object, Object fieldName, Type fieldType, int features) throws IOException {
+        final SerializeWriter out = serializer.out;
+        if (!direct
+                || out.isEnabled(FALLBACK_FEATURES)
+                || (features & FALLBACK_FEATURES) != 0
+                || hasFilters(serializer)) {
+            super.write(serializer, object, fieldName, fieldType, features);
+            return;
+        }
+
+        if (object == null) {
+            out.writeNull();
+            return;
+        }
+        if (writeReference(serializer, object, features)) {
+            return;
+        }
+
+        final boolean sortField = out.isEnabled(SerializerFeature.SortField);
+        final FieldSerializer[] fieldSerializers = sortField ? sortedGetters : getters;
+        final FieldPlan[] fieldPlans = sortField ? sortedGetterPlans : getterPlans;
+        final boolean writeMapNullValue = out.isEnabled(SerializerFeature.WriteMapNullValue);
+
+        final SerialContext parent = serializer.getContext();
+        serializer.setContext(parent, object, fieldName, features);
+        SensitiveContext sensitiveContext = null;
+        try {
+            out.write('{');
+            boolean commaFlag = false;
+            for (int i = 0; i < fieldSerializers.length; i++) {
+                final FieldSerializer fieldSerializer = fieldSerializers[i];
+                Object propertyValue = fieldSerializer.getPropertyValueDirect(object);
+
+                final FieldPlan fieldPlan = fieldPlans[i];
+                char[] maskedChars = null;
+                if (null != fieldPlan) {
+                    if (null == sensitiveContext) {
+                        sensitiveContext = new SensitiveContext();
+                        sensitiveContext.setCurrentObject(object);
+                        sensitiveContext.setBeanClass(classPlan.getBeanClass());
+                        sensitiveContext.setAllFieldList(classPlan.getAllFieldList());
+                    }
+                    sensitiveContext.setCurrentField(fieldPlan.getField(), fieldPlan.getAccessor());
+
+                    // 字符策略直接写入线程内复用的字符数组，不创建中间字符串
+                    final ICharStrategy charStrategy = FieldValueMasker.charStrategy(sensitiveContext, fieldPlan, propertyValue);
+                    if (null != charStrategy) {
+                        maskedChars = desChars(charStrategy, (String) propertyValue, sensitiveContext);
+                        propertyValue = maskedChars;
+                    } else {
+                        propertyValue = FieldValueMasker.mask(sensitiveContext, fieldPlan, propertyValue);
+                    }
+                }
+
+                if (null == propertyValue
+                        && !writeMapNullValue
+                        && !isWriteNull(fieldSerializer)) {
+                    continue;
+                }
+
+                if (commaFlag) {
+                    out.write(',');
+                }
+                fieldSerializer.writePrefix(serializer);
+                if (null != maskedChars) {
+                    out.writeString(maskedChars);
+                } else {
+                    fieldSerializer.writeValue(serializer, propertyValue);
+                }
+                commaFlag = true;
+            }
+            out.write('}');
+        } catch (IOException | JSONException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JSONException("write javaBean error, class " + object.getClass().getName()
+                    + (null == fieldName ? "" : ", fieldName : " + fieldName), e);
+        } finally {
+            serializer.setContext(parent);
+        }
+    }
+
+    /**
+     * 调用方是否在序列化器上指定了过滤器
+     * @param serializer 序列化器
+     * @return 是否
+     * @since 0.0.14
+     */
+    private static boolean hasFilters(final JSONSerializer serializer) {
+        if (null == WRITE_DIRECT_GETTER) {
+            return true;
+        }
+        try {
+            return !(boolean) WRITE_DIRECT_GETTER.invokeExact((SerializeFilterable) serializer);
+        } catch (Throwable throwable) {
+            return true;
+        }
+    }
+
+    private static MethodHandle getWriteDirectGetter() {
+        try {
+            Field field = SerializeFilterable.class.getDeclaredField("writeDirect");
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 字符脱敏
+     * @param charStrategy 字符策略
+     * @param original 原始内容
+     * @param context 上下文
+     * @return 结果，脱敏结果为 null 时返回 null
+     * @since 0.0.14
+     */
+    private static char[] desChars(final ICharStrategy charStrategy,
+                                   final String original,
+                                   final SensitiveContext context) {
+        final int length = charStrategy.length(original, context);
+        if (length < 0) {
+            return null;
+        }
+        final char[] chars = buffer(length);
+        charStrategy.des(original, context, chars, 0);
+        return chars;
+    }
+
+    /**
+     * 获取线程内复用的缓冲区
+     *
+     * {@link SerializeWriter#writeString(char[])} 会写入整个数组，所以按照长度分别复用。
+     * @param length 需要的长度
+     * @return 缓冲区，长度和需要的长度相同
+     * @since 0.0.14
+     */
+    private static char[] buffer(final int length) {
+        if (length > MAX_BUFFER_LENGTH) {
+            return new char[length];
+        }
+        final char[][] buffers = BUFFERS.get();
+        char[] chars = buffers[length];
+        if (null == chars) {
+            chars = new char[length];
+            buffers[length] = chars;
+        }
+        return chars;
+    }
+
+    /**
+     * 构建字段序列化器对应的脱敏计划
+     * @param fieldSerializers 字段序列化器
+     * @return 计划
+     * @since 0.0.14
+     */
+    private FieldPlan[] buildPlans(final FieldSerializer[] fieldSerializers) {
+        FieldPlan[] plans = new FieldPlan[fieldSerializers.length];
+        for (int i = 0; i < fieldSerializers.length; i++) {
+            // 只有 getter 没有字段时，field 为 NULL
+            final Field field = fieldSerializers[i].fieldInfo.field;
+            if (null == field) {
+                continue;
+            }
+            FieldPlan fieldPlan = classPlan.getFieldPlan(field);
+            if (null != fieldPlan
+                    && !fieldPlan.isIgnored()
+                    && fieldPlan.isMasked()) {
+                plans[i] = fieldPlan;
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * 是否可以直接写入
+     *
+     * 类上的 {@link JSONType} 和展开字段涉及的特性较多，交给父类处理。
+     * @param beanClass 类
+     * @param fieldSerializers 字段序列化器
+     * @return 是否
+     * @since 0.0.14
+     */
+    private static boolean isDirect(final Class<?> beanClass, final FieldSerializer[] fieldSerializers) {
+        if (beanClass.isEnum()
+                || null != beanClass.getAnnotation(JSONType.class)) {
+            return false;
+        }
+        for (FieldSerializer fieldSerializer : fieldSerializers) {
+            if (fieldSerializer.fieldInfo.unwrapped) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 字段上是否指定了输出 null
+     * @param fieldSerializer 字段序列化器
+     * @return 是否
+     * @since 0.0.14
+     */
+    private static boolean isWriteNull(final FieldSerializer fieldSerializer) {
+        return (fieldSerializer.fieldInfo.serialzeFeatures & SerializerFeature.WRITE_MAP_NULL_FEATURES) != 0;
+    }
+
+}
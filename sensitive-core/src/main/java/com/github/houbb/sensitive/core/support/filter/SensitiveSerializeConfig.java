@@ -0,0 +1,133 @@
+package com.github.houbb.sensitive.core.support.filter;
+
+import com.alibaba.fastjson.serializer.JavaBeanSerializer;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.SerializeBeanInfo;
+import com.alibaba.fastjson.serializer.SerializeConfig;
+import com.alibaba.fastjson.serializer.SerializeFilterable;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 脱敏序列化配置
+ *
+ * （1）FastJSON 为每个类创建序列化器时，存在脱敏字段的类替换为 {@link SensitiveBeanSerializer}
+ * （2）其他类不经过过滤器，可以直接使用 ASM 序列化
+ * （3）判断基于实际类型，结果随着序列化器一起缓存
+ * （4）每个视角的配置全局唯一，序列化器只创建一次
+ * （5）规则重新加载后，创建新的配置，序列化器按照新的计划重新创建
+ * （6）没有声明的视角直接使用默认视角的配置
+ *
+ * 注意：使用独立的配置，{@link SerializeConfig#getGlobalInstance()} 中的自定义配置不会生效。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class SensitiveSerializeConfig extends SerializeConfig {
+
+    /**
+     * 视角 =》当前计划版本对应的配置
+     * @since 0.0.14
+     */
+    private static final ConcurrentHashMap<String, SensitiveSerializeConfig> CONFIG_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 视角对应的类计划，和计划版本绑定
+     * @since 0.0.14
+     */
+    private final ClassPlans classPlans;
+
+    /**
+     * 无状态的过滤器，当前视角的所有类共享
+     * @since 0.0.14
+     */
+    private final DefaultContextValueFilter filter;
+
+    private SensitiveSerializeConfig(ClassPlans classPlans) {
+        this.classPlans = classPlans;
+        this.filter = new DefaultContextValueFilter(null, classPlans);
+    }
+
+    /**
+     * 获取当前计划版本对应的默认视角配置
+     * @return 配置
+     * @since 0.0.14
+     */
+    public static SensitiveSerializeConfig getInstance() {
+        return getInstance(ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 获取当前计划版本对应的视角配置
+     *
+     * 版本没有变化时，只需要一次查找和比较。
+     * 视角没有在注解或者规则中声明时，返回默认视角的配置。
+     * @param profile 视角
+     * @return 配置
+     * @since 0.0.14
+     */
+    public static SensitiveSerializeConfig getInstance(final String profile) {
+        final ClassPlans classPlans = ClassPlanCache.getInstance().plans(profile);
+        if (!profile.equals(classPlans.getProfile())) {
+            return getInstance(classPlans.getProfile());
+        }
+        SensitiveSerializeConfig config = CONFIG_MAP.get(profile);
+        if (null != config && config.classPlans.getVersion() >= classPlans.getVersion()) {
+            return config;
+        }
+
+        synchronized (CONFIG_MAP) {
+            config = CONFIG_MAP.get(profile);
+            if (null == config || config.classPlans.getVersion() < classPlans.getVersion()) {
+                config = new SensitiveSerializeConfig(classPlans);
+                CONFIG_MAP.put(profile, config);
+            }
+            return config;
+        }
+    }
+
+    @Override
+    public ObjectSerializer createJavaBeanSerializer(SerializeBeanInfo beanInfo) {
+        ObjectSerializer serializer = super.createJavaBeanSerializer(beanInfo);
+        if (serializer instanceof JavaBeanSerializer
+                && isSensitive(((JavaBeanSerializer) serializer).getType())) {
+            // 替换为直接写入脱敏值的序列化器
+            return new SensitiveBeanSerializer(beanInfo, filter, classPlans);
+        }
+        return serializer;
+    }
+
+    @Override
+    public boolean put(Type type, ObjectSerializer value) {
+        // 父类构造器中也会调用，此时实例字段还没有初始化
+        if (type instanceof Class
+                && value instanceof SerializeFilterable
+                && !(value instanceof SensitiveBeanSerializer)
+                && isSensitive((Class<?>) type)) {
+            ((SerializeFilterable) value).addFilter(filter);
+        }
+        return super.put(type, value);
+    }
+
+    /**
+     * 是否有需要脱敏的字段
+     * @param clazz 类
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isSensitive(final Class<?> clazz) {
+        // 父类构造器中注册的都是 JDK 类型
+        if (null == classPlans
+                || ClassTypeUtil.isJdk(clazz)) {
+            return false;
+        }
+        return classPlans.get(clazz).hasStrategyField();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.github.houbb.sensitive.core.support.instance;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * 实例持有者
+ *
+ * （1）单例：直接返回创建好的实例
+ * （2）多例：每次调用都新建实例
+ *
+ * 持有者创建后会被类计划、条件等长期引用，注册新的实例时替换持有者内部的值，
+ * 已经构建的计划在下一次调用时即可看到新的实例。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public final class InstanceHolder<T> {
+
+    /**
+     * 当前的值
+     *
+     * 实例和构造器放在同一个对象中，替换时一次写入，读取时不会看到不一致的组合。
+     * @since 0.0.14
+     */
+    private volatile Value<T> value;
+
+    private InstanceHolder(T instance, Constructor<T> constructor) {
+        this.value = new Value<>(instance, constructor);
+    }
+
+    /**
+     * 单例
+     * @param instance 实例
+     * @param <T> 泛型
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static <T> InstanceHolder<T> singleton(final T instance) {
+        return new InstanceHolder<>(instance, null);
+    }
+
+    /**
+     * 多例
+     * @param constructor 无参构造器
+     * @param <T> 泛型
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static <T> InstanceHolder<T> prototype(final Constructor<T> constructor) {
+        return new InstanceHolder<>(null, constructor);
+    }
+
+    /**
+     * 获取实例
+     * @return 实例
+     * @since 0.0.14
+     */
+    public T get() {
+        final Value<T> current = value;
+        if (null == current.constructor) {
+            return current.instance;
+        }
+
+        try {
+            return current.constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 是否为多例
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isPrototype() {
+        return null != value.constructor;
+    }
+
+    /**
+     * 替换为指定的单例实例
+     * @param instance 实例
+     * @since 0.0.14
+     */
+    void set(final T instance) {
+        this.value = new Value<>(instance, null);
+    }
+
+    private static final class Value<T> {
+
+        /**
+         * 单例实例，多例时为 null
+         * @since 0.0.14
+         */
+        private final T instance;
+
+        /**
+         * 构造器，单例时为 null
+         * @since 0.0.14
+         */
+        private final Constructor<T> constructor;
+
+        private Value(T instance, Constructor<T> constructor) {
+            this.instance = instance;
+            this.constructor = constructor;
+        }
+    }
+
+}
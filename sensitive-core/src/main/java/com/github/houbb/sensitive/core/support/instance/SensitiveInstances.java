@@ -0,0 +1,105 @@
+package com.github.houbb.sensitive.core.support.instance;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.annotation.SensitivePrototype;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 策略、条件实例注册中心
+ *
+ * （1）默认为单例，同一个类全局只创建一次
+ * （2）类上指定 {@link SensitivePrototype} 时为多例，每次获取都新建实例
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class SensitiveInstances {
+
+    private SensitiveInstances(){}
+
+    /**
+     * 类和实例持有者的映射
+     * @since 0.0.14
+     */
+    private static final Map<Class<?>, InstanceHolder<?>> HOLDER_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 获取实例持有者
+     * @param clazz 类
+     * @param <T> 泛型
+     * @return 结果
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> InstanceHolder<T> holder(final Class<T> clazz) {
+        ArgUtil.notNull(clazz, "clazz");
+
+        InstanceHolder<T> holder = (InstanceHolder<T>) HOLDER_MAP.get(clazz);
+        if (null != holder) {
+            return holder;
+        }
+
+        holder = buildHolder(clazz);
+        InstanceHolder<T> exists = (InstanceHolder<T>) HOLDER_MAP.putIfAbsent(clazz, holder);
+        return null == exists ? holder : exists;
+    }
+
+    /**
+     * 获取实例
+     * @param clazz 类
+     * @param <T> 泛型
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static <T> T get(final Class<T> clazz) {
+        return holder(clazz).get();
+    }
+
+    /**
+     * 注册单例实例
+     *
+     * 用于需要构造参数的实现，注册后会覆盖原有的实例。
+     * 已经创建的持有者直接替换内部的实例，所以在第一次脱敏之后注册同样生效。
+     * @param clazz 类
+     * @param instance 实例
+     * @param <T> 泛型
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void register(final Class<T> clazz, final T instance) {
+        ArgUtil.notNull(clazz, "clazz");
+        ArgUtil.notNull(instance, "instance");
+
+        while (true) {
+            InstanceHolder<T> holder = (InstanceHolder<T>) HOLDER_MAP.get(clazz);
+            if (null != holder) {
+                holder.set(instance);
+                return;
+            }
+
+            if (null == HOLDER_MAP.putIfAbsent(clazz, InstanceHolder.singleton(instance))) {
+                return;
+            }
+        }
+    }
+
+    private static <T> InstanceHolder<T> buildHolder(final Class<T> clazz) {
+        try {
+            Constructor<T> constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            if (clazz.isAnnotationPresent(SensitivePrototype.class)) {
+                return InstanceHolder.prototype(constructor);
+            }
+            return InstanceHolder.singleton(constructor.newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 策略、条件实例管理
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.instance;
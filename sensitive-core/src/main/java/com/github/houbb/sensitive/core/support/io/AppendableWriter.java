@@ -0,0 +1,78 @@
+package com.github.houbb.sensitive.core.support.io;
+
+import com.github.houbb.heaven.annotation.NotThreadSafe;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * 将 {@link Appendable} 适配为 {@link Writer}
+ *
+ * （1）写入的内容直接追加，不做缓冲
+ * （2）close 不会关闭原始的 appendable
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@NotThreadSafe
+public class AppendableWriter extends Writer {
+
+    /**
+     * 输出目标
+     * @since 0.0.14
+     */
+    private final Appendable appendable;
+
+    private AppendableWriter(Appendable appendable) {
+        this.appendable = appendable;
+    }
+
+    /**
+     * 获取对应的 writer
+     * @param appendable 输出目标
+     * @return writer，本身就是 writer 时直接返回
+     * @since 0.0.14
+     */
+    public static Writer of(final Appendable appendable) {
+        if (appendable instanceof Writer) {
+            return (Writer) appendable;
+        }
+        return new AppendableWriter(appendable);
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        appendable.append((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            ((StringBuilder) appendable).append(cbuf, off, len);
+            return;
+        }
+        appendable.append(CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        appendable.append(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        appendable.append(csq);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // 没有缓冲
+    }
+
+    @Override
+    public void close() throws IOException {
+        // 不关闭原始的 appendable
+    }
+
+}
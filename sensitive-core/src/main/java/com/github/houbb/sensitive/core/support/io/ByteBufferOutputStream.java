@@ -0,0 +1,39 @@
+package com.github.houbb.sensitive.core.support.io;
+
+import com.github.houbb.heaven.annotation.NotThreadSafe;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 将 {@link ByteBuffer} 适配为 {@link OutputStream}
+ *
+ * （1）从当前 position 开始写入，写入后 position 后移
+ * （2）剩余空间不足时，抛出 {@link java.nio.BufferOverflowException}
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@NotThreadSafe
+public class ByteBufferOutputStream extends OutputStream {
+
+    /**
+     * 输出目标
+     * @since 0.0.14
+     */
+    private final ByteBuffer byteBuffer;
+
+    public ByteBufferOutputStream(ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer;
+    }
+
+    @Override
+    public void write(int b) {
+        byteBuffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        byteBuffer.put(b, off, len);
+    }
+
+}
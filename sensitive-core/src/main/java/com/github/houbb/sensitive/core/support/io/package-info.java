@@ -0,0 +1,5 @@
+/**
+ * 输出相关的适配
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.io;
@@ -0,0 +1,125 @@
+package com.github.houbb.sensitive.core.support.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.json.JsonRules;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Jackson {@link JsonNode} 树的原地脱敏
+ *
+ * （1）遍历一次，按照编译后的规则直接替换命中的节点，没有命中的节点不做任何处理
+ * （2）文本、数字节点脱敏后替换为文本节点；null、布尔值节点保持不变
+ * （3）命中规则的值为数组时，规则作用于数组的每个元素
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class JsonNodeMasker {
+
+    /**
+     * 规则
+     * @since 0.0.14
+     */
+    private final JsonRules rules;
+
+    public JsonNodeMasker(JsonRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * 脱敏
+     * @param tree 树
+     * @since 0.0.14
+     */
+    public void mask(final JsonNode tree) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        container(tree, rules.root(), 0);
+    }
+
+    private void container(final JsonNode value, final JsonRules.Node node, final int depth) {
+        if (value.isObject()) {
+            object((ObjectNode) value, node, depth + 1);
+        } else if (value.isArray()) {
+            checkDepth(depth + 1);
+            for (JsonNode element : value) {
+                container(element, node, depth + 1);
+            }
+        }
+    }
+
+    private void object(final ObjectNode objectNode, final JsonRules.Node node, final int depth) {
+        checkDepth(depth);
+
+        Iterator<Map.Entry<String, JsonNode>> iterator = objectNode.fields();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = iterator.next();
+            final String name = entry.getKey();
+            final JsonRules.Node child = rules.child(node, name);
+            final IStrategy strategy = rules.strategy(child, name);
+            final JsonNode value = entry.getValue();
+            if (null == strategy) {
+                container(value, child, depth);
+                continue;
+            }
+
+            final JsonNode masked = maskValue(value, strategy, child, depth);
+            if (masked != value) {
+                // 替换已有的字段，不改变结构，遍历可以继续
+                objectNode.replace(name, masked);
+            }
+        }
+    }
+
+    /**
+     * 脱敏命中规则的节点
+     * @param value 节点
+     * @param strategy 策略
+     * @param node 路径节点
+     * @param depth 层级
+     * @return 结果，没有修改时返回原始节点
+     * @since 0.0.14
+     */
+    private JsonNode maskValue(final JsonNode value, final IStrategy strategy,
+                               final JsonRules.Node node, final int depth) {
+        if (value.isTextual() || value.isNumber()) {
+            final Object result = strategy.des(value.asText(), null);
+            if (null == result) {
+                return NullNode.getInstance();
+            }
+            return TextNode.valueOf(result.toString());
+        }
+        if (value.isObject()) {
+            object((ObjectNode) value, node, depth + 1);
+        } else if (value.isArray()) {
+            checkDepth(depth + 1);
+
+            ArrayNode arrayNode = (ArrayNode) value;
+            for (int i = 0; i < arrayNode.size(); i++) {
+                final JsonNode element = arrayNode.get(i);
+                final JsonNode masked = maskValue(element, strategy, node, depth + 1);
+                if (masked != element) {
+                    arrayNode.set(i, masked);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static void checkDepth(final int depth) {
+        if (depth > JsonRules.MAX_DEPTH) {
+            throw new SensitiveRuntimeException("JSON 嵌套层级超过 " + JsonRules.MAX_DEPTH);
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.github.houbb.sensitive.core.support.jackson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 脱敏序列化修改器
+ *
+ * （1）Jackson 为每个类构建序列化器时调用一次
+ * （2）只替换需要脱敏的字段对应的属性，其他属性保持不变
+ * （3）属性和字段的对应关系以 Jackson 的属性定义为准，支持重命名
+ * （4）按照创建时指定的视角获取类计划
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class SensitiveBeanSerializerModifier extends BeanSerializerModifier {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 视角
+     * @since 0.0.14
+     */
+    private final String profile;
+
+    public SensitiveBeanSerializerModifier() {
+        this(ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 指定视角的修改器
+     * @param profile 视角
+     * @since 0.0.14
+     */
+    public SensitiveBeanSerializerModifier(final String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+
+        this.profile = profile;
+    }
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config,
+                                                     BeanDescription beanDesc,
+                                                     List<BeanPropertyWriter> beanProperties) {
+        final Class<?> beanClass = beanDesc.getBeanClass();
+        if (ClassTypeUtil.isJdk(beanClass)) {
+            return beanProperties;
+        }
+        final ClassPlan classPlan = ClassPlanCache.getInstance().get(beanClass, profile);
+        if (!classPlan.hasStrategyField()) {
+            return beanProperties;
+        }
+
+        final Map<String, Field> fieldMap = buildFieldMap(beanDesc);
+        for (int i = 0; i < beanProperties.size(); i++) {
+            final BeanPropertyWriter writer = beanProperties.get(i);
+            final Field field = fieldMap.get(writer.getName());
+            if (null == field) {
+                continue;
+            }
+
+            final FieldPlan fieldPlan = classPlan.getFieldPlan(field);
+            if (null != fieldPlan
+                    && !fieldPlan.isIgnored()
+                    && fieldPlan.isMasked()) {
+                beanProperties.set(i, new SensitivePropertyWriter(writer, classPlan, fieldPlan));
+            }
+        }
+        return beanProperties;
+    }
+
+    /**
+     * 构建属性名称和字段的映射
+     *
+     * 只有 getter 没有字段时，不做处理。
+     * @param beanDesc 类描述
+     * @return 映射
+     * @since 0.0.14
+     */
+    private Map<String, Field> buildFieldMap(final BeanDescription beanDesc) {
+        final List<BeanPropertyDefinition> definitions = beanDesc.findProperties();
+        Map<String, Field> fieldMap = new HashMap<>(definitions.size() * 2);
+        for (BeanPropertyDefinition definition : definitions) {
+            if (definition.hasField()) {
+                fieldMap.put(definition.getName(), definition.getField().getAnnotated());
+            }
+        }
+        return fieldMap;
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.houbb.sensitive.core.support.jackson;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+
+/**
+ * 脱敏模块
+ *
+ * 注册到 {@link com.fasterxml.jackson.databind.ObjectMapper} 之后，序列化时直接输出脱敏后的值。
+ * <pre>
+ * ObjectMapper objectMapper = new ObjectMapper().registerModule(new SensitiveModule());
+ * ObjectMapper csMapper = new ObjectMapper().registerModule(new SensitiveModule("cs"));
+ * </pre>
+ * 一个 ObjectMapper 只对应一个视角，序列化器按照该视角的计划创建。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public SensitiveModule() {
+        this(ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 指定视角的脱敏模块
+     * @param profile 视角
+     * @since 0.0.14
+     */
+    public SensitiveModule(final String profile) {
+        super(SensitiveModule.class.getSimpleName());
+        this.setSerializerModifier(new SensitiveBeanSerializerModifier(profile));
+    }
+
+}
@@ -0,0 +1,244 @@
+package com.github.houbb.sensitive.core.support.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.masker.FieldValueMasker;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+
+/**
+ * 脱敏属性输出
+ *
+ * （1）读取属性值后直接脱敏输出，不修改原始对象
+ * （2）值没有变化时，交给父类处理，保持 Jackson 原有的特性
+ * （3）字段输出和数组元素输出（{@code @JsonFormat(shape = ARRAY)}）使用同样的脱敏
+ * （4）字符策略直接写入线程内复用的缓冲区
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class SensitivePropertyWriter extends BeanPropertyWriter {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 复用缓冲区的最大长度，超过时直接创建
+     * @since 0.0.14
+     */
+    private static final int MAX_BUFFER_LENGTH = 8 * 1024;
+
+    /**
+     * 线程内复用的缓冲区
+     * @since 0.0.14
+     */
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[64];
+        }
+    };
+
+    /**
+     * 类执行计划
+     * @since 0.0.14
+     */
+    private final transient ClassPlan classPlan;
+
+    /**
+     * 字段执行计划
+     * @since 0.0.14
+     */
+    private final transient FieldPlan fieldPlan;
+
+    public SensitivePropertyWriter(BeanPropertyWriter base, ClassPlan classPlan, FieldPlan fieldPlan) {
+        super(base);
+        this.classPlan = classPlan;
+        this.fieldPlan = fieldPlan;
+    }
+
+    @Override
+    public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        serializeMasked(bean, gen, prov, true);
+    }
+
+    /**
+     * 类指定了 {@code @JsonFormat(shape = ARRAY)} 时按照数组元素输出
+     * @param bean 当前对象
+     * @param gen 输出
+     * @param prov 提供者
+     * @throws Exception 异常
+     * @since 0.0.14
+     */
+    @Override
+    public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+        serializeMasked(bean, gen, prov, false);
+    }
+
+    /**
+     * 脱敏输出
+     *
+     * {@code @JsonInclude} 等过滤条件按照脱敏后的值判断，和父类的处理顺序一致。
+     * @param bean 当前对象
+     * @param gen 输出
+     * @param prov 提供者
+     * @param asField 是否作为字段输出，否则作为数组元素输出
+     * @throws Exception 异常
+     * @since 0.0.14
+     */
+    private void serializeMasked(final Object bean, final JsonGenerator gen,
+                                 final SerializerProvider prov, final boolean asField) throws Exception {
+        final Object value = get(bean);
+        final SensitiveContext context = buildContext(bean);
+
+        // 字符策略直接写入线程内复用的缓冲区，不创建中间字符串
+        final ICharStrategy charStrategy = isPlainString() ? FieldValueMasker.charStrategy(context, fieldPlan, value) : null;
+        if (null != charStrategy) {
+            final String original = (String) value;
+            final int length = charStrategy.length(original, context);
+            if (length < 0) {
+                serializeNull(bean, gen, prov, asField);
+                return;
+            }
+            char[] chars = buffer(length);
+            charStrategy.des(original, context, chars, 0);
+            if (asField) {
+                gen.writeFieldName(_name);
+            }
+            gen.writeString(chars, 0, length);
+            return;
+        }
+
+        final Object maskedValue = FieldValueMasker.mask(context, fieldPlan, value);
+        if (maskedValue == value) {
+            if (asField) {
+                super.serializeAsField(bean, gen, prov);
+            } else {
+                super.serializeAsElement(bean, gen, prov);
+            }
+            return;
+        }
+
+        if (null == maskedValue) {
+            serializeNull(bean, gen, prov, asField);
+            return;
+        }
+
+        JsonSerializer<Object> serializer = _serializer;
+        if (null == serializer) {
+            serializer = prov.findValueSerializer(maskedValue.getClass(), this);
+        }
+        if (isSuppressed(prov, serializer, maskedValue)) {
+            if (!asField) {
+                serializeAsPlaceholder(bean, gen, prov);
+            }
+            return;
+        }
+
+        if (asField) {
+            gen.writeFieldName(_name);
+        }
+        if (null == _typeSerializer) {
+            serializer.serialize(maskedValue, gen, prov);
+        } else {
+            serializer.serializeWithType(maskedValue, gen, prov, _typeSerializer);
+        }
+    }
+
+    /**
+     * 是否被 {@code @JsonInclude} 等条件过滤
+     * @param prov 提供者
+     * @param serializer 值对应的序列化器
+     * @param maskedValue 脱敏后的值
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isSuppressed(final SerializerProvider prov,
+                                 final JsonSerializer<Object> serializer,
+                                 final Object maskedValue) {
+        if (null == _suppressableValue) {
+            return false;
+        }
+        if (MARKER_FOR_EMPTY == _suppressableValue) {
+            return serializer.isEmpty(prov, maskedValue);
+        }
+        return _suppressableValue.equals(maskedValue);
+    }
+
+    /**
+     * 输出脱敏后的 null
+     * @param bean 当前对象
+     * @param gen 输出
+     * @param prov 提供者
+     * @param asField 是否作为字段输出
+     * @throws Exception 异常
+     * @since 0.0.14
+     */
+    private void serializeNull(final Object bean, final JsonGenerator gen,
+                               final SerializerProvider prov, final boolean asField) throws Exception {
+        if (!asField) {
+            serializeAsPlaceholder(bean, gen, prov);
+            return;
+        }
+
+        if (null != _nullSerializer) {
+            gen.writeFieldName(_name);
+            _nullSerializer.serialize(null, gen, prov);
+        } else if (!_suppressNulls) {
+            gen.writeFieldName(_name);
+            prov.defaultSerializeNull(gen);
+        }
+    }
+
+    /**
+     * 是否为默认的字符串输出
+     *
+     * 指定了自定义序列化、类型信息或者 {@code @JsonInclude} 过滤值时，交给序列化器处理。
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isPlainString() {
+        return null == _typeSerializer
+                && null == _suppressableValue
+                && (null == _serializer || StringSerializer.class == _serializer.getClass());
+    }
+
+    /**
+     * 获取线程内复用的缓冲区
+     * @param length 需要的长度
+     * @return 缓冲区
+     * @since 0.0.14
+     */
+    private static char[] buffer(final int length) {
+        if (length > MAX_BUFFER_LENGTH) {
+            return new char[length];
+        }
+        char[] chars = BUFFER.get();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            BUFFER.set(chars);
+        }
+        return chars;
+    }
+
+    /**
+     * 构建上下文
+     * @param bean 当前对象
+     * @return 上下文
+     * @since 0.0.14
+     */
+    private SensitiveContext buildContext(final Object bean) {
+        SensitiveContext context = new SensitiveContext();
+        context.setCurrentObject(bean);
+        context.setBeanClass(classPlan.getBeanClass());
+        context.setAllFieldList(classPlan.getAllFieldList());
+        context.setCurrentField(fieldPlan.getField(), fieldPlan.getAccessor());
+        return context;
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 作用于 Jackson 的序列化扩展和 JsonNode 树脱敏
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.jackson;
@@ -0,0 +1,255 @@
+package com.github.houbb.sensitive.core.support.json;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 编译后的 JSON 字段规则
+ *
+ * （1）字段名规则：任意层级的同名字段都生效
+ * （2）路径规则：从根节点开始，字段名使用 . 连接，如 user.phone，可以使用 $. 开头；数组对路径透明，users.phone 匹配所有元素的 phone
+ * （3）路径规则优先于字段名规则
+ * （4）路径编译为按层级的节点，每个字段只需要在当前节点和字段名表中各查找一次
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class JsonRules {
+
+    /**
+     * 最大的嵌套层级
+     * @since 0.0.14
+     */
+    public static final int MAX_DEPTH = 512;
+
+    /**
+     * 路径的分隔符
+     * @since 0.0.14
+     */
+    private static final char PATH_SEPARATOR = '.';
+
+    /**
+     * 路径的根节点前缀
+     * @since 0.0.14
+     */
+    private static final String PATH_ROOT = "$.";
+
+    /**
+     * 字段名规则
+     * @since 0.0.14
+     */
+    private final Map<String, IStrategy> names;
+
+    /**
+     * 字段名规则的字节索引
+     * @since 0.0.14
+     */
+    private final Utf8KeyTable<IStrategy> nameTable;
+
+    /**
+     * 路径规则的根节点
+     * @since 0.0.14
+     */
+    private final Node root;
+
+    /**
+     * 没有任何规则
+     * @since 0.0.14
+     */
+    private static final JsonRules EMPTY = new JsonRules(Collections.<String, IStrategy>emptyMap(), new NodeBuilder().build());
+
+    private JsonRules(Map<String, IStrategy> names, Node root) {
+        this.names = names;
+        this.nameTable = new Utf8KeyTable<>(names);
+        this.root = root;
+    }
+
+    /**
+     * 编译规则
+     * @param names 字段名规则
+     * @param paths 路径规则
+     * @return 规则，没有任何规则时返回共享的空规则
+     * @since 0.0.14
+     */
+    public static JsonRules of(final Map<String, IStrategy> names, final Map<String, IStrategy> paths) {
+        ArgUtil.notNull(names, "names");
+        ArgUtil.notNull(paths, "paths");
+        if (names.isEmpty() && paths.isEmpty()) {
+            return EMPTY;
+        }
+
+        NodeBuilder rootBuilder = new NodeBuilder();
+        for (Map.Entry<String, IStrategy> entry : paths.entrySet()) {
+            NodeBuilder builder = rootBuilder;
+            for (String segment : segments(entry.getKey())) {
+                NodeBuilder child = builder.children.get(segment);
+                if (null == child) {
+                    child = new NodeBuilder();
+                    builder.children.put(segment, child);
+                }
+                builder = child;
+            }
+            builder.strategy = entry.getValue();
+        }
+
+        Map<String, IStrategy> nameMap = Guavas.newHashMap(names.size());
+        nameMap.putAll(names);
+        return new JsonRules(Collections.unmodifiableMap(nameMap), rootBuilder.build());
+    }
+
+    /**
+     * 是否没有任何规则
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isEmpty() {
+        return names.isEmpty() && root.children.isEmpty();
+    }
+
+    /**
+     * 路径规则的根节点
+     * @return 根节点
+     * @since 0.0.14
+     */
+    public Node root() {
+        return root;
+    }
+
+    /**
+     * 字段对应的路径节点
+     * @param parent 父节点，可以为 null
+     * @param name 字段名
+     * @return 节点，不存在时返回 null
+     * @since 0.0.14
+     */
+    public Node child(final Node parent, final String name) {
+        if (null == parent) {
+            return null;
+        }
+        return parent.children.get(name);
+    }
+
+    /**
+     * 字段对应的路径节点
+     * @param parent 父节点，可以为 null
+     * @param bytes 字段名的 UTF-8 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 节点，不存在时返回 null
+     * @since 0.0.14
+     */
+    public Node child(final Node parent, final byte[] bytes, final int offset, final int length) {
+        if (null == parent) {
+            return null;
+        }
+        return parent.childTable.get(bytes, offset, length);
+    }
+
+    /**
+     * 字段对应的策略，路径规则优先
+     * @param node 字段对应的路径节点，可以为 null
+     * @param name 字段名
+     * @return 策略，不存在时返回 null
+     * @since 0.0.14
+     */
+    public IStrategy strategy(final Node node, final String name) {
+        if (null != node && null != node.strategy) {
+            return node.strategy;
+        }
+        return names.get(name);
+    }
+
+    /**
+     * 字段对应的策略，路径规则优先
+     * @param node 字段对应的路径节点，可以为 null
+     * @param bytes 字段名的 UTF-8 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 策略，不存在时返回 null
+     * @since 0.0.14
+     */
+    public IStrategy strategy(final Node node, final byte[] bytes, final int offset, final int length) {
+        if (null != node && null != node.strategy) {
+            return node.strategy;
+        }
+        return nameTable.get(bytes, offset, length);
+    }
+
+    /**
+     * 拆分路径
+     * @param path 路径
+     * @return 字段名
+     * @since 0.0.14
+     */
+    private static String[] segments(final String path) {
+        ArgUtil.notEmpty(path, "path");
+
+        String actualPath = path.startsWith(PATH_ROOT) ? path.substring(PATH_ROOT.length()) : path;
+        String[] segments = actualPath.split("\\" + PATH_SEPARATOR, -1);
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                throw new SensitiveRuntimeException("不合法的 JSON 路径：" + path);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * 路径节点
+     * @since 0.0.14
+     */
+    public static final class Node {
+
+        /**
+         * 子节点
+         * @since 0.0.14
+         */
+        private final Map<String, Node> children;
+
+        /**
+         * 子节点的字节索引
+         * @since 0.0.14
+         */
+        private final Utf8KeyTable<Node> childTable;
+
+        /**
+         * 当前路径的策略，可以为 null
+         * @since 0.0.14
+         */
+        private final IStrategy strategy;
+
+        private Node(Map<String, Node> children, IStrategy strategy) {
+            this.children = children;
+            this.childTable = new Utf8KeyTable<>(children);
+            this.strategy = strategy;
+        }
+
+    }
+
+    /**
+     * 路径节点构建
+     * @since 0.0.14
+     */
+    private static final class NodeBuilder {
+
+        private final Map<String, NodeBuilder> children = Guavas.newHashMap();
+
+        private IStrategy strategy;
+
+        private Node build() {
+            Map<String, Node> nodes = Guavas.newHashMap(children.size());
+            for (Map.Entry<String, NodeBuilder> entry : children.entrySet()) {
+                nodes.put(entry.getKey(), entry.getValue().build());
+            }
+            return new Node(nodes, strategy);
+        }
+
+    }
+
+}
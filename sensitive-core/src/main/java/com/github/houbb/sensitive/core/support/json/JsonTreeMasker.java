@@ -0,0 +1,121 @@
+package com.github.houbb.sensitive.core.support.json;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+/**
+ * 已解析 JSON 树的原地脱敏
+ *
+ * （1）适用于 fastjson 的 JSONObject、JSONArray，以及由 Map、List 组成的树
+ * （2）遍历一次，按照编译后的规则直接修改命中的值，没有命中的节点不做任何处理
+ * （3）字符串、数字脱敏后替换为策略的结果；null、布尔值保持不变
+ * （4）命中规则的值为数组时，规则作用于数组的每个元素
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class JsonTreeMasker {
+
+    /**
+     * 规则
+     * @since 0.0.14
+     */
+    private final JsonRules rules;
+
+    public JsonTreeMasker(JsonRules rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * 脱敏
+     * @param tree Map 或者 List，其他类型不做处理
+     * @since 0.0.14
+     */
+    public void mask(final Object tree) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        container(tree, rules.root(), 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void container(final Object value, final JsonRules.Node node, final int depth) {
+        if (value instanceof Map) {
+            object((Map<Object, Object>) value, node, depth + 1);
+        } else if (value instanceof List) {
+            array((List<Object>) value, node, depth + 1);
+        }
+    }
+
+    private void object(final Map<Object, Object> map, final JsonRules.Node node, final int depth) {
+        checkDepth(depth);
+
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            final String name = String.valueOf(entry.getKey());
+            final JsonRules.Node child = rules.child(node, name);
+            final IStrategy strategy = rules.strategy(child, name);
+            final Object value = entry.getValue();
+            if (null == strategy) {
+                container(value, child, depth);
+                continue;
+            }
+
+            final Object masked = maskValue(value, strategy, child, depth);
+            if (masked != value) {
+                entry.setValue(masked);
+            }
+        }
+    }
+
+    private void array(final List<Object> list, final JsonRules.Node node, final int depth) {
+        checkDepth(depth);
+
+        for (Object element : list) {
+            container(element, node, depth);
+        }
+    }
+
+    /**
+     * 脱敏命中规则的值
+     * @param value 值
+     * @param strategy 策略
+     * @param node 路径节点
+     * @param depth 层级
+     * @return 结果，没有修改时返回原始值
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    private Object maskValue(final Object value, final IStrategy strategy,
+                             final JsonRules.Node node, final int depth) {
+        if (value instanceof CharSequence || value instanceof Number) {
+            return strategy.des(value, null);
+        }
+        if (value instanceof Map) {
+            object((Map<Object, Object>) value, node, depth + 1);
+        } else if (value instanceof List) {
+            checkDepth(depth + 1);
+
+            ListIterator<Object> iterator = ((List<Object>) value).listIterator();
+            while (iterator.hasNext()) {
+                final Object element = iterator.next();
+                final Object masked = maskValue(element, strategy, node, depth + 1);
+                if (masked != element) {
+                    iterator.set(masked);
+                }
+            }
+        }
+        return value;
+    }
+
+    private static void checkDepth(final int depth) {
+        if (depth > JsonRules.MAX_DEPTH) {
+            throw new SensitiveRuntimeException("JSON 嵌套层级超过 " + JsonRules.MAX_DEPTH);
+        }
+    }
+
+}
@@ -0,0 +1,502 @@
+package com.github.houbb.sensitive.core.support.json;
+
+import com.github.houbb.heaven.annotation.NotThreadSafe;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.masker.FieldValueMasker;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+
+/**
+ * UTF-8 JSON 流式脱敏
+ *
+ * （1）直接扫描字节，不创建 DOM，也不为字段名和字段值创建字符串
+ * （2）没有命中规则的内容不做任何处理，在下一次修改或者结束时整段写出
+ * （3）命中规则的字符串解码后使用策略脱敏，重新编码为 JSON 字符串写出；数字脱敏后写出为字符串；null、true、false 保持不变
+ * （4）命中规则的字段值为数组时，规则作用于数组的每个元素
+ *
+ * 每次调用创建一个实例，执行时不会调用 {@link IStrategy} 以外的扩展点，上下文为 null。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@NotThreadSafe
+public final class RawJsonMasker {
+
+    /**
+     * null 字面量
+     * @since 0.0.14
+     */
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    /**
+     * 十六进制字符
+     * @since 0.0.14
+     */
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private final JsonRules rules;
+
+    private final byte[] bytes;
+
+    private final int offset;
+
+    private final int end;
+
+    private final OutputStream out;
+
+    /**
+     * 已经写出的位置
+     * @since 0.0.14
+     */
+    private int written;
+
+    /**
+     * 修改的次数
+     * @since 0.0.14
+     */
+    private int edits;
+
+    /**
+     * 解码后的原始内容
+     * @since 0.0.14
+     */
+    private char[] decoded = new char[0];
+
+    /**
+     * 脱敏结果
+     * @since 0.0.14
+     */
+    private char[] masked = new char[0];
+
+    /**
+     * 脱敏结果的编码
+     * @since 0.0.14
+     */
+    private byte[] encoded = new byte[0];
+
+    public RawJsonMasker(JsonRules rules, byte[] bytes, int offset, int length, OutputStream out) {
+        this.rules = rules;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.end = offset + length;
+        this.out = out;
+        this.written = offset;
+    }
+
+    /**
+     * 执行脱敏，结果写入输出
+     * @return 修改的次数
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    public int mask() throws IOException {
+        int index = value(skipWhitespace(offset), rules.root(), null, 0);
+        index = skipWhitespace(index);
+        if (index != end) {
+            throw illegal(index);
+        }
+        out.write(bytes, written, end - written);
+        return edits;
+    }
+
+    /**
+     * 处理值
+     * @param index 开始位置
+     * @param node 路径节点
+     * @param strategy 命中的策略，可以为 null
+     * @param depth 层级
+     * @return 结束位置
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    private int value(final int index, final JsonRules.Node node,
+                      final IStrategy strategy, final int depth) throws IOException {
+        if (index >= end) {
+            throw illegal(index);
+        }
+
+        final byte b = bytes[index];
+        if (b == '{') {
+            return object(index, node, depth + 1);
+        }
+        if (b == '[') {
+            return array(index, node, strategy, depth + 1);
+        }
+        if (b == '"') {
+            final int stringEnd = stringEnd(index);
+            if (null != strategy) {
+                maskString(index, stringEnd, strategy);
+            }
+            return stringEnd;
+        }
+
+        final int literalEnd = literalEnd(index);
+        if (null != strategy && (b == '-' || (b >= '0' && b <= '9'))) {
+            maskNumber(index, literalEnd, strategy);
+        }
+        return literalEnd;
+    }
+
+    private int object(final int start, final JsonRules.Node node, final int depth) throws IOException {
+        checkDepth(start, depth);
+
+        int index = skipWhitespace(start + 1);
+        if (index < end && bytes[index] == '}') {
+            return index + 1;
+        }
+        while (true) {
+            if (index >= end || bytes[index] != '"') {
+                throw illegal(index);
+            }
+            final int keyEnd = stringEnd(index);
+            final int keyOffset = index + 1;
+            final int keyLength = keyEnd - 1 - keyOffset;
+            final JsonRules.Node child;
+            final IStrategy strategy;
+            if (isEscaped(keyOffset, keyEnd - 1)) {
+                // 包含转义的字段名解码后匹配，和没有转义的字段名规则一致
+                final int length = decode(keyOffset, keyEnd - 1);
+                final String key = new String(decoded, 0, length);
+                child = rules.child(node, key);
+                strategy = rules.strategy(child, key);
+            } else {
+                child = rules.child(node, bytes, keyOffset, keyLength);
+                strategy = rules.strategy(child, bytes, keyOffset, keyLength);
+            }
+
+            index = skipWhitespace(keyEnd);
+            if (index >= end || bytes[index] != ':') {
+                throw illegal(index);
+            }
+            index = skipWhitespace(value(skipWhitespace(index + 1), child, strategy, depth));
+            if (index >= end) {
+                throw illegal(index);
+            }
+            if (bytes[index] == '}') {
+                return index + 1;
+            }
+            if (bytes[index] != ',') {
+                throw illegal(index);
+            }
+            index = skipWhitespace(index + 1);
+        }
+    }
+
+    private int array(final int start, final JsonRules.Node node,
+                      final IStrategy strategy, final int depth) throws IOException {
+        checkDepth(start, depth);
+
+        int index = skipWhitespace(start + 1);
+        if (index < end && bytes[index] == ']') {
+            return index + 1;
+        }
+        while (true) {
+            index = skipWhitespace(value(index, node, strategy, depth));
+            if (index >= end) {
+                throw illegal(index);
+            }
+            if (bytes[index] == ']') {
+                return index + 1;
+            }
+            if (bytes[index] != ',') {
+                throw illegal(index);
+            }
+            index = skipWhitespace(index + 1);
+        }
+    }
+
+    /**
+     * 字符串的结束位置
+     * @param start 开始的引号位置
+     * @return 结束引号之后的位置
+     * @since 0.0.14
+     */
+    private int stringEnd(final int start) {
+        int index = start + 1;
+        while (index < end) {
+            final byte b = bytes[index];
+            if (b == '"') {
+                return index + 1;
+            }
+            index += b == '\\' ? 2 : 1;
+        }
+        throw illegal(start);
+    }
+
+    /**
+     * 字符串的内容是否包含转义
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isEscaped(final int start, final int stop) {
+        for (int i = start; i < stop; i++) {
+            if (bytes[i] == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 数字、true、false、null 的结束位置
+     * @param start 开始位置
+     * @return 结束位置
+     * @since 0.0.14
+     */
+    private int literalEnd(final int start) {
+        int index = start;
+        while (index < end) {
+            final byte b = bytes[index];
+            if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                break;
+            }
+            index++;
+        }
+        if (index == start) {
+            throw illegal(start);
+        }
+        return index;
+    }
+
+    private int skipWhitespace(final int start) {
+        int index = start;
+        while (index < end && isWhitespace(bytes[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private void checkDepth(final int index, final int depth) {
+        if (depth > JsonRules.MAX_DEPTH) {
+            throw new SensitiveRuntimeException("JSON 嵌套层级超过 " + JsonRules.MAX_DEPTH + "，位置：" + (index - offset));
+        }
+    }
+
+    private SensitiveRuntimeException illegal(final int index) {
+        return new SensitiveRuntimeException("不合法的 JSON，位置：" + (index - offset));
+    }
+
+    /**
+     * 脱敏字符串
+     * @param start 开始的引号位置
+     * @param stringEnd 结束引号之后的位置
+     * @param strategy 策略
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    private void maskString(final int start, final int stringEnd, final IStrategy strategy) throws IOException {
+        final int length = decode(start + 1, stringEnd - 1);
+        replace(start, stringEnd, strategy, length);
+    }
+
+    /**
+     * 脱敏数字，结果写出为字符串
+     * @param start 开始位置
+     * @param literalEnd 结束位置
+     * @param strategy 策略
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    private void maskNumber(final int start, final int literalEnd, final IStrategy strategy) throws IOException {
+        final int length = literalEnd - start;
+        ensureDecoded(length);
+        for (int i = 0; i < length; i++) {
+            decoded[i] = (char) bytes[start + i];
+        }
+        replace(start, literalEnd, strategy, length);
+    }
+
+    /**
+     * 使用脱敏结果替换指定区间
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @param strategy 策略
+     * @param length 原始内容的长度
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    private void replace(final int start, final int stop,
+                         final IStrategy strategy, final int length) throws IOException {
+        final CharBuffer original = CharBuffer.wrap(decoded, 0, length);
+
+        out.write(bytes, written, start - written);
+        written = stop;
+        edits++;
+
+        final ICharStrategy charStrategy = FieldValueMasker.charStrategy(strategy);
+        if (null != charStrategy) {
+            final int maskedLength = charStrategy.length(original, null);
+            if (maskedLength < 0) {
+                out.write(NULL);
+                return;
+            }
+            if (masked.length < maskedLength) {
+                masked = new char[Math.max(maskedLength, masked.length << 1)];
+            }
+            charStrategy.des(original, null, masked, 0);
+            writeString(masked, maskedLength);
+            return;
+        }
+
+        final Object result = strategy.des(original.toString(), null);
+        if (null == result) {
+            out.write(NULL);
+            return;
+        }
+        final String string = result.toString();
+        writeString(string.toCharArray(), string.length());
+    }
+
+    /**
+     * 解码 JSON 字符串的内容
+     * @param start 开始位置
+     * @param stop 结束位置
+     * @return 字符的长度
+     * @since 0.0.14
+     */
+    private int decode(final int start, final int stop) {
+        // UTF-8 和转义的字节数都不少于解码后的字符数
+        ensureDecoded(stop - start);
+
+        int length = 0;
+        int index = start;
+        while (index < stop) {
+            final int b = bytes[index] & 0xFF;
+            if (b == '\\') {
+                final byte escaped = bytes[index + 1];
+                if (escaped == 'u') {
+                    decoded[length++] = (char) hex(index + 2);
+                    index += 6;
+                    continue;
+                }
+                decoded[length++] = unescape(escaped, index);
+                index += 2;
+            } else if (b < 0x80) {
+                decoded[length++] = (char) b;
+                index++;
+            } else if (b >= 0xC0 && b < 0xE0 && index + 1 < stop) {
+                decoded[length++] = (char) (((b & 0x1F) << 6) | (bytes[index + 1] & 0x3F));
+                index += 2;
+            } else if (b >= 0xE0 && b < 0xF0 && index + 2 < stop) {
+                decoded[length++] = (char) (((b & 0x0F) << 12) | ((bytes[index + 1] & 0x3F) << 6)
+                        | (bytes[index + 2] & 0x3F));
+                index += 3;
+            } else if (b >= 0xF0 && index + 3 < stop) {
+                final int codePoint = ((b & 0x07) << 18) | ((bytes[index + 1] & 0x3F) << 12)
+                        | ((bytes[index + 2] & 0x3F) << 6) | (bytes[index + 3] & 0x3F);
+                decoded[length++] = Character.highSurrogate(codePoint);
+                decoded[length++] = Character.lowSurrogate(codePoint);
+                index += 4;
+            } else {
+                decoded[length++] = '\uFFFD';
+                index++;
+            }
+        }
+        return length;
+    }
+
+    private char unescape(final byte escaped, final int index) {
+        switch (escaped) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            default:
+                throw illegal(index);
+        }
+    }
+
+    private int hex(final int start) {
+        if (start + 4 > end) {
+            throw illegal(start);
+        }
+        int result = 0;
+        for (int i = start; i < start + 4; i++) {
+            final int digit = Character.digit(bytes[i], 16);
+            if (digit < 0) {
+                throw illegal(i);
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    private void ensureDecoded(final int length) {
+        if (decoded.length < length) {
+            decoded = new char[Math.max(length, decoded.length << 1)];
+        }
+    }
+
+    /**
+     * 编码为 JSON 字符串写出
+     * @param chars 字符
+     * @param length 长度
+     * @throws IOException 写入异常
+     * @since 0.0.14
+     */
+    private void writeString(final char[] chars, final int length) throws IOException {
+        // 转义的控制字符最多占用 6 个字节
+        final int capacity = length * 6 + 2;
+        if (encoded.length < capacity) {
+            encoded = new byte[Math.max(capacity, encoded.length << 1)];
+        }
+
+        int size = 0;
+        encoded[size++] = '"';
+        for (int i = 0; i < length; i++) {
+            final char c = chars[i];
+            if (c == '"' || c == '\\') {
+                encoded[size++] = '\\';
+                encoded[size++] = (byte) c;
+            } else if (c < 0x20) {
+                encoded[size++] = '\\';
+                encoded[size++] = 'u';
+                encoded[size++] = '0';
+                encoded[size++] = '0';
+                encoded[size++] = HEX[c >> 4];
+                encoded[size++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                encoded[size++] = (byte) c;
+            } else if (c < 0x800) {
+                encoded[size++] = (byte) (0xC0 | (c >> 6));
+                encoded[size++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(chars[i + 1])) {
+                final int codePoint = Character.toCodePoint(c, chars[++i]);
+                encoded[size++] = (byte) (0xF0 | (codePoint >> 18));
+                encoded[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                encoded[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                encoded[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                encoded[size++] = '?';
+            } else {
+                encoded[size++] = (byte) (0xE0 | (c >> 12));
+                encoded[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                encoded[size++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        encoded[size++] = '"';
+        out.write(encoded, 0, size);
+    }
+
+}
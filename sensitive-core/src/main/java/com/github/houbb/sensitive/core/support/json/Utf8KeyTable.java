@@ -0,0 +1,89 @@
+package com.github.houbb.sensitive.core.support.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * UTF-8 字段名的开放寻址哈希表
+ *
+ * （1）构建后不可变，可以多线程共享
+ * （2）直接使用字节区间查找，不需要把字段名转换为字符串
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <V> 值
+ */
+final class Utf8KeyTable<V> {
+
+    private final byte[][] keys;
+
+    private final Object[] values;
+
+    private final int mask;
+
+    Utf8KeyTable(final Map<String, V> map) {
+        int capacity = 2;
+        while (capacity < map.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new byte[capacity][];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+
+        for (Map.Entry<String, V> entry : map.entrySet()) {
+            final byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            int index = hash(key, 0, key.length) & mask;
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = entry.getValue();
+        }
+    }
+
+    /**
+     * 查找
+     * @param bytes 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 值，不存在时返回 null
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    V get(final byte[] bytes, final int offset, final int length) {
+        int index = hash(bytes, offset, length) & mask;
+        byte[] key;
+        while ((key = keys[index]) != null) {
+            if (key.length == length && equals(key, bytes, offset)) {
+                return (V) values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private static boolean equals(final byte[] key, final byte[] bytes, final int offset) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * FNV-1a 哈希
+     * @param bytes 字节
+     * @param offset 开始位置
+     * @param length 长度
+     * @return 哈希
+     * @since 0.0.14
+     */
+    private static int hash(final byte[] bytes, final int offset, final int length) {
+        int hash = 0x811c9dc5;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ bytes[i]) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+}
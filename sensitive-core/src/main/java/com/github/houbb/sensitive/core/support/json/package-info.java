@@ -0,0 +1,5 @@
+/**
+ * JSON 字段规则脱敏
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.json;
@@ -0,0 +1,123 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import com.github.houbb.heaven.support.cache.impl.ClassFieldListCache;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyBuiltInUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 编译期生成脱敏器的父类
+ *
+ * 生成的代码只负责字段的读写，上下文的设置统一放在这里。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+public abstract class AbstractGeneratedBeanMasker<T> implements IBeanMasker<T> {
+
+    /**
+     * 类信息
+     * @since 0.0.14
+     */
+    private final Class<T> beanClass;
+
+    /**
+     * 所有字段
+     * @since 0.0.14
+     */
+    private final List<Field> allFieldList;
+
+    protected AbstractGeneratedBeanMasker(Class<T> beanClass) {
+        this.beanClass = beanClass;
+        this.allFieldList = Collections.unmodifiableList(ClassFieldListCache.getInstance().get(beanClass));
+    }
+
+    @Override
+    public Class<T> beanClass() {
+        return beanClass;
+    }
+
+    /**
+     * 获取字段
+     * @param declaringClass 字段声明的类
+     * @param name 字段名称
+     * @return 字段
+     * @since 0.0.14
+     */
+    protected Field field(final Class<?> declaringClass, final String name) {
+        for (Field field : allFieldList) {
+            if (field.getDeclaringClass() == declaringClass
+                    && field.getName().equals(name)) {
+                return field;
+            }
+        }
+        throw new SensitiveRuntimeException("Field not found: " + declaringClass.getName() + "#" + name);
+    }
+
+    /**
+     * 用户指定的策略
+     * @param strategyClass 策略类
+     * @return 策略
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    protected static InstanceHolder<IStrategy> strategy(final Class<? extends IStrategy> strategyClass) {
+        return (InstanceHolder<IStrategy>) SensitiveInstances.holder(strategyClass);
+    }
+
+    /**
+     * 系统内置的策略
+     * @param annotationClass 内置注解
+     * @return 策略
+     * @since 0.0.14
+     */
+    protected static InstanceHolder<IStrategy> builtIn(final Class<? extends Annotation> annotationClass) {
+        return InstanceHolder.singleton(SensitiveStrategyBuiltInUtil.require(annotationClass));
+    }
+
+    /**
+     * 用户指定的条件
+     * @param conditionClass 条件类
+     * @return 条件
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    protected static InstanceHolder<ICondition> condition(final Class<? extends ICondition> conditionClass) {
+        return (InstanceHolder<ICondition>) SensitiveInstances.holder(conditionClass);
+    }
+
+    /**
+     * 设置上下文，并判断条件是否满足
+     * @param context 上下文
+     * @param copyObject 当前对象
+     * @param field 当前字段
+     * @param strategy 策略
+     * @param condition 条件，可以为 null
+     * @return 是否需要脱敏
+     * @since 0.0.14
+     */
+    protected boolean prepare(final SensitiveContext context,
+                              final T copyObject,
+                              final Field field,
+                              final IStrategy strategy,
+                              final ICondition condition) {
+        context.setCurrentObject(copyObject);
+        context.setAllFieldList(allFieldList);
+        context.setBeanClass(beanClass);
+        context.setCurrentField(field);
+        context.setStrategy(strategy);
+        context.setCondition(condition);
+
+        return null == condition || condition.valid(context);
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+import com.github.houbb.heaven.util.util.ArrayUtil;
+import com.github.houbb.heaven.util.util.CollectionUtil;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字段值脱敏工具类
+ *
+ * 序列化时使用，不修改原始对象，返回脱敏后的新值。
+ * （1）字符串直接脱敏
+ * （2）基础类型元素的数组、集合，返回新的数组、列表
+ * （3）其他类型返回原始值，由序列化框架递归处理
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class FieldValueMasker {
+
+    private FieldValueMasker(){}
+
+    /**
+     * 策略类的字符方法是否和 {@link IStrategy#des(Object, IContext)} 一致
+     * @since 0.0.14
+     */
+    private static final Map<Class<?>, Boolean> CHAR_CONSISTENT_MAP = new ConcurrentHashMap<>();
+
+    /**
+     * 处理字段值
+     *
+     * 调用方需要提前设置好上下文中的当前对象和字段信息。
+     * @param sensitiveContext 脱敏上下文
+     * @param fieldPlan 字段计划
+     * @param value 字段值
+     * @return 处理后的值
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static Object mask(final SensitiveContext sensitiveContext,
+                              final FieldPlan fieldPlan,
+                              final Object value) {
+        //2. 处理 @SensitiveEntry 注解
+        final Class fieldTypeClass = fieldPlan.getField().getType();
+        if (fieldTypeClass == String.class) {
+            sensitiveContext.setEntry(value);
+            return handleSensitive(sensitiveContext, fieldPlan);
+        }
+        if (ClassTypeUtil.isJavaBean(fieldTypeClass)) {
+            //不作处理，因为 json 本身就会进行递归处理
+            return value;
+        }
+        if(ClassTypeUtil.isMap(fieldTypeClass)) {
+            // 按照 key 规则返回新的 Map
+            if (null == value || null == fieldPlan.getMapKeyRules()) {
+                return value;
+            }
+            return MapValueMasker.copy(sensitiveContext, fieldPlan.getMapKeyRules(), (Map<?, ?>) value);
+        }
+
+        if(ClassTypeUtil.isArray(fieldTypeClass)) {
+            // 为数组类型
+            Object[] arrays = (Object[]) value;
+            if (ArrayUtil.isNotEmpty(arrays)) {
+                Object firstArrayEntry = ArrayUtil.firstNotNullElem(arrays).get();
+                final Class entryFieldClass = firstArrayEntry.getClass();
+
+                if(isBaseType(entryFieldClass)) {
+                    //2, 基础值，直接循环设置即可
+                    final int arrayLength = arrays.length;
+                    Object newArray = Array.newInstance(entryFieldClass, arrayLength);
+                    for (int i = 0; i < arrayLength; i++) {
+                        Object entry = arrays[i];
+                        sensitiveContext.setEntry(entry);
+                        Object result = handleSensitive(sensitiveContext, fieldPlan);
+                        Array.set(newArray, i, result);
+                    }
+
+                    return newArray;
+                }
+            }
+        }
+        if(ClassTypeUtil.isCollection(fieldTypeClass)) {
+            // Collection 接口的子类
+            final Collection<Object> entryCollection = (Collection<Object>) value;
+            if (CollectionUtil.isNotEmpty(entryCollection)) {
+                Object firstCollectionEntry = CollectionUtil.firstNotNullElem(entryCollection).get();
+
+                if(isBaseType(firstCollectionEntry.getClass())) {
+                    //2, 基础值，直接循环设置即可
+                    List<Object> newResultList = new ArrayList<>(entryCollection.size());
+                    for (Object entry : entryCollection) {
+                        sensitiveContext.setEntry(entry);
+                        Object result = handleSensitive(sensitiveContext, fieldPlan);
+                        newResultList.add(result);
+                    }
+                    return newResultList;
+                }
+            }
+        }
+
+        // 默认返回原来的值
+        return value;
+    }
+
+    /**
+     * 获取可以直接写入的字符脱敏策略
+     *
+     * 字段和值都是字符串，策略可以按照字符处理（见 {@link #charStrategy(IStrategy)}），并且条件满足时返回。
+     * 序列化时可以直接把脱敏结果写入输出缓冲区，不创建中间字符串。
+     * @param sensitiveContext 脱敏上下文
+     * @param fieldPlan 字段计划
+     * @param value 字段值
+     * @return 策略，不满足时返回 null
+     * @since 0.0.14
+     */
+    public static ICharStrategy charStrategy(final SensitiveContext sensitiveContext,
+                                             final FieldPlan fieldPlan,
+                                             final Object value) {
+        if (!(value instanceof String)
+                || String.class != fieldPlan.getField().getType()) {
+            return null;
+        }
+        final ICharStrategy charStrategy = charStrategy(fieldPlan.getStrategy());
+        if (null == charStrategy) {
+            return null;
+        }
+
+        final ICondition condition = fieldPlan.getCondition();
+        if (ObjectUtil.isNotNull(condition)) {
+            sensitiveContext.setEntry(value);
+            final boolean valid = condition.valid(sensitiveContext);
+            sensitiveContext.setEntry(null);
+            if (!valid) {
+                return null;
+            }
+        }
+        return charStrategy;
+    }
+
+    /**
+     * 获取可以按照字符处理的策略
+     *
+     * 子类只重写了 {@link IStrategy#des(Object, IContext)} 时（比如继承 StrategyPhone 自定义脱敏），
+     * 字符方法的结果和重写后的结果不一致，此时返回 null，由调用方使用 des 方法处理。
+     * @param strategy 策略
+     * @return 字符策略，不满足时返回 null
+     * @since 0.0.14
+     */
+    public static ICharStrategy charStrategy(final IStrategy strategy) {
+        if (!(strategy instanceof ICharStrategy)) {
+            return null;
+        }
+
+        final Class<?> strategyClass = strategy.getClass();
+        Boolean consistent = CHAR_CONSISTENT_MAP.get(strategyClass);
+        if (null == consistent) {
+            consistent = isCharConsistent(strategyClass);
+            CHAR_CONSISTENT_MAP.put(strategyClass, consistent);
+        }
+        return consistent ? (ICharStrategy) strategy : null;
+    }
+
+    /**
+     * 字符方法是否和 des 方法一致
+     *
+     * 字符方法的声明类不能是 des 方法声明类的父类。
+     * @param strategyClass 策略类
+     * @return 是否
+     * @since 0.0.14
+     */
+    private static boolean isCharConsistent(final Class<?> strategyClass) {
+        try {
+            final Class<?> desClass = declaringClass(strategyClass, "des", Object.class, IContext.class);
+            return desClass.isAssignableFrom(declaringClass(strategyClass, "length", CharSequence.class, IContext.class))
+                    && desClass.isAssignableFrom(declaringClass(strategyClass, "des", CharSequence.class, IContext.class, char[].class, int.class))
+                    && desClass.isAssignableFrom(declaringClass(strategyClass, "des", CharSequence.class, IContext.class, Appendable.class));
+        } catch (NoSuchMethodException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 方法的声明类
+     * @param clazz 类
+     * @param name 方法名称
+     * @param parameterTypes 参数类型
+     * @return 声明类
+     * @throws NoSuchMethodException 方法不存在
+     * @since 0.0.14
+     */
+    private static Class<?> declaringClass(final Class<?> clazz,
+                                           final String name,
+                                           final Class<?>... parameterTypes) throws NoSuchMethodException {
+        final Method method = clazz.getMethod(name, parameterTypes);
+        return method.getDeclaringClass();
+    }
+
+    /**
+     * 处理脱敏信息
+     *
+     * @param context    上下文
+     * @param fieldPlan  当前字段计划
+     * @since 0.0.6
+     */
+    private static Object handleSensitive(final SensitiveContext context,
+                                          final FieldPlan fieldPlan) {
+        // 原始字段值
+        final Object originalFieldVal = context.getEntry();
+
+        final ICondition condition = fieldPlan.getCondition();
+        if (ObjectUtil.isNull(condition)
+                || condition.valid(context)) {
+            context.setEntry(null);
+            return fieldPlan.getStrategy().des(originalFieldVal, context);
+        }
+
+        context.setEntry(null);
+        return originalFieldVal;
+    }
+
+    /**
+     * 特殊类型
+     * （1）map
+     * （2）对象
+     * （3）集合/数组
+     * @param fieldTypeClass 字段类型
+     * @return 是否
+     * @since 0.0.6
+     */
+    private static boolean isBaseType(final Class fieldTypeClass) {
+        if (ClassTypeUtil.isBase(fieldTypeClass)) {
+            return true;
+        }
+
+        if (ClassTypeUtil.isJavaBean(fieldTypeClass)
+                || ClassTypeUtil.isArray(fieldTypeClass)
+                || ClassTypeUtil.isCollection(fieldTypeClass)
+                || ClassTypeUtil.isMap(fieldTypeClass)) {
+            return false;
+        }
+        return true;
+    }
+
+}
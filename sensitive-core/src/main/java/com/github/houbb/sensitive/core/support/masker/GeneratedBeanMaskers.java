@@ -0,0 +1,66 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 编译期生成的脱敏器
+ *
+ * 通过 sensitive-processor 生成，并且写入 META-INF/services 索引。
+ * 索引只在第一次使用时加载一次。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class GeneratedBeanMaskers {
+
+    private GeneratedBeanMaskers(){}
+
+    /**
+     * 获取类对应的生成脱敏器
+     * @param clazz 类
+     * @return 脱敏器，不存在时返回 null
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static IBeanMasker<Object> get(final Class<?> clazz) {
+        return (IBeanMasker<Object>) Holder.MASKER_MAP.get(clazz);
+    }
+
+    /**
+     * 延迟加载
+     * @since 0.0.14
+     */
+    private static class Holder {
+
+        private static final Map<Class<?>, IBeanMasker<?>> MASKER_MAP = load();
+
+        @SuppressWarnings("rawtypes")
+        private static Map<Class<?>, IBeanMasker<?>> load() {
+            Map<Class<?>, IBeanMasker<?>> map = new HashMap<>();
+            Iterator<IBeanMasker> iterator = ServiceLoader.load(IBeanMasker.class).iterator();
+            while (true) {
+                try {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                } catch (ServiceConfigurationError error) {
+                    // 索引文件本身有问题，直接放弃
+                    break;
+                }
+
+                try {
+                    IBeanMasker<?> masker = iterator.next();
+                    map.put(masker.beanClass(), masker);
+                } catch (ServiceConfigurationError error) {
+                    // 单个实现加载失败时，对应的类使用运行时的实现
+                }
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+}
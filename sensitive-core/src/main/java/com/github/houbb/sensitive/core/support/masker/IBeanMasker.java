@@ -0,0 +1,30 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+
+/**
+ * 对象脱敏器
+ *
+ * 对已经拷贝的对象，执行基础类型字段的脱敏。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+public interface IBeanMasker<T> {
+
+    /**
+     * 对应的类
+     * @return 类信息
+     * @since 0.0.14
+     */
+    Class<T> beanClass();
+
+    /**
+     * 脱敏
+     * @param copyObject 拷贝的对象，会被直接修改
+     * @param context 上下文
+     * @since 0.0.14
+     */
+    void mask(final T copyObject, final SensitiveContext context);
+
+}
@@ -0,0 +1,261 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import com.github.houbb.heaven.support.handler.IHandler;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.plan.MapKeyRules;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map 字段值脱敏工具类
+ *
+ * （1）每个 key 在编译后的规则中查找一次，整个 Map 只遍历一次
+ * （2）命中规则的基础类型值直接脱敏；基础类型元素的集合、数组，返回新的列表、数组
+ * （3）值为 Map 时使用相同的规则递归处理，循环引用的 Map 只处理一次
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class MapValueMasker {
+
+    private MapValueMasker(){}
+
+    /**
+     * 序列化时使用，不修改原始 Map，返回脱敏后的新 Map
+     *
+     * 对象类型的值保持不变，由序列化框架递归处理。
+     * 调用方需要提前设置好上下文中的当前对象和字段信息。
+     * @param context 脱敏上下文
+     * @param rules 规则
+     * @param map 原始 Map
+     * @return 结果，保持原来的顺序
+     * @since 0.0.14
+     */
+    public static Map<Object, Object> copy(final SensitiveContext context,
+                                           final MapKeyRules rules,
+                                           final Map<?, ?> map) {
+        return copy(context, rules, map, new IdentityHashMap<Map<?, ?>, Map<Object, Object>>());
+    }
+
+    /**
+     * 返回脱敏后的新 Map
+     * @param context 脱敏上下文
+     * @param rules 规则
+     * @param map 原始 Map
+     * @param copied 已经处理的 Map =》新 Map，循环引用时直接使用
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static Map<Object, Object> copy(final SensitiveContext context,
+                                            final MapKeyRules rules,
+                                            final Map<?, ?> map,
+                                            final Map<Map<?, ?>, Map<Object, Object>> copied) {
+        Map<Object, Object> result = copied.get(map);
+        if (null != result) {
+            return result;
+        }
+        result = new LinkedHashMap<>(Math.max(16, (int) (map.size() / 0.75f) + 1));
+        copied.put(map, result);
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            final Object value = entry.getValue();
+            final MapKeyRules.Rule rule = rules.match(String.valueOf(entry.getKey()));
+            Object masked;
+            if (value instanceof Map) {
+                masked = copy(context, rules, (Map<?, ?>) value, copied);
+            } else if (null == rule) {
+                masked = value;
+            } else {
+                masked = maskValue(context, rule, value);
+            }
+            result.put(entry.getKey(), masked);
+        }
+        return result;
+    }
+
+    /**
+     * 拷贝脱敏时使用，直接修改拷贝后的 Map
+     *
+     * 对象类型的值，以及集合中对象类型的元素，交给 beanHandler 处理。
+     * 调用方需要提前设置好上下文中的当前对象和字段信息。
+     * @param context 脱敏上下文
+     * @param rules 规则
+     * @param map 拷贝后的 Map
+     * @param beanHandler 对象的处理
+     * @since 0.0.14
+     */
+    public static void mask(final SensitiveContext context,
+                            final MapKeyRules rules,
+                            final Map<Object, Object> map,
+                            final IHandler<Object, ?> beanHandler) {
+        mask(context, rules, map, beanHandler, Collections.newSetFromMap(new IdentityHashMap<Map<?, ?>, Boolean>()));
+    }
+
+    /**
+     * 直接修改拷贝后的 Map
+     * @param context 脱敏上下文
+     * @param rules 规则
+     * @param map 拷贝后的 Map
+     * @param beanHandler 对象的处理
+     * @param visited 已经处理的 Map，循环引用时跳过
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    private static void mask(final SensitiveContext context,
+                             final MapKeyRules rules,
+                             final Map<Object, Object> map,
+                             final IHandler<Object, ?> beanHandler,
+                             final Set<Map<?, ?>> visited) {
+        if (!visited.add(map)) {
+            return;
+        }
+        for (Map.Entry<Object, Object> entry : map.entrySet()) {
+            final Object value = entry.getValue();
+            if (null == value) {
+                continue;
+            }
+            if (value instanceof Map) {
+                mask(context, rules, (Map<Object, Object>) value, beanHandler, visited);
+                continue;
+            }
+
+            final MapKeyRules.Rule rule = rules.match(String.valueOf(entry.getKey()));
+            if (null != rule) {
+                final Object masked = maskValue(context, rule, value);
+                if (masked != value) {
+                    entry.setValue(masked);
+                    continue;
+                }
+            }
+            handleBeans(value, beanHandler);
+        }
+    }
+
+    /**
+     * 处理对象类型的值
+     * @param value 值
+     * @param beanHandler 对象的处理
+     * @since 0.0.14
+     */
+    private static void handleBeans(final Object value, final IHandler<Object, ?> beanHandler) {
+        if (value instanceof Collection) {
+            for (Object element : (Collection<?>) value) {
+                if (null != element && !ClassTypeUtil.isBase(element.getClass())) {
+                    beanHandler.handle(element);
+                }
+            }
+            return;
+        }
+        if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) {
+                if (null != element && !ClassTypeUtil.isBase(element.getClass())) {
+                    beanHandler.handle(element);
+                }
+            }
+            return;
+        }
+        if (!ClassTypeUtil.isBase(value.getClass())) {
+            beanHandler.handle(value);
+        }
+    }
+
+    /**
+     * 处理命中规则的值
+     * @param context 上下文
+     * @param rule 规则
+     * @param value 值
+     * @return 结果，不需要处理时返回原始值
+     * @since 0.0.14
+     */
+    private static Object maskValue(final SensitiveContext context,
+                                    final MapKeyRules.Rule rule,
+                                    final Object value) {
+        if (null == value) {
+            return null;
+        }
+        if (ClassTypeUtil.isBase(value.getClass())) {
+            return maskEntry(context, rule, value);
+        }
+        if (value instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) value;
+            List<Object> result = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                if (null != element && !ClassTypeUtil.isBase(element.getClass())) {
+                    // 对象类型的元素，保持原来的集合
+                    return value;
+                }
+                result.add(null == element ? null : maskEntry(context, rule, element));
+            }
+            return result;
+        }
+        if (value instanceof Object[]) {
+            return maskArray(context, rule, (Object[]) value);
+        }
+        return value;
+    }
+
+    /**
+     * 处理命中规则的数组
+     * @param context 上下文
+     * @param rule 规则
+     * @param array 数组
+     * @return 结果，元素类型和原数组相同；脱敏结果不兼容时为 Object[]；包含对象类型的元素时返回原始数组
+     * @since 0.0.14
+     */
+    private static Object maskArray(final SensitiveContext context,
+                                    final MapKeyRules.Rule rule,
+                                    final Object[] array) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        Object[] result = (Object[]) Array.newInstance(componentType, array.length);
+        for (int i = 0; i < array.length; i++) {
+            final Object element = array[i];
+            if (null == element) {
+                continue;
+            }
+            if (!ClassTypeUtil.isBase(element.getClass())) {
+                // 对象类型的元素，保持原来的数组
+                return array;
+            }
+            final Object masked = maskEntry(context, rule, element);
+            if (null != masked && !componentType.isInstance(masked)) {
+                Object[] objects = new Object[array.length];
+                System.arraycopy(result, 0, objects, 0, i);
+                result = objects;
+            }
+            result[i] = masked;
+        }
+        return result;
+    }
+
+    /**
+     * 脱敏单个元素
+     * @param context 上下文
+     * @param rule 规则
+     * @param entry 元素
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static Object maskEntry(final SensitiveContext context,
+                                    final MapKeyRules.Rule rule,
+                                    final Object entry) {
+        final ICondition condition = rule.getCondition();
+        if (null != condition) {
+            context.setEntry(entry);
+            final boolean valid = condition.valid(context);
+            context.setEntry(null);
+            if (!valid) {
+                return entry;
+            }
+        }
+        return rule.getStrategy().des(entry, context);
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.houbb.sensitive.core.support.masker;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * 基于字段计划的对象脱敏器
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class PlanBeanMasker implements IBeanMasker<Object> {
+
+    /**
+     * 类信息
+     * @since 0.0.14
+     */
+    private final Class<?> beanClass;
+
+    /**
+     * 所有字段
+     * @since 0.0.14
+     */
+    private final List<Field> allFieldList;
+
+    /**
+     * 需要脱敏的基础类型字段
+     * @since 0.0.14
+     */
+    private final FieldPlan[] leafPlans;
+
+    public PlanBeanMasker(Class<?> beanClass, List<Field> allFieldList, FieldPlan[] leafPlans) {
+        this.beanClass = beanClass;
+        this.allFieldList = allFieldList;
+        this.leafPlans = leafPlans;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Class<Object> beanClass() {
+        return (Class<Object>) beanClass;
+    }
+
+    @Override
+    public void mask(Object copyObject, SensitiveContext context) {
+        for (FieldPlan fieldPlan : leafPlans) {
+            final IFieldAccessor accessor = fieldPlan.getAccessor();
+            final IStrategy strategy = fieldPlan.getStrategy();
+            final ICondition condition = fieldPlan.getCondition();
+
+            context.setCurrentObject(copyObject);
+            context.setAllFieldList(allFieldList);
+            context.setBeanClass(beanClass);
+            context.setCurrentField(fieldPlan.getField(), accessor);
+            context.setStrategy(strategy);
+            context.setCondition(condition);
+
+            if (null != condition && !condition.valid(context)) {
+                continue;
+            }
+            final Object originalFieldVal = accessor.get(copyObject);
+            accessor.set(copyObject, strategy.des(originalFieldVal, context));
+        }
+    }
+
+    public FieldPlan[] getLeafPlans() {
+        return leafPlans;
+    }
+
+}
@@ -0,0 +1,6 @@
+/**
+ * 对象脱敏器
+ * 负责对象中基础类型字段的脱敏，集合、数组、对象的递归仍由执行计划处理。
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.masker;
@@ -0,0 +1,114 @@
+package com.github.houbb.sensitive.core.support.parallel;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按照引用判断的并发集合
+ *
+ * （1）基于 {@link ConcurrentHashMap}，元素包装为按照引用比较的 key
+ * （2）多个线程同时添加时不需要竞争同一把锁
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <E> 泛型
+ */
+@ThreadSafe
+public class ConcurrentIdentitySet<E> extends AbstractSet<E> {
+
+    private final ConcurrentHashMap<IdentityKey<E>, Boolean> map;
+
+    public ConcurrentIdentitySet() {
+        this.map = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 使用已有的元素初始化
+     * @param collection 元素
+     * @since 0.0.14
+     */
+    public ConcurrentIdentitySet(final Collection<? extends E> collection) {
+        this.map = new ConcurrentHashMap<>(Math.max(16, collection.size() * 2));
+        for (E element : collection) {
+            add(element);
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        return null == map.putIfAbsent(new IdentityKey<>(element), Boolean.TRUE);
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return map.containsKey(new IdentityKey<>(object));
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        return null != map.remove(new IdentityKey<>(object));
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<IdentityKey<E>> keyIterator = map.keySet().iterator();
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return keyIterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return keyIterator.next().value;
+            }
+
+            @Override
+            public void remove() {
+                keyIterator.remove();
+            }
+        };
+    }
+
+    /**
+     * 按照引用比较的 key
+     * @since 0.0.14
+     * @param <E> 泛型
+     */
+    private static final class IdentityKey<E> {
+
+        private final E value;
+
+        private final int hash;
+
+        private IdentityKey(E value) {
+            this.value = value;
+            this.hash = System.identityHashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof IdentityKey
+                    && ((IdentityKey<?>) object).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
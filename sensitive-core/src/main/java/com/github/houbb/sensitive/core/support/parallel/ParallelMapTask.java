@@ -0,0 +1,103 @@
+package com.github.houbb.sensitive.core.support.parallel;
+
+import com.github.houbb.heaven.support.handler.IHandler;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 并行转换任务
+ *
+ * （1）按照下标区间拆分，结果写入对应的下标，保持输入的顺序
+ * （2）区间长度不超过阈值时，在当前线程顺序处理
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ParallelMapTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 输入
+     * @since 0.0.14
+     */
+    private final Object[] inputs;
+
+    /**
+     * 输出
+     * @since 0.0.14
+     */
+    private final Object[] outputs;
+
+    /**
+     * 转换处理
+     * @since 0.0.14
+     */
+    private final IHandler<Object, Object> handler;
+
+    /**
+     * 拆分的阈值
+     * @since 0.0.14
+     */
+    private final int threshold;
+
+    /**
+     * 开始下标，包含
+     * @since 0.0.14
+     */
+    private final int from;
+
+    /**
+     * 结束下标，不包含
+     * @since 0.0.14
+     */
+    private final int to;
+
+    private ParallelMapTask(Object[] inputs, Object[] outputs, IHandler<Object, Object> handler,
+                            int threshold, int from, int to) {
+        this.inputs = inputs;
+        this.outputs = outputs;
+        this.handler = handler;
+        this.threshold = threshold;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * 并行转换
+     * @param pool 线程池
+     * @param inputs 输入
+     * @param handler 转换处理，需要线程安全
+     * @param threshold 拆分的阈值，输入不超过阈值时直接在当前线程处理
+     * @return 结果，和输入的顺序一致
+     * @since 0.0.14
+     */
+    public static Object[] map(final ForkJoinPool pool,
+                               final Object[] inputs,
+                               final IHandler<Object, Object> handler,
+                               final int threshold) {
+        final Object[] outputs = new Object[inputs.length];
+        ParallelMapTask task = new ParallelMapTask(inputs, outputs, handler, Math.max(1, threshold), 0, inputs.length);
+        if (inputs.length <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return outputs;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            for (int i = from; i < to; i++) {
+                outputs[i] = handler.handle(inputs[i]);
+            }
+            return;
+        }
+
+        final int middle = (from + to) >>> 1;
+        invokeAll(new ParallelMapTask(inputs, outputs, handler, threshold, from, middle),
+                new ParallelMapTask(inputs, outputs, handler, threshold, middle, to));
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * 基于 ForkJoin 的并行处理
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.parallel;
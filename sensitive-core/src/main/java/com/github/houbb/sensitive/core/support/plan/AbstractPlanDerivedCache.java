@@ -0,0 +1,110 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 依赖类计划的缓存
+ *
+ * 缓存和计划的版本绑定，计划版本变化后整体丢弃，按照新的计划重新构建。
+ * 判断只需要比较一次版本号，不加锁。每个视角的值单独缓存。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <V> 泛型
+ */
+@ThreadSafe
+public abstract class AbstractPlanDerivedCache<V> {
+
+    /**
+     * 当前版本的缓存
+     * @since 0.0.14
+     */
+    private volatile Versioned<V> versioned = new Versioned<>(-1);
+
+    /**
+     * 获取默认视角的缓存值
+     * @param clazz 类
+     * @return 结果
+     * @since 0.0.14
+     */
+    public V get(final Class<?> clazz) {
+        return get(clazz, ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 获取指定视角的缓存值
+     * @param clazz 类
+     * @param profile 视角
+     * @return 结果
+     * @since 0.0.14
+     */
+    public V get(final Class<?> clazz, final String profile) {
+        // 没有声明的视角使用默认视角的缓存
+        final String resolved = ClassPlanCache.getInstance().resolveProfile(profile, clazz);
+        final ConcurrentHashMap<Class<?>, V> map = currentMap(resolved);
+        V value = map.get(clazz);
+        if (null != value) {
+            return value;
+        }
+
+        value = buildValue(clazz, resolved);
+        V exists = map.putIfAbsent(clazz, value);
+        return null == exists ? value : exists;
+    }
+
+    /**
+     * 构建缓存值
+     * @param clazz 类
+     * @param profile 视角
+     * @return 结果，不能为 null
+     * @since 0.0.14
+     */
+    protected abstract V buildValue(final Class<?> clazz, final String profile);
+
+    /**
+     * 当前计划版本对应的缓存
+     *
+     * 新的缓存只会在看到新版本之后创建，所以缓存中的值都是按照不低于该版本的计划构建的。
+     * @param profile 视角
+     * @return 缓存
+     * @since 0.0.14
+     */
+    private ConcurrentHashMap<Class<?>, V> currentMap(final String profile) {
+        final long version = ClassPlanCache.getInstance().version();
+        Versioned<V> current = versioned;
+        if (current.version < version) {
+            current = new Versioned<>(version);
+            versioned = current;
+        }
+        return current.map(profile);
+    }
+
+    private static final class Versioned<V> {
+
+        private final long version;
+
+        /**
+         * 视角 =》类 =》值
+         * @since 0.0.14
+         */
+        private final ConcurrentHashMap<String, ConcurrentHashMap<Class<?>, V>> profileMap = new ConcurrentHashMap<>();
+
+        private Versioned(long version) {
+            this.version = version;
+        }
+
+        private ConcurrentHashMap<Class<?>, V> map(final String profile) {
+            ConcurrentHashMap<Class<?>, V> map = profileMap.get(profile);
+            if (null != map) {
+                return map;
+            }
+
+            map = new ConcurrentHashMap<>();
+            ConcurrentHashMap<Class<?>, V> exists = profileMap.putIfAbsent(profile, map);
+            return null == exists ? map : exists;
+        }
+    }
+
+}
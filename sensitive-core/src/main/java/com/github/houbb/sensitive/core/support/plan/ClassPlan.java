@@ -0,0 +1,164 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+
+import com.github.houbb.sensitive.core.support.masker.IBeanMasker;
+import com.github.houbb.sensitive.core.support.masker.PlanBeanMasker;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类执行计划
+ *
+ * （1）字段计划在构建后不再变化
+ * （2）allFieldList 保持和 {@link com.github.houbb.heaven.support.cache.impl.ClassFieldListCache} 一致，供上下文使用
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class ClassPlan {
+
+    /**
+     * 类信息
+     * @since 0.0.14
+     */
+    private final Class<?> beanClass;
+
+    /**
+     * 所有字段
+     * @since 0.0.14
+     */
+    private final List<Field> allFieldList;
+
+    /**
+     * 字段计划，不包含静态字段
+     * @since 0.0.14
+     */
+    private final FieldPlan[] fieldPlans;
+
+    /**
+     * 需要处理的嵌套字段：数组、集合、对象
+     * @since 0.0.14
+     */
+    private final FieldPlan[] nestedPlans;
+
+    /**
+     * 基础类型字段脱敏器
+     * @since 0.0.14
+     */
+    private final IBeanMasker<Object> beanMasker;
+
+    /**
+     * 字段到计划的映射
+     * @since 0.0.14
+     */
+    private final Map<Field, FieldPlan> fieldPlanMap;
+
+    /**
+     * 当前类是否有需要脱敏的字段
+     * @since 0.0.14
+     */
+    private final boolean strategyField;
+
+    public ClassPlan(Class<?> beanClass, List<Field> allFieldList, FieldPlan[] fieldPlans) {
+        this(beanClass, allFieldList, fieldPlans, null);
+    }
+
+    /**
+     * 使用指定的脱敏器，比如编译期生成的实现
+     * @param beanClass 类信息
+     * @param allFieldList 所有字段
+     * @param fieldPlans 字段计划
+     * @param beanMasker 基础类型字段脱敏器，为空时使用 {@link PlanBeanMasker}
+     * @since 0.0.14
+     */
+    public ClassPlan(Class<?> beanClass, List<Field> allFieldList, FieldPlan[] fieldPlans, IBeanMasker<Object> beanMasker) {
+        this.beanClass = beanClass;
+        this.allFieldList = Collections.unmodifiableList(allFieldList);
+        this.fieldPlans = fieldPlans;
+
+        Map<Field, FieldPlan> map = new HashMap<>(fieldPlans.length * 2);
+        List<FieldPlan> leafList = new ArrayList<>();
+        List<FieldPlan> nestedList = new ArrayList<>();
+        boolean strategyField = false;
+        for (FieldPlan fieldPlan : fieldPlans) {
+            map.put(fieldPlan.getField(), fieldPlan);
+
+            if (fieldPlan.isIgnored()) {
+                continue;
+            }
+            strategyField |= fieldPlan.isMasked();
+            if (FieldKind.LEAF != fieldPlan.getKind()) {
+                nestedList.add(fieldPlan);
+            } else if (fieldPlan.hasStrategy()) {
+                leafList.add(fieldPlan);
+            }
+        }
+        this.fieldPlanMap = map;
+        this.strategyField = strategyField;
+        this.nestedPlans = nestedList.toArray(new FieldPlan[0]);
+        if (null != beanMasker) {
+            this.beanMasker = beanMasker;
+        } else {
+            this.beanMasker = new PlanBeanMasker(beanClass, this.allFieldList,
+                    leafList.toArray(new FieldPlan[0]));
+        }
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public List<Field> getAllFieldList() {
+        return allFieldList;
+    }
+
+    /**
+     * 字段计划
+     * 注意：返回的是内部数组，调用方不可修改。
+     * @return 字段计划
+     * @since 0.0.14
+     */
+    public FieldPlan[] getFieldPlans() {
+        return fieldPlans;
+    }
+
+    /**
+     * 需要处理的嵌套字段
+     * 注意：返回的是内部数组，调用方不可修改。
+     * @return 字段计划
+     * @since 0.0.14
+     */
+    public FieldPlan[] getNestedPlans() {
+        return nestedPlans;
+    }
+
+    public IBeanMasker<Object> getBeanMasker() {
+        return beanMasker;
+    }
+
+    /**
+     * 当前类是否有需要脱敏的字段，不包含嵌套对象
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean hasStrategyField() {
+        return strategyField;
+    }
+
+    /**
+     * 获取字段对应的计划
+     * @param field 字段
+     * @return 计划，不存在时返回 null
+     * @since 0.0.14
+     */
+    public FieldPlan getFieldPlan(final Field field) {
+        return fieldPlanMap.get(field);
+    }
+
+}
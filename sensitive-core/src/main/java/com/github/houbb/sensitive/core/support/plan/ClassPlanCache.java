@@ -0,0 +1,521 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.cache.impl.ClassFieldListCache;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+import com.github.houbb.heaven.util.util.ArrayUtil;
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.annotation.SensitiveIgnore;
+import com.github.houbb.sensitive.annotation.SensitiveMapKey;
+import com.github.houbb.sensitive.annotation.SensitiveProfile;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.api.impl.ConditionAlwaysTrue;
+import com.github.houbb.sensitive.core.support.accessor.FieldAccessors;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import com.github.houbb.sensitive.core.support.masker.GeneratedBeanMaskers;
+import com.github.houbb.sensitive.core.support.masker.IBeanMasker;
+import com.github.houbb.sensitive.core.support.rule.ClassRules;
+import com.github.houbb.sensitive.core.support.rule.FieldRule;
+import com.github.houbb.sensitive.core.support.rule.RuleReloadResult;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleRegistry;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+import com.github.houbb.sensitive.core.util.condition.SensitiveConditions;
+import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyBuiltInUtil;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 类执行计划缓存
+ *
+ * （1）每个类在每个视角下只构建一次
+ * （2）JDK 自带的类不进行字段反射，直接返回空计划
+ * （3）存在编译期生成的脱敏器时，优先使用
+ * （4）合并 {@link SensitiveRuleRegistry} 中注册的外部规则，外部规则优先于注解
+ * （5）每个视角单独构建计划，选择视角只需要一次查找，执行时不再判断视角
+ * （6）只缓存在注解或者规则中声明的视角，其他视角直接使用默认视角的计划，避免缓存随着视角名称无限增长，见 {@link #resolveProfile(String, Class)}
+ *
+ * 规则变化时，在新的一代中重新编译受影响的类计划，然后通过一次引用替换生效：
+ * 正在执行的调用不会阻塞，也不会看到构建了一半的计划。
+ * 依赖计划的其他缓存通过 {@link #version()} 判断是否需要重建。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class ClassPlanCache {
+
+    private static final ClassPlanCache INSTANCE = new ClassPlanCache();
+
+    /**
+     * 构建计划时在 {@link SensitiveProfile} 注解中发现的视角，数量受代码中的注解限制
+     * @since 0.0.14
+     */
+    private final Set<String> annotatedProfiles = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * 已经扫描过视角注解的类，包含可以从字段类型到达的类
+     * @since 0.0.14
+     */
+    private final Set<Class<?>> scannedClassSet = Collections.newSetFromMap(new ConcurrentHashMap<Class<?>, Boolean>());
+
+    /**
+     * 当前生效的一代计划
+     * @since 0.0.14
+     */
+    private final AtomicReference<Generation> generation = new AtomicReference<>(
+            new Generation(0, ClassRules.empty()));
+
+    private ClassPlanCache() {
+    }
+
+    public static ClassPlanCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 获取默认视角的类计划
+     * @param clazz 类
+     * @return 计划
+     * @since 0.0.14
+     */
+    public ClassPlan get(final Class<?> clazz) {
+        return generation.get().defaultPlans.get(clazz);
+    }
+
+    /**
+     * 获取指定视角的类计划
+     * @param clazz 类
+     * @param profile 视角
+     * @return 计划
+     * @since 0.0.14
+     */
+    public ClassPlan get(final Class<?> clazz, final String profile) {
+        return plans(profile).get(clazz);
+    }
+
+    /**
+     * 获取当前这一代中指定视角的类计划
+     *
+     * 同一个视角返回同一个实例，直到规则重新加载。
+     * 视角没有声明时返回默认视角的计划。
+     * @param profile 视角
+     * @return 类计划
+     * @since 0.0.14
+     */
+    public ClassPlans plans(final String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+
+        final Generation current = generation.get();
+        ClassPlans classPlans = current.profileMap.get(profile);
+        if (null != classPlans) {
+            return classPlans;
+        }
+        if (!isDeclared(profile, current.rules)) {
+            return current.defaultPlans;
+        }
+
+        classPlans = current.newPlans(profile);
+        ClassPlans exists = current.profileMap.putIfAbsent(profile, classPlans);
+        return null == exists ? classPlans : exists;
+    }
+
+    /**
+     * 视角是否在注解或者当前的规则中声明
+     *
+     * 注解中的视角在构建所在类的计划时发现，默认视角总是已经声明。
+     * @param profile 视角
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isDeclared(final String profile) {
+        return isDeclared(profile, generation.get().rules);
+    }
+
+    private boolean isDeclared(final String profile, final ClassRules rules) {
+        return ISensitiveConfig.DEFAULT_PROFILE.equals(profile)
+                || annotatedProfiles.contains(profile)
+                || rules.hasProfile(profile);
+    }
+
+    /**
+     * 获取实际生效的视角
+     *
+     * （1）视角已经声明时直接返回
+     * （2）否则扫描类及其字段类型上的 {@link SensitiveProfile} 注解，每个类只扫描一次
+     * （3）仍然没有声明时返回默认视角，调用方使用默认视角已经缓存的配置，不需要为未知的视角创建实例
+     *
+     * 字段声明为接口或者父类时，实际类型中的注解在构建其计划时才会发现。
+     * @param profile 视角
+     * @param clazz 对象的类型，可以为 null
+     * @return 视角
+     * @since 0.0.14
+     */
+    public String resolveProfile(final String profile, final Class<?> clazz) {
+        ArgUtil.notEmpty(profile, "profile");
+        if (isDeclared(profile)) {
+            return profile;
+        }
+
+        if (null != clazz) {
+            Set<Class<?>> visitedSet = new HashSet<>();
+            scanProfiles(clazz, visitedSet);
+            scannedClassSet.addAll(visitedSet);
+            if (isDeclared(profile)) {
+                return profile;
+            }
+        }
+        return ISensitiveConfig.DEFAULT_PROFILE;
+    }
+
+    /**
+     * 记录类及其字段类型中注解声明的视角
+     * @param clazz 类
+     * @param visitedSet 本次已经访问的类
+     * @since 0.0.14
+     */
+    private void scanProfiles(final Class<?> clazz, final Set<Class<?>> visitedSet) {
+        if (clazz.isArray()) {
+            scanProfiles(clazz.getComponentType(), visitedSet);
+            return;
+        }
+        if (ClassTypeUtil.isJdk(clazz)
+                || scannedClassSet.contains(clazz)
+                || !visitedSet.add(clazz)) {
+            return;
+        }
+
+        for (Field field : ClassFieldListCache.getInstance().get(clazz)) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            for (SensitiveProfile sensitiveProfile : field.getAnnotationsByType(SensitiveProfile.class)) {
+                annotatedProfiles.addAll(Arrays.asList(sensitiveProfile.value()));
+            }
+            scanProfiles(field.getGenericType(), visitedSet);
+        }
+    }
+
+    /**
+     * 记录字段类型中注解声明的视角，包含集合的元素类型
+     * @param type 类型
+     * @param visitedSet 本次已经访问的类
+     * @since 0.0.14
+     */
+    private void scanProfiles(final Type type, final Set<Class<?>> visitedSet) {
+        if (type instanceof Class) {
+            scanProfiles((Class<?>) type, visitedSet);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            scanProfiles(parameterizedType.getRawType(), visitedSet);
+            for (Type argument : parameterizedType.getActualTypeArguments()) {
+                scanProfiles(argument, visitedSet);
+            }
+        } else if (type instanceof GenericArrayType) {
+            scanProfiles(((GenericArrayType) type).getGenericComponentType(), visitedSet);
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                scanProfiles(bound, visitedSet);
+            }
+        }
+    }
+
+    /**
+     * 当前计划的版本，每次规则变化时递增
+     * @return 版本
+     * @since 0.0.14
+     */
+    public long version() {
+        return generation.get().version;
+    }
+
+    /**
+     * 使用新的规则重新加载
+     *
+     * （1）已经构建的类和视角，规则没有变化时直接复用原来的计划
+     * （2）规则变化的类在当前线程重新编译，全部完成后才替换
+     * （3）没有构建过的类和视角，在第一次使用时按照新的规则构建
+     * @param rules 新的规则
+     * @return 结果
+     * @since 0.0.14
+     */
+    public synchronized RuleReloadResult reload(final ClassRules rules) {
+        ArgUtil.notNull(rules, "rules");
+
+        final long startNanos = System.nanoTime();
+        final Generation before = generation.get();
+        final Generation after = new Generation(before.version + 1, rules);
+        int planCount = 0;
+        int invalidatedCount = 0;
+        for (ClassPlans beforePlans : before.profileMap.values()) {
+            final String profile = beforePlans.getProfile();
+            ClassPlans afterPlans = after.profileMap.get(profile);
+            if (null == afterPlans) {
+                afterPlans = after.newPlans(profile);
+                after.profileMap.put(profile, afterPlans);
+            }
+
+            final ConcurrentHashMap<Class<?>, ClassPlan> planMap = afterPlans.getPlanMap();
+            for (Map.Entry<Class<?>, ClassPlan> entry : beforePlans.getPlanMap().entrySet()) {
+                final Class<?> clazz = entry.getKey();
+                planCount++;
+                if (isSameRules(before.rules, rules, clazz, profile)) {
+                    planMap.put(clazz, entry.getValue());
+                } else {
+                    planMap.put(clazz, build(clazz, rules, profile));
+                    invalidatedCount++;
+                }
+            }
+        }
+
+        generation.set(after);
+        return new RuleReloadResult(after.version, planCount, invalidatedCount,
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 类在指定视角下生效的规则是否相同
+     * @param before 原来的规则
+     * @param after 新的规则
+     * @param clazz 类
+     * @param profile 视角
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isSameRules(final ClassRules before, final ClassRules after,
+                                final Class<?> clazz, final String profile) {
+        if (!before.resolve(clazz).equals(after.resolve(clazz))) {
+            return false;
+        }
+        return ISensitiveConfig.DEFAULT_PROFILE.equals(profile)
+                || before.resolve(clazz, profile).equals(after.resolve(clazz, profile));
+    }
+
+    /**
+     * 构建类计划
+     * @param clazz 类
+     * @param rules 外部规则
+     * @param profile 视角
+     * @return 计划
+     * @since 0.0.14
+     */
+    ClassPlan build(final Class<?> clazz, final ClassRules rules, final String profile) {
+        if (ClassTypeUtil.isJdk(clazz)) {
+            return new ClassPlan(clazz, Collections.<Field>emptyList(), new FieldPlan[0]);
+        }
+
+        final List<Field> fieldList = ClassFieldListCache.getInstance().get(clazz);
+        final Map<String, FieldRule> ruleMap = rules.resolve(clazz);
+        final Map<String, FieldRule> profileRuleMap = ISensitiveConfig.DEFAULT_PROFILE.equals(profile)
+                ? Collections.<String, FieldRule>emptyMap() : rules.resolve(clazz, profile);
+        boolean profiled = false;
+        List<FieldPlan> fieldPlanList = new ArrayList<>(fieldList.size());
+        for (Field field : fieldList) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            // 视角的规则直接替换为字段规则，执行时不再判断视角
+            FieldRule fieldRule = profileRuleMap.get(field.getName());
+            if (null == fieldRule) {
+                fieldRule = profileRule(field, profile);
+            }
+            if (null != fieldRule) {
+                profiled = true;
+            } else {
+                fieldRule = ruleMap.get(field.getName());
+            }
+            fieldPlanList.add(buildFieldPlan(field, fieldRule));
+        }
+        final FieldPlan[] fieldPlans = fieldPlanList.toArray(new FieldPlan[0]);
+
+        // 优先使用编译期生成的脱敏器，生成时不知道外部规则和视角，有规则时不使用
+        IBeanMasker<Object> generatedMasker = GeneratedBeanMaskers.get(clazz);
+        if (ObjectUtil.isNotNull(generatedMasker) && ruleMap.isEmpty() && !profiled) {
+            return new ClassPlan(clazz, fieldList, fieldPlans, generatedMasker);
+        }
+        return new ClassPlan(clazz, fieldList, fieldPlans);
+    }
+
+    /**
+     * 字段上指定视角的注解对应的规则
+     *
+     * 多个注解时，按照声明顺序第一个匹配的生效。
+     * @param field 字段
+     * @param profile 视角
+     * @return 规则，没有时为 null
+     * @since 0.0.14
+     */
+    private FieldRule profileRule(final Field field, final String profile) {
+        SensitiveProfile[] sensitiveProfiles = field.getAnnotationsByType(SensitiveProfile.class);
+        for (SensitiveProfile sensitiveProfile : sensitiveProfiles) {
+            annotatedProfiles.addAll(Arrays.asList(sensitiveProfile.value()));
+        }
+        for (SensitiveProfile sensitiveProfile : sensitiveProfiles) {
+            for (String name : sensitiveProfile.value()) {
+                if (!profile.equals(name)) {
+                    continue;
+                }
+                if (IStrategy.class.equals(sensitiveProfile.strategy())) {
+                    return FieldRule.ignore();
+                }
+                InstanceHolder<IStrategy> strategy = holder(sensitiveProfile.strategy());
+                return FieldRule.of(strategy, conditionHolder(sensitiveProfile.condition()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 构建字段计划
+     *
+     * 生效顺序如下：
+     * （1）外部规则，包含指定视角的规则和注解
+     * （2）SensitiveIgnore
+     * （3）Sensitive
+     * （4）系统内置自定义注解
+     * （5）用户自定义注解
+     * @param field 字段
+     * @param fieldRule 外部规则或者视角规则，没有时为 null
+     * @return 计划
+     * @since 0.0.14
+     */
+    private FieldPlan buildFieldPlan(final Field field, final FieldRule fieldRule) {
+        final FieldKind kind = getKind(field.getType());
+        final IFieldAccessor accessor = FieldAccessors.methodHandle(field);
+        if ((null != fieldRule && fieldRule.isIgnored())
+                || (null == fieldRule && ObjectUtil.isNotNull(field.getAnnotation(SensitiveIgnore.class)))) {
+            return new FieldPlan(field, accessor, kind, true, null, null);
+        }
+
+        final MapKeyRules mapKeyRules = FieldKind.MAP == kind ? buildMapKeyRules(field) : null;
+        if (null != fieldRule) {
+            return new FieldPlan(field, accessor, kind, false, fieldRule.getStrategy(), fieldRule.getCondition(), mapKeyRules);
+        }
+
+        Sensitive sensitive = field.getAnnotation(Sensitive.class);
+        if (ObjectUtil.isNotNull(sensitive)) {
+            InstanceHolder<IStrategy> strategy = holder(sensitive.strategy());
+            return new FieldPlan(field, accessor, kind, false, strategy, conditionHolder(sensitive.condition()), mapKeyRules);
+        }
+
+        // 系统内置自定义注解的处理,获取所有的注解
+        Annotation[] annotations = field.getAnnotations();
+        InstanceHolder<IStrategy> strategy = SensitiveStrategyBuiltInUtil.getStrategyHolderOpt(annotations).orElseNull();
+        InstanceHolder<ICondition> condition = SensitiveConditions.getConditionHolderOpt(annotations).orElseNull();
+        return new FieldPlan(field, accessor, kind, false, strategy, condition, mapKeyRules);
+    }
+
+    /**
+     * 构建 Map 字段的 key 规则
+     * @param field 字段
+     * @return 规则，没有指定时为 null
+     * @since 0.0.14
+     */
+    private MapKeyRules buildMapKeyRules(final Field field) {
+        SensitiveMapKey[] mapKeys = field.getAnnotationsByType(SensitiveMapKey.class);
+        if (ArrayUtil.isEmpty(mapKeys)) {
+            return null;
+        }
+
+        List<MapKeyRules.Rule> rules = new ArrayList<>(mapKeys.length);
+        for (SensitiveMapKey mapKey : mapKeys) {
+            InstanceHolder<IStrategy> strategy = holder(mapKey.strategy());
+            rules.add(new MapKeyRules.Rule(mapKey.key(), strategy, conditionHolder(mapKey.condition())));
+        }
+        return MapKeyRules.of(rules);
+    }
+
+    /**
+     * 条件对应的实例，总是生效时返回 null
+     * @param conditionClass 条件类
+     * @return 结果
+     * @since 0.0.14
+     */
+    private InstanceHolder<ICondition> conditionHolder(final Class<? extends ICondition> conditionClass) {
+        if (ConditionAlwaysTrue.class.equals(conditionClass)) {
+            return null;
+        }
+        return holder(conditionClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> InstanceHolder<T> holder(final Class<? extends T> clazz) {
+        return (InstanceHolder<T>) SensitiveInstances.holder(clazz);
+    }
+
+    /**
+     * 获取字段类型对应的处理方式
+     * @param fieldTypeClass 字段类型
+     * @return 处理方式
+     * @since 0.0.14
+     */
+    private FieldKind getKind(final Class<?> fieldTypeClass) {
+        if (ClassTypeUtil.isBase(fieldTypeClass)) {
+            return FieldKind.LEAF;
+        }
+        if (fieldTypeClass.isArray()) {
+            return FieldKind.ARRAY;
+        }
+        if (ClassTypeUtil.isCollection(fieldTypeClass)) {
+            return FieldKind.COLLECTION;
+        }
+        if (ClassTypeUtil.isMap(fieldTypeClass)) {
+            return FieldKind.MAP;
+        }
+        return FieldKind.BEAN;
+    }
+
+    /**
+     * 一代计划，替换后不再修改规则
+     * @since 0.0.14
+     */
+    private static final class Generation {
+
+        private final long version;
+
+        private final ClassRules rules;
+
+        /**
+         * 默认视角的计划，避免一次查找
+         * @since 0.0.14
+         */
+        private final ClassPlans defaultPlans;
+
+        /**
+         * 视角 =》计划，包含默认视角
+         * @since 0.0.14
+         */
+        private final ConcurrentHashMap<String, ClassPlans> profileMap = new ConcurrentHashMap<>();
+
+        private Generation(long version, ClassRules rules) {
+            this.version = version;
+            this.rules = rules;
+            this.defaultPlans = newPlans(ISensitiveConfig.DEFAULT_PROFILE);
+            this.profileMap.put(ISensitiveConfig.DEFAULT_PROFILE, defaultPlans);
+        }
+
+        private ClassPlans newPlans(final String profile) {
+            return new ClassPlans(profile, version, rules, new ConcurrentHashMap<Class<?>, ClassPlan>());
+        }
+    }
+
+}
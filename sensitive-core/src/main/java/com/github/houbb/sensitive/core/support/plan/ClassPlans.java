@@ -0,0 +1,91 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.support.rule.ClassRules;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 单个视角下的类计划
+ *
+ * （1）通过 {@link ClassPlanCache#plans(String)} 获取，属于某一代计划，规则变化后不再修改
+ * （2）视角在计划构建时已经合并到字段计划中，执行时只需要按照类型查找
+ * （3）一次脱敏调用中持有同一个实例，过程中规则重新加载也不会混用新旧计划
+ * （4）没有在注解或者规则中声明的视角直接使用默认视角的实例，见 {@link ClassPlanCache#resolveProfile(String, Class)}
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class ClassPlans {
+
+    /**
+     * 视角
+     * @since 0.0.14
+     */
+    private final String profile;
+
+    /**
+     * 计划版本
+     * @since 0.0.14
+     */
+    private final long version;
+
+    /**
+     * 构建计划使用的外部规则
+     * @since 0.0.14
+     */
+    private final ClassRules rules;
+
+    /**
+     * 类 =》计划
+     * @since 0.0.14
+     */
+    private final ConcurrentHashMap<Class<?>, ClassPlan> planMap;
+
+    ClassPlans(String profile, long version, ClassRules rules, ConcurrentHashMap<Class<?>, ClassPlan> planMap) {
+        this.profile = profile;
+        this.version = version;
+        this.rules = rules;
+        this.planMap = planMap;
+    }
+
+    /**
+     * 获取类计划，不存在时按照当前视角构建
+     * @param clazz 类
+     * @return 计划
+     * @since 0.0.14
+     */
+    public ClassPlan get(final Class<?> clazz) {
+        ClassPlan classPlan = planMap.get(clazz);
+        if (null != classPlan) {
+            return classPlan;
+        }
+
+        classPlan = ClassPlanCache.getInstance().build(clazz, rules, profile);
+        ClassPlan exists = planMap.putIfAbsent(clazz, classPlan);
+        return null == exists ? classPlan : exists;
+    }
+
+    /**
+     * 视角
+     * @return 视角
+     * @since 0.0.14
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * 计划版本
+     * @return 版本
+     * @since 0.0.14
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    ConcurrentHashMap<Class<?>, ClassPlan> getPlanMap() {
+        return planMap;
+    }
+
+}
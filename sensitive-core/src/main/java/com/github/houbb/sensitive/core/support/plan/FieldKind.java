@@ -0,0 +1,41 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+/**
+ * 字段的处理类型
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public enum FieldKind {
+
+    /**
+     * 基础类型，直接执行脱敏策略
+     * @since 0.0.14
+     */
+    LEAF,
+
+    /**
+     * 数组
+     * @since 0.0.14
+     */
+    ARRAY,
+
+    /**
+     * 集合
+     * @since 0.0.14
+     */
+    COLLECTION,
+
+    /**
+     * Map，按照 key 规则处理值
+     * @since 0.0.14
+     */
+    MAP,
+
+    /**
+     * 普通对象，递归处理内部字段
+     * @since 0.0.14
+     */
+    BEAN,
+    ;
+
+}
@@ -0,0 +1,155 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+
+import java.lang.reflect.Field;
+
+/**
+ * 字段执行计划
+ *
+ * 构建时一次性解析字段上的注解，执行时不再反射读取注解。
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class FieldPlan {
+
+    /**
+     * 字段
+     * @since 0.0.14
+     */
+    private final Field field;
+
+    /**
+     * 字段访问器
+     * @since 0.0.14
+     */
+    private final IFieldAccessor accessor;
+
+    /**
+     * 字段处理类型
+     * @since 0.0.14
+     */
+    private final FieldKind kind;
+
+    /**
+     * 是否忽略
+     * @since 0.0.14
+     */
+    private final boolean ignored;
+
+    /**
+     * 脱敏策略，没有指定时为 null
+     * @since 0.0.14
+     */
+    private final InstanceHolder<IStrategy> strategy;
+
+    /**
+     * 生效条件，没有指定时为 null
+     * @since 0.0.14
+     */
+    private final InstanceHolder<ICondition> condition;
+
+    /**
+     * Map 字段的 key 规则，没有指定时为 null
+     * @since 0.0.14
+     */
+    private final MapKeyRules mapKeyRules;
+
+    public FieldPlan(Field field, IFieldAccessor accessor, FieldKind kind, boolean ignored,
+                     InstanceHolder<IStrategy> strategy,
+                     InstanceHolder<ICondition> condition) {
+        this(field, accessor, kind, ignored, strategy, condition, null);
+    }
+
+    public FieldPlan(Field field, IFieldAccessor accessor, FieldKind kind, boolean ignored,
+                     InstanceHolder<IStrategy> strategy,
+                     InstanceHolder<ICondition> condition,
+                     MapKeyRules mapKeyRules) {
+        this.field = field;
+        this.accessor = accessor;
+        this.kind = kind;
+        this.ignored = ignored;
+        this.strategy = strategy;
+        this.condition = condition;
+        this.mapKeyRules = mapKeyRules;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public IFieldAccessor getAccessor() {
+        return accessor;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /**
+     * 获取脱敏策略
+     * 多例的策略每次调用都会新建实例
+     * @return 策略，没有指定时为 null
+     * @since 0.0.14
+     */
+    public IStrategy getStrategy() {
+        return null == strategy ? null : strategy.get();
+    }
+
+    /**
+     * 获取生效条件
+     * 多例的条件每次调用都会新建实例
+     * @return 条件，没有指定时为 null
+     * @since 0.0.14
+     */
+    public ICondition getCondition() {
+        return null == condition ? null : condition.get();
+    }
+
+    /**
+     * 是否指定了脱敏策略
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean hasStrategy() {
+        return null != strategy;
+    }
+
+    /**
+     * Map 字段的 key 规则
+     * @return 规则，没有指定时为 null
+     * @since 0.0.14
+     */
+    public MapKeyRules getMapKeyRules() {
+        return mapKeyRules;
+    }
+
+    /**
+     * 是否需要脱敏：指定了策略，或者指定了 Map 的 key 规则
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isMasked() {
+        return null != strategy || null != mapKeyRules;
+    }
+
+    /**
+     * 使用新的访问器创建计划
+     * @param accessor 访问器
+     * @return 新的计划
+     * @since 0.0.14
+     */
+    public FieldPlan accessor(final IFieldAccessor accessor) {
+        return new FieldPlan(field, accessor, kind, ignored, strategy, condition, mapKeyRules);
+    }
+
+}
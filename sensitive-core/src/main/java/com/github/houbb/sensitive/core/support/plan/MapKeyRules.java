@@ -0,0 +1,294 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 编译后的 Map key 规则
+ *
+ * （1）完全匹配：哈希表，一次查找
+ * （2）前缀匹配（只在末尾有一个 *）：字典树，按照 key 的字符走一遍，取最长的前缀
+ * （3）其他通配符：编译为正则，按照声明顺序匹配，只有前两种都没有命中时才会执行
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class MapKeyRules {
+
+    /**
+     * 任意多个字符
+     * @since 0.0.14
+     */
+    private static final char ANY = '*';
+
+    /**
+     * 单个字符
+     * @since 0.0.14
+     */
+    private static final char ONE = '?';
+
+    /**
+     * 完全匹配
+     * @since 0.0.14
+     */
+    private final Map<String, Rule> exactMap;
+
+    /**
+     * 前缀匹配的字典树
+     * @since 0.0.14
+     */
+    private final PrefixNode prefixRoot;
+
+    /**
+     * 通配符
+     * @since 0.0.14
+     */
+    private final Pattern[] globPatterns;
+
+    /**
+     * 和通配符对应的规则
+     * @since 0.0.14
+     */
+    private final Rule[] globRules;
+
+    private MapKeyRules(Map<String, Rule> exactMap, PrefixNode prefixRoot, Pattern[] globPatterns, Rule[] globRules) {
+        this.exactMap = exactMap;
+        this.prefixRoot = prefixRoot;
+        this.globPatterns = globPatterns;
+        this.globRules = globRules;
+    }
+
+    /**
+     * 编译规则
+     *
+     * 相同的 key 以第一个为准。
+     * @param rules 规则
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static MapKeyRules of(final List<Rule> rules) {
+        ArgUtil.notNull(rules, "rules");
+
+        Map<String, Rule> exactMap = Guavas.newHashMap();
+        PrefixNode prefixRoot = new PrefixNode();
+        List<Pattern> globPatterns = Guavas.newArrayList();
+        List<Rule> globRules = Guavas.newArrayList();
+        for (Rule rule : rules) {
+            final String key = rule.getKey();
+            final int wildcardIndex = wildcardIndex(key);
+            if (wildcardIndex < 0) {
+                if (!exactMap.containsKey(key)) {
+                    exactMap.put(key, rule);
+                }
+            } else if (wildcardIndex == key.length() - 1 && key.charAt(wildcardIndex) == ANY) {
+                prefixRoot.add(key, wildcardIndex, rule);
+            } else {
+                globPatterns.add(compileGlob(key));
+                globRules.add(rule);
+            }
+        }
+        return new MapKeyRules(exactMap, prefixRoot,
+                globPatterns.toArray(new Pattern[0]), globRules.toArray(new Rule[0]));
+    }
+
+    /**
+     * 查找 key 对应的规则
+     * @param key key
+     * @return 规则，不存在时返回 null
+     * @since 0.0.14
+     */
+    public Rule match(final String key) {
+        Rule rule = exactMap.get(key);
+        if (null != rule) {
+            return rule;
+        }
+
+        rule = prefixRoot.longest(key);
+        if (null != rule) {
+            return rule;
+        }
+
+        for (int i = 0; i < globPatterns.length; i++) {
+            if (globPatterns[i].matcher(key).matches()) {
+                return globRules[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 第一个通配符的位置
+     * @param key key
+     * @return 位置，不存在时返回 -1
+     * @since 0.0.14
+     */
+    private static int wildcardIndex(final String key) {
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c == ANY || c == ONE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Pattern compileGlob(final String key) {
+        StringBuilder regex = new StringBuilder(key.length() + 16);
+        int literalStart = 0;
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if (c != ANY && c != ONE) {
+                continue;
+            }
+            if (i > literalStart) {
+                regex.append(Pattern.quote(key.substring(literalStart, i)));
+            }
+            regex.append(c == ANY ? ".*" : ".");
+            literalStart = i + 1;
+        }
+        if (literalStart < key.length()) {
+            regex.append(Pattern.quote(key.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * 单条规则
+     * @since 0.0.14
+     */
+    @ThreadSafe
+    public static final class Rule {
+
+        /**
+         * key 的匹配规则
+         * @since 0.0.14
+         */
+        private final String key;
+
+        /**
+         * 脱敏策略
+         * @since 0.0.14
+         */
+        private final InstanceHolder<IStrategy> strategy;
+
+        /**
+         * 生效条件，没有指定时为 null
+         * @since 0.0.14
+         */
+        private final InstanceHolder<ICondition> condition;
+
+        public Rule(String key, InstanceHolder<IStrategy> strategy, InstanceHolder<ICondition> condition) {
+            ArgUtil.notEmpty(key, "key");
+            ArgUtil.notNull(strategy, "strategy");
+
+            this.key = key;
+            this.strategy = strategy;
+            this.condition = condition;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 获取脱敏策略
+         * 多例的策略每次调用都会新建实例
+         * @return 策略
+         * @since 0.0.14
+         */
+        public IStrategy getStrategy() {
+            return strategy.get();
+        }
+
+        /**
+         * 获取生效条件
+         * @return 条件，没有指定时为 null
+         * @since 0.0.14
+         */
+        public ICondition getCondition() {
+            return null == condition ? null : condition.get();
+        }
+
+    }
+
+    /**
+     * 前缀字典树的节点，子节点按照字符排序，二分查找
+     * @since 0.0.14
+     */
+    private static final class PrefixNode {
+
+        private char[] chars = new char[0];
+
+        private PrefixNode[] children = new PrefixNode[0];
+
+        /**
+         * 以当前节点结束的前缀规则
+         * @since 0.0.14
+         */
+        private Rule rule;
+
+        private void add(final String key, final int length, final Rule rule) {
+            PrefixNode node = this;
+            for (int i = 0; i < length; i++) {
+                node = node.childOrCreate(key.charAt(i));
+            }
+            if (null == node.rule) {
+                node.rule = rule;
+            }
+        }
+
+        private PrefixNode childOrCreate(final char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            index = -index - 1;
+            PrefixNode child = new PrefixNode();
+            char[] newChars = new char[chars.length + 1];
+            PrefixNode[] newChildren = new PrefixNode[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChars[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            chars = newChars;
+            children = newChildren;
+            return child;
+        }
+
+        /**
+         * 最长的前缀规则
+         * @param key key
+         * @return 规则，不存在时返回 null
+         * @since 0.0.14
+         */
+        private Rule longest(final String key) {
+            Rule result = rule;
+            PrefixNode node = this;
+            for (int i = 0; i < key.length() && node.chars.length > 0; i++) {
+                final int index = Arrays.binarySearch(node.chars, key.charAt(i));
+                if (index < 0) {
+                    break;
+                }
+                node = node.children[index];
+                if (null != node.rule) {
+                    result = node.rule;
+                }
+            }
+            return result;
+        }
+
+    }
+
+}
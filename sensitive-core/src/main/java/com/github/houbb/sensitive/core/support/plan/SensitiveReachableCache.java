@@ -0,0 +1,163 @@
+package com.github.houbb.sensitive.core.support.plan;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 脱敏字段可达性缓存
+ *
+ * 根据字段的声明类型，判断从当前类出发是否可以到达需要脱敏的字段。
+ * （1）规则和脱敏处理保持一致：Map 等 JDK 类型不会被处理，视为不可达
+ * （2）接口、抽象类、无法确定元素类型的集合，实际类型未知，视为可达
+ * （3）字段声明为普通类，实际值为包含脱敏字段的子类时，需要根据实际类型再次判断
+ * （4）规则重新加载后，按照新的计划重新判断
+ * （5）不同视角的计划不同，分别判断
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public class SensitiveReachableCache extends AbstractPlanDerivedCache<Boolean> {
+
+    private static final SensitiveReachableCache INSTANCE = new SensitiveReachableCache();
+
+    private SensitiveReachableCache() {
+    }
+
+    public static SensitiveReachableCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * 默认视角下是否可以到达脱敏字段
+     * @param clazz 类
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isReachable(final Class<?> clazz) {
+        return get(clazz);
+    }
+
+    /**
+     * 指定视角下是否可以到达脱敏字段
+     * @param clazz 类
+     * @param profile 视角
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isReachable(final Class<?> clazz, final String profile) {
+        return get(clazz, profile);
+    }
+
+    @Override
+    protected Boolean buildValue(Class<?> clazz, String profile) {
+        return isReachable(clazz, ClassPlanCache.getInstance().plans(profile), new HashSet<Class<?>>());
+    }
+
+    /**
+     * 深度优先遍历
+     * @param clazz 类
+     * @param classPlans 视角对应的类计划
+     * @param visitedSet 已经访问的类，处理循环引用
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isReachable(final Class<?> clazz, final ClassPlans classPlans, final Set<Class<?>> visitedSet) {
+        if (ClassTypeUtil.isBase(clazz)
+                || ClassTypeUtil.isJdk(clazz)
+                || !visitedSet.add(clazz)) {
+            return false;
+        }
+
+        final ClassPlan classPlan = classPlans.get(clazz);
+        if (classPlan.hasStrategyField()) {
+            return true;
+        }
+        for (FieldPlan fieldPlan : classPlan.getNestedPlans()) {
+            final Field field = fieldPlan.getField();
+            switch (fieldPlan.getKind()) {
+                case ARRAY:
+                    if (isDeclaredReachable(field.getType().getComponentType(), classPlans, visitedSet)) {
+                        return true;
+                    }
+                    break;
+                case COLLECTION:
+                    if (isDeclaredReachable(getElementClass(field), classPlans, visitedSet)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    if (isDeclaredReachable(field.getType(), classPlans, visitedSet)) {
+                        return true;
+                    }
+                    break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 声明类型是否可达
+     * @param clazz 声明类型，null 表示未知
+     * @param classPlans 视角对应的类计划
+     * @param visitedSet 已经访问的类
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isDeclaredReachable(final Class<?> clazz, final ClassPlans classPlans, final Set<Class<?>> visitedSet) {
+        if (null == clazz) {
+            return true;
+        }
+        if (ClassTypeUtil.isBase(clazz)
+                || ClassTypeUtil.isJdk(clazz)
+                || clazz.isPrimitive()) {
+            return false;
+        }
+        if (clazz.isInterface()
+                || Modifier.isAbstract(clazz.getModifiers())) {
+            return true;
+        }
+        return isReachable(clazz, classPlans, visitedSet);
+    }
+
+    /**
+     * 获取集合的元素类型
+     * @param field 字段
+     * @return 元素类型，无法确定时返回 null
+     * @since 0.0.14
+     */
+    private Class<?> getElementClass(final Field field) {
+        Type genericType = field.getGenericType();
+        if (!(genericType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type[] typeArguments = ((ParameterizedType) genericType).getActualTypeArguments();
+        if (typeArguments.length != 1) {
+            return null;
+        }
+
+        Type elementType = typeArguments[0];
+        if (elementType instanceof Class) {
+            return (Class<?>) elementType;
+        }
+        if (elementType instanceof ParameterizedType) {
+            return getRawClass((ParameterizedType) elementType);
+        }
+        return null;
+    }
+
+    private Class<?> getRawClass(final ParameterizedType type) {
+        Type rawType = type.getRawType();
+        if (rawType instanceof Class) {
+            return (Class<?>) rawType;
+        }
+        return null;
+    }
+
+}
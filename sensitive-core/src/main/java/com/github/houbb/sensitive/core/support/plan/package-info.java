@@ -0,0 +1,7 @@
+/**
+ * 类脱敏执行计划
+ * （1）每个类只解析一次注解
+ * （2）执行时直接按照计划处理
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.plan;
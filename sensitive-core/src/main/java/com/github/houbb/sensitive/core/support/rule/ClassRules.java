@@ -0,0 +1,243 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.cache.impl.ClassFieldListCache;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的类字段规则
+ *
+ * （1）规则只作用于指定的类及其子类，编译时校验字段存在
+ * （2）构建类计划时，按照字段名一次哈希查找，执行时不再查找规则
+ * （3）规则按照视角分组，默认视角的规则对所有视角生效
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class ClassRules {
+
+    /**
+     * 空规则
+     * @since 0.0.14
+     */
+    private static final ClassRules EMPTY = new ClassRules(Collections.<String, Map<Class<?>, Map<String, FieldRule>>>emptyMap());
+
+    /**
+     * 视角 =》类 =》字段名 =》规则，不包含空的视角
+     * @since 0.0.14
+     */
+    private final Map<String, Map<Class<?>, Map<String, FieldRule>>> profileMap;
+
+    private ClassRules(Map<String, Map<Class<?>, Map<String, FieldRule>>> profileMap) {
+        this.profileMap = profileMap;
+    }
+
+    /**
+     * 空规则
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static ClassRules empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 编译默认视角的规则
+     * @param pathRules 类 =》字段名 =》规则
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static ClassRules of(final Map<Class<?>, Map<String, FieldRule>> pathRules) {
+        ArgUtil.notNull(pathRules, "pathRules");
+
+        return ofProfiles(Collections.singletonMap(ISensitiveConfig.DEFAULT_PROFILE, pathRules));
+    }
+
+    /**
+     * 编译所有视角的规则
+     * @param profilePathRules 视角 =》类 =》字段名 =》规则
+     * @return 结果
+     * @since 0.0.14
+     */
+    public static ClassRules ofProfiles(final Map<String, Map<Class<?>, Map<String, FieldRule>>> profilePathRules) {
+        ArgUtil.notNull(profilePathRules, "profilePathRules");
+
+        Map<String, Map<Class<?>, Map<String, FieldRule>>> profileMap = Guavas.newHashMap();
+        for (Map.Entry<String, Map<Class<?>, Map<String, FieldRule>>> entry : profilePathRules.entrySet()) {
+            Map<Class<?>, Map<String, FieldRule>> ruleMap = compile(entry.getValue());
+            if (!ruleMap.isEmpty()) {
+                profileMap.put(entry.getKey(), ruleMap);
+            }
+        }
+        return new ClassRules(profileMap);
+    }
+
+    /**
+     * 编译单个视角的规则
+     * @param pathRules 类 =》字段名 =》规则
+     * @return 类 =》字段名 =》规则
+     * @since 0.0.14
+     */
+    private static Map<Class<?>, Map<String, FieldRule>> compile(final Map<Class<?>, Map<String, FieldRule>> pathRules) {
+        Map<Class<?>, Map<String, FieldRule>> ruleMap = Guavas.newHashMap();
+        for (Map.Entry<Class<?>, Map<String, FieldRule>> classEntry : pathRules.entrySet()) {
+            final Class<?> owner = classEntry.getKey();
+            for (Map.Entry<String, FieldRule> fieldEntry : classEntry.getValue().entrySet()) {
+                final String fieldName = fieldEntry.getKey();
+                requireField(owner, fieldName);
+                put(ruleMap, owner, fieldName, fieldEntry.getValue());
+            }
+        }
+        return ruleMap;
+    }
+
+    /**
+     * 是否没有任何规则
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean isEmpty() {
+        return profileMap.isEmpty();
+    }
+
+    /**
+     * 是否包含指定视角的规则
+     * @param profile 视角
+     * @return 是否
+     * @since 0.0.14
+     */
+    public boolean hasProfile(final String profile) {
+        return profileMap.containsKey(profile);
+    }
+
+    /**
+     * 合并规则，相同视角的相同字段以 other 为准
+     * @param other 其他规则
+     * @return 新的规则
+     * @since 0.0.14
+     */
+    public ClassRules merge(final ClassRules other) {
+        ArgUtil.notNull(other, "other");
+
+        Map<String, Map<Class<?>, Map<String, FieldRule>>> merged = Guavas.newHashMap();
+        for (Map.Entry<String, Map<Class<?>, Map<String, FieldRule>>> profileEntry : profileMap.entrySet()) {
+            Map<Class<?>, Map<String, FieldRule>> ruleMap = Guavas.newHashMap();
+            for (Map.Entry<Class<?>, Map<String, FieldRule>> entry : profileEntry.getValue().entrySet()) {
+                ruleMap.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+            merged.put(profileEntry.getKey(), ruleMap);
+        }
+        for (Map.Entry<String, Map<Class<?>, Map<String, FieldRule>>> profileEntry : other.profileMap.entrySet()) {
+            Map<Class<?>, Map<String, FieldRule>> ruleMap = merged.get(profileEntry.getKey());
+            if (null == ruleMap) {
+                ruleMap = Guavas.newHashMap();
+                merged.put(profileEntry.getKey(), ruleMap);
+            }
+            for (Map.Entry<Class<?>, Map<String, FieldRule>> classEntry : profileEntry.getValue().entrySet()) {
+                for (Map.Entry<String, FieldRule> fieldEntry : classEntry.getValue().entrySet()) {
+                    put(ruleMap, classEntry.getKey(), fieldEntry.getKey(), fieldEntry.getValue());
+                }
+            }
+        }
+        return new ClassRules(merged);
+    }
+
+    /**
+     * 类上默认视角的规则，包含父类上的规则，子类的规则优先
+     * @param clazz 类
+     * @return 字段名 =》规则，不存在时返回空
+     * @since 0.0.14
+     */
+    public Map<String, FieldRule> resolve(final Class<?> clazz) {
+        return resolve(clazz, ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 类上指定视角的规则，包含父类上的规则，子类的规则优先
+     *
+     * 只包含该视角自己的规则，不会合并默认视角的规则。
+     * @param clazz 类
+     * @param profile 视角
+     * @return 字段名 =》规则，不存在时返回空
+     * @since 0.0.14
+     */
+    public Map<String, FieldRule> resolve(final Class<?> clazz, final String profile) {
+        final Map<Class<?>, Map<String, FieldRule>> ruleMap = profileMap.get(profile);
+        if (null == ruleMap) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, FieldRule> result = null;
+        for (Class<?> current = clazz; null != current && Object.class != current; current = current.getSuperclass()) {
+            Map<String, FieldRule> rules = ruleMap.get(current);
+            if (null == rules) {
+                continue;
+            }
+            if (null == result) {
+                result = Guavas.newHashMap();
+            }
+            for (Map.Entry<String, FieldRule> entry : rules.entrySet()) {
+                if (!result.containsKey(entry.getKey())) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return null == result ? Collections.<String, FieldRule>emptyMap() : result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClassRules)) {
+            return false;
+        }
+        return profileMap.equals(((ClassRules) o).profileMap);
+    }
+
+    @Override
+    public int hashCode() {
+        return profileMap.hashCode();
+    }
+
+    private static void put(final Map<Class<?>, Map<String, FieldRule>> ruleMap,
+                            final Class<?> owner, final String fieldName, final FieldRule rule) {
+        Map<String, FieldRule> rules = ruleMap.get(owner);
+        if (null == rules) {
+            rules = Guavas.newHashMap();
+            ruleMap.put(owner, rules);
+        }
+        rules.put(fieldName, rule);
+    }
+
+    /**
+     * 校验字段存在
+     * @param owner 类
+     * @param name 字段名
+     * @since 0.0.14
+     */
+    private static void requireField(final Class<?> owner, final String name) {
+        if (!ClassTypeUtil.isJdk(owner)) {
+            List<Field> fieldList = ClassFieldListCache.getInstance().get(owner);
+            for (Field field : fieldList) {
+                if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+                    return;
+                }
+            }
+        }
+        throw new SensitiveRuntimeException("规则中的字段不存在：" + owner.getName() + "#" + name);
+    }
+
+}
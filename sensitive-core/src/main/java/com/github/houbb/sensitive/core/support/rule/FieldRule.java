@@ -0,0 +1,106 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+
+/**
+ * 外部规则中单个字段的配置
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class FieldRule {
+
+    /**
+     * 忽略字段
+     * @since 0.0.14
+     */
+    private static final FieldRule IGNORE = new FieldRule(true, null, null);
+
+    /**
+     * 是否忽略
+     * @since 0.0.14
+     */
+    private final boolean ignored;
+
+    /**
+     * 脱敏策略，忽略时为 null
+     * @since 0.0.14
+     */
+    private final InstanceHolder<IStrategy> strategy;
+
+    /**
+     * 生效条件，没有指定时为 null
+     * @since 0.0.14
+     */
+    private final InstanceHolder<ICondition> condition;
+
+    private FieldRule(boolean ignored, InstanceHolder<IStrategy> strategy, InstanceHolder<ICondition> condition) {
+        this.ignored = ignored;
+        this.strategy = strategy;
+        this.condition = condition;
+    }
+
+    /**
+     * 忽略字段，等同于 {@link com.github.houbb.sensitive.annotation.SensitiveIgnore}
+     * @return 规则
+     * @since 0.0.14
+     */
+    public static FieldRule ignore() {
+        return IGNORE;
+    }
+
+    /**
+     * 脱敏字段
+     * @param strategy 策略
+     * @param condition 条件，总是生效时为 null
+     * @return 规则
+     * @since 0.0.14
+     */
+    public static FieldRule of(final InstanceHolder<IStrategy> strategy,
+                               final InstanceHolder<ICondition> condition) {
+        ArgUtil.notNull(strategy, "strategy");
+
+        return new FieldRule(false, strategy, condition);
+    }
+
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    public InstanceHolder<IStrategy> getStrategy() {
+        return strategy;
+    }
+
+    public InstanceHolder<ICondition> getCondition() {
+        return condition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FieldRule)) {
+            return false;
+        }
+
+        // 实例持有者由 SensitiveInstances 统一缓存，直接比较引用
+        FieldRule that = (FieldRule) o;
+        return ignored == that.ignored
+                && strategy == that.strategy
+                && condition == that.condition;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = ignored ? 1 : 0;
+        result = 31 * result + System.identityHashCode(strategy);
+        result = 31 * result + System.identityHashCode(condition);
+        return result;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+/**
+ * 规则文件重新加载监听器
+ * @author binbin.hou
+ * @since 0.0.14
+ * @see SensitiveRuleWatcher
+ */
+public interface IRuleReloadListener {
+
+    /**
+     * 重新加载完成
+     * @param result 结果，规则没有变化时为 null
+     * @since 0.0.14
+     */
+    void onReload(RuleReloadResult result);
+
+    /**
+     * 重新加载失败，原来的规则继续生效
+     * @param e 异常
+     * @since 0.0.14
+     */
+    void onError(Exception e);
+
+}
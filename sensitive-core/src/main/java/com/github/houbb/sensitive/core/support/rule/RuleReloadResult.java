@@ -0,0 +1,81 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 规则重新加载的结果
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class RuleReloadResult {
+
+    /**
+     * 生效后的计划版本
+     * @since 0.0.14
+     */
+    private final long version;
+
+    /**
+     * 重新加载前已经构建计划的类数量
+     * @since 0.0.14
+     */
+    private final int planClassCount;
+
+    /**
+     * 规则发生变化，计划失效的类数量
+     * @since 0.0.14
+     */
+    private final int invalidatedClassCount;
+
+    /**
+     * 重新编译计划的耗时，单位纳秒
+     * @since 0.0.14
+     */
+    private final long recompileNanos;
+
+    public RuleReloadResult(long version, int planClassCount, int invalidatedClassCount, long recompileNanos) {
+        this.version = version;
+        this.planClassCount = planClassCount;
+        this.invalidatedClassCount = invalidatedClassCount;
+        this.recompileNanos = recompileNanos;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getPlanClassCount() {
+        return planClassCount;
+    }
+
+    public int getInvalidatedClassCount() {
+        return invalidatedClassCount;
+    }
+
+    public long getRecompileNanos() {
+        return recompileNanos;
+    }
+
+    /**
+     * 重新编译计划的耗时
+     * @return 毫秒
+     * @since 0.0.14
+     */
+    public long getRecompileMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(recompileNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleReloadResult{" +
+                "version=" + version +
+                ", planClassCount=" + planClassCount +
+                ", invalidatedClassCount=" + invalidatedClassCount +
+                ", recompileNanos=" + recompileNanos +
+                '}';
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 外部规则注册中心
+ *
+ * （1）类计划全局唯一，所以类字段规则也是全局的
+ * （2）规则在注册时编译，构建类计划时合并到字段计划中，执行时没有额外开销
+ * （3）规则按照来源分组，比如代码注册、规则文件。同一个字段在多个来源中都有规则时，后注册的来源优先
+ * （4）规则变化时重新编译受影响的类计划，编译完成后原子替换，正在执行的调用不受影响
+ *
+ * 优先级：指定视角的外部规则 > {@link com.github.houbb.sensitive.annotation.SensitiveProfile}
+ * > 默认视角的外部规则 > {@link com.github.houbb.sensitive.annotation.SensitiveIgnore}
+ * > {@link com.github.houbb.sensitive.annotation.Sensitive} > 其他脱敏注解
+ * @author binbin.hou
+ * @since 0.0.14
+ * @see SensitiveRuleWatcher
+ */
+@ThreadSafe
+public final class SensitiveRuleRegistry {
+
+    private SensitiveRuleRegistry(){}
+
+    /**
+     * 代码注册的规则来源
+     * @since 0.0.14
+     */
+    public static final String DEFAULT_SOURCE = "default";
+
+    /**
+     * 来源 =》编译后的规则
+     * @since 0.0.14
+     */
+    private static final Map<String, ClassRules> SOURCE_MAP = new LinkedHashMap<>();
+
+    /**
+     * 当前生效的规则
+     * @since 0.0.14
+     */
+    private static ClassRules current = ClassRules.empty();
+
+    /**
+     * 最近一次重新加载的结果
+     * @since 0.0.14
+     */
+    private static volatile RuleReloadResult lastReloadResult;
+
+    /**
+     * 注册规则，合并到默认来源中
+     * @param rules 规则
+     * @return 结果，规则没有变化时返回 null
+     * @since 0.0.14
+     */
+    public static synchronized RuleReloadResult register(final SensitiveRules rules) {
+        ArgUtil.notNull(rules, "rules");
+        final ClassRules classRules = ClassRules.ofProfiles(rules.getProfileRules());
+        if (classRules.isEmpty()) {
+            return null;
+        }
+
+        ClassRules sourceRules = SOURCE_MAP.get(DEFAULT_SOURCE);
+        if (null == sourceRules) {
+            sourceRules = ClassRules.empty();
+        }
+        return update(DEFAULT_SOURCE, sourceRules.merge(classRules));
+    }
+
+    /**
+     * 替换指定来源的规则
+     * @param source 来源
+     * @param rules 规则
+     * @return 结果，规则没有变化时返回 null
+     * @since 0.0.14
+     */
+    public static synchronized RuleReloadResult update(final String source, final SensitiveRules rules) {
+        ArgUtil.notEmpty(source, "source");
+        ArgUtil.notNull(rules, "rules");
+
+        return update(source, ClassRules.ofProfiles(rules.getProfileRules()));
+    }
+
+    /**
+     * 移除指定来源的规则
+     * @param source 来源
+     * @return 结果，规则没有变化时返回 null
+     * @since 0.0.14
+     */
+    public static synchronized RuleReloadResult remove(final String source) {
+        ArgUtil.notEmpty(source, "source");
+
+        if (null == SOURCE_MAP.remove(source)) {
+            return null;
+        }
+        return reload();
+    }
+
+    /**
+     * 最近一次重新加载的结果
+     * @return 结果，没有加载过时返回 null
+     * @since 0.0.14
+     */
+    public static RuleReloadResult getLastReloadResult() {
+        return lastReloadResult;
+    }
+
+    private static RuleReloadResult update(final String source, final ClassRules rules) {
+        // 已经存在的来源保持原来的顺序
+        SOURCE_MAP.put(source, rules);
+        return reload();
+    }
+
+    /**
+     * 合并所有来源，规则变化时重新编译类计划
+     * @return 结果，规则没有变化时返回 null
+     * @since 0.0.14
+     */
+    private static RuleReloadResult reload() {
+        ClassRules merged = ClassRules.empty();
+        for (ClassRules rules : SOURCE_MAP.values()) {
+            merged = merged.merge(rules);
+        }
+        if (merged.equals(current)) {
+            return null;
+        }
+
+        RuleReloadResult result = ClassPlanCache.getInstance().reload(merged);
+        current = merged;
+        lastReloadResult = result;
+        return result;
+    }
+
+}
@@ -0,0 +1,291 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 规则文件监听
+ *
+ * （1）创建时同步加载一次，文件不合法时直接抛出异常
+ * （2）文件变化后，等待一段静默时间（默认 {@link #DEFAULT_DEBOUNCE_MILLIS} 毫秒）内没有新的变化，
+ *     再在后台线程中重新加载并编译类计划，完成后原子替换
+ * （3）重新加载失败时，原来的规则继续生效，异常通过监听器通知；监听器抛出的异常不会停止监听
+ * （4）监听事件溢出时，直接按照文件变化处理
+ *
+ * 静默时间只能减少读到写了一半的文件的情况。更新规则文件时，建议先写入同一目录下的临时文件，
+ * 再通过原子重命名替换，如 {@code Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE)}。
+ *
+ * 规则文件中的类字段规则以文件路径作为来源注册到 {@link SensitiveRuleRegistry}，
+ * JSON 路径规则在创建引擎时确定，不会重新加载。
+ * <pre>
+ * SensitiveRuleWatcher watcher = SensitiveRuleWatcher.watch(Paths.get("/etc/app/sensitive.rules"));
+ * </pre>
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@ThreadSafe
+public final class SensitiveRuleWatcher implements Closeable {
+
+    /**
+     * 默认的静默时间
+     * @since 0.0.14
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    /**
+     * 规则文件
+     * @since 0.0.14
+     */
+    private final Path path;
+
+    /**
+     * 规则来源
+     * @since 0.0.14
+     */
+    private final String source;
+
+    /**
+     * 监听器，可以为 null
+     * @since 0.0.14
+     */
+    private final IRuleReloadListener listener;
+
+    /**
+     * 静默时间，单位：纳秒
+     * @since 0.0.14
+     */
+    private final long debounceNanos;
+
+    /**
+     * 文件监听服务
+     * @since 0.0.14
+     */
+    private final WatchService watchService;
+
+    /**
+     * 后台线程
+     * @since 0.0.14
+     */
+    private final Thread thread;
+
+    private SensitiveRuleWatcher(final Path path, final IRuleReloadListener listener,
+                                 final long debounceMillis) throws IOException {
+        this.path = path.toAbsolutePath().normalize();
+        this.source = "file:" + this.path;
+        this.listener = listener;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+
+        // 先注册监听，再加载规则：监听失败时规则没有变化，加载失败时关闭监听
+        this.watchService = this.path.getFileSystem().newWatchService();
+        try {
+            this.path.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            reload();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(watchService);
+            throw e;
+        }
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                watchLoop();
+            }
+        }, "sensitive-rule-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 监听规则文件
+     * @param path 文件路径
+     * @return 监听
+     * @since 0.0.14
+     */
+    public static SensitiveRuleWatcher watch(final Path path) {
+        return watch(path, null);
+    }
+
+    /**
+     * 监听规则文件
+     * @param path 文件路径
+     * @param listener 监听器，可以为 null
+     * @return 监听
+     * @since 0.0.14
+     */
+    public static SensitiveRuleWatcher watch(final Path path, final IRuleReloadListener listener) {
+        return watch(path, listener, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * 监听规则文件
+     * @param path 文件路径
+     * @param listener 监听器，可以为 null
+     * @param debounceMillis 静默时间，文件在这段时间内没有新的变化时才重新加载
+     * @return 监听
+     * @since 0.0.14
+     */
+    public static SensitiveRuleWatcher watch(final Path path, final IRuleReloadListener listener,
+                                             final long debounceMillis) {
+        ArgUtil.notNull(path, "path");
+        ArgUtil.notNegative(debounceMillis, "debounceMillis");
+
+        try {
+            return new SensitiveRuleWatcher(path, listener, debounceMillis);
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 规则来源
+     * @return 来源
+     * @since 0.0.14
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 停止监听，已经加载的规则继续生效
+     * @since 0.0.14
+     */
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 加载规则文件
+     * @return 结果，规则没有变化时返回 null
+     * @since 0.0.14
+     */
+    private RuleReloadResult reload() throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            SensitiveRules rules = SensitiveRules.newInstance().load(inputStream);
+            return SensitiveRuleRegistry.update(source, rules);
+        }
+    }
+
+    private void watchLoop() {
+        // 等待重新加载的截止时间，没有待处理的变化时为 null
+        Long deadline = null;
+        while (true) {
+            WatchKey key;
+            try {
+                if (null == deadline) {
+                    key = watchService.take();
+                } else {
+                    key = watchService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            if (null == key) {
+                // 静默时间内没有新的变化
+                deadline = null;
+                onChange();
+                continue;
+            }
+            if (isChanged(key)) {
+                deadline = System.nanoTime() + debounceNanos;
+            }
+            if (!key.reset()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 是否包含规则文件的变化
+     * @param key 监听的结果
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isChanged(final WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // 事件溢出时无法知道具体的文件，按照变化处理
+            if (StandardWatchEventKinds.OVERFLOW == event.kind()) {
+                changed = true;
+                continue;
+            }
+            Object context = event.context();
+            if (context instanceof Path && path.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 重新加载，并通知监听器
+     *
+     * 监听器抛出的异常不会传播到后台线程，避免监听停止。
+     * @since 0.0.14
+     */
+    private void onChange() {
+        final RuleReloadResult result;
+        try {
+            result = reload();
+        } catch (Exception e) {
+            notifyError(e);
+            return;
+        }
+
+        if (null != listener) {
+            try {
+                listener.onReload(result);
+            } catch (RuntimeException e) {
+                notifyError(e);
+            }
+        }
+    }
+
+    /**
+     * 通知监听器异常
+     * @param e 异常
+     * @since 0.0.14
+     */
+    private void notifyError(final Exception e) {
+        if (null == listener) {
+            return;
+        }
+        try {
+            listener.onError(e);
+        } catch (RuntimeException ignored) {
+            // 监听器本身的异常忽略，继续监听
+        }
+    }
+
+    /**
+     * 关闭监听服务，忽略异常
+     * @param watchService 监听服务
+     * @since 0.0.14
+     */
+    private static void closeQuietly(final WatchService watchService) {
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+            // 已经在处理其他异常
+        }
+    }
+
+}
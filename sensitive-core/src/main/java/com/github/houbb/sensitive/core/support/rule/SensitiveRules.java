@@ -0,0 +1,398 @@
+package com.github.houbb.sensitive.core.support.rule;
+
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.heaven.util.guava.Guavas;
+import com.github.houbb.heaven.util.lang.StringUtil;
+import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.api.impl.ConditionAlwaysTrue;
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyEmail;
+import com.github.houbb.sensitive.core.api.strategory.StrategyMaskAll;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.api.strategory.StrategyText;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 外部脱敏规则
+ *
+ * 用于无法添加注解的类，比如第三方 jar 中的类。可以通过代码或者规则文件指定：
+ * <pre>
+ * # 类字段规则：类全名#字段名 = 策略[, 条件]
+ * com.example.User#phone = phone
+ * com.example.User#password = ignore
+ * com.example.Buyer#idCard = cardId
+ * com.example.User#email = com.example.MyStrategy, com.example.MyCondition
+ *
+ * # JSON 路径规则，没有 # 的都视为 JSON 路径
+ * $.user.phone = phone
+ *
+ * # 之后的类字段规则只在 cs 视角下生效，[default] 切换回默认视角
+ * [cs]
+ * com.example.User#phone = maskAll
+ * </pre>
+ * （1）策略可以是内置的别名，也可以是策略的类全名
+ * （2）类字段规则只作用于指定的类（包含子类），对该类的所有对象生效，不区分对象所在的位置；
+ *     不支持 buyer.idCard 这样的字段路径，需要在字段所在的类上指定，只对部分位置生效时使用 JSON 路径规则
+ * （3）相同的路径以最后一个为准
+ * （4）默认视角的规则对所有视角生效，指定视角的规则优先
+ * （5）JSON 路径规则只支持默认视角
+ * @author binbin.hou
+ * @since 0.0.14
+ * @see SensitiveRuleRegistry
+ */
+public final class SensitiveRules {
+
+    /**
+     * 忽略字段
+     * @since 0.0.14
+     */
+    public static final String IGNORE = "ignore";
+
+    /**
+     * 内置策略的别名
+     * @since 0.0.14
+     */
+    private static final Map<String, Class<? extends IStrategy>> ALIAS_MAP;
+
+    static {
+        Map<String, Class<? extends IStrategy>> map = Guavas.newHashMap();
+        map.put("cardId", StrategyCardId.class);
+        map.put("chineseName", StrategyChineseName.class);
+        map.put("email", StrategyEmail.class);
+        map.put("maskAll", StrategyMaskAll.class);
+        map.put("password", StrategyPassword.class);
+        map.put("phone", StrategyPhone.class);
+        map.put("text", StrategyText.class);
+        ALIAS_MAP = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * 类字段规则：视角 =》类 =》字段名 =》规则
+     * @since 0.0.14
+     */
+    private final Map<String, Map<Class<?>, Map<String, FieldRule>>> profileRules = Guavas.newLinkedHashMap();
+
+    /**
+     * 当前的视角，之后添加的类字段规则属于该视角
+     * @since 0.0.14
+     */
+    private String profile = ISensitiveConfig.DEFAULT_PROFILE;
+
+    /**
+     * JSON 路径规则
+     * @since 0.0.14
+     */
+    private final Map<String, IStrategy> jsonPaths = Guavas.newLinkedHashMap();
+
+    private SensitiveRules() {
+        Map<Class<?>, Map<String, FieldRule>> defaultRules = Guavas.newLinkedHashMap();
+        profileRules.put(ISensitiveConfig.DEFAULT_PROFILE, defaultRules);
+    }
+
+    /**
+     * 新建实例
+     * @return 实例
+     * @since 0.0.14
+     */
+    public static SensitiveRules newInstance() {
+        return new SensitiveRules();
+    }
+
+    /**
+     * 切换视角，之后添加的类字段规则只在该视角下生效
+     * @param profile 视角，{@link ISensitiveConfig#DEFAULT_PROFILE} 表示对所有视角生效
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules profile(final String profile) {
+        ArgUtil.notEmpty(profile, "profile");
+
+        this.profile = profile;
+        return this;
+    }
+
+    /**
+     * 指定字段的脱敏策略
+     * @param clazz 类
+     * @param fieldName 字段名，如 phone，不支持字段路径
+     * @param strategyClass 策略
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules field(final Class<?> clazz, final String fieldName,
+                                final Class<? extends IStrategy> strategyClass) {
+        return field(clazz, fieldName, strategyClass, ConditionAlwaysTrue.class);
+    }
+
+    /**
+     * 指定字段的脱敏策略和生效条件
+     * @param clazz 类
+     * @param fieldName 字段名，如 phone，不支持字段路径
+     * @param strategyClass 策略
+     * @param conditionClass 条件
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules field(final Class<?> clazz, final String fieldName,
+                                final Class<? extends IStrategy> strategyClass,
+                                final Class<? extends ICondition> conditionClass) {
+        ArgUtil.notNull(strategyClass, "strategyClass");
+        ArgUtil.notNull(conditionClass, "conditionClass");
+
+        InstanceHolder<ICondition> condition = ConditionAlwaysTrue.class.equals(conditionClass)
+                ? null : SensitiveRules.<ICondition>holder(conditionClass);
+        return put(clazz, fieldName, FieldRule.of(SensitiveRules.<IStrategy>holder(strategyClass), condition));
+    }
+
+    /**
+     * 忽略字段，等同于 {@link com.github.houbb.sensitive.annotation.SensitiveIgnore}
+     * @param clazz 类
+     * @param fieldName 字段名，不支持字段路径
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules ignore(final Class<?> clazz, final String fieldName) {
+        return put(clazz, fieldName, FieldRule.ignore());
+    }
+
+    /**
+     * 指定 JSON 路径的脱敏策略
+     * @param path 路径，如 user.phone
+     * @param strategyClass 策略
+     * @return this
+     * @see com.github.houbb.sensitive.core.bs.SensitiveBs#jsonPath(String, IStrategy)
+     * @since 0.0.14
+     */
+    public SensitiveRules jsonPath(final String path, final Class<? extends IStrategy> strategyClass) {
+        ArgUtil.notEmpty(path, "path");
+        ArgUtil.notNull(strategyClass, "strategyClass");
+        if (!ISensitiveConfig.DEFAULT_PROFILE.equals(profile)) {
+            throw new SensitiveRuntimeException("JSON 路径规则只支持默认视角：" + path);
+        }
+
+        jsonPaths.put(path, SensitiveInstances.get(strategyClass));
+        return this;
+    }
+
+    /**
+     * 加载规则文件，编码为 UTF-8
+     * @param inputStream 输入流，不会被关闭
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules load(final InputStream inputStream) {
+        ArgUtil.notNull(inputStream, "inputStream");
+
+        return load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 加载规则文件
+     *
+     * 空行和 # 开头的行会被忽略，[视角] 所在行切换视角。
+     * @param reader 输入，不会被关闭
+     * @return this
+     * @since 0.0.14
+     */
+    public SensitiveRules load(final Reader reader) {
+        ArgUtil.notNull(reader, "reader");
+
+        try {
+            BufferedReader bufferedReader = reader instanceof BufferedReader
+                    ? (BufferedReader) reader : new BufferedReader(reader);
+            String line;
+            int lineNumber = 0;
+            while ((line = bufferedReader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                if (line.charAt(0) == '[') {
+                    parseProfile(line, lineNumber);
+                    continue;
+                }
+                parseLine(line, lineNumber);
+            }
+            return this;
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 默认视角的类字段规则
+     * 注意：返回的是内部集合，调用方不可修改。
+     * @return 规则
+     * @since 0.0.14
+     */
+    public Map<Class<?>, Map<String, FieldRule>> getClassRules() {
+        return profileRules.get(ISensitiveConfig.DEFAULT_PROFILE);
+    }
+
+    /**
+     * 所有视角的类字段规则，包含默认视角
+     * 注意：返回的是内部集合，调用方不可修改。
+     * @return 视角 =》类 =》字段名 =》规则
+     * @since 0.0.14
+     */
+    public Map<String, Map<Class<?>, Map<String, FieldRule>>> getProfileRules() {
+        return profileRules;
+    }
+
+    /**
+     * JSON 路径规则
+     * 注意：返回的是内部集合，调用方不可修改。
+     * @return 规则
+     * @since 0.0.14
+     */
+    public Map<String, IStrategy> getJsonPaths() {
+        return jsonPaths;
+    }
+
+    private SensitiveRules put(final Class<?> clazz, final String fieldName, final FieldRule rule) {
+        ArgUtil.notNull(clazz, "clazz");
+        ArgUtil.notEmpty(fieldName, "fieldName");
+        if (fieldName.indexOf('.') >= 0) {
+            throw new SensitiveRuntimeException("类字段规则不支持字段路径，请在字段所在的类上指定：" + clazz.getName() + "#" + fieldName);
+        }
+
+        Map<Class<?>, Map<String, FieldRule>> classRules = profileRules.get(profile);
+        if (null == classRules) {
+            classRules = Guavas.newLinkedHashMap();
+            profileRules.put(profile, classRules);
+        }
+        Map<String, FieldRule> ruleMap = classRules.get(clazz);
+        if (null == ruleMap) {
+            ruleMap = Guavas.newLinkedHashMap();
+            classRules.put(clazz, ruleMap);
+        }
+        ruleMap.put(fieldName, rule);
+        return this;
+    }
+
+    /**
+     * 解析视角行，如 [cs]
+     * @param line 内容
+     * @param lineNumber 行号
+     * @since 0.0.14
+     */
+    private void parseProfile(final String line, final int lineNumber) {
+        if (line.length() < 3 || line.charAt(line.length() - 1) != ']') {
+            throw illegalLine(line, lineNumber);
+        }
+        final String name = line.substring(1, line.length() - 1).trim();
+        if (StringUtil.isEmpty(name)) {
+            throw illegalLine(line, lineNumber);
+        }
+        profile(name);
+    }
+
+    /**
+     * 解析单行规则
+     * @param line 内容
+     * @param lineNumber 行号
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    private void parseLine(final String line, final int lineNumber) {
+        final int eqIndex = line.indexOf('=');
+        if (eqIndex <= 0) {
+            throw illegalLine(line, lineNumber);
+        }
+        final String key = line.substring(0, eqIndex).trim();
+        final String value = line.substring(eqIndex + 1).trim();
+        final int commaIndex = value.indexOf(',');
+        final String strategyName = commaIndex < 0 ? value : value.substring(0, commaIndex).trim();
+        final String conditionName = commaIndex < 0 ? null : value.substring(commaIndex + 1).trim();
+        if (StringUtil.isEmpty(strategyName)) {
+            throw illegalLine(line, lineNumber);
+        }
+
+        final int sharpIndex = key.indexOf('#');
+        if (sharpIndex < 0) {
+            // JSON 规则不支持忽略、条件和视角
+            if (IGNORE.equals(strategyName) || null != conditionName
+                    || !ISensitiveConfig.DEFAULT_PROFILE.equals(profile)) {
+                throw illegalLine(line, lineNumber);
+            }
+            jsonPath(key, strategyClass(strategyName, line, lineNumber));
+            return;
+        }
+
+        final Class<?> clazz = loadClass(key.substring(0, sharpIndex).trim(), line, lineNumber);
+        final String fieldName = key.substring(sharpIndex + 1).trim();
+        if (fieldName.indexOf('.') >= 0) {
+            throw new SensitiveRuntimeException("类字段规则不支持字段路径，请在字段所在的类上指定，第 " + lineNumber + " 行：" + line);
+        }
+        if (IGNORE.equals(strategyName)) {
+            if (null != conditionName) {
+                throw illegalLine(line, lineNumber);
+            }
+            ignore(clazz, fieldName);
+            return;
+        }
+
+        final Class<? extends IStrategy> strategyClass = strategyClass(strategyName, line, lineNumber);
+        if (StringUtil.isEmpty(conditionName)) {
+            field(clazz, fieldName, strategyClass);
+            return;
+        }
+        final Class<?> conditionClass = loadClass(conditionName, line, lineNumber);
+        if (!ICondition.class.isAssignableFrom(conditionClass)) {
+            throw illegalLine(line, lineNumber);
+        }
+        field(clazz, fieldName, strategyClass, (Class<? extends ICondition>) conditionClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends IStrategy> strategyClass(final String name, final String line, final int lineNumber) {
+        Class<? extends IStrategy> alias = ALIAS_MAP.get(name);
+        if (null != alias) {
+            return alias;
+        }
+
+        Class<?> clazz = loadClass(name, line, lineNumber);
+        if (!IStrategy.class.isAssignableFrom(clazz)) {
+            throw illegalLine(line, lineNumber);
+        }
+        return (Class<? extends IStrategy>) clazz;
+    }
+
+    private Class<?> loadClass(final String className, final String line, final int lineNumber) {
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            if (null == classLoader) {
+                classLoader = SensitiveRules.class.getClassLoader();
+            }
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new SensitiveRuntimeException("规则中的类不存在，第 " + lineNumber + " 行：" + line, e);
+        }
+    }
+
+    private SensitiveRuntimeException illegalLine(final String line, final int lineNumber) {
+        return new SensitiveRuntimeException("不合法的脱敏规则，第 " + lineNumber + " 行：" + line);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> InstanceHolder<T> holder(final Class<? extends T> clazz) {
+        return (InstanceHolder<T>) SensitiveInstances.holder(clazz);
+    }
+
+}
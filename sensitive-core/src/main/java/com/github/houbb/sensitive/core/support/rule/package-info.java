@@ -0,0 +1,7 @@
+/**
+ * 外部脱敏规则
+ * （1）用于无法添加注解的类
+ * （2）规则在构建类计划时合并到字段计划中
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.rule;
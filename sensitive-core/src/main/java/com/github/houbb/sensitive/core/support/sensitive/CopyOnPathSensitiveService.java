@@ -0,0 +1,24 @@
+package com.github.houbb.sensitive.core.support.sensitive;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+
+/**
+ * 只拷贝通往脱敏字段路径上的对象
+ *
+ * （1）不包含脱敏信息的子对象直接和原始对象共享引用，减少拷贝的内存
+ * （2）返回结果中共享的部分，修改时会影响原始对象
+ * （3）可达性根据字段声明类型计算，字段、元素的实际类型会再次判断
+ * @author binbin.hou
+ * @since 0.0.14
+ * @see com.github.houbb.sensitive.core.support.plan.SensitiveReachableCache
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public class CopyOnPathSensitiveService<T> extends FusedSensitiveService<T> {
+
+    @Override
+    protected boolean isCopyOnPath() {
+        return true;
+    }
+
+}
@@ -0,0 +1,484 @@
+package com.github.houbb.sensitive.core.support.sensitive;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.support.handler.IHandler;
+import com.github.houbb.heaven.util.lang.ObjectUtil;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.api.SensitiveService;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.deepcopy.CopyKind;
+import com.github.houbb.sensitive.core.support.deepcopy.DeepCopyPlan;
+import com.github.houbb.sensitive.core.support.deepcopy.DeepCopyPlanCache;
+import com.github.houbb.sensitive.core.support.deepcopy.FieldDeepCopy;
+import com.github.houbb.sensitive.core.support.masker.MapValueMasker;
+import com.github.houbb.sensitive.core.support.plan.AbstractPlanDerivedCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
+import com.github.houbb.sensitive.core.support.plan.FieldKind;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+import com.github.houbb.sensitive.core.support.plan.SensitiveReachableCache;
+import com.github.houbb.sensitive.core.util.ClassTypeUtil;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 拷贝的同时进行脱敏
+ *
+ * （1）每个对象只访问一次，脱敏后的值直接写入新对象
+ * （2）集合、数组直接创建脱敏后的结果，不再创建中间的拷贝
+ * （3）结构拷贝规则和 {@link FieldDeepCopy} 保持一致，忽略配置中的深度拷贝实现
+ *
+ * 脱敏规则和 {@link SensitiveService} 保持一致：只有对象字段、集合/数组中的元素、指定了 key 规则的 Map 字段会进行脱敏，其他类型只做拷贝。
+ * 多个字段引用同一个集合、数组、Map 时，只有字段计划相同（或者都不需要脱敏）才共享同一个拷贝，否则按照各自的计划分别拷贝。
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public class FusedSensitiveService<T> extends SensitiveService<T> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T desCopy(T object, ISensitiveConfig config) {
+        if (ObjectUtil.isNull(object)) {
+            return null;
+        }
+        return (T) new FusedCopier(classPlans(config, object)).maskCopy(object);
+    }
+
+    /**
+     * 拷贝过程中按照实际类型获取计划，忽略传入的类计划
+     * @param object 原始对象
+     * @param config 配置信息
+     * @param classPlan 类计划
+     * @return 结果
+     * @since 0.0.14
+     */
+    @Override
+    public T desCopy(T object, ISensitiveConfig config, ClassPlan classPlan) {
+        return desCopy(object, config);
+    }
+
+    /**
+     * 是否只拷贝通往脱敏字段路径上的对象
+     *
+     * 开启后，不包含脱敏信息的子对象直接和原始对象共享引用。
+     * @return 是否
+     * @since 0.0.14
+     */
+    protected boolean isCopyOnPath() {
+        return false;
+    }
+
+    /**
+     * 单次执行的拷贝器，不可多线程共享
+     * @since 0.0.14
+     */
+    private class FusedCopier extends FieldDeepCopy {
+
+        private final SensitiveContext context = new SensitiveContext();
+
+        /**
+         * 视角对应的类计划
+         * @since 0.0.14
+         */
+        private final ClassPlans classPlans;
+
+        /**
+         * 原始对象和拷贝对象的映射
+         * @since 0.0.14
+         */
+        private final Map<Object, Object> copiedMap = new IdentityHashMap<>();
+
+        /**
+         * 已经脱敏的拷贝对象
+         * @since 0.0.14
+         */
+        private final Set<Object> handledSet = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+        /**
+         * 原始集合、数组、Map 和生成拷贝时使用的字段计划
+         * 普通拷贝没有记录
+         * @since 0.0.14
+         */
+        private final Map<Object, FieldPlan> copiedPlanMap = new IdentityHashMap<>();
+
+        private final boolean copyOnPath = isCopyOnPath();
+
+        private FusedCopier(final ClassPlans classPlans) {
+            this.classPlans = classPlans;
+            this.context.setClassPlans(classPlans);
+        }
+
+        /**
+         * 拷贝并脱敏
+         * @param object 原始对象
+         * @return 结果
+         * @since 0.0.14
+         */
+        private Object maskCopy(final Object object) {
+            if (null == object) {
+                return null;
+            }
+
+            final DeepCopyPlan copyPlan = DeepCopyPlanCache.getInstance().get(object.getClass());
+            if (CopyKind.BEAN != copyPlan.getKind()) {
+                return copy(object, copiedMap);
+            }
+
+            final Object copied = copiedMap.get(object);
+            if (null != copied) {
+                // 之前作为普通对象拷贝过，这里补充脱敏
+                handleObject(context, handledSet, copied, classPlans.get(copied.getClass()));
+                return copied;
+            }
+            return maskCopyBean(object, copyPlan);
+        }
+
+        /**
+         * 拷贝并脱敏对象
+         *
+         * 嵌套字段先使用原始值占位，保证条件判断时看到的内容和先拷贝后脱敏一致。
+         * @param object 原始对象
+         * @param copyPlan 拷贝计划
+         * @return 结果
+         * @since 0.0.14
+         */
+        private Object maskCopyBean(final Object object, final DeepCopyPlan copyPlan) {
+            final Object target = copyPlan.newInstance();
+            copiedMap.put(object, target);
+            handledSet.add(target);
+
+            //1. 普通字段直接拷贝，嵌套字段使用原始值占位
+            // 普通字段不会被脱敏，只拷贝路径时直接共享
+            final DeepCopyPlan.FieldCopy[] fieldCopies = copyPlan.getFieldCopies();
+            final ClassPlan classPlan = classPlans.get(object.getClass());
+            final boolean[] nestedFlags = NestedFlagCache.INSTANCE.get(classPlan, classPlans.getProfile());
+            for (int i = 0; i < fieldCopies.length; i++) {
+                final DeepCopyPlan.FieldCopy fieldCopy = fieldCopies[i];
+                Object value = fieldCopy.getAccessor().get(object);
+                if (!fieldCopy.isImmutable() && !nestedFlags[i] && !copyOnPath) {
+                    value = copy(value, copiedMap);
+                }
+                fieldCopy.getAccessor().set(target, value);
+            }
+
+            //2. 基础类型字段
+            classPlan.getBeanMasker().mask(target, context);
+
+            //3. 数组、集合、对象
+            for (FieldPlan fieldPlan : classPlan.getNestedPlans()) {
+                prepareSensitiveContext(context, target, classPlan, fieldPlan);
+
+                final Object value = fieldPlan.getAccessor().get(object);
+                if (copyOnPath && !isReachable(fieldPlan, value)) {
+                    // 原始值已经占位，直接共享
+                    continue;
+                }
+
+                Object result;
+                switch (fieldPlan.getKind()) {
+                    case ARRAY:
+                        result = maskCopyArray(target, classPlan, fieldPlan, value);
+                        break;
+                    case COLLECTION:
+                        result = maskCopyCollection(target, classPlan, fieldPlan, value);
+                        break;
+                    case MAP:
+                        result = maskCopyMap(target, classPlan, fieldPlan, value);
+                        break;
+                    default:
+                        result = maskCopy(value);
+                        break;
+                }
+                fieldPlan.getAccessor().set(target, result);
+            }
+            return target;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object maskCopyCollection(final Object target,
+                                          final ClassPlan classPlan,
+                                          final FieldPlan fieldPlan,
+                                          final Object value) {
+            if (null == value) {
+                return null;
+            }
+            final Object copied = getReusableCopy(value, fieldPlan);
+            if (null != copied) {
+                return copied;
+            }
+
+            final Collection<Object> collection = (Collection<Object>) value;
+            final DeepCopyPlan copyPlan = DeepCopyPlanCache.getInstance().get(collection.getClass());
+            final Collection<Object> result = newCollection(collection, copyPlan);
+            putCopy(collection, result, fieldPlan);
+            copyFields(collection, result, copyPlan, copiedMap);
+            for (Object entry : collection) {
+                result.add(maskCopyEntry(target, classPlan, fieldPlan, entry));
+            }
+            return result;
+        }
+
+        /**
+         * 先拷贝 Map，再按照 key 规则脱敏，对象类型的值补充脱敏
+         * 没有 key 规则的 Map 只做拷贝
+         * @param target 当前对象
+         * @param classPlan 类计划
+         * @param fieldPlan 字段计划
+         * @param value 原始 Map
+         * @return 结果
+         * @since 0.0.14
+         */
+        @SuppressWarnings("unchecked")
+        private Object maskCopyMap(final Object target,
+                                   final ClassPlan classPlan,
+                                   final FieldPlan fieldPlan,
+                                   final Object value) {
+            if (null == value) {
+                return null;
+            }
+            if (null == fieldPlan.getMapKeyRules()) {
+                return copy(value, copiedMap);
+            }
+            final Object copied = getReusableCopy(value, fieldPlan);
+            if (null != copied) {
+                return copied;
+            }
+
+            final Map<Object, Object> map = (Map<Object, Object>) value;
+            final Map<Object, Object> result = (Map<Object, Object>) copyMap(map,
+                    DeepCopyPlanCache.getInstance().get(map.getClass()), copiedMap);
+            copiedPlanMap.put(map, fieldPlan);
+            MapValueMasker.mask(context, fieldPlan.getMapKeyRules(), result, new IHandler<Object, Object>() {
+                @Override
+                public Object handle(Object object) {
+                    handleObject(context, handledSet, object, classPlans.get(object.getClass()));
+                    // 对象递归处理后，重新设置当前字段信息
+                    prepareSensitiveContext(context, target, classPlan, fieldPlan);
+                    return object;
+                }
+            });
+            return result;
+        }
+
+        private Object maskCopyArray(final Object target,
+                                     final ClassPlan classPlan,
+                                     final FieldPlan fieldPlan,
+                                     final Object array) {
+            if (null == array) {
+                return null;
+            }
+            final Object copied = getReusableCopy(array, fieldPlan);
+            if (null != copied) {
+                return copied;
+            }
+
+            final int length = Array.getLength(array);
+            final Object result = Array.newInstance(array.getClass().getComponentType(), length);
+            putCopy(array, result, fieldPlan);
+
+            // 对象数组直接下标访问
+            if (array instanceof Object[]) {
+                final Object[] objects = (Object[]) array;
+                final Object[] resultObjects = (Object[]) result;
+                for (int i = 0; i < length; i++) {
+                    resultObjects[i] = maskCopyEntry(target, classPlan, fieldPlan, objects[i]);
+                }
+                return result;
+            }
+
+            // 基本类型数组，没有策略时直接拷贝
+            System.arraycopy(array, 0, result, 0, length);
+            if (fieldPlan.hasStrategy()) {
+                for (int i = 0; i < length; i++) {
+                    Array.set(result, i, maskCopyEntry(target, classPlan, fieldPlan, Array.get(array, i)));
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 获取可以复用的拷贝
+         *
+         * （1）同一个字段计划生成的拷贝直接复用
+         * （2）两个字段都不需要脱敏元素时复用
+         * （3）其他情况需要按照当前字段重新拷贝，避免另一个字段未脱敏的拷贝泄露原始值
+         * @param value 原始集合、数组、Map
+         * @param fieldPlan 当前字段计划
+         * @return 结果，不能复用时返回 null
+         * @since 0.0.14
+         */
+        private Object getReusableCopy(final Object value, final FieldPlan fieldPlan) {
+            final Object copied = copiedMap.get(value);
+            if (null == copied) {
+                return null;
+            }
+
+            final FieldPlan copiedPlan = copiedPlanMap.get(value);
+            if (copiedPlan == fieldPlan
+                    || (null != copiedPlan && isPlain(copiedPlan) && isPlain(fieldPlan))) {
+                return copied;
+            }
+            return null;
+        }
+
+        /**
+         * 字段是否不需要脱敏集合、数组、Map 本身的元素
+         * 对象类型的元素按照自身的类计划脱敏，和字段无关
+         * @param fieldPlan 字段计划
+         * @return 是否
+         * @since 0.0.14
+         */
+        private boolean isPlain(final FieldPlan fieldPlan) {
+            return !fieldPlan.hasStrategy()
+                    && null == fieldPlan.getMapKeyRules();
+        }
+
+        private void putCopy(final Object value, final Object result, final FieldPlan fieldPlan) {
+            copiedMap.put(value, result);
+            copiedPlanMap.put(value, fieldPlan);
+        }
+
+        /**
+         * 字段的值是否包含需要脱敏的信息
+         * （1）有策略的集合、数组，元素本身需要脱敏
+         * （2）其他情况根据元素、对象的实际类型判断
+         * @param fieldPlan 字段计划
+         * @param value 原始值
+         * @return 是否
+         * @since 0.0.14
+         */
+        private boolean isReachable(final FieldPlan fieldPlan, final Object value) {
+            if (null == value) {
+                return false;
+            }
+
+            switch (fieldPlan.getKind()) {
+                case ARRAY:
+                    if (fieldPlan.hasStrategy()) {
+                        return true;
+                    }
+                    if (value instanceof Object[]) {
+                        for (Object entry : (Object[]) value) {
+                            if (isEntryReachable(entry)) {
+                                return true;
+                            }
+                        }
+                    }
+                    return false;
+                case COLLECTION:
+                    if (fieldPlan.hasStrategy()) {
+                        return true;
+                    }
+                    for (Object entry : (Collection<?>) value) {
+                        if (isEntryReachable(entry)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                case MAP:
+                    return null != fieldPlan.getMapKeyRules();
+                default:
+                    return SensitiveReachableCache.getInstance().isReachable(value.getClass(), classPlans.getProfile());
+            }
+        }
+
+        private boolean isEntryReachable(final Object entry) {
+            return null != entry
+                    && SensitiveReachableCache.getInstance().isReachable(entry.getClass(), classPlans.getProfile());
+        }
+
+        /**
+         * 处理集合/数组中的元素
+         * @param target 当前对象
+         * @param classPlan 类计划
+         * @param fieldPlan 字段计划
+         * @param entry 元素
+         * @return 结果
+         * @since 0.0.14
+         */
+        private Object maskCopyEntry(final Object target,
+                                     final ClassPlan classPlan,
+                                     final FieldPlan fieldPlan,
+                                     final Object entry) {
+            if (null == entry) {
+                return null;
+            }
+
+            if (ClassTypeUtil.isBase(entry.getClass())) {
+                // 前一个元素可能递归处理了对象，这里重新设置当前字段信息
+                prepareSensitiveContext(context, target, classPlan, fieldPlan);
+                return getDesensitizedObject(context, entry);
+            }
+            return maskCopy(entry);
+        }
+    }
+
+    /**
+     * 拷贝字段是否为嵌套的脱敏字段，和拷贝计划中的字段一一对应
+     * @since 0.0.14
+     */
+    private static class NestedFlagCache extends AbstractPlanDerivedCache<NestedFlags> {
+
+        private static final NestedFlagCache INSTANCE = new NestedFlagCache();
+
+        /**
+         * 获取类计划对应的标识
+         *
+         * 规则重新加载的过程中，缓存可能和传入的计划不一致，此时按照传入的计划重新计算。
+         * @param classPlan 类计划
+         * @param profile 类计划对应的视角
+         * @return 标识
+         * @since 0.0.14
+         */
+        boolean[] get(final ClassPlan classPlan, final String profile) {
+            NestedFlags nestedFlags = get(classPlan.getBeanClass(), profile);
+            if (nestedFlags.classPlan != classPlan) {
+                nestedFlags = build(classPlan);
+            }
+            return nestedFlags.flags;
+        }
+
+        @Override
+        protected NestedFlags buildValue(Class<?> clazz, String profile) {
+            return build(ClassPlanCache.getInstance().get(clazz, profile));
+        }
+
+        private NestedFlags build(final ClassPlan classPlan) {
+            final DeepCopyPlan.FieldCopy[] fieldCopies = DeepCopyPlanCache.getInstance().get(classPlan.getBeanClass()).getFieldCopies();
+
+            boolean[] nestedFlags = new boolean[fieldCopies.length];
+            for (int i = 0; i < fieldCopies.length; i++) {
+                FieldPlan fieldPlan = classPlan.getFieldPlan(fieldCopies[i].getField());
+                nestedFlags[i] = null != fieldPlan
+                        && !fieldPlan.isIgnored()
+                        && FieldKind.LEAF != fieldPlan.getKind();
+            }
+            return new NestedFlags(classPlan, nestedFlags);
+        }
+    }
+
+    /**
+     * 嵌套标识和构建时使用的类计划
+     * @since 0.0.14
+     */
+    private static final class NestedFlags {
+
+        private final ClassPlan classPlan;
+
+        private final boolean[] flags;
+
+        private NestedFlags(ClassPlan classPlan, boolean[] flags) {
+            this.classPlan = classPlan;
+            this.flags = flags;
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.github.houbb.sensitive.core.support.sensitive;
+
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.api.ISensitiveConfig;
+import com.github.houbb.sensitive.core.api.SensitiveService;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.io.AppendableWriter;
+import com.github.houbb.sensitive.core.support.jackson.SensitiveModule;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于 Jackson 的脱敏实现
+ *
+ * （1）desJson 使用注册了 {@link SensitiveModule} 的 ObjectMapper 序列化，序列化的同时脱敏
+ * （2）输出格式以 Jackson 为准，和 FastJSON 的默认实现可能不同
+ * （3）流式输出时，Jackson 使用线程内复用的缓冲区直接编码
+ * （4）desCopy 和默认实现保持一致
+ * （5）规则重新加载后，复制一份新的 ObjectMapper，序列化器按照新的计划重新创建
+ * （6）每个视角使用单独的 ObjectMapper，序列化器按照视角的计划创建
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public class JacksonSensitiveService<T> extends SensitiveService<T> {
+
+    /**
+     * 没有注册脱敏模块的 ObjectMapper，创建视角对应的实例时从这里复制
+     * @since 0.0.14
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 当前计划版本使用的 ObjectMapper
+     * @since 0.0.14
+     */
+    private volatile VersionedMappers versionedMappers;
+
+    public JacksonSensitiveService() {
+        this(new ObjectMapper(), false);
+    }
+
+    /**
+     * 使用已有的 ObjectMapper 配置
+     *
+     * 会复制一份新的实例注册脱敏模块，不影响原来的实例。
+     * @param objectMapper ObjectMapper
+     * @since 0.0.14
+     */
+    public JacksonSensitiveService(final ObjectMapper objectMapper) {
+        this(objectMapper, true);
+    }
+
+    private JacksonSensitiveService(final ObjectMapper objectMapper, final boolean copy) {
+        ArgUtil.notNull(objectMapper, "objectMapper");
+
+        final ObjectMapper mapper = copy ? objectMapper.copy() : objectMapper;
+        // 流式输出时，不关闭调用方的输出目标
+        mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        this.objectMapper = mapper;
+        this.versionedMappers = new VersionedMappers(ClassPlanCache.getInstance().version());
+    }
+
+    /**
+     * json 由 Jackson 生成，不支持绑定 FastJSON 的序列化器
+     * @param type 类型
+     * @param profile 视角
+     * @return null
+     * @since 0.0.14
+     */
+    @Override
+    public ObjectSerializer getJsonSerializer(Class<?> type, String profile) {
+        return null;
+    }
+
+    @Override
+    public String desJson(T object, ISensitiveConfig config) {
+        try {
+            return objectMapper(profile(config, object)).writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    @Override
+    public void desJson(T object, ISensitiveConfig config, Appendable appendable) {
+        try {
+            objectMapper(profile(config, object)).writeValue(AppendableWriter.of(appendable), object);
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 直接以 UTF-8 编码写入输出流，不经过字符转换
+     * @param object 对象
+     * @param config 配置信息
+     * @param outputStream 输出流，不会被关闭
+     * @since 0.0.14
+     */
+    @Override
+    public void desJson(T object, ISensitiveConfig config, OutputStream outputStream) {
+        try {
+            objectMapper(profile(config, object)).writeValue(outputStream, object);
+        } catch (IOException e) {
+            throw new SensitiveRuntimeException(e);
+        }
+    }
+
+    /**
+     * 当前计划版本中视角对应的 ObjectMapper
+     *
+     * 复制后的实例有独立的序列化器缓存。视角没有在注解或者规则中声明时，返回默认视角的实例。
+     * @param profile 视角
+     * @return ObjectMapper
+     * @since 0.0.14
+     */
+    private ObjectMapper objectMapper(final String profile) {
+        if (!ClassPlanCache.getInstance().isDeclared(profile)) {
+            return objectMapper(ISensitiveConfig.DEFAULT_PROFILE);
+        }
+        final long version = ClassPlanCache.getInstance().version();
+        VersionedMappers current = versionedMappers;
+        if (current.version < version) {
+            current = new VersionedMappers(version);
+            versionedMappers = current;
+        }
+
+        ObjectMapper mapper = current.mapperMap.get(profile);
+        if (null != mapper) {
+            return mapper;
+        }
+        mapper = objectMapper.copy().registerModule(new SensitiveModule(profile));
+        ObjectMapper exists = current.mapperMap.putIfAbsent(profile, mapper);
+        return null == exists ? mapper : exists;
+    }
+
+    private static final class VersionedMappers {
+
+        private final long version;
+
+        /**
+         * 视角 =》ObjectMapper
+         * @since 0.0.14
+         */
+        private final ConcurrentHashMap<String, ObjectMapper> mapperMap = new ConcurrentHashMap<>();
+
+        private VersionedMappers(long version) {
+            this.version = version;
+        }
+    }
+
+}
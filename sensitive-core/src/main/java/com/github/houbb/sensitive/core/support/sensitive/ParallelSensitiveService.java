@@ -0,0 +1,226 @@
+package com.github.houbb.sensitive.core.support.sensitive;
+
+import com.github.houbb.heaven.annotation.ThreadSafe;
+import com.github.houbb.heaven.util.common.ArgUtil;
+import com.github.houbb.sensitive.core.api.SensitiveService;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.parallel.ConcurrentIdentitySet;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlans;
+import com.github.houbb.sensitive.core.support.plan.FieldPlan;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 对象内部并行处理的脱敏实现
+ *
+ * （1）数组、集合的元素个数超过阈值时，按照下标区间拆分到线程池中并行处理
+ * （2）每个子任务使用自己的 {@link SensitiveContext}，视角和调用方保持一致
+ * （3）拆分时已处理对象的记录放入 {@link ConcurrentIdentitySet} 在任务之间共享，保证共享引用只处理一次，不拆分时和默认实现一样
+ * （4）适合单个对象中包含超大数组、集合的场景，小对象使用默认实现即可
+ * @author binbin.hou
+ * @since 0.0.14
+ * @param <T> 泛型
+ */
+@ThreadSafe
+public class ParallelSensitiveService<T> extends SensitiveService<T> {
+
+    /**
+     * 默认的拆分阈值
+     * @since 0.0.14
+     */
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    /**
+     * 线程池
+     * @since 0.0.14
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * 拆分的阈值
+     * @since 0.0.14
+     */
+    private final int threshold;
+
+    public ParallelSensitiveService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelSensitiveService(final ForkJoinPool pool, final int threshold) {
+        ArgUtil.notNull(pool, "pool");
+        ArgUtil.positive(threshold, "threshold");
+
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Collection<Object> handleArrayCollection(SensitiveContext context,
+                                                       Set<Object> handledSet,
+                                                       Object copyObject,
+                                                       ClassPlan classPlan,
+                                                       FieldPlan fieldPlan,
+                                                       Collection<Object> collection) throws IllegalAccessException, InstantiationException {
+        if (collection.size() <= threshold) {
+            return super.handleArrayCollection(context, handledSet, copyObject, classPlan, fieldPlan, collection);
+        }
+
+        final Object[] values = collection.toArray();
+        final Set<Object> sharedSet = share(handledSet);
+        invoke(new RangeTask(context.getClassPlans(), sharedSet, copyObject, classPlan, fieldPlan, values, 0, values.length));
+        merge(handledSet, sharedSet);
+
+        Collection<Object> resultCollection = collection.getClass().newInstance();
+        resultCollection.addAll(Arrays.asList(values));
+        return resultCollection;
+    }
+
+    @Override
+    protected void handleArrayObject(SensitiveContext context,
+                                     Set<Object> handledSet,
+                                     Object copyObject,
+                                     ClassPlan classPlan,
+                                     FieldPlan fieldPlan,
+                                     Object array) {
+        if (null == array
+                || Array.getLength(array) <= threshold
+                // 基本类型数组，没有策略时无需处理
+                || (!(array instanceof Object[]) && !fieldPlan.hasStrategy())) {
+            super.handleArrayObject(context, handledSet, copyObject, classPlan, fieldPlan, array);
+            return;
+        }
+
+        final Set<Object> sharedSet = share(handledSet);
+        invoke(new RangeTask(context.getClassPlans(), sharedSet, copyObject, classPlan, fieldPlan, array, 0, Array.getLength(array)));
+        merge(handledSet, sharedSet);
+    }
+
+    /**
+     * 任务之间共享的已处理对象集合
+     *
+     * 只在真正拆分时创建，已经是并发集合时（嵌套拆分）直接使用。
+     * @param handledSet 当前线程的集合
+     * @return 结果
+     * @since 0.0.14
+     */
+    private Set<Object> share(final Set<Object> handledSet) {
+        if (handledSet instanceof ConcurrentIdentitySet) {
+            return handledSet;
+        }
+        return new ConcurrentIdentitySet<>(handledSet);
+    }
+
+    /**
+     * 并行处理结束后，合并回当前线程的集合，后续的字段依然可以识别共享引用
+     * @param handledSet 当前线程的集合
+     * @param sharedSet 共享的集合
+     * @since 0.0.14
+     */
+    private void merge(final Set<Object> handledSet, final Set<Object> sharedSet) {
+        if (handledSet != sharedSet) {
+            handledSet.addAll(sharedSet);
+        }
+    }
+
+    /**
+     * 执行任务
+     *
+     * 已经在当前线程池中时直接执行，避免嵌套提交。
+     * @param task 任务
+     * @since 0.0.14
+     */
+    private void invoke(final RangeTask task) {
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * 区间处理任务
+     *
+     * 直接修改数组对应下标的元素。
+     * @since 0.0.14
+     */
+    private class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * 视角对应的类计划
+         */
+        private final ClassPlans classPlans;
+
+        private final Set<Object> handledSet;
+
+        private final Object copyObject;
+
+        private final ClassPlan classPlan;
+
+        private final FieldPlan fieldPlan;
+
+        /**
+         * 数组，可能是基本类型数组
+         */
+        private final Object array;
+
+        /**
+         * 开始下标，包含
+         */
+        private final int from;
+
+        /**
+         * 结束下标，不包含
+         */
+        private final int to;
+
+        private RangeTask(ClassPlans classPlans, Set<Object> handledSet, Object copyObject, ClassPlan classPlan,
+                          FieldPlan fieldPlan, Object array, int from, int to) {
+            this.classPlans = classPlans;
+            this.handledSet = handledSet;
+            this.copyObject = copyObject;
+            this.classPlan = classPlan;
+            this.fieldPlan = fieldPlan;
+            this.array = array;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > threshold) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(classPlans, handledSet, copyObject, classPlan, fieldPlan, array, from, middle),
+                        new RangeTask(classPlans, handledSet, copyObject, classPlan, fieldPlan, array, middle, to));
+                return;
+            }
+
+            // 上下文不是线程安全的，每个任务单独创建
+            final SensitiveContext context = new SensitiveContext();
+            context.setClassPlans(classPlans);
+            if (array instanceof Object[]) {
+                final Object[] objects = (Object[]) array;
+                for (int i = from; i < to; i++) {
+                    objects[i] = getDesensitizedObjectWrapper(context, handledSet, copyObject, classPlan, fieldPlan, objects[i]);
+                }
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                Object value = Array.get(array, i);
+                value = getDesensitizedObjectWrapper(context, handledSet, copyObject, classPlan, fieldPlan, value);
+                Array.set(array, i, value);
+            }
+        }
+
+    }
+
+}
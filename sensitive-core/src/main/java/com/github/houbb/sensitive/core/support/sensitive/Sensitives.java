@@ -0,0 +1,87 @@
+package com.github.houbb.sensitive.core.support.sensitive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.houbb.heaven.support.instance.impl.Instances;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.core.api.SensitiveService;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 脱敏实现工具类
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public final class Sensitives {
+
+    private Sensitives(){}
+
+    /**
+     * 默认实现，先深度拷贝，再脱敏
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive defaults() {
+        return Instances.singleton(SensitiveService.class);
+    }
+
+    /**
+     * 拷贝的同时进行脱敏
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive fused() {
+        return Instances.singleton(FusedSensitiveService.class);
+    }
+
+    /**
+     * 只拷贝通往脱敏字段路径上的对象，其他对象共享引用
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive copyOnPath() {
+        return Instances.singleton(CopyOnPathSensitiveService.class);
+    }
+
+    /**
+     * 对象内部的大数组、集合并行处理
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive parallel() {
+        return Instances.singleton(ParallelSensitiveService.class);
+    }
+
+    /**
+     * 对象内部的大数组、集合在指定的线程池中并行处理
+     * @param pool 线程池
+     * @param threshold 拆分的阈值，元素个数超过阈值时并行处理
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive parallel(final ForkJoinPool pool, final int threshold) {
+        return new ParallelSensitiveService<>(pool, threshold);
+    }
+
+    /**
+     * 使用 Jackson 序列化的同时脱敏
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive jackson() {
+        return Instances.singleton(JacksonSensitiveService.class);
+    }
+
+    /**
+     * 使用指定的 ObjectMapper 配置，序列化的同时脱敏
+     *
+     * 每次调用都会创建新的实例，建议复用返回的结果。
+     * @param objectMapper ObjectMapper
+     * @return 实现
+     * @since 0.0.14
+     */
+    public static ISensitive jackson(final ObjectMapper objectMapper) {
+        return new JacksonSensitiveService<>(objectMapper);
+    }
+
+}
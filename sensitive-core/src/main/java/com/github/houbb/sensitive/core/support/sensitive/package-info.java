@@ -0,0 +1,5 @@
+/**
+ * 脱敏实现
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.core.support.sensitive;
@@ -1,10 +1,11 @@
 package com.github.houbb.sensitive.core.util.condition;
 
 import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.heaven.util.lang.reflect.ClassUtil;
 import com.github.houbb.heaven.util.util.Optional;
 import com.github.houbb.sensitive.annotation.metadata.SensitiveCondition;
 import com.github.houbb.sensitive.api.ICondition;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
 
 import java.lang.annotation.Annotation;
 
@@ -25,12 +26,27 @@ public final class SensitiveConditions {
      * @since 0.0.6
      */
     public static Optional<ICondition> getConditionOpt(final Annotation[] annotations) {
+        Optional<InstanceHolder<ICondition>> holderOptional = getConditionHolderOpt(annotations);
+        if (holderOptional.isNotPresent()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(holderOptional.get().get());
+    }
+
+    /**
+     * 获取用户自定义条件实例持有者
+     *
+     * @param annotations 字段上的注解
+     * @return 对应的用户自定义条件实例持有者
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<InstanceHolder<ICondition>> getConditionHolderOpt(final Annotation[] annotations) {
         for (Annotation annotation : annotations) {
             SensitiveCondition sensitiveCondition = annotation.annotationType().getAnnotation(SensitiveCondition.class);
             if (ObjectUtil.isNotNull(sensitiveCondition)) {
                 Class<? extends ICondition> customClass = sensitiveCondition.value();
-                ICondition condition =  ClassUtil.newInstance(customClass);
-                return Optional.ofNullable(condition);
+                return Optional.of((InstanceHolder<ICondition>) SensitiveInstances.holder(customClass));
             }
         }
         return Optional.empty();
@@ -1,7 +1,6 @@
 package com.github.houbb.sensitive.core.util.strategy;
 
 import com.github.houbb.heaven.util.lang.ObjectUtil;
-import com.github.houbb.heaven.util.lang.reflect.ClassUtil;
 import com.github.houbb.heaven.util.util.Optional;
 import com.github.houbb.sensitive.annotation.metadata.SensitiveStrategy;
 import com.github.houbb.sensitive.annotation.strategy.*;
@@ -9,6 +8,8 @@ import com.github.houbb.sensitive.api.IStrategy;
 import com.github.houbb.sensitive.api.impl.SensitiveStrategyBuiltIn;
 import com.github.houbb.sensitive.core.api.strategory.*;
 import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
 
 import java.lang.annotation.Annotation;
 import java.util.HashMap;
@@ -36,6 +37,7 @@ public final class SensitiveStrategyBuiltInUtil {
         MAP.put(SensitiveStrategyPhone.class, new StrategyPhone());
         MAP.put(SensitiveStrategyChineseName.class, new StrategyChineseName());
         MAP.put(SensitiveStrategyEmail.class, new StrategyEmail());
+        MAP.put(SensitiveStrategyText.class, new StrategyText());
     }
 
     /**
@@ -59,17 +61,33 @@ public final class SensitiveStrategyBuiltInUtil {
      * @since 0.0.6
      */
     public static Optional<IStrategy> getStrategyOpt(final Annotation[] annotations) {
+        Optional<InstanceHolder<IStrategy>> holderOptional = getStrategyHolderOpt(annotations);
+        if (holderOptional.isNotPresent()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(holderOptional.get().get());
+    }
+
+    /**
+     * 获取策略实例持有者
+     * （1）系统内置策略为单例
+     * （2）用户自定义策略通过 {@link SensitiveInstances} 获取
+     *
+     * @param annotations 字段对应注解
+     * @return 策略实例持有者
+     * @since 0.0.14
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<InstanceHolder<IStrategy>> getStrategyHolderOpt(final Annotation[] annotations) {
         for (Annotation annotation : annotations) {
             SensitiveStrategy sensitiveStrategy = annotation.annotationType().getAnnotation(SensitiveStrategy.class);
             if (ObjectUtil.isNotNull(sensitiveStrategy)) {
                 Class<? extends IStrategy> clazz = sensitiveStrategy.value();
-                IStrategy strategy = null;
                 if (SensitiveStrategyBuiltIn.class.equals(clazz)) {
-                    strategy = SensitiveStrategyBuiltInUtil.require(annotation.annotationType());
-                } else {
-                    strategy = ClassUtil.newInstance(clazz);
+                    IStrategy strategy = SensitiveStrategyBuiltInUtil.require(annotation.annotationType());
+                    return Optional.of(InstanceHolder.singleton(strategy));
                 }
-                return Optional.ofNullable(strategy);
+                return Optional.of((InstanceHolder<IStrategy>) SensitiveInstances.holder(clazz));
             }
         }
         return Optional.empty();
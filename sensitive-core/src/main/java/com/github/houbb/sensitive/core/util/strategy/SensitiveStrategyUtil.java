@@ -1,12 +1,19 @@
 package com.github.houbb.sensitive.core.util.strategy;
 
-import com.github.houbb.heaven.constant.PunctuationConst;
-import com.github.houbb.heaven.util.lang.StringUtil;
+import com.github.houbb.heaven.support.instance.impl.Instances;
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyEmail;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.api.strategory.StrategyText;
 
 /**
  * 脱敏策略工具类
  * （1）提供常见的脱敏策略
  * （2）主要供单独的字符串处理使用
+ * （3）0.0.14 统一使用内置的字符脱敏策略实现
  * @author binbin.hou
  * @since 0.0.6
  */
@@ -20,7 +27,7 @@ public final class SensitiveStrategyUtil {
      * @return 结果
      */
     public static String password(final String password) {
-        return null;
+        return des(Instances.singleton(StrategyPassword.class), password);
     }
 
     /**
@@ -29,9 +36,7 @@ public final class SensitiveStrategyUtil {
      * @return 结果
      */
     public static String phone(final String phone) {
-        final int prefixLength = 3;
-        final String middle = "****";
-        return StringUtil.buildString(phone, middle, prefixLength);
+        return des(Instances.singleton(StrategyPhone.class), phone);
     }
 
     /**
@@ -40,20 +45,7 @@ public final class SensitiveStrategyUtil {
      * @return 结果
      */
     public static String email(final String email) {
-        if(StringUtil.isEmpty(email)) {
-            return null;
-        }
-
-        final int prefixLength = 3;
-
-        final int atIndex = email.indexOf(PunctuationConst.AT);
-        String middle = "****";
-
-        if(atIndex > 0) {
-            int middleLength = atIndex - prefixLength;
-            middle = StringUtil.repeat(PunctuationConst.STAR, middleLength);
-        }
-        return StringUtil.buildString(email, middle, prefixLength);
+        return des(Instances.singleton(StrategyEmail.class), email);
     }
 
     /**
@@ -62,26 +54,7 @@ public final class SensitiveStrategyUtil {
      * @return 脱敏后的结果
      */
     public static String chineseName(final String chineseName) {
-        if(StringUtil.isEmpty(chineseName)) {
-            return chineseName;
-        }
-
-        final int nameLength = chineseName.length();
-        if(1 == nameLength) {
-            return chineseName;
-        }
-
-        if(2 == nameLength) {
-            return PunctuationConst.STAR + chineseName.charAt(1);
-        }
-
-        StringBuilder stringBuffer = new StringBuilder();
-        stringBuffer.append(chineseName.charAt(0));
-        for(int i = 0; i < nameLength-2; i++) {
-            stringBuffer.append(PunctuationConst.STAR);
-        }
-        stringBuffer.append(chineseName.charAt(nameLength -1));
-        return stringBuffer.toString();
+        return des(Instances.singleton(StrategyChineseName.class), chineseName);
     }
 
     /**
@@ -90,9 +63,30 @@ public final class SensitiveStrategyUtil {
      * @return 脱敏结果
      */
     public static String cardId(final String cardId) {
-        final int prefixLength = 6;
-        final String middle = "**********";
-        return StringUtil.buildString(cardId, middle, prefixLength);
+        return des(Instances.singleton(StrategyCardId.class), cardId);
+    }
+
+    /**
+     * 脱敏自由文本
+     *
+     * 识别文本中的手机号、身份证号、银行卡号、邮箱，分别使用对应的策略脱敏。
+     * @param text 文本
+     * @return 脱敏结果
+     * @since 0.0.14
+     */
+    public static String text(final String text) {
+        return Instances.singleton(StrategyText.class).des(text, null);
+    }
+
+    /**
+     * 执行字符脱敏
+     * @param strategy 策略
+     * @param original 原始内容
+     * @return 结果
+     * @since 0.0.14
+     */
+    private static String des(final ICharStrategy strategy, final String original) {
+        return (String) strategy.des(original, null);
     }
 
 }
@@ -0,0 +1,541 @@
+package com.github.houbb.sensitive.processor;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.annotation.SensitiveIgnore;
+import com.github.houbb.sensitive.annotation.metadata.SensitiveCondition;
+import com.github.houbb.sensitive.annotation.metadata.SensitiveStrategy;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyCardId;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyChineseName;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyEmail;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPassword;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyText;
+import com.github.houbb.sensitive.api.impl.ConditionAlwaysTrue;
+import com.github.houbb.sensitive.api.impl.SensitiveStrategyBuiltIn;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 脱敏器源码构建
+ *
+ * 字段的处理规则和运行时 ClassPlanCache 保持一致：
+ * （1）SensitiveIgnore 忽略
+ * （2）Sensitive 优先
+ * （3）其次是元注解 SensitiveStrategy/SensitiveCondition 标注的注解
+ * （4）只处理基础类型字段，其他类型依然由运行时递归处理
+ * （5）需要脱敏的字段为原始类型时不生成，策略可能返回 null，由运行时计划处理
+ * （6）需要脱敏的字段不可见（比如 private）或者为 final 时不生成，由运行时计划直接访问字段
+ *
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+class MaskerSourceBuilder {
+
+    /**
+     * 生成类后缀
+     * @since 0.0.14
+     */
+    static final String CLASS_SUFFIX = "_SensitiveMasker";
+
+    private static final String PARENT_CLASS = "com.github.houbb.sensitive.core.support.masker.AbstractGeneratedBeanMasker";
+
+    private static final String CONTEXT_CLASS = "com.github.houbb.sensitive.core.api.context.SensitiveContext";
+
+    private static final String HOLDER_CLASS = "com.github.houbb.sensitive.core.support.instance.InstanceHolder";
+
+    private static final String STRATEGY_CLASS = "com.github.houbb.sensitive.api.IStrategy";
+
+    private static final String CONDITION_CLASS = "com.github.houbb.sensitive.api.ICondition";
+
+    /**
+     * 和 ClassTypeUtil#isBase 保持一致
+     * @since 0.0.14
+     */
+    private static final Set<String> BASE_TYPE_SET = new HashSet<>(Arrays.asList(
+            String.class.getName(), Boolean.class.getName(), Character.class.getName(),
+            Byte.class.getName(), Short.class.getName(), Integer.class.getName(),
+            Long.class.getName(), Float.class.getName(), Double.class.getName(),
+            Void.class.getName(), Object.class.getName(), Class.class.getName()));
+
+    /**
+     * 系统内置注解
+     * @since 0.0.14
+     */
+    private static final Set<String> BUILT_IN_SET = new HashSet<>(Arrays.asList(
+            SensitiveStrategyCardId.class.getName(), SensitiveStrategyChineseName.class.getName(),
+            SensitiveStrategyEmail.class.getName(), SensitiveStrategyPassword.class.getName(),
+            SensitiveStrategyPhone.class.getName(), SensitiveStrategyText.class.getName()));
+
+    private final Elements elements;
+
+    private final Types types;
+
+    MaskerSourceBuilder(Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    /**
+     * 构建源码
+     * @param beanType 类
+     * @return 结果
+     * @since 0.0.14
+     */
+    Result build(final TypeElement beanType) {
+        if (beanType.getKind() != ElementKind.CLASS
+                || beanType.getModifiers().contains(Modifier.ABSTRACT)) {
+            return Result.skipped();
+        }
+
+        List<Slot> slotList = new ArrayList<>();
+        Set<String> fieldNameSet = new HashSet<>();
+        Set<String> duplicateNameSet = new HashSet<>();
+        try {
+            TypeElement current = beanType;
+            while (null != current
+                    && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+                for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                    if (field.getModifiers().contains(Modifier.STATIC)) {
+                        continue;
+                    }
+                    String name = field.getSimpleName().toString();
+                    if (!fieldNameSet.add(name)) {
+                        duplicateNameSet.add(name);
+                    }
+
+                    Slot slot = buildSlot(current, field);
+                    if (null != slot) {
+                        slotList.add(slot);
+                    }
+                }
+                current = getSuperclass(current);
+            }
+        } catch (UnsupportedException e) {
+            return Result.unsupported(e.getMessage());
+        }
+
+        if (slotList.isEmpty()) {
+            return Result.skipped();
+        }
+        String unsupportedMessage = checkBeanType(beanType);
+        if (null != unsupportedMessage) {
+            return Result.unsupported(unsupportedMessage);
+        }
+
+        final PackageElement packageElement = elements.getPackageOf(beanType);
+        try {
+            for (Slot slot : slotList) {
+                if (duplicateNameSet.contains(slot.field.getSimpleName().toString())) {
+                    throw new UnsupportedException("duplicate field name " + slot.field.getSimpleName());
+                }
+                prepareAccess(packageElement, slot);
+            }
+        } catch (UnsupportedException e) {
+            return Result.unsupported(e.getMessage());
+        }
+
+        String simpleName = getGeneratedSimpleName(beanType);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        return Result.generated(className, buildSource(packageName, simpleName, beanType, slotList));
+    }
+
+    /**
+     * 构建字段信息
+     * @param declaringType 字段所在类
+     * @param field 字段
+     * @return 结果，不需要处理时返回 null
+     * @since 0.0.14
+     */
+    private Slot buildSlot(final TypeElement declaringType, final VariableElement field) {
+        if (null != getAnnotationMirror(field, SensitiveIgnore.class.getName())) {
+            return null;
+        }
+
+        TypeMirror strategyType = null;
+        String builtInName = null;
+        TypeMirror conditionType = null;
+
+        AnnotationMirror sensitive = getAnnotationMirror(field, Sensitive.class.getName());
+        if (null != sensitive) {
+            strategyType = getClassValue(sensitive, "strategy");
+            conditionType = getClassValue(sensitive, "condition");
+        } else {
+            boolean strategyFound = false;
+            boolean conditionFound = false;
+            for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+                AnnotationMirror strategyMeta = getAnnotationMirror(annotationType, SensitiveStrategy.class.getName());
+                if (!strategyFound && null != strategyMeta) {
+                    strategyFound = true;
+                    strategyType = getClassValue(strategyMeta, "value");
+                    if (isType(strategyType, SensitiveStrategyBuiltIn.class.getName())) {
+                        builtInName = annotationType.getQualifiedName().toString();
+                        if (!BUILT_IN_SET.contains(builtInName)) {
+                            throw new UnsupportedException("unknown built-in strategy @" + builtInName);
+                        }
+                    }
+                }
+                AnnotationMirror conditionMeta = getAnnotationMirror(annotationType, SensitiveCondition.class.getName());
+                if (!conditionFound && null != conditionMeta) {
+                    conditionFound = true;
+                    conditionType = getClassValue(conditionMeta, "value");
+                }
+            }
+        }
+
+        if (null == strategyType) {
+            return null;
+        }
+        if (!isBase(field.asType())) {
+            return null;
+        }
+        if (field.asType().getKind().isPrimitive()) {
+            throw new UnsupportedException("primitive field " + field.getSimpleName());
+        }
+        if (isType(conditionType, ConditionAlwaysTrue.class.getName())) {
+            conditionType = null;
+        }
+
+        Slot slot = new Slot();
+        slot.declaringType = declaringType;
+        slot.field = field;
+        slot.builtInName = builtInName;
+        slot.strategyType = strategyType;
+        slot.conditionType = conditionType;
+        return slot;
+    }
+
+    /**
+     * 确定字段的访问方式
+     *
+     * 生成的代码只直接读写字段，和运行时计划保持一致。
+     * 字段不可见时不生成，getter/setter 中可能有额外逻辑，不能代替字段访问。
+     * @param packageElement 包
+     * @param slot 字段信息
+     * @since 0.0.14
+     */
+    private void prepareAccess(final PackageElement packageElement,
+                               final Slot slot) {
+        final VariableElement field = slot.field;
+        if (!isAccessible(slot.declaringType, packageElement)) {
+            throw new UnsupportedException("type " + slot.declaringType + " is not accessible");
+        }
+        if (null == slot.builtInName) {
+            checkClassAccessible(slot.strategyType, packageElement);
+        }
+        if (null != slot.conditionType) {
+            checkClassAccessible(slot.conditionType, packageElement);
+        }
+
+        if (!isAccessible(field, packageElement)) {
+            throw new UnsupportedException("field " + field.getSimpleName() + " is not accessible");
+        }
+        if (field.getModifiers().contains(Modifier.FINAL)) {
+            throw new UnsupportedException("final field " + field.getSimpleName());
+        }
+    }
+
+    /**
+     * 构建源码
+     * @param packageName 包名
+     * @param simpleName 类名
+     * @param beanType 类
+     * @param slotList 字段
+     * @return 源码
+     * @since 0.0.14
+     */
+    private String buildSource(final String packageName,
+                               final String simpleName,
+                               final TypeElement beanType,
+                               final List<Slot> slotList) {
+        final String beanName = beanType.getQualifiedName().toString();
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Generated by sensitive-processor, do not edit.\n")
+                .append(" */\n")
+                .append("@SuppressWarnings({\"rawtypes\", \"unchecked\"})\n")
+                .append("public final class ").append(simpleName)
+                .append(" extends ").append(PARENT_CLASS).append("<").append(beanName).append("> {\n\n");
+
+        for (int i = 0; i < slotList.size(); i++) {
+            Slot slot = slotList.get(i);
+            source.append("    private final java.lang.reflect.Field field").append(i)
+                    .append(" = field(").append(slot.declaringType.getQualifiedName()).append(".class, \"")
+                    .append(slot.field.getSimpleName()).append("\");\n");
+
+            source.append("    private final ").append(HOLDER_CLASS).append("<").append(STRATEGY_CLASS).append("> strategy").append(i);
+            if (null != slot.builtInName) {
+                source.append(" = builtIn(").append(slot.builtInName).append(".class);\n");
+            } else {
+                source.append(" = strategy(").append(types.erasure(slot.strategyType)).append(".class);\n");
+            }
+
+            if (null != slot.conditionType) {
+                source.append("    private final ").append(HOLDER_CLASS).append("<").append(CONDITION_CLASS).append("> condition").append(i)
+                        .append(" = condition(").append(types.erasure(slot.conditionType)).append(".class);\n");
+            }
+            source.append("\n");
+        }
+
+        source.append("    public ").append(simpleName).append("() {\n")
+                .append("        super(").append(beanName).append(".class);\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public void mask(final ").append(beanName).append(" copyObject, final ")
+                .append(CONTEXT_CLASS).append(" context) {\n")
+                .append("        ").append(STRATEGY_CLASS).append(" strategy;\n");
+        for (int i = 0; i < slotList.size(); i++) {
+            Slot slot = slotList.get(i);
+            final String fieldName = slot.field.getSimpleName().toString();
+            final String condition = null == slot.conditionType ? "null" : "this.condition" + i + ".get()";
+            final String target = slot.declaringType.equals(beanType)
+                    ? "copyObject"
+                    : "((" + slot.declaringType.getQualifiedName() + ") copyObject)";
+            final String access = target + "." + fieldName;
+
+            source.append("\n        // ").append(fieldName).append("\n")
+                    .append("        strategy = this.strategy").append(i).append(".get();\n")
+                    .append("        if (prepare(context, copyObject, this.field").append(i)
+                    .append(", strategy, ").append(condition).append(")) {\n")
+                    .append("            ").append(access).append(" = ")
+                    .append("(").append(getCastName(slot.field.asType())).append(") strategy.des(")
+                    .append(access).append(", context);\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * 类本身需要可以在同一个包中访问
+     * @param beanType 类
+     * @return 错误信息，支持时返回 null
+     * @since 0.0.14
+     */
+    private String checkBeanType(final TypeElement beanType) {
+        Element current = beanType;
+        while (current instanceof TypeElement) {
+            TypeElement typeElement = (TypeElement) current;
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) {
+                return "private type " + typeElement.getQualifiedName();
+            }
+            NestingKind nestingKind = typeElement.getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return "local type " + typeElement.getSimpleName();
+            }
+            if (nestingKind == NestingKind.MEMBER
+                    && typeElement.getEnclosingElement() instanceof TypeElement
+                    && ((TypeElement) typeElement.getEnclosingElement()).getKind() == ElementKind.CLASS
+                    && !typeElement.getModifiers().contains(Modifier.STATIC)) {
+                return "inner type " + typeElement.getQualifiedName();
+            }
+            current = typeElement.getEnclosingElement();
+        }
+        return null;
+    }
+
+    private void checkClassAccessible(final TypeMirror typeMirror, final PackageElement packageElement) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedException("unresolved type " + typeMirror);
+        }
+        Element element = ((DeclaredType) typeMirror).asElement();
+        if (!isAccessible(element, packageElement)) {
+            throw new UnsupportedException("type " + typeMirror + " is not accessible");
+        }
+    }
+
+    /**
+     * 生成类所在的包中是否可以访问
+     * @param element 元素
+     * @param packageElement 生成类所在的包
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isAccessible(final Element element, final PackageElement packageElement) {
+        final boolean samePackage = elements.getPackageOf(element).equals(packageElement);
+        Element current = element;
+        while (null != current && current.getKind() != ElementKind.PACKAGE) {
+            Set<Modifier> modifiers = current.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+                return false;
+            }
+            current = current.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private TypeElement getSuperclass(final TypeElement typeElement) {
+        TypeMirror superclass = typeElement.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    /**
+     * 是否为基础类型，包含原始类型
+     * @param typeMirror 类型
+     * @return 是否
+     * @since 0.0.14
+     */
+    private boolean isBase(final TypeMirror typeMirror) {
+        if (typeMirror.getKind().isPrimitive()) {
+            return true;
+        }
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) typeMirror).asElement();
+        return BASE_TYPE_SET.contains(element.getQualifiedName().toString());
+    }
+
+    private String getCastName(final TypeMirror typeMirror) {
+        return types.erasure(typeMirror).toString();
+    }
+
+    private boolean isType(final TypeMirror typeMirror, final String className) {
+        if (null == typeMirror || typeMirror.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) typeMirror).asElement();
+        return element.getQualifiedName().contentEquals(className);
+    }
+
+    private String getGeneratedSimpleName(final TypeElement beanType) {
+        StringBuilder name = new StringBuilder(beanType.getSimpleName());
+        Element current = beanType.getEnclosingElement();
+        while (current instanceof TypeElement) {
+            name.insert(0, "_").insert(0, current.getSimpleName());
+            current = current.getEnclosingElement();
+        }
+        return name.append(CLASS_SUFFIX).toString();
+    }
+
+    private AnnotationMirror getAnnotationMirror(final Element element, final String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private TypeMirror getClassValue(final AnnotationMirror mirror, final String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                Object value = entry.getValue().getValue();
+                if (value instanceof TypeMirror) {
+                    return (TypeMirror) value;
+                }
+                throw new UnsupportedException("unresolved class value " + value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 单个字段
+     * @since 0.0.14
+     */
+    private static class Slot {
+        private TypeElement declaringType;
+        private VariableElement field;
+        private String builtInName;
+        private TypeMirror strategyType;
+        private TypeMirror conditionType;
+    }
+
+    /**
+     * 不支持生成
+     * @since 0.0.14
+     */
+    private static class UnsupportedException extends RuntimeException {
+        UnsupportedException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 构建结果
+     * @since 0.0.14
+     */
+    static final class Result {
+
+        private final String className;
+
+        private final String source;
+
+        private final String message;
+
+        private Result(String className, String source, String message) {
+            this.className = className;
+            this.source = source;
+            this.message = message;
+        }
+
+        static Result skipped() {
+            return new Result(null, null, null);
+        }
+
+        static Result unsupported(String message) {
+            return new Result(null, null, message);
+        }
+
+        static Result generated(String className, String source) {
+            return new Result(className, source, null);
+        }
+
+        boolean isSkipped() {
+            return null == source && null == message;
+        }
+
+        boolean isUnsupported() {
+            return null != message;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        String getSource() {
+            return source;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.github.houbb.sensitive.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 编译期生成脱敏器
+ *
+ * （1）为每个包含脱敏字段的类生成 {@code Xxx_SensitiveMasker}
+ * （2）生成的类写入 META-INF/services 索引，运行时通过 ServiceLoader 加载
+ * （3）无法生成的类给出提示，运行时依然使用反射计划
+ *
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveMaskerProcessor extends AbstractProcessor {
+
+    /**
+     * 服务索引文件
+     * @since 0.0.14
+     */
+    static final String SERVICE_FILE = "META-INF/services/com.github.houbb.sensitive.core.support.masker.IBeanMasker";
+
+    /**
+     * 已经生成的类
+     * @since 0.0.14
+     */
+    private final Set<String> generatedClassNames = new LinkedHashSet<>();
+
+    /**
+     * 源码生成
+     * @since 0.0.14
+     */
+    private MaskerSourceBuilder sourceBuilder;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.sourceBuilder = new MaskerSourceBuilder(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // 父类中的脱敏字段也需要处理，所以这里处理所有的类
+        return Collections.singleton("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        for (TypeElement typeElement : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(typeElement);
+        }
+        return false;
+    }
+
+    /**
+     * 处理类，包含内部类
+     * @param typeElement 类
+     * @since 0.0.14
+     */
+    private void processType(final TypeElement typeElement) {
+        for (TypeElement memberType : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+            processType(memberType);
+        }
+
+        MaskerSourceBuilder.Result result = sourceBuilder.build(typeElement);
+        if (result.isSkipped()) {
+            return;
+        }
+        if (result.isUnsupported()) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Sensitive masker not generated, fallback to runtime plan: " + result.getMessage(), typeElement);
+            return;
+        }
+
+        writeSource(result.getClassName(), result.getSource(), typeElement);
+    }
+
+    /**
+     * 写入源码
+     * @param className 类名
+     * @param source 源码
+     * @param originElement 原始类
+     * @since 0.0.14
+     */
+    private void writeSource(final String className, final String source, final Element originElement) {
+        if (generatedClassNames.contains(className)) {
+            return;
+        }
+        // 上一次编译生成的源码，已经作为源文件参与编译
+        if (null != processingEnv.getElementUtils().getTypeElement(className)) {
+            generatedClassNames.add(className);
+            return;
+        }
+
+        Filer filer = processingEnv.getFiler();
+        try {
+            JavaFileObject fileObject = filer.createSourceFile(className, originElement);
+            try (Writer writer = fileObject.openWriter()) {
+                writer.write(source);
+            }
+            generatedClassNames.add(className);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Sensitive masker write failed: " + e.getMessage(), originElement);
+        }
+    }
+
+    /**
+     * 写入服务索引
+     *
+     * 增量编译时保留原有的内容，运行时会忽略加载失败的类。
+     * @since 0.0.14
+     */
+    private void writeServiceFile() {
+        if (generatedClassNames.isEmpty()) {
+            return;
+        }
+
+        Set<String> allClassNames = new LinkedHashSet<>(readServiceFile());
+        allClassNames.addAll(generatedClassNames);
+
+        Messager messager = processingEnv.getMessager();
+        try {
+            FileObject fileObject = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = new OutputStreamWriter(fileObject.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String className : allClassNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Sensitive masker service file write failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 读取已经存在的服务索引
+     * @return 类名
+     * @since 0.0.14
+     */
+    private Set<String> readServiceFile() {
+        Set<String> classNames = new LinkedHashSet<>();
+        try {
+            FileObject fileObject = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(fileObject.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty()) {
+                        classNames.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 文件不存在
+        }
+        return classNames;
+    }
+
+}
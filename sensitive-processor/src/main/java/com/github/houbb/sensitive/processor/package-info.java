@@ -0,0 +1,7 @@
+/**
+ * 编译期注解处理
+ * （1）为脱敏类生成对应的脱敏器
+ * （2）运行时通过 ServiceLoader 加载，不存在时使用反射计划
+ * @since 0.0.14
+ */
+package com.github.houbb.sensitive.processor;
@@ -0,0 +1,56 @@
+package com.github.houbb.sensitive.test.bs;
+
+import com.github.houbb.sensitive.core.bs.Desensitizer;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserGroup;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 绑定类型的脱敏器测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class DesensitizerTest {
+
+    private static final Desensitizer<UserGroup> USER_GROUP = SensitiveBs.newInstance().forType(UserGroup.class);
+
+    @Test
+    public void sameAsBsTest() {
+        UserGroup userGroup = DataPrepareTest.buildUserGroup();
+        final String originalStr = userGroup.toString();
+
+        Assert.assertEquals(SensitiveBs.newInstance().desCopy(userGroup).toString(), USER_GROUP.desCopy(userGroup).toString());
+        Assert.assertEquals(SensitiveBs.newInstance().desJson(userGroup), USER_GROUP.desJson(userGroup));
+
+        StringBuilder stringBuilder = new StringBuilder();
+        USER_GROUP.writeJson(userGroup, stringBuilder);
+        Assert.assertEquals(SensitiveBs.newInstance().desJson(userGroup), stringBuilder.toString());
+        Assert.assertEquals(originalStr, userGroup.toString());
+    }
+
+    @Test
+    public void nullTest() {
+        Assert.assertEquals("null", USER_GROUP.desJson(null));
+
+        StringBuilder stringBuilder = new StringBuilder();
+        USER_GROUP.writeJson(null, stringBuilder);
+        Assert.assertEquals("null", stringBuilder.toString());
+    }
+
+    @Test
+    public void jacksonTest() {
+        User user = DataPrepareTest.buildUser();
+        Desensitizer<User> desensitizer = SensitiveBs.newInstance()
+                .sensitive(Sensitives.jackson())
+                .forType(User.class);
+
+        Assert.assertEquals(SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(user),
+                desensitizer.desJson(user));
+        Assert.assertEquals(SensitiveBs.newInstance().desCopy(user).toString(), desensitizer.desCopy(user).toString());
+    }
+
+}
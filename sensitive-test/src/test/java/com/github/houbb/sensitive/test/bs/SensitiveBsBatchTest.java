@@ -0,0 +1,83 @@
+package com.github.houbb.sensitive.test.bs;
+
+import com.github.houbb.sensitive.core.api.SensitiveUtil;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.custom.ThreadNameModel;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 批量脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveBsBatchTest {
+
+    @Test
+    public void parallelTest() {
+        List<User> userList = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            User user = DataPrepareTest.buildUser();
+            user.setPhone("188" + (10000000 + i));
+            userList.add(user);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SensitiveBs sensitiveBs = SensitiveBs.newInstance()
+                    .forkJoinPool(pool)
+                    .parallelThreshold(100);
+
+            List<User> copyList = sensitiveBs.desCopyCollection(userList);
+            List<String> jsonList = sensitiveBs.desJsonCollection(userList);
+            Assert.assertEquals(userList.size(), copyList.size());
+            Assert.assertEquals(userList.size(), jsonList.size());
+            for (int i = 0; i < userList.size(); i++) {
+                User user = userList.get(i);
+                Assert.assertEquals(SensitiveBs.newInstance().desCopy(user).toString(), copyList.get(i).toString());
+                Assert.assertEquals(SensitiveBs.newInstance().desJson(user), jsonList.get(i));
+                Assert.assertEquals("188" + (10000000 + i), user.getPhone());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void emptyTest() {
+        Assert.assertTrue(SensitiveBs.newInstance().desCopyCollection(null).isEmpty());
+        Assert.assertTrue(SensitiveBs.newInstance().desJsonCollection(Collections.emptyList()).isEmpty());
+    }
+
+    /**
+     * 没有开启并行处理时，大集合也在调用线程中处理
+     */
+    @Test
+    public void sequentialByDefaultTest() {
+        List<ThreadNameModel> modelList = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            ThreadNameModel model = new ThreadNameModel();
+            model.setName("name" + i);
+            modelList.add(model);
+        }
+
+        final String threadName = Thread.currentThread().getName();
+        for (ThreadNameModel model : SensitiveUtil.desCopyCollection(modelList)) {
+            Assert.assertEquals(threadName, model.getName());
+        }
+        for (ThreadNameModel model : SensitiveBs.newInstance().desCopyCollection(modelList)) {
+            Assert.assertEquals(threadName, model.getName());
+        }
+        for (String json : SensitiveUtil.desJsonCollection(modelList)) {
+            Assert.assertEquals("{\"name\":\"" + threadName + "\"}", json);
+        }
+    }
+
+}
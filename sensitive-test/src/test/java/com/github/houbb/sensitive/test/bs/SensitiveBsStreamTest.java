@@ -0,0 +1,64 @@
+package com.github.houbb.sensitive.test.bs;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 脱敏流式输出测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveBsStreamTest {
+
+    @Test
+    public void streamTest() {
+        List<User> userList = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            userList.add(DataPrepareTest.buildUser());
+        }
+        List<Object> objects = Arrays.<Object>asList(DataPrepareTest.buildUser(), userList, null);
+
+        for (SensitiveBs sensitiveBs : Arrays.asList(SensitiveBs.newInstance(),
+                SensitiveBs.newInstance().sensitive(Sensitives.jackson()))) {
+            for (Object object : objects) {
+                final String json = sensitiveBs.desJson(object);
+
+                StringBuilder stringBuilder = new StringBuilder();
+                sensitiveBs.desJson(object, stringBuilder);
+                Assert.assertEquals(json, stringBuilder.toString());
+
+                StringWriter stringWriter = new StringWriter();
+                sensitiveBs.desJson(object, stringWriter);
+                Assert.assertEquals(json, stringWriter.toString());
+
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                sensitiveBs.desJson(object, outputStream);
+                Assert.assertEquals(json, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+
+                ByteBuffer byteBuffer = ByteBuffer.allocate(json.length() * 3);
+                sensitiveBs.desJson(object, byteBuffer);
+                byteBuffer.flip();
+                Assert.assertEquals(json, StandardCharsets.UTF_8.decode(byteBuffer).toString());
+            }
+        }
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void byteBufferOverflowTest() {
+        SensitiveBs.newInstance().desJson(DataPrepareTest.buildUser(), ByteBuffer.allocate(8));
+    }
+
+}
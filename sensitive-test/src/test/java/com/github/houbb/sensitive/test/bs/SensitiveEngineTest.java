@@ -0,0 +1,86 @@
+package com.github.houbb.sensitive.test.bs;
+
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 脱敏引擎测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveEngineTest {
+
+    @Test
+    public void sameAsBsTest() {
+        User user = DataPrepareTest.buildUser();
+        SensitiveEngine engine = SensitiveBs.newInstance().build();
+
+        Assert.assertEquals(SensitiveBs.newInstance().desCopy(user).toString(), engine.desCopy(user).toString());
+        Assert.assertEquals(SensitiveBs.newInstance().desJson(user), engine.desJson(user));
+    }
+
+    /**
+     * 配置没有变化时复用引擎，修改配置后重新创建，已经创建的引擎不受影响
+     */
+    @Test
+    public void reuseTest() {
+        SensitiveBs sensitiveBs = SensitiveBs.newInstance();
+        SensitiveEngine engine = sensitiveBs.build();
+        Assert.assertSame(engine, sensitiveBs.build());
+
+        sensitiveBs.jsonField("phone", new StrategyPhone());
+        SensitiveEngine newEngine = sensitiveBs.build();
+        Assert.assertNotSame(engine, newEngine);
+
+        byte[] json = "{\"phone\":\"18888888888\"}".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals("{\"phone\":\"18888888888\"}", new String(engine.desRawJson(json), StandardCharsets.UTF_8));
+        Assert.assertEquals("{\"phone\":\"188****8888\"}", new String(newEngine.desRawJson(json), StandardCharsets.UTF_8));
+        Assert.assertEquals("{\"phone\":\"188****8888\"}", new String(sensitiveBs.desRawJson(json), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void concurrentTest() throws Exception {
+        final SensitiveEngine engine = SensitiveBs.newInstance().build();
+        final String expectJson = engine.desJson(DataPrepareTest.buildUser());
+        final String expectCopy = engine.desCopy(DataPrepareTest.buildUser()).toString();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> futureList = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futureList.add(executorService.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int j = 0; j < 100; j++) {
+                            User user = DataPrepareTest.buildUser();
+                            if (!expectJson.equals(engine.desJson(user))
+                                    || !expectCopy.equals(engine.desCopy(user).toString())) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> future : futureList) {
+                Assert.assertTrue(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.houbb.sensitive.test.core.accessor;
+
+import com.github.houbb.sensitive.core.support.accessor.FieldAccessors;
+import com.github.houbb.sensitive.core.support.accessor.IFieldAccessor;
+import com.github.houbb.sensitive.core.support.accessor.MethodHandleFieldAccessor;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * 字段访问器测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class FieldAccessorsTest {
+
+    @Test
+    public void methodHandleTest() throws NoSuchFieldException {
+        Field field = User.class.getDeclaredField("phone");
+        field.setAccessible(true);
+
+        IFieldAccessor accessor = FieldAccessors.methodHandle(field);
+        Assert.assertTrue(accessor instanceof MethodHandleFieldAccessor);
+
+        User user = DataPrepareTest.buildUser();
+        Assert.assertEquals("18888888888", accessor.get(user));
+
+        accessor.set(user, "188****8888");
+        Assert.assertEquals("188****8888", user.getPhone());
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.github.houbb.sensitive.test.core.custom;
+
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+
+/**
+ * 继承内置策略，只重写 des 方法
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class CustomPhoneStrategy extends StrategyPhone {
+
+    @Override
+    public Object des(Object original, IContext context) {
+        return "custom-" + super.des(original, context);
+    }
+
+}
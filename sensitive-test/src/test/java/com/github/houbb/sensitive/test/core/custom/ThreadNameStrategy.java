@@ -0,0 +1,18 @@
+package com.github.houbb.sensitive.test.core.custom;
+
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+
+/**
+ * 返回执行脱敏的线程名称
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ThreadNameStrategy implements IStrategy {
+
+    @Override
+    public Object des(Object original, IContext context) {
+        return Thread.currentThread().getName();
+    }
+
+}
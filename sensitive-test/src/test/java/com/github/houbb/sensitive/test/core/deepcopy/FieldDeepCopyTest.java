@@ -0,0 +1,126 @@
+package com.github.houbb.sensitive.test.core.deepcopy;
+
+import com.github.houbb.sensitive.api.IDeepCopy;
+import com.github.houbb.sensitive.core.api.SensitiveUtil;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.deepcopy.DeepCopies;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserEntryObject;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserGroup;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 基于字段的深度拷贝测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class FieldDeepCopyTest {
+
+    /**
+     * 脱敏结果和 json 拷贝保持一致
+     */
+    @Test
+    public void desCopyTest() {
+        SensitiveBs sensitiveBs = SensitiveBs.newInstance().deepCopy(DeepCopies.field());
+
+        UserEntryObject userEntryObject = DataPrepareTest.buildUserEntryObject();
+        Assert.assertEquals(SensitiveUtil.desCopy(userEntryObject).toString(),
+                sensitiveBs.desCopy(userEntryObject).toString());
+        Assert.assertEquals(DataPrepareTest.buildUserEntryObject().toString(), userEntryObject.toString());
+
+        // 引用关系保持不变，同一个对象只脱敏一次
+        UserGroup userGroup = sensitiveBs.desCopy(DataPrepareTest.buildUserGroup());
+        Assert.assertSame(userGroup.getUser(), userGroup.getUserMap().get("map"));
+        Assert.assertEquals("User{username='脱*君', idCard='123456**********34', password='null', email='123**@qq.com', phone='188****8888'}",
+                userGroup.getUser().toString());
+    }
+
+    /**
+     * 没有无参构造器、循环引用、不可变对象共享
+     */
+    @Test
+    public void structureTest() {
+        IDeepCopy deepCopy = DeepCopies.field();
+
+        Node first = new Node("first", LocalDate.of(2020, 1, 1));
+        Node second = new Node("second", LocalDate.of(2020, 1, 2));
+        first.next = second;
+        second.next = first;
+        first.children.add(second);
+
+        Node copy = deepCopy.deepCopy(first);
+        Assert.assertNotSame(first, copy);
+        Assert.assertNotSame(second, copy.next);
+        Assert.assertSame(copy, copy.next.next);
+        Assert.assertSame(copy.next, copy.children.get(0));
+        Assert.assertEquals("second", copy.next.name);
+        Assert.assertSame(first.date, copy.date);
+        Assert.assertSame(first.amount, copy.amount);
+        Assert.assertNotSame(first.children, copy.children);
+    }
+
+    /**
+     * 可变的 JDK 类和自定义集合的字段
+     */
+    @Test
+    public void mutableTest() {
+        IDeepCopy deepCopy = DeepCopies.field();
+
+        Holder holder = new Holder();
+        holder.count.set(1);
+        holder.builder.append("a");
+        holder.tags.name = "tags";
+        holder.tags.add(new StringBuilder("b"));
+
+        Holder copy = deepCopy.deepCopy(holder);
+        Assert.assertNotSame(holder.count, copy.count);
+        Assert.assertEquals(1, copy.count.get());
+        Assert.assertNotSame(holder.builder, copy.builder);
+        Assert.assertEquals("a", copy.builder.toString());
+        Assert.assertNotSame(holder.date, copy.date);
+        Assert.assertEquals(holder.date, copy.date);
+
+        Assert.assertNotSame(holder.tags, copy.tags);
+        Assert.assertEquals("tags", copy.tags.name);
+        Assert.assertNotSame(holder.tags.get(0), copy.tags.get(0));
+
+        // 修改拷贝不影响原始对象
+        copy.count.incrementAndGet();
+        copy.builder.append("c");
+        Assert.assertEquals(1, holder.count.get());
+        Assert.assertEquals("a", holder.builder.toString());
+    }
+
+    private static class Holder {
+        private final AtomicInteger count = new AtomicInteger();
+        private final StringBuilder builder = new StringBuilder();
+        private final Date date = new Date();
+        private final TagList tags = new TagList();
+    }
+
+    private static class TagList extends ArrayList<StringBuilder> {
+        private String name;
+    }
+
+    private static class Node {
+        private final String name;
+        private final LocalDate date;
+        private final BigDecimal amount = BigDecimal.TEN;
+        private final List<Node> children = new ArrayList<>();
+        private Node next;
+
+        private Node(String name, LocalDate date) {
+            this.name = name;
+            this.date = date;
+        }
+    }
+
+}
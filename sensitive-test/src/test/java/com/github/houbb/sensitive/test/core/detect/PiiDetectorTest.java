@@ -0,0 +1,61 @@
+package com.github.houbb.sensitive.test.core.detect;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.detect.DefaultPiiDetector;
+import com.github.houbb.sensitive.core.support.detect.PiiMatch;
+import com.github.houbb.sensitive.core.support.detect.PiiType;
+import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * 敏感信息识别测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class PiiDetectorTest {
+
+    private static final String TEXT = "用户13812345678的身份证11010519491231002X，卡号6222021234567894，"
+            + "邮箱abc.def@qq.com。订单号 12345678901234，错误的身份证 110105194912310021，编号ab13812345678";
+
+    @Test
+    public void detectTest() {
+        List<PiiMatch> matches = new DefaultPiiDetector().detect(TEXT);
+
+        Assert.assertEquals(4, matches.size());
+        assertMatch(matches.get(0), PiiType.PHONE, "13812345678");
+        assertMatch(matches.get(1), PiiType.ID_CARD, "11010519491231002X");
+        assertMatch(matches.get(2), PiiType.BANK_CARD, "6222021234567894");
+        assertMatch(matches.get(3), PiiType.EMAIL, "abc.def@qq.com");
+    }
+
+    @Test
+    public void desTextTest() {
+        final String expect = "用户" + SensitiveStrategyUtil.phone("13812345678")
+                + "的身份证" + SensitiveStrategyUtil.cardId("11010519491231002X")
+                + "，卡号" + SensitiveStrategyUtil.cardId("6222021234567894")
+                + "，邮箱" + SensitiveStrategyUtil.email("abc.def@qq.com")
+                + "。订单号 12345678901234，错误的身份证 110105194912310021，编号ab13812345678";
+
+        Assert.assertEquals(expect, SensitiveBs.newInstance().desText(TEXT));
+        Assert.assertEquals("用户138****5678的身份证110105**********2X，卡号622202**********，"
+                        + "邮箱abc****@qq.com。订单号 12345678901234，错误的身份证 110105194912310021，编号ab13812345678",
+                SensitiveStrategyUtil.text(TEXT));
+    }
+
+    @Test
+    public void noMatchTest() {
+        final String text = "a@b 1.3812345678 abc@qq.c0m";
+        Assert.assertTrue(new DefaultPiiDetector().detect(text).isEmpty());
+        Assert.assertSame(text, SensitiveBs.newInstance().desText(text));
+        Assert.assertNull(SensitiveBs.newInstance().desText(null));
+    }
+
+    private void assertMatch(PiiMatch match, PiiType type, String value) {
+        Assert.assertEquals(type, match.getType());
+        Assert.assertEquals(value, TEXT.substring(match.getStart(), match.getEnd()));
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.github.houbb.sensitive.test.core.dictionary;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.core.api.strategory.StrategyDictionary;
+import com.github.houbb.sensitive.core.api.strategory.StrategyText;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.detect.CompositePiiDetector;
+import com.github.houbb.sensitive.core.support.detect.DefaultPiiDetector;
+import com.github.houbb.sensitive.core.support.detect.PiiMatch;
+import com.github.houbb.sensitive.core.support.dictionary.AhoCorasickDictionary;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 词典测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class AhoCorasickDictionaryTest {
+
+    private static final AhoCorasickDictionary DICTIONARY = AhoCorasickDictionary.of(
+            Arrays.asList("he", "she", "his", "hers", "张三", "张三丰", "李四"));
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void detectTest() {
+        Assert.assertEquals(7, DICTIONARY.size());
+        Assert.assertEquals("[1-6, 7-10, 11-13]", spans(DICTIONARY.detect("ushers 张三丰和李四")));
+        Assert.assertFalse(DICTIONARY.mightContain("abc 王五 xyz"));
+        Assert.assertTrue(DICTIONARY.detect("that 王五").isEmpty());
+        Assert.assertEquals("u***** ***和**", new StrategyDictionary(DICTIONARY).des("ushers 张三丰和李四", null));
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(20261017L);
+        final char[] alphabet = {'a', 'b', 'c', '张', '三'};
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            words.add(randomString(random, alphabet, 1 + random.nextInt(5)));
+        }
+        AhoCorasickDictionary dictionary = AhoCorasickDictionary.of(words);
+
+        for (int i = 0; i < 200; i++) {
+            String text = randomString(random, new char[]{'a', 'b', 'c', '张', '三', 'x'}, random.nextInt(40));
+            Assert.assertEquals(text, naiveSpans(words, text), spans(dictionary.detect(text)));
+        }
+    }
+
+    @Test
+    public void mapTest() throws Exception {
+        File file = temporaryFolder.newFile("dictionary.bin");
+        DICTIONARY.save(file.toPath());
+
+        AhoCorasickDictionary mapped = AhoCorasickDictionary.map(file.toPath());
+        Assert.assertEquals(DICTIONARY.size(), mapped.size());
+        Assert.assertEquals("[1-6, 7-10, 11-13]", spans(mapped.detect("ushers 张三丰和李四")));
+    }
+
+    @Test
+    public void textTest() {
+        StrategyText strategyText = new StrategyText(new CompositePiiDetector(new DefaultPiiDetector(), DICTIONARY));
+        Assert.assertEquals("客户***的手机号138****5678", strategyText.des("客户张三丰的手机号13812345678", null));
+    }
+
+    /**
+     * SensitiveBs.desText 使用指定的识别，或者注册的 StrategyText
+     */
+    @Test
+    public void desTextTest() {
+        final String text = "客户张三丰的手机号13812345678";
+        Assert.assertEquals("客户张三丰的手机号138****5678", SensitiveBs.newInstance().desText(text));
+        Assert.assertEquals("客户***的手机号138****5678", SensitiveBs.newInstance()
+                .piiDetector(new CompositePiiDetector(new DefaultPiiDetector(), DICTIONARY))
+                .desText(text));
+
+        SensitiveBs sensitiveBs = SensitiveBs.newInstance();
+        Assert.assertEquals("客户张三丰的手机号138****5678", sensitiveBs.desText(text));
+        try {
+            SensitiveInstances.register(StrategyText.class,
+                    new StrategyText(new CompositePiiDetector(new DefaultPiiDetector(), DICTIONARY)));
+            Assert.assertEquals("客户***的手机号138****5678", sensitiveBs.desText(text));
+
+            SensitiveInstances.register(StrategyText.class, new StrategyDictionary(DICTIONARY));
+            Assert.assertEquals("客户***的手机号13812345678", sensitiveBs.desText(text));
+        } finally {
+            SensitiveInstances.register(StrategyText.class, new StrategyText());
+        }
+    }
+
+    /**
+     * 词典词条和邮箱重叠时，合并后整体隐藏
+     */
+    @Test
+    public void overlapTest() {
+        AhoCorasickDictionary dictionary = AhoCorasickDictionary.of(Arrays.asList("acme", "客户"));
+        StrategyText strategyText = new StrategyText(new CompositePiiDetector(new DefaultPiiDetector(), dictionary));
+        Assert.assertEquals("联系 ********** 或 ****", strategyText.des("联系 x@acme.com 或 acme", null));
+        Assert.assertEquals("[0-2, 2-13]", spans(new CompositePiiDetector(new DefaultPiiDetector(), dictionary)
+                .detect("客户ab@acme.com")));
+    }
+
+    @Test(expected = SensitiveRuntimeException.class)
+    public void noDictionaryTest() {
+        new StrategyDictionary();
+    }
+
+    @Test
+    public void annotationTest() {
+        Customer customer = new Customer();
+        customer.setRemark("张三丰来电");
+
+        Assert.assertEquals("***来电", SensitiveBs.newInstance().desCopy(customer).getRemark());
+        Assert.assertEquals("{\"remark\":\"***来电\"}", SensitiveBs.newInstance().desJson(customer));
+    }
+
+    private static String randomString(Random random, char[] alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet[random.nextInt(alphabet.length)];
+        }
+        return new String(chars);
+    }
+
+    private static String naiveSpans(List<String> words, String text) {
+        boolean[] covered = new boolean[text.length()];
+        boolean[] boundary = new boolean[text.length() + 1];
+        List<int[]> spanList = new ArrayList<>();
+        for (String word : words) {
+            int index = text.indexOf(word);
+            while (index >= 0) {
+                spanList.add(new int[]{index, index + word.length()});
+                index = text.indexOf(word, index + 1);
+            }
+        }
+        for (int[] span : spanList) {
+            for (int i = span[0]; i < span[1]; i++) {
+                covered[i] = true;
+            }
+        }
+        // 只合并重叠的区间，相邻的区间保持独立
+        for (int[] span : spanList) {
+            boundary[span[0]] = true;
+            boundary[span[1]] = true;
+        }
+        for (int[] span : spanList) {
+            for (int i = span[0] + 1; i < span[1]; i++) {
+                boundary[i] = false;
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            if (start >= 0 && (i == text.length() || !covered[i] || boundary[i])) {
+                results.add(start + "-" + i);
+                start = -1;
+            }
+            if (start < 0 && i < text.length() && covered[i]) {
+                start = i;
+            }
+        }
+        return results.toString();
+    }
+
+    private static String spans(List<PiiMatch> matches) {
+        List<String> results = new ArrayList<>();
+        for (PiiMatch match : matches) {
+            results.add(match.getStart() + "-" + match.getEnd());
+        }
+        return results.toString();
+    }
+
+    public static class CustomerNameStrategy extends StrategyDictionary {
+
+        public CustomerNameStrategy() {
+            super(DICTIONARY);
+        }
+
+    }
+
+    public static class Customer {
+
+        @Sensitive(strategy = CustomerNameStrategy.class)
+        private String remark;
+
+        public String getRemark() {
+            return remark;
+        }
+
+        public void setRemark(String remark) {
+            this.remark = remark;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.houbb.sensitive.test.core.filter;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.JavaBeanSerializer;
+import com.alibaba.fastjson.serializer.NameFilter;
+import com.alibaba.fastjson.serializer.ObjectSerializer;
+import com.alibaba.fastjson.serializer.PropertyFilter;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.github.houbb.sensitive.core.support.filter.DefaultContextValueFilter;
+import com.github.houbb.sensitive.core.support.filter.SensitiveBeanSerializer;
+import com.github.houbb.sensitive.core.support.filter.SensitiveSerializeConfig;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserEntryObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 脱敏序列化配置测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveSerializeConfigTest {
+
+    /**
+     * 不包含脱敏字段的类，不添加过滤器
+     */
+    @Test
+    public void noFilterTest() {
+        ObjectSerializer serializer = SensitiveSerializeConfig.getInstance().getObjectWriter(UserEntryObject.class);
+        Assert.assertTrue(serializer instanceof JavaBeanSerializer);
+        Assert.assertTrue(((JavaBeanSerializer) serializer).getValueFilters().isEmpty());
+        Assert.assertTrue(((JavaBeanSerializer) serializer).getContextValueFilters().isEmpty());
+
+        ObjectSerializer userSerializer = SensitiveSerializeConfig.getInstance().getObjectWriter(User.class);
+        Assert.assertTrue(userSerializer instanceof SensitiveBeanSerializer);
+    }
+
+    /**
+     * 直接写入的结果和过滤器保持一致
+     */
+    @Test
+    public void sameAsFilterTest() {
+        List<Object> objects = Arrays.<Object>asList(DataPrepareTest.buildUser(),
+                DataPrepareTest.buildUserEntryBaseType(),
+                DataPrepareTest.buildUserCollection(),
+                DataPrepareTest.buildUserGroup(),
+                DataPrepareTest.buildSystemBuiltInMixed());
+
+        final DefaultContextValueFilter filter = new DefaultContextValueFilter();
+        for (Object object : objects) {
+            Assert.assertEquals(JSON.toJSONString(object, filter),
+                    JSON.toJSONString(object, SensitiveSerializeConfig.getInstance()));
+            Assert.assertEquals(JSON.toJSONString(object, filter, SerializerFeature.WriteMapNullValue),
+                    JSON.toJSONString(object, SensitiveSerializeConfig.getInstance(), SerializerFeature.WriteMapNullValue));
+            // 格式化输出时回退到过滤器
+            Assert.assertEquals(JSON.toJSONString(object, filter, SerializerFeature.PrettyFormat),
+                    JSON.toJSONString(object, SensitiveSerializeConfig.getInstance(), SerializerFeature.PrettyFormat));
+        }
+    }
+
+    /**
+     * 调用方的过滤器、null 值特性依然生效
+     */
+    @Test
+    public void callerFilterTest() {
+        final User user = DataPrepareTest.buildUser();
+        final SerializeFilter propertyFilter = new PropertyFilter() {
+            @Override
+            public boolean apply(Object object, String name, Object value) {
+                return !"email".equals(name);
+            }
+        };
+        final SerializeFilter nameFilter = new NameFilter() {
+            @Override
+            public String process(Object object, String name, Object value) {
+                return name.toUpperCase();
+            }
+        };
+
+        String json = JSON.toJSONString(user, SensitiveSerializeConfig.getInstance(),
+                new SerializeFilter[]{propertyFilter, nameFilter});
+        Assert.assertFalse(json.contains("EMAIL"));
+        Assert.assertTrue(json.contains("\"PHONE\":\"188****8888\""));
+
+        final DefaultContextValueFilter filter = new DefaultContextValueFilter();
+        Assert.assertEquals(JSON.toJSONString(user, filter, SerializerFeature.WriteNullStringAsEmpty),
+                JSON.toJSONString(user, SensitiveSerializeConfig.getInstance(), SerializerFeature.WriteNullStringAsEmpty));
+        Assert.assertTrue(JSON.toJSONString(user, SensitiveSerializeConfig.getInstance(),
+                SerializerFeature.WriteNullStringAsEmpty).contains("\"password\":\"\""));
+    }
+
+    /**
+     * 嵌套对象依然会脱敏
+     */
+    @Test
+    public void nestedTest() {
+        UserEntryObject entryObject = DataPrepareTest.buildUserEntryObject();
+        final String original = JSON.toJSONString(entryObject);
+
+        String json = JSON.toJSONString(entryObject, SensitiveSerializeConfig.getInstance());
+        Assert.assertFalse(json.contains("18888888888"));
+        Assert.assertTrue(json.contains("188****8888"));
+        Assert.assertEquals(original, JSON.toJSONString(entryObject));
+    }
+
+}
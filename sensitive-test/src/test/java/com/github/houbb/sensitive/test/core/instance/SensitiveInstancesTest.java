@@ -0,0 +1,82 @@
+package com.github.houbb.sensitive.test.core.instance;
+
+import com.github.houbb.sensitive.annotation.SensitivePrototype;
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.support.instance.InstanceHolder;
+import com.github.houbb.sensitive.core.support.instance.SensitiveInstances;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 策略实例注册测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveInstancesTest {
+
+    @Test
+    public void singletonTest() {
+        Assert.assertSame(SensitiveInstances.get(StrategyPhone.class),
+                SensitiveInstances.get(StrategyPhone.class));
+        Assert.assertFalse(SensitiveInstances.holder(StrategyPhone.class).isPrototype());
+    }
+
+    @Test
+    public void prototypeTest() {
+        Assert.assertNotSame(SensitiveInstances.get(StatefulStrategy.class),
+                SensitiveInstances.get(StatefulStrategy.class));
+        Assert.assertTrue(SensitiveInstances.holder(StatefulStrategy.class).isPrototype());
+    }
+
+    @Test
+    public void registerAfterResolveTest() {
+        InstanceHolder<PrefixStrategy> holder = SensitiveInstances.holder(PrefixStrategy.class);
+        Assert.assertEquals("-a", holder.get().des("a", null));
+
+        // 已经被计划引用的持有者同样看到新注册的实例
+        SensitiveInstances.register(PrefixStrategy.class, new PrefixStrategy("x"));
+        Assert.assertSame(holder, SensitiveInstances.holder(PrefixStrategy.class));
+        Assert.assertEquals("x-a", holder.get().des("a", null));
+    }
+
+    /**
+     * 带有构造参数的策略
+     * @since 0.0.14
+     */
+    public static class PrefixStrategy implements IStrategy {
+
+        private final String prefix;
+
+        public PrefixStrategy() {
+            this("");
+        }
+
+        public PrefixStrategy(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Object des(Object original, IContext context) {
+            return prefix + "-" + original;
+        }
+    }
+
+    /**
+     * 有状态的策略
+     * @since 0.0.14
+     */
+    @SensitivePrototype
+    public static class StatefulStrategy implements IStrategy {
+
+        private int count;
+
+        @Override
+        public Object des(Object original, IContext context) {
+            count++;
+            return original + "-" + count;
+        }
+    }
+
+}
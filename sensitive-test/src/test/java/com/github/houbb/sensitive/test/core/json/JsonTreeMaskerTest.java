@@ -0,0 +1,57 @@
+package com.github.houbb.sensitive.test.core.json;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * JSON 树脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class JsonTreeMaskerTest {
+
+    private static final SensitiveEngine ENGINE = SensitiveBs.newInstance()
+            .jsonField("phone", new StrategyPhone())
+            .jsonField("password", new StrategyPassword())
+            .jsonPath("user.idCard", new StrategyCardId())
+            .build();
+
+    private static final String JSON_TEXT = "{\"user\":{\"idCard\":\"11010519491231002X\",\"phone\":13812345678,\"password\":\"123456\"},"
+            + "\"idCard\":\"11010519491231002X\",\"contacts\":[{\"phone\":[\"13912345678\",null]}],\"ok\":true}";
+
+    private static final String EXPECT = "{\"user\":{\"idCard\":\"110105**********2X\",\"phone\":\"138****5678\",\"password\":null},"
+            + "\"idCard\":\"11010519491231002X\",\"contacts\":[{\"phone\":[\"139****5678\",null]}],\"ok\":true}";
+
+    @Test
+    public void fastJsonTest() {
+        JSONObject jsonObject = JSON.parseObject(JSON_TEXT);
+        JSONObject contact = jsonObject.getJSONArray("contacts").getJSONObject(0);
+
+        Assert.assertSame(jsonObject, ENGINE.desJsonTree(jsonObject));
+        Assert.assertEquals(JSON.parseObject(EXPECT), jsonObject);
+        Assert.assertSame(contact, jsonObject.getJSONArray("contacts").getJSONObject(0));
+
+        JSONArray jsonArray = JSON.parseArray("[" + JSON_TEXT + "]");
+        Assert.assertEquals(JSON.parseArray("[" + EXPECT + "]"), ENGINE.desJsonTree(jsonArray));
+    }
+
+    @Test
+    public void jacksonTest() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode jsonNode = objectMapper.readTree(JSON_TEXT);
+
+        Assert.assertSame(jsonNode, ENGINE.desJsonTree(jsonNode));
+        Assert.assertEquals(objectMapper.readTree(EXPECT), jsonNode);
+    }
+
+}
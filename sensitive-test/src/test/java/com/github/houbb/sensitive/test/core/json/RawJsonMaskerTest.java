@@ -0,0 +1,85 @@
+package com.github.houbb.sensitive.test.core.json;
+
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.io.ByteBufferOutputStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 原始 JSON 脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class RawJsonMaskerTest {
+
+    private static final SensitiveEngine ENGINE = SensitiveBs.newInstance()
+            .jsonField("phone", new StrategyPhone())
+            .jsonField("phones", new StrategyPhone())
+            .jsonField("password", new StrategyPassword())
+            .jsonPath("$.user.idCard", new StrategyCardId())
+            .jsonPath("users.name", new StrategyChineseName())
+            .build();
+
+    @Test
+    public void fieldTest() {
+        final String json = "{\"id\": 1, \"phone\":\"13812345678\", \"password\" : \"123456\","
+                + " \"contact\":{\"phone\":13912345678, \"remark\":\"a\\\"b\"}, \"phones\":[\"13812345678\", null]}";
+
+        Assert.assertEquals("{\"id\": 1, \"phone\":\"138****5678\", \"password\" : null,"
+                + " \"contact\":{\"phone\":\"139****5678\", \"remark\":\"a\\\"b\"}, \"phones\":[\"138****5678\", null]}", des(json));
+    }
+
+    @Test
+    public void pathTest() {
+        final String json = "{\"user\":{\"idCard\":\"11010519491231002X\",\"users\":[{\"name\":\"张三丰\"}]},"
+                + "\"idCard\":\"11010519491231002X\",\"users\":[{\"name\":\"张三\\u4e30\"},{\"name\":\"李四\"}]}";
+
+        Assert.assertEquals("{\"user\":{\"idCard\":\"110105**********2X\",\"users\":[{\"name\":\"张三丰\"}]},"
+                + "\"idCard\":\"11010519491231002X\",\"users\":[{\"name\":\"张*丰\"},{\"name\":\"*四\"}]}", des(json));
+    }
+
+    /**
+     * 字段名包含转义时，解码后匹配规则
+     */
+    @Test
+    public void escapedKeyTest() {
+        final String json = "{\"ph\\u006fne\":\"13812345678\",\"us\\u0065r\":{\"idCard\":\"11010519491231002X\"}}";
+
+        Assert.assertEquals("{\"ph\\u006fne\":\"138****5678\",\"us\\u0065r\":{\"idCard\":\"110105**********2X\"}}", des(json));
+    }
+
+    @Test
+    public void unchangedTest() {
+        final String json = " [{\"name\":\"\\u0041\\n😀\", \"age\":-1.5e3, \"ok\":true, \"list\":[], \"map\":{}}] ";
+        Assert.assertEquals(json, des(json));
+    }
+
+    @Test
+    public void outputTest() {
+        final byte[] bytes = "xx{\"phone\":\"13812345678\"}yy".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer byteBuffer = ByteBuffer.allocate(64);
+        ENGINE.desRawJson(bytes, 2, bytes.length - 4, new ByteBufferOutputStream(byteBuffer));
+
+        Assert.assertEquals("{\"phone\":\"138****5678\"}",
+                new String(byteBuffer.array(), 0, byteBuffer.position(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = SensitiveRuntimeException.class)
+    public void illegalTest() {
+        des("{\"phone\":\"13812345678\"");
+    }
+
+    private static String des(String json) {
+        return new String(ENGINE.desRawJson(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.houbb.sensitive.test.core.masker;
+
+import com.github.houbb.sensitive.core.api.SensitiveUtil;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.masker.AbstractGeneratedBeanMasker;
+import com.github.houbb.sensitive.core.support.masker.GeneratedBeanMaskers;
+import com.github.houbb.sensitive.core.support.masker.PlanBeanMasker;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.FieldUser;
+import com.github.houbb.sensitive.test.model.sensitive.PrimitiveUser;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import com.github.houbb.sensitive.test.model.sensitive.system.SensitiveErrorSystemBuiltInModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 编译期生成脱敏器测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class GeneratedBeanMaskersTest {
+
+    @Test
+    public void generatedTest() {
+        Assert.assertNotNull(GeneratedBeanMaskers.get(FieldUser.class));
+        ClassPlan plan = ClassPlanCache.getInstance().get(FieldUser.class);
+        Assert.assertTrue(plan.getBeanMasker() instanceof AbstractGeneratedBeanMasker);
+
+        final String sensitiveStr = "FieldUser{username='脱*君', phone='188****8888'}";
+        FieldUser sensitiveUser = SensitiveUtil.desCopy(buildFieldUser());
+        Assert.assertEquals(sensitiveStr, sensitiveUser.toString());
+
+        // 和运行时计划的结果一致
+        FieldUser runtimeUser = buildFieldUser();
+        new ClassPlan(FieldUser.class, plan.getAllFieldList(), plan.getFieldPlans())
+                .getBeanMasker().mask(runtimeUser, SensitiveContext.newInstance());
+        Assert.assertEquals(sensitiveStr, runtimeUser.toString());
+    }
+
+    /**
+     * 私有字段不生成，避免通过 getter/setter 读写导致结果和运行时计划不同
+     */
+    @Test
+    public void privateFieldTest() {
+        Assert.assertNull(GeneratedBeanMaskers.get(User.class));
+        Assert.assertNull(GeneratedBeanMaskers.get(PlanBeanMaskerTest.AccessorUser.class));
+        Assert.assertTrue(ClassPlanCache.getInstance().get(PlanBeanMaskerTest.AccessorUser.class).getBeanMasker() instanceof PlanBeanMasker);
+
+        final String sensitiveStr = "User{username='脱*君', idCard='123456**********34', password='null', email='123**@qq.com', phone='188****8888'}";
+        Assert.assertEquals(sensitiveStr, SensitiveUtil.desCopy(DataPrepareTest.buildUser()).toString());
+    }
+
+    /**
+     * 不支持生成的类，依然由运行时处理
+     */
+    @Test
+    public void unsupportedTest() {
+        Assert.assertNull(GeneratedBeanMaskers.get(SensitiveErrorSystemBuiltInModel.class));
+    }
+
+    /**
+     * 原始类型字段不生成，依然由运行时处理
+     */
+    @Test
+    public void primitiveTest() {
+        Assert.assertNull(GeneratedBeanMaskers.get(PrimitiveUser.class));
+
+        PrimitiveUser user = new PrimitiveUser();
+        user.setUsername("脱敏君");
+        user.setAge(27);
+        Assert.assertEquals("PrimitiveUser{username='脱*君', age=20}", SensitiveUtil.desCopy(user).toString());
+    }
+
+    private static FieldUser buildFieldUser() {
+        FieldUser user = new FieldUser();
+        user.setUsername("脱敏君");
+        user.phone = "18888888888";
+        return user;
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.github.houbb.sensitive.test.core.masker;
+
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+import com.github.houbb.sensitive.core.api.context.SensitiveContext;
+import com.github.houbb.sensitive.core.support.masker.IBeanMasker;
+import com.github.houbb.sensitive.core.support.masker.PlanBeanMasker;
+import com.github.houbb.sensitive.core.support.plan.ClassPlan;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 计划脱敏器测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class PlanBeanMaskerTest {
+
+    @Test
+    public void maskTest() {
+        final String sensitiveStr = "User{username='脱*君', idCard='123456**********34', password='null', email='123**@qq.com', phone='188****8888'}";
+
+        ClassPlan plan = ClassPlanCache.getInstance().get(User.class);
+        ClassPlan newPlan = new ClassPlan(User.class, plan.getAllFieldList(), plan.getFieldPlans());
+        IBeanMasker<Object> masker = newPlan.getBeanMasker();
+        Assert.assertTrue(masker instanceof PlanBeanMasker);
+
+        User user = DataPrepareTest.buildUser();
+        masker.mask(user, SensitiveContext.newInstance());
+        Assert.assertEquals(sensitiveStr, user.toString());
+    }
+
+    @Test
+    public void fieldAccessTest() {
+        ClassPlan plan = ClassPlanCache.getInstance().get(AccessorUser.class);
+        ClassPlan newPlan = new ClassPlan(AccessorUser.class, plan.getAllFieldList(), plan.getFieldPlans());
+        IBeanMasker<Object> masker = newPlan.getBeanMasker();
+
+        // 直接读写字段，不经过 getter/setter
+        AccessorUser user = new AccessorUser();
+        user.phone = "13812345678";
+        masker.mask(user, SensitiveContext.newInstance());
+        Assert.assertEquals("138****5678", user.phone);
+    }
+
+    /**
+     * getter/setter 中有额外逻辑的对象
+     * @since 0.0.14
+     */
+    public static class AccessorUser {
+
+        @SensitiveStrategyPhone
+        private String phone;
+
+        public String getPhone() {
+            return "getter:" + phone;
+        }
+
+        public void setPhone(String phone) {
+            this.phone = "setter:" + phone;
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.github.houbb.sensitive.test.core.rule;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.rule.IRuleReloadListener;
+import com.github.houbb.sensitive.core.support.rule.RuleReloadResult;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleRegistry;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleWatcher;
+import com.github.houbb.sensitive.test.model.rule.RuleOrder;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 规则文件监听测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveRuleWatcherTest {
+
+    private static final String ORDER_NO = "com.github.houbb.sensitive.test.model.rule.RuleOrder#orderNo";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void watchTest() throws Exception {
+        final File file = folder.newFile("sensitive.rules");
+        Files.write(file.toPath(), (ORDER_NO + " = maskAll\n").getBytes(StandardCharsets.UTF_8));
+
+        final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        SensitiveRuleWatcher watcher = SensitiveRuleWatcher.watch(file.toPath(), new IRuleReloadListener() {
+            @Override
+            public void onReload(RuleReloadResult result) {
+                if (null != result) {
+                    queue.add(result);
+                }
+            }
+
+            @Override
+            public void onError(Exception e) {
+                queue.add(e);
+            }
+        });
+        try {
+            Assert.assertEquals("********", SensitiveBs.newInstance().desCopy(buildOrder()).getOrderNo());
+
+            Files.write(file.toPath(), (ORDER_NO + " = ignore\n").getBytes(StandardCharsets.UTF_8));
+            Object event = queue.poll(30, TimeUnit.SECONDS);
+            Assert.assertTrue(String.valueOf(event), event instanceof RuleReloadResult);
+            Assert.assertEquals("20261016", SensitiveBs.newInstance().desCopy(buildOrder()).getOrderNo());
+        } finally {
+            watcher.close();
+            SensitiveRuleRegistry.remove(watcher.getSource());
+        }
+    }
+
+    /**
+     * 连续写入时，静默时间之后只加载最终的文件
+     */
+    @Test
+    public void debounceTest() throws Exception {
+        final File file = folder.newFile("debounce.rules");
+        Files.write(file.toPath(), (ORDER_NO + " = maskAll\n").getBytes(StandardCharsets.UTF_8));
+
+        final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        SensitiveRuleWatcher watcher = SensitiveRuleWatcher.watch(file.toPath(), new IRuleReloadListener() {
+            @Override
+            public void onReload(RuleReloadResult result) {
+                queue.add(null == result ? "unchanged" : result);
+            }
+
+            @Override
+            public void onError(Exception e) {
+                queue.add(e);
+            }
+        }, 1000);
+        try {
+            // 写了一半的文件不合法，不会被加载
+            Files.write(file.toPath(), (ORDER_NO + " = ").getBytes(StandardCharsets.UTF_8));
+            Files.write(file.toPath(), (ORDER_NO + " = ignore\n").getBytes(StandardCharsets.UTF_8));
+
+            Object event = queue.poll(30, TimeUnit.SECONDS);
+            Assert.assertTrue(String.valueOf(event), event instanceof RuleReloadResult);
+            Assert.assertEquals("20261016", SensitiveBs.newInstance().desCopy(buildOrder()).getOrderNo());
+            Assert.assertNull(queue.poll(2, TimeUnit.SECONDS));
+        } finally {
+            watcher.close();
+            SensitiveRuleRegistry.remove(watcher.getSource());
+        }
+    }
+
+    /**
+     * 监听器抛出异常后，依然继续监听
+     */
+    @Test
+    public void listenerErrorTest() throws Exception {
+        final File file = folder.newFile("listener.rules");
+        Files.write(file.toPath(), (ORDER_NO + " = maskAll\n").getBytes(StandardCharsets.UTF_8));
+
+        final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+        SensitiveRuleWatcher watcher = SensitiveRuleWatcher.watch(file.toPath(), new IRuleReloadListener() {
+            @Override
+            public void onReload(RuleReloadResult result) {
+                if (null != result) {
+                    queue.add(result);
+                }
+                throw new IllegalStateException("listener");
+            }
+
+            @Override
+            public void onError(Exception e) {
+                throw new IllegalStateException("listener");
+            }
+        }, 100);
+        try {
+            Files.write(file.toPath(), (ORDER_NO + " = ignore\n").getBytes(StandardCharsets.UTF_8));
+            Assert.assertNotNull(queue.poll(30, TimeUnit.SECONDS));
+
+            Files.write(file.toPath(), (ORDER_NO + " = maskAll\n").getBytes(StandardCharsets.UTF_8));
+            Assert.assertNotNull(queue.poll(30, TimeUnit.SECONDS));
+            Assert.assertEquals("********", SensitiveBs.newInstance().desCopy(buildOrder()).getOrderNo());
+        } finally {
+            watcher.close();
+            SensitiveRuleRegistry.remove(watcher.getSource());
+        }
+    }
+
+    /**
+     * 创建时加载失败，规则不变
+     */
+    @Test
+    public void invalidFileTest() throws Exception {
+        final File file = folder.newFile("invalid.rules");
+        Files.write(file.toPath(), (ORDER_NO + " = ").getBytes(StandardCharsets.UTF_8));
+
+        try {
+            SensitiveRuleWatcher.watch(file.toPath());
+            Assert.fail();
+        } catch (RuntimeException e) {
+            // 文件不合法
+        }
+        Assert.assertEquals("20261016", SensitiveBs.newInstance().desCopy(buildOrder()).getOrderNo());
+    }
+
+    private RuleOrder buildOrder() {
+        RuleOrder order = new RuleOrder();
+        order.setOrderNo("20261016");
+        return order;
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.github.houbb.sensitive.test.core.rule;
+
+import com.alibaba.fastjson.JSON;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.bs.Desensitizer;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.rule.RuleReloadResult;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleRegistry;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRules;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.model.rule.RuleOrder;
+import com.github.houbb.sensitive.test.model.rule.RuleUser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 外部规则测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveRulesTest {
+
+    private static final String RULES = "# 外部规则\n"
+            + "com.github.houbb.sensitive.test.model.rule.RuleUser#phone = phone\n"
+            + "com.github.houbb.sensitive.test.model.rule.RuleUser#name = ignore\n"
+            + "com.github.houbb.sensitive.test.model.rule.RuleUser#password = com.github.houbb.sensitive.core.api.strategory.StrategyPassword\n"
+            + "\n"
+            + "com.github.houbb.sensitive.test.model.rule.RuleUser#idCard = cardId\n"
+            + "$.buyer.phone = phone\n";
+
+    private static final SensitiveRules SENSITIVE_RULES = SensitiveRules.newInstance()
+            .load(new StringReader(RULES));
+
+    private static final List<ISensitive> SENSITIVES = Arrays.asList(Sensitives.defaults(), Sensitives.fused(),
+            Sensitives.copyOnPath(), Sensitives.parallel());
+
+    @Test
+    public void desCopyTest() {
+        final RuleOrder original = buildOrder();
+        final String originalStr = original.toString();
+
+        for (ISensitive sensitive : SENSITIVES) {
+            RuleOrder result = SensitiveBs.newInstance().rules(SENSITIVE_RULES).sensitive(sensitive).desCopy(original);
+            RuleUser buyer = result.getBuyer();
+
+            Assert.assertEquals("138****5678", buyer.getPhone());
+            Assert.assertEquals("110105**********3X", buyer.getIdCard());
+            Assert.assertNull(buyer.getPassword());
+            Assert.assertEquals("张三丰", buyer.getName());
+            Assert.assertEquals("123**@qq.com", buyer.getEmail());
+            Assert.assertEquals(originalStr, original.toString());
+        }
+    }
+
+    @Test
+    public void desJsonTest() {
+        final RuleOrder original = buildOrder();
+
+        List<ISensitive> sensitives = Arrays.asList(Sensitives.defaults(), Sensitives.jackson());
+        for (ISensitive sensitive : sensitives) {
+            String json = SensitiveBs.newInstance().rules(SENSITIVE_RULES).sensitive(sensitive).desJson(original);
+            RuleUser buyer = JSON.parseObject(json, RuleOrder.class).getBuyer();
+
+            Assert.assertEquals("138****5678", buyer.getPhone());
+            Assert.assertEquals("110105**********3X", buyer.getIdCard());
+            Assert.assertNull(buyer.getPassword());
+            Assert.assertEquals("张三丰", buyer.getName());
+            Assert.assertEquals("123**@qq.com", buyer.getEmail());
+        }
+    }
+
+    @Test
+    public void jsonPathTest() {
+        byte[] json = "{\"buyer\":{\"phone\":\"13812345678\"},\"phone\":\"13812345678\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] result = SensitiveBs.newInstance().rules(SENSITIVE_RULES).desRawJson(json);
+
+        Assert.assertEquals("{\"buyer\":{\"phone\":\"138****5678\"},\"phone\":\"13812345678\"}",
+                new String(result, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void reloadTest() {
+        final String source = "reloadTest";
+        final SensitiveEngine engine = SensitiveBs.newInstance().rules(SENSITIVE_RULES).build();
+        final Desensitizer<RuleOrder> desensitizer = engine.forType(RuleOrder.class);
+        Assert.assertEquals("张三丰", desensitizer.desCopy(buildOrder()).getBuyer().getName());
+
+        RuleReloadResult result = SensitiveRuleRegistry.update(source, SensitiveRules.newInstance()
+                .field(RuleUser.class, "name", StrategyChineseName.class));
+        try {
+            Assert.assertTrue(result.getInvalidatedClassCount() >= 1);
+            Assert.assertEquals(result, SensitiveRuleRegistry.getLastReloadResult());
+
+            // 已经创建的引擎和脱敏器使用新的规则
+            Assert.assertEquals("张*丰", desensitizer.desCopy(buildOrder()).getBuyer().getName());
+            Assert.assertEquals("张*丰", JSON.parseObject(desensitizer.desJson(buildOrder()), RuleOrder.class).getBuyer().getName());
+            Assert.assertEquals("张*丰", JSON.parseObject(engine.desJson(buildOrder()), RuleOrder.class).getBuyer().getName());
+            // 相同的规则不会重新加载
+            Assert.assertNull(SensitiveRuleRegistry.update(source, SensitiveRules.newInstance()
+                    .field(RuleUser.class, "name", StrategyChineseName.class)));
+        } finally {
+            SensitiveRuleRegistry.remove(source);
+        }
+        Assert.assertEquals("张三丰", desensitizer.desCopy(buildOrder()).getBuyer().getName());
+    }
+
+    @Test(expected = SensitiveRuntimeException.class)
+    public void fieldNotFoundTest() {
+        SensitiveBs.newInstance().rules(SensitiveRules.newInstance()
+                .field(RuleUser.class, "notExists", StrategyChineseName.class));
+    }
+
+    /**
+     * 类字段规则只作用于字段所在的类，不支持字段路径
+     */
+    @Test
+    public void fieldPathTest() {
+        try {
+            SensitiveRules.newInstance().ignore(RuleOrder.class, "buyer.phone");
+            Assert.fail();
+        } catch (SensitiveRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("RuleOrder#buyer.phone"));
+        }
+        try {
+            SensitiveRules.newInstance().load(new StringReader("[cs]\n"
+                    + "com.github.houbb.sensitive.test.model.rule.RuleOrder#buyer.phone = maskAll"));
+            Assert.fail();
+        } catch (SensitiveRuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("第 2 行"));
+        }
+    }
+
+    @Test(expected = SensitiveRuntimeException.class)
+    public void illegalLineTest() {
+        SensitiveRules.newInstance().load(new StringReader("com.github.houbb.sensitive.test.model.rule.RuleUser#phone"));
+    }
+
+    private RuleOrder buildOrder() {
+        RuleUser buyer = new RuleUser();
+        buyer.setName("张三丰");
+        buyer.setEmail("12345@qq.com");
+        buyer.setPhone("13812345678");
+        buyer.setIdCard("11010519900101123X");
+        buyer.setPassword("123456");
+
+        RuleOrder order = new RuleOrder();
+        order.setOrderNo("20261016");
+        order.setBuyer(buyer);
+        return order;
+    }
+
+}
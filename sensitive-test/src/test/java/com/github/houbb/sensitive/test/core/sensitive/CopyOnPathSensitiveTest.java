@@ -0,0 +1,85 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.plan.SensitiveReachableCache;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 只拷贝脱敏路径测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class CopyOnPathSensitiveTest {
+
+    @Test
+    public void reachableTest() {
+        Assert.assertTrue(SensitiveReachableCache.getInstance().isReachable(User.class));
+        Assert.assertTrue(SensitiveReachableCache.getInstance().isReachable(Order.class));
+        Assert.assertFalse(SensitiveReachableCache.getInstance().isReachable(Address.class));
+    }
+
+    /**
+     * 不包含脱敏信息的对象直接共享
+     */
+    @Test
+    public void shareTest() {
+        Order order = new Order();
+        order.user = DataPrepareTest.buildUser();
+        order.address = new Address();
+        order.addressList = Arrays.asList(new Address(), new Address());
+        order.userList = Arrays.asList(DataPrepareTest.buildUser());
+        order.extra = Collections.singletonMap("key", "value");
+
+        Order copy = SensitiveBs.newInstance().sensitive(Sensitives.copyOnPath()).desCopy(order);
+        Assert.assertNotSame(order, copy);
+        Assert.assertSame(order.address, copy.address);
+        Assert.assertSame(order.addressList, copy.addressList);
+        Assert.assertSame(order.extra, copy.extra);
+        Assert.assertNotSame(order.user, copy.user);
+        Assert.assertNotSame(order.userList, copy.userList);
+
+        final String sensitiveStr = "User{username='脱*君', idCard='123456**********34', password='null', email='123**@qq.com', phone='188****8888'}";
+        Assert.assertEquals(sensitiveStr, copy.user.toString());
+        Assert.assertEquals(sensitiveStr, copy.userList.get(0).toString());
+        Assert.assertEquals(DataPrepareTest.buildUser().toString(), order.user.toString());
+    }
+
+    /**
+     * 脱敏结果和默认实现保持一致
+     */
+    @Test
+    public void sameResultTest() {
+        SensitiveBs defaultBs = SensitiveBs.newInstance();
+        SensitiveBs copyOnPathBs = SensitiveBs.newInstance().sensitive(Sensitives.copyOnPath());
+
+        List<Object> objectList = Arrays.<Object>asList(DataPrepareTest.buildUserEntryObject(),
+                DataPrepareTest.buildUserGroup(),
+                DataPrepareTest.buildSystemBuiltInAtEntry(),
+                DataPrepareTest.buildUserCollection());
+        for (Object object : objectList) {
+            Assert.assertEquals(defaultBs.desCopy(object).toString(), copyOnPathBs.desCopy(object).toString());
+        }
+    }
+
+    public static class Order {
+        private User user;
+        private Address address;
+        private List<Address> addressList;
+        private List<User> userList;
+        private Map<String, String> extra;
+    }
+
+    public static class Address {
+        private String city = "上海";
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.deepcopy.DeepCopies;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.AliasUser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 拷贝的同时脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class FusedSensitiveTest {
+
+    /**
+     * 结果和先拷贝后脱敏保持一致，原始对象不变
+     */
+    @Test
+    public void sameResultTest() {
+        SensitiveBs fieldBs = SensitiveBs.newInstance().deepCopy(DeepCopies.field());
+        SensitiveBs fusedBs = SensitiveBs.newInstance().sensitive(Sensitives.fused());
+
+        List<Object> objectList = Arrays.<Object>asList(DataPrepareTest.buildUser(),
+                DataPrepareTest.buildUserEntryBaseType(),
+                DataPrepareTest.buildCustomUserEntryBaseType(),
+                DataPrepareTest.buildUserEntryObject(),
+                DataPrepareTest.buildCustomUserEntryObject(),
+                DataPrepareTest.buildUserGroup(),
+                DataPrepareTest.buildCustomUserGroup(),
+                DataPrepareTest.buildSystemBuiltInAt(),
+                DataPrepareTest.buildSystemBuiltInAtEntry(),
+                DataPrepareTest.buildSystemBuiltInMixed(),
+                DataPrepareTest.buildUserCollection(),
+                DataPrepareTest.buildCustomUserCollection());
+
+        for (Object object : objectList) {
+            final String originalStr = object.toString();
+            Assert.assertEquals(fieldBs.desCopy(object).toString(), fusedBs.desCopy(object).toString());
+            Assert.assertEquals(originalStr, object.toString());
+        }
+    }
+
+    /**
+     * 多个字段引用同一个集合、数组时，脱敏的字段不能复用未脱敏的拷贝
+     */
+    @Test
+    public void aliasTest() {
+        final String expected = "AliasUser{plainList=[13812345678], phoneList=[138****5678], "
+                + "plainArray=[13812345678], phoneArray=[138****5678]}";
+
+        List<String> phones = new ArrayList<>(Arrays.asList("13812345678"));
+        String[] phoneArray = new String[]{"13812345678"};
+        AliasUser user = new AliasUser();
+        user.setPlainList(phones);
+        user.setPhoneList(phones);
+        user.setPlainArray(phoneArray);
+        user.setPhoneArray(phoneArray);
+
+        Assert.assertEquals(expected, SensitiveBs.newInstance().desCopy(user).toString());
+        Assert.assertEquals(expected, SensitiveBs.newInstance().sensitive(Sensitives.fused()).desCopy(user).toString());
+        Assert.assertEquals(expected, SensitiveBs.newInstance().sensitive(Sensitives.copyOnPath()).desCopy(user).toString());
+        Assert.assertEquals("[13812345678]", phones.toString());
+    }
+
+    @Test
+    public void nullTest() {
+        Assert.assertNull(SensitiveBs.newInstance().sensitive(Sensitives.fused()).desCopy(null));
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.alibaba.fastjson.JSON;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.jackson.JacksonArrayUser;
+import com.github.houbb.sensitive.test.model.jackson.JacksonIncludeUser;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Jackson 脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class JacksonSensitiveTest {
+
+    @Test
+    public void desJsonTest() {
+        final String originalStr = "User{username='脱敏君', idCard='123456190001011234', password='1234567', email='12345@qq.com', phone='18888888888'}";
+        User user = DataPrepareTest.buildUser();
+
+        String json = SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(user);
+        Assert.assertTrue(json.contains("\"username\":\"脱*君\""));
+        Assert.assertTrue(json.contains("\"password\":null"));
+        Assert.assertTrue(json.contains("\"phone\":\"188****8888\""));
+        Assert.assertEquals(originalStr, user.toString());
+        Assert.assertEquals("null", SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(null));
+    }
+
+    /**
+     * 脱敏结果和 FastJSON 的实现保持一致
+     */
+    @Test
+    public void sameAsFastJsonTest() {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        SensitiveBs jacksonBs = SensitiveBs.newInstance().sensitive(Sensitives.jackson(objectMapper));
+
+        List<Object> objects = Arrays.<Object>asList(DataPrepareTest.buildUser(),
+                DataPrepareTest.buildUserEntryBaseType(),
+                DataPrepareTest.buildUserGroup(),
+                DataPrepareTest.buildSystemBuiltInMixed());
+        for (Object object : objects) {
+            Assert.assertEquals(JSON.parseObject(SensitiveBs.newInstance().desJson(object)),
+                    JSON.parseObject(jacksonBs.desJson(object)));
+        }
+
+        // 原来的配置不受影响
+        Assert.assertTrue(objectMapper.getRegisteredModuleIds().isEmpty());
+    }
+
+    /**
+     * 按照数组输出时同样脱敏
+     */
+    @Test
+    public void arrayShapeTest() {
+        JacksonArrayUser user = new JacksonArrayUser();
+        user.setPhone("13812345678");
+        user.setPassword("123456");
+
+        Assert.assertEquals("[\"138****5678\",null]",
+                SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(user));
+    }
+
+    /**
+     * {@link JsonInclude} 按照脱敏后的值判断
+     */
+    @Test
+    public void includeTest() {
+        JacksonIncludeUser user = new JacksonIncludeUser();
+        user.setPhone("13812345678");
+        user.setRemark("secret");
+
+        Assert.assertEquals("{\"phone\":\"138****5678\"}",
+                SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(user));
+    }
+
+}
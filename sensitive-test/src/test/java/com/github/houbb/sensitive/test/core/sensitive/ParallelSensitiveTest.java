@@ -0,0 +1,89 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserEntryBaseType;
+import com.github.houbb.sensitive.test.model.sensitive.entry.UserEntryObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 对象内部并行处理测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ParallelSensitiveTest {
+
+    @Test
+    public void sameResultTest() {
+        final int size = 10000;
+        List<User> userList = new ArrayList<>(size);
+        List<String> nameList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User user = DataPrepareTest.buildUser();
+            user.setPhone("188" + (10000000 + i));
+            userList.add(user);
+            nameList.add("张三" + i);
+        }
+        UserEntryObject entryObject = new UserEntryObject();
+        entryObject.setUserList(userList);
+        entryObject.setUserArray(userList.toArray(new User[0]));
+        UserEntryBaseType baseType = DataPrepareTest.buildUserEntryBaseType();
+        baseType.setChineseNameList(nameList);
+        baseType.setChineseNameArray(nameList.toArray(new String[0]));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SensitiveBs parallelBs = SensitiveBs.newInstance().sensitive(Sensitives.parallel(pool, 128));
+
+            UserEntryObject expected = SensitiveBs.newInstance().desCopy(entryObject);
+            UserEntryObject actual = parallelBs.desCopy(entryObject);
+            Assert.assertEquals(expected.toString(), actual.toString());
+
+            UserEntryBaseType expectedBaseType = SensitiveBs.newInstance().desCopy(baseType);
+            UserEntryBaseType actualBaseType = parallelBs.desCopy(baseType);
+            Assert.assertEquals(expectedBaseType.toString(), actualBaseType.toString());
+            Assert.assertEquals("张*0", actualBaseType.getChineseNameArray()[0]);
+            Assert.assertEquals("188" + (10000000 + size - 1), userList.get(size - 1).getPhone());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 共享引用在不同的子任务中只处理一次
+     */
+    @Test
+    public void sharedReferenceTest() {
+        final int size = 1000;
+        User user = DataPrepareTest.buildUser();
+        List<User> userList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            userList.add(user);
+        }
+        UserEntryObject entryObject = new UserEntryObject();
+        entryObject.setUser(user);
+        entryObject.setUserList(userList);
+        entryObject.setUserArray(userList.toArray(new User[0]));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SensitiveBs parallelBs = SensitiveBs.newInstance().sensitive(Sensitives.parallel(pool, 16));
+            UserEntryObject expected = SensitiveBs.newInstance().desCopy(entryObject);
+            UserEntryObject actual = parallelBs.desCopy(entryObject);
+            Assert.assertEquals(expected.toString(), actual.toString());
+            for (User sensitiveUser : actual.getUserArray()) {
+                Assert.assertEquals("188****8888", sensitiveUser.getPhone());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.core.DataPrepareTest;
+import com.github.houbb.sensitive.test.model.sensitive.User;
+import com.github.houbb.sensitive.test.model.sensitive.UserAttributes;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Map 字段按照 key 脱敏测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveMapKeyTest {
+
+    private static final List<ISensitive> SENSITIVES = Arrays.asList(Sensitives.defaults(), Sensitives.fused(),
+            Sensitives.copyOnPath(), Sensitives.parallel());
+
+    @Test
+    public void desCopyTest() {
+        final UserAttributes original = buildUserAttributes();
+        final String originalStr = original.toString();
+
+        for (ISensitive sensitive : SENSITIVES) {
+            UserAttributes result = SensitiveBs.newInstance().sensitive(sensitive).desCopy(original);
+            Map<String, Object> attributes = result.getAttributes();
+
+            Assert.assertEquals("138****5678", attributes.get("phone"));
+            Assert.assertEquals("110105**********2X", attributes.get("idCard"));
+            Assert.assertNull(attributes.get("loginPassword"));
+            Assert.assertEquals("张*丰", attributes.get("name"));
+            Assert.assertEquals(18, attributes.get("age"));
+            Assert.assertEquals(Arrays.asList("139****5678", "137****5678"), ((Map<?, ?>) attributes.get("contact")).get("phone"));
+            // Jackson 深度拷贝会把 Object 类型的对象转换为 Map，此时按照 key 规则处理
+            Object user = attributes.get("user");
+            Object userPhone = user instanceof User ? ((User) user).getPhone() : ((Map<?, ?>) user).get("phone");
+            Assert.assertEquals("188****8888", userPhone);
+            // 没有指定规则的 Map 保持不变
+            Assert.assertEquals("13812345678", result.getExtra().get("phone"));
+            Assert.assertEquals(originalStr, original.toString());
+        }
+    }
+
+    @Test
+    public void desJsonTest() {
+        final UserAttributes original = buildUserAttributes();
+        final String originalStr = original.toString();
+
+        List<ISensitive> sensitives = Arrays.asList(Sensitives.defaults(), Sensitives.jackson());
+        for (ISensitive sensitive : sensitives) {
+            JSONObject json = JSON.parseObject(SensitiveBs.newInstance().sensitive(sensitive).desJson(original));
+            JSONObject attributes = json.getJSONObject("attributes");
+
+            Assert.assertEquals("138****5678", attributes.getString("phone"));
+            Assert.assertEquals("110105**********2X", attributes.getString("idCard"));
+            Assert.assertNull(attributes.get("loginPassword"));
+            Assert.assertEquals("张*丰", attributes.getString("name"));
+            Assert.assertEquals(Arrays.asList("139****5678", "137****5678"), attributes.getJSONObject("contact").getJSONArray("phone"));
+            Assert.assertEquals("188****8888", attributes.getJSONObject("user").getString("phone"));
+            Assert.assertEquals("13812345678", json.getJSONObject("extra").getString("phone"));
+            Assert.assertEquals(originalStr, original.toString());
+        }
+    }
+
+    /**
+     * 命中规则的数组按照元素脱敏
+     */
+    @Test
+    public void arrayTest() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("phone", new String[]{"13812345678", null});
+        attributes.put("idCard", new Object[]{"11010519491231002X", 1});
+        UserAttributes original = new UserAttributes();
+        original.setAttributes(attributes);
+
+        for (ISensitive sensitive : SENSITIVES) {
+            Map<String, Object> result = SensitiveBs.newInstance().sensitive(sensitive).desCopy(original).getAttributes();
+            // 部分深度拷贝实现会把 Object 类型的数组转换为列表
+            Assert.assertEquals(Arrays.asList("138****5678", null), toList(result.get("phone")));
+            Assert.assertEquals("110105**********2X", toList(result.get("idCard")).get(0));
+        }
+        for (ISensitive sensitive : Arrays.asList(Sensitives.defaults(), Sensitives.jackson())) {
+            JSONObject json = JSON.parseObject(SensitiveBs.newInstance().sensitive(sensitive).desJson(original));
+            Assert.assertEquals(Arrays.asList("138****5678", null), json.getJSONObject("attributes").getJSONArray("phone"));
+        }
+        Assert.assertEquals("13812345678", ((String[]) attributes.get("phone"))[0]);
+    }
+
+    /**
+     * 循环引用的 Map 只处理一次
+     */
+    @Test
+    public void cycleTest() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("phone", "13812345678");
+        attributes.put("self", attributes);
+        UserAttributes original = new UserAttributes();
+        original.setAttributes(attributes);
+
+        JSONObject json = JSON.parseObject(SensitiveBs.newInstance().desJson(original));
+        Assert.assertEquals("138****5678", json.getJSONObject("attributes").getString("phone"));
+        Assert.assertEquals("13812345678", attributes.get("phone"));
+    }
+
+    private static List<?> toList(Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        return (List<?>) value;
+    }
+
+    private static UserAttributes buildUserAttributes() {
+        Map<String, Object> contact = new LinkedHashMap<>();
+        contact.put("phone", Arrays.asList("13912345678", "13712345678"));
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("phone", "13812345678");
+        attributes.put("idCard", "11010519491231002X");
+        attributes.put("loginPassword", "123456");
+        attributes.put("name", "张三丰");
+        attributes.put("age", 18);
+        attributes.put("contact", contact);
+        attributes.put("user", DataPrepareTest.buildUser());
+
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("phone", "13812345678");
+
+        UserAttributes userAttributes = new UserAttributes();
+        userAttributes.setAttributes(attributes);
+        userAttributes.setExtra(extra);
+        return userAttributes;
+    }
+
+}
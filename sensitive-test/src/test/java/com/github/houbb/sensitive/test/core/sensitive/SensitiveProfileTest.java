@@ -0,0 +1,201 @@
+package com.github.houbb.sensitive.test.core.sensitive;
+
+import com.alibaba.fastjson.JSON;
+import com.github.houbb.sensitive.api.ISensitive;
+import com.github.houbb.sensitive.core.bs.Desensitizer;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.bs.SensitiveEngine;
+import com.github.houbb.sensitive.core.exception.SensitiveRuntimeException;
+import com.github.houbb.sensitive.core.support.filter.SensitiveSerializeConfig;
+import com.github.houbb.sensitive.core.support.plan.ClassPlanCache;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRuleRegistry;
+import com.github.houbb.sensitive.core.support.rule.SensitiveRules;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.test.model.profile.ProfileOrder;
+import com.github.houbb.sensitive.test.model.profile.ProfileTeam;
+import com.github.houbb.sensitive.test.model.profile.ProfileUser;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 脱敏视角测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class SensitiveProfileTest {
+
+    private static final List<ISensitive> SENSITIVES = Arrays.asList(Sensitives.defaults(), Sensitives.fused(),
+            Sensitives.copyOnPath(), Sensitives.parallel());
+
+    @Test
+    public void desCopyTest() {
+        final ProfileOrder original = buildOrder();
+        final String originalStr = original.toString();
+
+        for (ISensitive sensitive : SENSITIVES) {
+            SensitiveEngine engine = SensitiveBs.newInstance().sensitive(sensitive).build();
+
+            assertDefault(engine.desCopy(original).getBuyer());
+            assertCs(engine.<ProfileOrder>desCopy(original, "cs").getBuyer());
+            assertAudit(engine.<ProfileOrder>desCopy(original, "audit").getBuyer());
+            Assert.assertEquals(originalStr, original.toString());
+        }
+    }
+
+    @Test
+    public void desJsonTest() {
+        final ProfileOrder original = buildOrder();
+
+        List<ISensitive> sensitives = Arrays.asList(Sensitives.defaults(), Sensitives.jackson());
+        for (ISensitive sensitive : sensitives) {
+            SensitiveEngine engine = SensitiveBs.newInstance().sensitive(sensitive).build();
+
+            assertDefault(JSON.parseObject(engine.desJson(original), ProfileOrder.class).getBuyer());
+            assertCs(JSON.parseObject(engine.desJson(original, "cs"), ProfileOrder.class).getBuyer());
+            assertAudit(JSON.parseObject(engine.desJson(original, "audit"), ProfileOrder.class).getBuyer());
+        }
+    }
+
+    @Test
+    public void forTypeTest() {
+        final SensitiveEngine engine = SensitiveBs.newInstance().build();
+        final Desensitizer<ProfileOrder> csDesensitizer = engine.forType(ProfileOrder.class, "cs");
+
+        assertCs(csDesensitizer.desCopy(buildOrder()).getBuyer());
+        assertCs(JSON.parseObject(csDesensitizer.desJson(buildOrder()), ProfileOrder.class).getBuyer());
+        assertDefault(engine.forType(ProfileOrder.class).desCopy(buildOrder()).getBuyer());
+
+        // 引导类指定默认视角
+        assertAudit(SensitiveBs.newInstance().profile("audit").desCopy(buildOrder()).getBuyer());
+        // 未声明的视角和默认视角一致
+        ProfileUser log = SensitiveBs.newInstance().desCopy(buildOrder(), "log").getBuyer();
+        Assert.assertEquals("138****5678", log.getPhone());
+        Assert.assertEquals("123**@qq.com", log.getEmail());
+    }
+
+    @Test
+    public void planTest() {
+        ClassPlanCache cache = ClassPlanCache.getInstance();
+
+        Assert.assertSame(cache.get(ProfileUser.class, "cs"), cache.get(ProfileUser.class, "cs"));
+        Assert.assertNotSame(cache.get(ProfileUser.class), cache.get(ProfileUser.class, "cs"));
+        Assert.assertSame(cache.get(ProfileUser.class), cache.get(ProfileUser.class, "default"));
+    }
+
+    /**
+     * 没有声明的视角直接使用默认视角的实例
+     */
+    @Test
+    public void undeclaredTest() {
+        ClassPlanCache cache = ClassPlanCache.getInstance();
+        Assert.assertSame(cache.get(ProfileUser.class), cache.get(ProfileUser.class, "undeclared"));
+        Assert.assertTrue(cache.isDeclared("cs"));
+        Assert.assertFalse(cache.isDeclared("undeclared"));
+        Assert.assertSame(cache.plans("default"), cache.plans("undeclared"));
+        Assert.assertEquals("default", cache.resolveProfile("undeclared", ProfileOrder.class));
+        Assert.assertEquals("cs", cache.resolveProfile("cs", ProfileOrder.class));
+        Assert.assertSame(SensitiveSerializeConfig.getInstance(), SensitiveSerializeConfig.getInstance("undeclared"));
+        Assert.assertSame(SensitiveSerializeConfig.getInstance("cs"), SensitiveSerializeConfig.getInstance("cs"));
+
+        for (ISensitive sensitive : Arrays.asList(Sensitives.defaults(), Sensitives.jackson())) {
+            SensitiveEngine engine = SensitiveBs.newInstance().sensitive(sensitive).build();
+            assertDefault(JSON.parseObject(engine.desJson(buildOrder(), "undeclared"), ProfileOrder.class).getBuyer());
+        }
+        for (ISensitive sensitive : SENSITIVES) {
+            SensitiveEngine engine = SensitiveBs.newInstance().sensitive(sensitive).build();
+            assertDefault(engine.<ProfileOrder>desCopy(buildOrder(), "undeclared").getBuyer());
+        }
+        Assert.assertFalse(cache.isDeclared("undeclared"));
+    }
+
+    /**
+     * 只在嵌套类型中声明的视角，第一次调用就生效
+     */
+    @Test
+    public void nestedDeclaredTest() {
+        ProfileTeam.Member member = new ProfileTeam.Member();
+        member.setName("张三丰");
+        member.setSalary("10000");
+        ProfileTeam team = new ProfileTeam();
+        team.setTeamName("研发");
+        team.setMembers(Collections.singletonList(member));
+
+        ProfileTeam hrTeam = SensitiveBs.newInstance().desCopy(team, "hr");
+        Assert.assertEquals("*****", hrTeam.getMembers().get(0).getSalary());
+        Assert.assertTrue(ClassPlanCache.getInstance().isDeclared("hr"));
+        Assert.assertEquals("10000", SensitiveBs.newInstance().desCopy(team).getMembers().get(0).getSalary());
+    }
+
+    @Test
+    public void rulesTest() {
+        final String source = "profileRulesTest";
+        final String rules = "com.github.houbb.sensitive.test.model.profile.ProfileUser#name = maskAll\n"
+                + "[cs]\n"
+                + "com.github.houbb.sensitive.test.model.profile.ProfileUser#idCard = maskAll\n"
+                + "[default]\n"
+                + "com.github.houbb.sensitive.test.model.profile.ProfileOrder#orderNo = maskAll\n";
+        SensitiveRuleRegistry.update(source, SensitiveRules.newInstance().load(new StringReader(rules)));
+        try {
+            SensitiveEngine engine = SensitiveBs.newInstance().build();
+            ProfileOrder order = engine.desCopy(buildOrder());
+            Assert.assertEquals("********", order.getOrderNo());
+            Assert.assertEquals("***", order.getBuyer().getName());
+            Assert.assertEquals("110105**********3X", order.getBuyer().getIdCard());
+
+            ProfileOrder csOrder = engine.desCopy(buildOrder(), "cs");
+            Assert.assertEquals("********", csOrder.getOrderNo());
+            Assert.assertEquals("******************", csOrder.getBuyer().getIdCard());
+            // 视角注解优先于默认视角的规则
+            ProfileOrder auditOrder = engine.desCopy(buildOrder(), "audit");
+            Assert.assertEquals("张三丰", auditOrder.getBuyer().getName());
+        } finally {
+            SensitiveRuleRegistry.remove(source);
+        }
+        assertCs(SensitiveBs.newInstance().desCopy(buildOrder(), "cs").getBuyer());
+    }
+
+    @Test(expected = SensitiveRuntimeException.class)
+    public void jsonPathInProfileTest() {
+        SensitiveRules.newInstance().load(new StringReader("[cs]\n$.buyer.phone = phone\n"));
+    }
+
+    private void assertDefault(ProfileUser user) {
+        Assert.assertEquals("张*丰", user.getName());
+        Assert.assertEquals("138****5678", user.getPhone());
+        Assert.assertEquals("12345@qq.com", user.getEmail());
+        Assert.assertEquals("110105**********3X", user.getIdCard());
+    }
+
+    private void assertCs(ProfileUser user) {
+        Assert.assertEquals("张*丰", user.getName());
+        Assert.assertEquals("***********", user.getPhone());
+        Assert.assertEquals("123**@qq.com", user.getEmail());
+        Assert.assertEquals("110105**********3X", user.getIdCard());
+    }
+
+    private void assertAudit(ProfileUser user) {
+        Assert.assertEquals("张三丰", user.getName());
+        Assert.assertEquals("13812345678", user.getPhone());
+        Assert.assertEquals("12345@qq.com", user.getEmail());
+        Assert.assertEquals("110105**********3X", user.getIdCard());
+    }
+
+    private ProfileOrder buildOrder() {
+        ProfileUser buyer = new ProfileUser();
+        buyer.setName("张三丰");
+        buyer.setPhone("13812345678");
+        buyer.setEmail("12345@qq.com");
+        buyer.setIdCard("11010519900101123X");
+
+        ProfileOrder order = new ProfileOrder();
+        order.setOrderNo("20261016");
+        order.setBuyer(buyer);
+        return order;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.github.houbb.sensitive.test.core.strategy;
+
+import com.github.houbb.sensitive.api.ICharStrategy;
+import com.github.houbb.sensitive.core.api.SensitiveUtil;
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyEmail;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+import com.github.houbb.sensitive.core.bs.SensitiveBs;
+import com.github.houbb.sensitive.core.support.sensitive.Sensitives;
+import com.github.houbb.sensitive.core.util.strategy.SensitiveStrategyUtil;
+import com.github.houbb.sensitive.test.model.custom.CustomPhoneModel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 字符脱敏策略测试
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class CharStrategyTest {
+
+    /**
+     * 边界值
+     */
+    @Test
+    public void edgeTest() {
+        Assert.assertEquals("****", SensitiveStrategyUtil.phone(""));
+        Assert.assertEquals("12****", SensitiveStrategyUtil.phone("12"));
+        Assert.assertEquals("123****", SensitiveStrategyUtil.phone("1234567"));
+        Assert.assertNull(SensitiveStrategyUtil.phone(null));
+
+        Assert.assertNull(SensitiveStrategyUtil.email(""));
+        Assert.assertEquals("a@b.com", SensitiveStrategyUtil.email("a@b.com"));
+        Assert.assertEquals("abc****", SensitiveStrategyUtil.email("abcdef"));
+
+        Assert.assertEquals("", SensitiveStrategyUtil.chineseName(""));
+        Assert.assertEquals("张", SensitiveStrategyUtil.chineseName("张"));
+        Assert.assertEquals("*三", SensitiveStrategyUtil.chineseName("张三"));
+        Assert.assertEquals("欧**锋", SensitiveStrategyUtil.chineseName("欧阳小锋"));
+
+        Assert.assertEquals("123456**********34", SensitiveStrategyUtil.cardId("123456190001011234"));
+        Assert.assertEquals("1234**********", SensitiveStrategyUtil.cardId("1234"));
+    }
+
+    /**
+     * 三种输出方式的结果保持一致
+     */
+    @Test
+    public void sameOutputTest() throws IOException {
+        List<ICharStrategy> strategies = Arrays.<ICharStrategy>asList(new StrategyPhone(), new StrategyEmail(),
+                new StrategyChineseName(), new StrategyCardId(), new StrategyPassword());
+        List<String> originals = Arrays.asList("", "1", "张三", "张三丰", "a@b", "12345@qq.com",
+                "18888888888", "123456190001011234");
+
+        for (ICharStrategy strategy : strategies) {
+            for (String original : originals) {
+                final Object expected = strategy.des(original, null);
+
+                final int length = strategy.length(original, null);
+                char[] chars = new char[length + 4];
+                final int written = strategy.des(original, null, chars, 2);
+                StringBuilder stringBuilder = new StringBuilder("[");
+                final boolean appended = strategy.des(original, null, stringBuilder);
+
+                if (null == expected) {
+                    Assert.assertEquals(-1, length);
+                    Assert.assertEquals(-1, written);
+                    Assert.assertFalse(appended);
+                    continue;
+                }
+                Assert.assertEquals(length, written);
+                Assert.assertEquals(expected, new String(chars, 2, written));
+                Assert.assertTrue(appended);
+                Assert.assertEquals("[" + expected, stringBuilder.toString());
+            }
+        }
+    }
+
+    /**
+     * 子类重写 des 方法时，序列化使用重写后的结果
+     */
+    @Test
+    public void overrideDesTest() {
+        CustomPhoneModel model = new CustomPhoneModel();
+        model.setPhone("18888888888");
+
+        final String expected = "{\"phone\":\"custom-188****8888\"}";
+        Assert.assertEquals(expected, SensitiveUtil.desJson(model));
+        Assert.assertEquals(expected, SensitiveBs.newInstance().sensitive(Sensitives.jackson()).desJson(model));
+        Assert.assertEquals("custom-188****8888", SensitiveUtil.desCopy(model).getPhone());
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.github.houbb.sensitive.test.model.custom;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.test.core.custom.CustomPhoneStrategy;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class CustomPhoneModel {
+
+    @Sensitive(strategy = CustomPhoneStrategy.class)
+    private String phone;
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.github.houbb.sensitive.test.model.custom;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.test.core.custom.ThreadNameStrategy;
+
+/**
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ThreadNameModel {
+
+    @Sensitive(strategy = ThreadNameStrategy.class)
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
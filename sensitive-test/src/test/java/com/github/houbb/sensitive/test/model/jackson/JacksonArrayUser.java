@@ -0,0 +1,39 @@
+package com.github.houbb.sensitive.test.model.jackson;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPassword;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+
+/**
+ * 按照数组输出的对象
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"phone", "password"})
+public class JacksonArrayUser {
+
+    @SensitiveStrategyPhone
+    private String phone;
+
+    @SensitiveStrategyPassword
+    private String password;
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.houbb.sensitive.test.model.jackson;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+
+/**
+ * 指定了 {@link JsonInclude} 的对象
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class JacksonIncludeUser {
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @SensitiveStrategyPhone
+    private String phone;
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @Sensitive(strategy = EmptyStrategy.class)
+    private String remark;
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getRemark() {
+        return remark;
+    }
+
+    public void setRemark(String remark) {
+        this.remark = remark;
+    }
+
+    /**
+     * 脱敏为空字符串
+     * @since 0.0.14
+     */
+    public static class EmptyStrategy implements IStrategy {
+        @Override
+        public Object des(Object original, IContext context) {
+            return "";
+        }
+    }
+
+}
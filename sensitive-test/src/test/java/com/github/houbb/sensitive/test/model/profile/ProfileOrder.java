@@ -0,0 +1,38 @@
+package com.github.houbb.sensitive.test.model.profile;
+
+/**
+ * 不同视角的订单，嵌套的用户使用相同的视角
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ProfileOrder {
+
+    private String orderNo;
+
+    private ProfileUser buyer;
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public ProfileUser getBuyer() {
+        return buyer;
+    }
+
+    public void setBuyer(ProfileUser buyer) {
+        this.buyer = buyer;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileOrder{" +
+                "orderNo='" + orderNo + '\'' +
+                ", buyer=" + buyer +
+                '}';
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.github.houbb.sensitive.test.model.profile;
+
+import com.github.houbb.sensitive.annotation.SensitiveProfile;
+import com.github.houbb.sensitive.core.api.strategory.StrategyMaskAll;
+
+import java.util.List;
+
+/**
+ * 只在集合元素的注解中声明视角的团队
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ProfileTeam {
+
+    private String teamName;
+
+    private List<Member> members;
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public void setTeamName(String teamName) {
+        this.teamName = teamName;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    public void setMembers(List<Member> members) {
+        this.members = members;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileTeam{" +
+                "teamName='" + teamName + '\'' +
+                ", members=" + members +
+                '}';
+    }
+
+    /**
+     * 成员，薪资只在人事视角掩盖
+     */
+    public static class Member {
+
+        private String name;
+
+        @SensitiveProfile(value = "hr", strategy = StrategyMaskAll.class)
+        private String salary;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getSalary() {
+            return salary;
+        }
+
+        public void setSalary(String salary) {
+            this.salary = salary;
+        }
+
+        @Override
+        public String toString() {
+            return "Member{" +
+                    "name='" + name + '\'' +
+                    ", salary='" + salary + '\'' +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.github.houbb.sensitive.test.model.profile;
+
+import com.github.houbb.sensitive.annotation.SensitiveProfile;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyCardId;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyChineseName;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+import com.github.houbb.sensitive.core.api.strategory.StrategyEmail;
+import com.github.houbb.sensitive.core.api.strategory.StrategyMaskAll;
+
+/**
+ * 不同视角的用户
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class ProfileUser {
+
+    /**
+     * 审计视角不脱敏
+     */
+    @SensitiveStrategyChineseName
+    @SensitiveProfile("audit")
+    private String name;
+
+    /**
+     * 客服视角全部掩盖，审计视角不脱敏
+     */
+    @SensitiveStrategyPhone
+    @SensitiveProfile(value = "cs", strategy = StrategyMaskAll.class)
+    @SensitiveProfile("audit")
+    private String phone;
+
+    /**
+     * 只在日志和客服视角脱敏
+     */
+    @SensitiveProfile(value = {"log", "cs"}, strategy = StrategyEmail.class)
+    private String email;
+
+    /**
+     * 所有视角相同
+     */
+    @SensitiveStrategyCardId
+    private String idCard;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getIdCard() {
+        return idCard;
+    }
+
+    public void setIdCard(String idCard) {
+        this.idCard = idCard;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileUser{" +
+                "name='" + name + '\'' +
+                ", phone='" + phone + '\'' +
+                ", email='" + email + '\'' +
+                ", idCard='" + idCard + '\'' +
+                '}';
+    }
+
+}
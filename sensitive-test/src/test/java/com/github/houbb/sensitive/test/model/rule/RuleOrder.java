@@ -0,0 +1,37 @@
+package com.github.houbb.sensitive.test.model.rule;
+
+/**
+ * 外部规则订单，模拟第三方的类
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class RuleOrder {
+
+    private String orderNo;
+
+    private RuleUser buyer;
+
+    public String getOrderNo() {
+        return orderNo;
+    }
+
+    public void setOrderNo(String orderNo) {
+        this.orderNo = orderNo;
+    }
+
+    public RuleUser getBuyer() {
+        return buyer;
+    }
+
+    public void setBuyer(RuleUser buyer) {
+        this.buyer = buyer;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleOrder{" +
+                "orderNo='" + orderNo + '\'' +
+                ", buyer=" + buyer +
+                '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.houbb.sensitive.test.model.rule;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyEmail;
+
+/**
+ * 外部规则用户，模拟第三方的类
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class RuleUser {
+
+    /**
+     * 外部规则忽略，注解不生效
+     */
+    @Sensitive(strategy = StrategyChineseName.class)
+    private String name;
+
+    /**
+     * 没有外部规则，注解生效
+     */
+    @Sensitive(strategy = StrategyEmail.class)
+    private String email;
+
+    private String phone;
+
+    private String idCard;
+
+    private String password;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getIdCard() {
+        return idCard;
+    }
+
+    public void setIdCard(String idCard) {
+        this.idCard = idCard;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleUser{" +
+                "name='" + name + '\'' +
+                ", email='" + email + '\'' +
+                ", phone='" + phone + '\'' +
+                ", idCard='" + idCard + '\'' +
+                ", password='" + password + '\'' +
+                '}';
+    }
+}
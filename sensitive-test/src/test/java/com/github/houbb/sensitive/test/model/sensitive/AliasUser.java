@@ -0,0 +1,67 @@
+package com.github.houbb.sensitive.test.model.sensitive;
+
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 多个字段引用同一个集合、数组
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class AliasUser {
+
+    private List<String> plainList;
+
+    @SensitiveStrategyPhone
+    private List<String> phoneList;
+
+    private String[] plainArray;
+
+    @SensitiveStrategyPhone
+    private String[] phoneArray;
+
+    public List<String> getPlainList() {
+        return plainList;
+    }
+
+    public void setPlainList(List<String> plainList) {
+        this.plainList = plainList;
+    }
+
+    public List<String> getPhoneList() {
+        return phoneList;
+    }
+
+    public void setPhoneList(List<String> phoneList) {
+        this.phoneList = phoneList;
+    }
+
+    public String[] getPlainArray() {
+        return plainArray;
+    }
+
+    public void setPlainArray(String[] plainArray) {
+        this.plainArray = plainArray;
+    }
+
+    public String[] getPhoneArray() {
+        return phoneArray;
+    }
+
+    public void setPhoneArray(String[] phoneArray) {
+        this.phoneArray = phoneArray;
+    }
+
+    @Override
+    public String toString() {
+        return "AliasUser{" +
+                "plainList=" + plainList +
+                ", phoneList=" + phoneList +
+                ", plainArray=" + Arrays.toString(plainArray) +
+                ", phoneArray=" + Arrays.toString(phoneArray) +
+                '}';
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.houbb.sensitive.test.model.sensitive;
+
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyChineseName;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyPhone;
+
+/**
+ * 字段可以直接访问的对象，编译期生成脱敏器
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class FieldUser {
+
+    @SensitiveStrategyChineseName
+    String username;
+
+    @SensitiveStrategyPhone
+    public String phone;
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldUser{" +
+                "username='" + username + '\'' +
+                ", phone='" + phone + '\'' +
+                '}';
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.houbb.sensitive.test.model.sensitive;
+
+import com.github.houbb.sensitive.annotation.Sensitive;
+import com.github.houbb.sensitive.annotation.strategy.SensitiveStrategyChineseName;
+import com.github.houbb.sensitive.api.IContext;
+import com.github.houbb.sensitive.api.IStrategy;
+
+/**
+ * 原始类型字段脱敏
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class PrimitiveUser {
+
+    @SensitiveStrategyChineseName
+    private String username;
+
+    @Sensitive(strategy = AgeStrategy.class)
+    private int age;
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveUser{" +
+                "username='" + username + '\'' +
+                ", age=" + age +
+                '}';
+    }
+
+    /**
+     * 年龄只保留十位
+     * @since 0.0.14
+     */
+    public static class AgeStrategy implements IStrategy {
+        @Override
+        public Object des(Object original, IContext context) {
+            return (Integer) original / 10 * 10;
+        }
+    }
+
+}
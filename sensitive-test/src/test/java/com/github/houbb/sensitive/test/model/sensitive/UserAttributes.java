@@ -0,0 +1,50 @@
+package com.github.houbb.sensitive.test.model.sensitive;
+
+import com.github.houbb.sensitive.annotation.SensitiveMapKey;
+import com.github.houbb.sensitive.core.api.strategory.StrategyCardId;
+import com.github.houbb.sensitive.core.api.strategory.StrategyChineseName;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPassword;
+import com.github.houbb.sensitive.core.api.strategory.StrategyPhone;
+
+import java.util.Map;
+
+/**
+ * Map 字段按照 key 脱敏
+ * @author binbin.hou
+ * @since 0.0.14
+ */
+public class UserAttributes {
+
+    @SensitiveMapKey(key = "phone", strategy = StrategyPhone.class)
+    @SensitiveMapKey(key = "id*", strategy = StrategyCardId.class)
+    @SensitiveMapKey(key = "*Password", strategy = StrategyPassword.class)
+    @SensitiveMapKey(key = "?ame", strategy = StrategyChineseName.class)
+    private Map<String, Object> attributes;
+
+    private Map<String, Object> extra;
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    public Map<String, Object> getExtra() {
+        return extra;
+    }
+
+    public void setExtra(Map<String, Object> extra) {
+        this.extra = extra;
+    }
+
+    @Override
+    public String toString() {
+        return "UserAttributes{" +
+                "attributes=" + attributes +
+                ", extra=" + extra +
+                '}';
+    }
+
+}